@@ -1,12 +1,9 @@
 package com.coffee.entity;
 
 import com.badlogic.ashley.core.*;
-import com.badlogic.ashley.utils.ImmutableArray;
 import com.badlogic.gdx.*;
-import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Pixmap;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
@@ -19,27 +16,65 @@ import com.badlogic.gdx.scenes.scene2d.utils.NinePatchDrawable;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.StringBuilder;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.coffee.entity.components.*;
+import com.coffee.entity.systems.TargetingSystem;
 import com.coffee.main.Application;
 import com.coffee.util.*;
 
 /**
  * Builder class that automates the creation of entities and
  * attaching the necessary {@link Component}s onto them.
+ * <p>
+ * Each factory is bound to one {@link PooledEngine}, which its entities and components are pooled by and
+ * which the entities it makes spawn things into. Assets and the other things every factory uses are
+ * loaded once by {@link #init()} and only read after that, so separate engines with their own factories
+ * can run side by side, even on different threads.
+ * <p>
+ * Every factory also has its own {@link GameRandom}, which the boss and everything it fires use, so a fight
+ * started with the same seed plays out the same way.
  */
 public class EntityFactory {
-    // Static fields that we can use throughout any instance of the EntityBuilder
+    /**
+     * Kinds of entities the factory makes, kept in {@link Entity#flags} so a {@link WorldSnapshot} knows how to
+     * make one again. Anything else has a kind of 0.
+     */
+    public static final int
+        KIND_PLAYER = 1,
+        KIND_BOSS = 2,
+        KIND_PLAYER_BULLET = 3,
+        KIND_ENEMY_BULLET = 4,
+        KIND_ENEMY_BALL = 5,
+        KIND_POWER_UP_SPAWNER = 6,
+        KIND_DAMAGE_POWER_UP = 7,
+        KIND_FIRE_RATE_POWER_UP = 8,
+        KIND_SPEED_POWER_UP = 9;
+
+    // Shared by every factory and never changed after init, so factories on other threads can read them too
     private static Viewport viewport;
     private static SpriteBatch batch;
     private static InputMultiplexer inputMultiplexer;
     private static TextureAtlas goAtlas;
     private static Skin uiSkin;
-    private static PooledEngine engine;
+
+    // Sizes of the sprites in the atlas, for making sprites without textures when running headless
+    private static ObjectMap<String, TextureAtlas.TextureAtlasData.Region> regions;
+    private static boolean headless;
+
+    // Family.all() hands out one builder shared by every thread, so families used while running are only made once here
+    private static final Family PLAYERS = Family.all(PlayerComponent.class).get();
 
     // Boolean to check if the factory has already been pre-initialized.
     private static boolean initialized = false;
 
+    private final PooledEngine ENGINE;
+    private final GameRandom RANDOM;
+
+    // Shared by the bullets that burst into more bullets, which only ever run on the thread updating the engine
+    private final SpawnBuffer SPAWNS;
+
     /**
      * Initializes the {@link EntityFactory} static fields
      * only if it has not been done already.
@@ -60,12 +95,76 @@ public class EntityFactory {
     }
 
     /**
-     * Sets the {@link PooledEngine} to use for initializing poolable {@link Entity}s
+     * Initializes the {@link EntityFactory} static fields for running without a window, graphics or sound,
+     * only if it has not been done already.
+     * <p>
+     * Only the sizes of the sprites are read from the atlas, so the entities made have sprites without textures
+     * and nothing else that needs graphics, like the GUI. They can't be drawn, but everything else works the same.
+     *
+     * @param atlas    the pack file of the game object atlas
+     * @param viewport the viewport the game would be played in, only its world size is used
+     */
+    public static void initHeadless(FileHandle atlas, Viewport viewport) {
+        if (!initialized) {
+            final TextureAtlas.TextureAtlasData DATA = new TextureAtlas.TextureAtlasData(atlas, atlas.parent(), false);
+
+            EntityFactory.viewport = viewport;
+
+            regions = new ObjectMap<>();
+            for (TextureAtlas.TextureAtlasData.Region region : DATA.getRegions())
+                regions.put(region.name, region);
+
+            headless = true;
+            initialized = true;
+        }
+    }
+
+    /**
+     * Creates a factory for the specified {@link PooledEngine} with a random seed, initializing the shared fields first if needed.
+     *
+     * @param engine the {@code PooledEngine} to use for pooling and creating poolable {@code Entity}s
+     */
+    public EntityFactory(PooledEngine engine) {
+        this(engine, new GameRandom());
+    }
+
+    /**
+     * Creates a factory for the specified {@link PooledEngine}, initializing the shared fields first if needed.
      *
-     * @param p the {@code PooledEngine} to use for pooling and creating poolable {@code Entity}s
+     * @param engine the {@code PooledEngine} to use for pooling and creating poolable {@code Entity}s
+     * @param seed   the seed for the factory's {@link GameRandom}
+     */
+    public EntityFactory(PooledEngine engine, long seed) {
+        this(engine, new GameRandom(seed));
+    }
+
+    private EntityFactory(PooledEngine engine, GameRandom random) {
+        init();
+
+        ENGINE = engine;
+        RANDOM = random;
+        SPAWNS = new SpawnBuffer();
+    }
+
+    /**
+     * @return the {@link PooledEngine} this factory creates entities for
+     */
+    public PooledEngine getEngine() {
+        return ENGINE;
+    }
+
+    /**
+     * @return the random number generator for everything the factory's engine does that should repeat with the same seed
+     */
+    public GameRandom getRandom() {
+        return RANDOM;
+    }
+
+    /**
+     * @return whether or not the factory was initialized with {@link #initHeadless}
      */
-    public static void setEngine(PooledEngine p) {
-        engine = p;
+    public static boolean isHeadless() {
+        return headless;
     }
 
     // region Player Stuff
@@ -77,7 +176,7 @@ public class EntityFactory {
      * @param y the y-coordinate to start the player at
      * @return a player {@code Entity} that can move, shoot, and be killed.
      */
-    public static Entity createPlayer(float x, float y) {
+    public Entity createPlayer(float x, float y) {
         final Entity E = new Entity();
         final TransformComponent TRANSFORM = new TransformComponent();
         final MovementComponent MOVEMENT = new MovementComponent();
@@ -88,18 +187,20 @@ public class EntityFactory {
         final GUIComponent GUI = new GUIComponent();
         final InputComponent INPUT;
 
+        E.flags = KIND_PLAYER;
+
         // Initialize MovmementComponent
         MOVEMENT.moveSpeed = 5;
 
         // Initialize SpriteComponent
-        Sprite main = goAtlas.createSprite("player");
+        Sprite main = createSprite("player");
         main.setOrigin(main.getWidth() / 2, main.getHeight() / 2);
 
         SPRITE.SPRITES.add(main);
         SPRITE.zIndex = -5;
 
         // Initialize TransformComponent
-        TRANSFORM.SIZE.setSize(main.getWidth(), main.getHeight());
+        TRANSFORM.setSize(main.getWidth(), main.getHeight());
         TRANSFORM.ORIGIN.set(main.getOriginX(), main.getOriginY());
         TRANSFORM.POSITION.set(x - TRANSFORM.ORIGIN.x, y - TRANSFORM.ORIGIN.y);
 
@@ -242,6 +343,12 @@ public class EntityFactory {
 
         INPUT = new InputComponent(ip);
 
+        E.add(TRANSFORM).add(MOVEMENT).add(COLLIDER).add(SPRITE).add(INPUT).add(PLAYER).add(HEALTH);
+
+        // There's nothing to show a GUI on when running headless
+        if (headless)
+            return E;
+
         //GUI Component
         GUI.canvas = new Stage(viewport, batch);
 
@@ -288,15 +395,21 @@ public class EntityFactory {
         SCORE.setAlignment(Align.topRight);
 
         TABLE.addAction(new Action() {
+            // Reused so that the HUD doesn't create garbage every frame
+            private final TextureRegionDrawable UP_ARROW = new TextureRegionDrawable(goAtlas.findRegion("up_arrow"));
+            private final StringBuilder TEXT = new StringBuilder();
+
             @Override
             public boolean act(float delta) {
                 for (int i = 0; i < PLAYER.upFireRate; i++)
-                    FIRE_RATE_BOOSTS.get(i).setDrawable(new TextureRegionDrawable(goAtlas.findRegion("up_arrow")));
+                    FIRE_RATE_BOOSTS.get(i).setDrawable(UP_ARROW);
 
                 for (int i = 0; i < PLAYER.upBulletDamage; i++)
-                    BULLET_DAMAGE_BOOSTS.get(i).setDrawable(new TextureRegionDrawable(goAtlas.findRegion("up_arrow")));
+                    BULLET_DAMAGE_BOOSTS.get(i).setDrawable(UP_ARROW);
 
-                LIFE_COUNTER.setText("= " + PLAYER.lives);
+                TEXT.setLength(0);
+                TEXT.append("= ").append(PLAYER.lives);
+                LIFE_COUNTER.setText(TEXT);
 
                 if (HEALTH.getHealthPercent() >= .5f)
                     FILL.setColor(Color.GREEN);
@@ -307,8 +420,13 @@ public class EntityFactory {
 
                 FILL.setBounds(4, 4, (CONTAINER.getWidth() - 9) * HEALTH.getHealthPercent(), CONTAINER.getHeight() - 9);
 
-                TIMER.setText("TIME\n" + String.format("%02d", PLAYER.timeAlive / 60) + ":" + String.format("%02d", PLAYER.timeAlive % 60));
-                SCORE.setText("HIGH SCORE: " + String.format("%010d", HighScore.getLowestNonZero().getScore()) + "\nYOUR SCORE: " + String.format("%010d", PLAYER.score));
+                TEXT.setLength(0);
+                TEXT.append("TIME\n").append(PLAYER.timeAlive / 60, 2).append(':').append(PLAYER.timeAlive % 60, 2);
+                TIMER.setText(TEXT);
+
+                TEXT.setLength(0);
+                TEXT.append("HIGH SCORE: ").append(HighScore.getLowestNonZero().getScore(), 10).append("\nYOUR SCORE: ").append(PLAYER.score, 10);
+                SCORE.setText(TEXT);
 
                 return false;
             }
@@ -328,7 +446,7 @@ public class EntityFactory {
 
         GUI.canvas.addActor(TABLE);
 
-        return E.add(TRANSFORM).add(MOVEMENT).add(COLLIDER).add(SPRITE).add(INPUT).add(PLAYER).add(HEALTH).add(GUI);
+        return E.add(GUI);
     }
 
     /**
@@ -338,22 +456,24 @@ public class EntityFactory {
      * @param y      the y-coordinate of the bullet
      * @return an {@code Entity} with all the necessary components for a bullet
      */
-    public static Entity createPlayerBullet(float x, float y) {
-        final Entity E = engine.createEntity();
-        final TransformComponent TRANSFORM = engine.createComponent(TransformComponent.class);
-        final MovementComponent MOVEMENT = engine.createComponent(MovementComponent.class);
-        final SpriteComponent SPRITE = engine.createComponent(SpriteComponent.class);
-        final ColliderComponent COLLIDER = engine.createComponent(ColliderComponent.class);
-        final BulletComponent BULLET = engine.createComponent(BulletComponent.class);
+    public Entity createPlayerBullet(float x, float y) {
+        final Entity E = ENGINE.createEntity();
+        final TransformComponent TRANSFORM = ENGINE.createComponent(TransformComponent.class);
+        final MovementComponent MOVEMENT = ENGINE.createComponent(MovementComponent.class);
+        final SpriteComponent SPRITE = ENGINE.createComponent(SpriteComponent.class);
+        final ColliderComponent COLLIDER = ENGINE.createComponent(ColliderComponent.class);
+        final BulletComponent BULLET = ENGINE.createComponent(BulletComponent.class);
+
+        E.flags = KIND_PLAYER_BULLET;
 
         // Initialize SpriteComponent
-        Sprite main = goAtlas.createSprite("bullet");
+        Sprite main = createSprite("bullet");
         main.setOrigin(main.getWidth(), main.getHeight() / 2);
         SPRITE.SPRITES.add(main);
         SPRITE.zIndex = -10;
 
         // Initialize TransformComponent
-        TRANSFORM.SIZE.setSize(main.getWidth(), main.getHeight());
+        TRANSFORM.setSize(main.getWidth(), main.getHeight());
         TRANSFORM.ORIGIN.set(main.getOriginX(), main.getOriginY());
         TRANSFORM.POSITION.set(x - main.getOriginX(), y - main.getOriginY());
         TRANSFORM.rotation = 90;
@@ -368,12 +488,12 @@ public class EntityFactory {
             public void enterCollision(Entity entity) {
                 if (Mapper.AI.has(entity)) {
                     HealthComponent health = Mapper.HEALTH.get(entity);
-                    if (health.invincibilityTimer <= 0) {
-                        PlayerComponent player = Mapper.PLAYER.get(engine.getEntitiesFor(Family.all(PlayerComponent.class).get()).get(0));
+                    if (!health.recovering) {
+                        PlayerComponent player = Mapper.PLAYER.get(ENGINE.getEntitiesFor(PLAYERS).get(0));
                         health.health -= BULLET.damage;
                         player.shotsHit++;
                         player.score += BULLET.damage;
-                        engine.removeEntity(E);
+                        ENGINE.removeEntity(E);
                     }
                 }
             }
@@ -402,13 +522,13 @@ public class EntityFactory {
     // endregion
 
     // region Enemy Damagables
-    public static Entity createEnemyDamagable(float rot) {
-        final Entity E = engine.createEntity();
-        final TransformComponent TRANSFORM = engine.createComponent(TransformComponent.class);
-        final MovementComponent MOVEMENT = engine.createComponent(MovementComponent.class);
-        final SpriteComponent SPRITE = engine.createComponent(SpriteComponent.class);
-        final ColliderComponent COLLIDER = engine.createComponent(ColliderComponent.class);
-        final BulletComponent BULLET = engine.createComponent(BulletComponent.class);
+    public Entity createEnemyDamagable(float rot) {
+        final Entity E = ENGINE.createEntity();
+        final TransformComponent TRANSFORM = ENGINE.createComponent(TransformComponent.class);
+        final MovementComponent MOVEMENT = ENGINE.createComponent(MovementComponent.class);
+        final SpriteComponent SPRITE = ENGINE.createComponent(SpriteComponent.class);
+        final ColliderComponent COLLIDER = ENGINE.createComponent(ColliderComponent.class);
+        final BulletComponent BULLET = ENGINE.createComponent(BulletComponent.class);
 
         // Initialize MovementComponent
         MOVEMENT.moveSpeed = 4;
@@ -424,7 +544,7 @@ public class EntityFactory {
 
                     if (!health.invincible) {
                         health.health -= BULLET.damage;
-                        engine.removeEntity(E);
+                        ENGINE.removeEntity(E);
                     }
                 }
             }
@@ -452,7 +572,7 @@ public class EntityFactory {
      * @param rot    the rotation of the bullet
      * @return an {@code Entity} with all the necessary components for a bullet
      */
-    public static Entity createEnemyBullet(float x, float y, float rot) {
+    public Entity createEnemyBullet(float x, float y, float rot) {
         final Entity E = createEnemyDamagable(rot);
         final TransformComponent TRANSFORM = Mapper.TRANSFORM.get(E);
         final MovementComponent MOVEMENT = Mapper.MOVEMENT.get(E);
@@ -460,15 +580,17 @@ public class EntityFactory {
         final ColliderComponent COLLIDER = Mapper.COLLIDER.get(E);
         final BulletComponent BULLET = Mapper.BULLET.get(E);
 
+        E.flags = KIND_ENEMY_BULLET;
+
         // Initialize SpriteComponent
-        Sprite main = goAtlas.createSprite("bullet_large");
+        Sprite main = createSprite("bullet_large");
         main.setSize(24, 24);
         main.setOriginCenter();
         SPRITE.SPRITES.add(main);
         SPRITE.zIndex = -2;
 
         // Initialize TransformComponent
-        TRANSFORM.SIZE.setSize(main.getWidth(), main.getHeight());
+        TRANSFORM.setSize(main.getWidth(), main.getHeight());
         TRANSFORM.ORIGIN.set(main.getOriginX(), main.getOriginY());
         TRANSFORM.POSITION.set(x - TRANSFORM.ORIGIN.x, y - TRANSFORM.ORIGIN.y);
         TRANSFORM.rotation = rot;
@@ -483,8 +605,8 @@ public class EntityFactory {
         COLLIDER.BODY.setOrigin(8, 8);
         COLLIDER.BODY.setRotation(rot);
 
-        // Initialize BulletComponent
-        BULLET.handler = (float dt) -> {};
+        // No handler, so the bullet flies in a straight line and BulletSystem can schedule its despawn
+        BULLET.handler = null;
 
         return E;
     }
@@ -497,7 +619,7 @@ public class EntityFactory {
      * @param rot    the rotation of the bullet
      * @return an {@code Entity} with all the necessary components for a bullet
      */
-    public static Entity createEnemyShotgunBlast(float x, float y, float rot) {
+    public Entity createEnemyShotgunBlast(float x, float y, float rot) {
         final Entity E = createEnemyDamagable(rot);
 
         TransformComponent TRANSFORM = Mapper.TRANSFORM.get(E);
@@ -507,7 +629,7 @@ public class EntityFactory {
         MovementComponent MOVEMENT = Mapper.MOVEMENT.get(E);
 
         // Initialize SpriteComponent
-        Sprite main = goAtlas.createSprite("energy_ball");
+        Sprite main = createSprite("energy_ball");
         main.setSize(64, 64);
         main.setOriginCenter();
         main.setScale(0);
@@ -516,7 +638,7 @@ public class EntityFactory {
         SPRITE.zIndex = -2;
 
         // Initialize TransformComponent
-        TRANSFORM.SIZE.setSize(main.getWidth(), main.getHeight());
+        TRANSFORM.setSize(main.getWidth(), main.getHeight());
         TRANSFORM.ORIGIN.set(main.getOriginX(), main.getOriginY());
         TRANSFORM.POSITION.set(x - TRANSFORM.ORIGIN.x, y - TRANSFORM.ORIGIN.y);
         TRANSFORM.rotation = rot;
@@ -531,7 +653,7 @@ public class EntityFactory {
                 if (Mapper.PLAYER.has(entity)) {
                     HealthComponent health = Mapper.HEALTH.get(entity);
 
-                    if (health.getHealthPercent() > 0 && health.invincibilityTimer <= 0)
+                    if (health.getHealthPercent() > 0 && !health.recovering)
                         health.health -= BULLET.damage;
                 }
             }
@@ -549,9 +671,9 @@ public class EntityFactory {
 
         COLLIDER.BODY.setVertices(new float[]{
                 0,0,
-                TRANSFORM.SIZE.width / 1.41421356f,0,
-                TRANSFORM.SIZE.width / 1.41421356f,TRANSFORM.SIZE.height / 1.41421356f,
-                0,TRANSFORM.SIZE.height / 1.41421356f
+                TRANSFORM.width / 1.41421356f,0,
+                TRANSFORM.width / 1.41421356f,TRANSFORM.height / 1.41421356f,
+                0,TRANSFORM.height / 1.41421356f
         });
         COLLIDER.BODY.setOrigin(COLLIDER.BODY.getBoundingRectangle().getWidth() / 2, COLLIDER.BODY.getBoundingRectangle().getHeight() / 2);
         COLLIDER.BODY.setRotation(rot);
@@ -570,18 +692,19 @@ public class EntityFactory {
 
                     if (timer <= 0) {
                         for (int i = 0; i < 20; i++) {
-                            float deg = 257.5f + MathUtils.random(25);
+                            float deg = 257.5f + RANDOM.random(25);
                             float xPlace = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x + 3 * MathUtils.cos(deg * MathUtils.degreesToRadians);
                             float yPlace = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y + 3 * MathUtils.sin(deg * MathUtils.degreesToRadians);
 
-                            final Entity E = EntityFactory.createEnemyBullet(xPlace, yPlace, deg);
+                            final Entity E = createEnemyBullet(xPlace, yPlace, deg);
                             final MovementComponent MOVE = Mapper.MOVEMENT.get(E);
                             Mapper.BULLET.get(E).damage = 7;
                             MOVE.moveSpeed = 10;
 
-                            engine.addEntity(E);
+                            SPAWNS.add(E);
                         }
-                        engine.removeEntity(E);
+                        SPAWNS.flush(ENGINE);
+                        ENGINE.removeEntity(E);
                     }
                 }
             }
@@ -598,7 +721,7 @@ public class EntityFactory {
      * @param rot    the rotation of the bullet
      * @return an {@code Entity} with all the necessary components for a bullet
      */
-    public static Entity createEnemyLaserEmitter(float x, float y, float rot) {
+    public Entity createEnemyLaserEmitter(float x, float y, float rot) {
         final Entity E = createEnemyDamagable(rot);
 
         TransformComponent TRANSFORM = Mapper.TRANSFORM.get(E);
@@ -608,7 +731,7 @@ public class EntityFactory {
         MovementComponent MOVEMENT = Mapper.MOVEMENT.get(E);
 
         // Initialize SpriteComponent
-        Sprite main = goAtlas.createSprite("energy_ball");
+        Sprite main = createSprite("energy_ball");
         main.setSize(48, 48);
         main.setOriginCenter();
         main.setScale(0);
@@ -617,13 +740,13 @@ public class EntityFactory {
         SPRITE.zIndex = -2;
 
         // Initialize TransformComponent
-        TRANSFORM.SIZE.setSize(main.getWidth(), main.getHeight());
+        TRANSFORM.setSize(main.getWidth(), main.getHeight());
         TRANSFORM.ORIGIN.set(main.getOriginX(), main.getOriginY());
         TRANSFORM.POSITION.set(x - TRANSFORM.ORIGIN.x, y - TRANSFORM.ORIGIN.y);
         TRANSFORM.rotation = rot;
 
         // Initialize MovementComponent
-        MOVEMENT.moveSpeed = MathUtils.random(.8f, 5f);
+        MOVEMENT.moveSpeed = RANDOM.random(.8f, 5f);
 
         // Initialize ColliderComponent
         COLLIDER.handler = new CollisionHandler() {
@@ -650,9 +773,9 @@ public class EntityFactory {
 
         COLLIDER.BODY.setVertices(new float[]{
                 0,0,
-                TRANSFORM.SIZE.width / 1.41421356f,0,
-                TRANSFORM.SIZE.width / 1.41421356f,TRANSFORM.SIZE.height / 1.41421356f,
-                0,TRANSFORM.SIZE.height / 1.41421356f
+                TRANSFORM.width / 1.41421356f,0,
+                TRANSFORM.width / 1.41421356f,TRANSFORM.height / 1.41421356f,
+                0,TRANSFORM.height / 1.41421356f
         });
         COLLIDER.BODY.setOrigin(COLLIDER.BODY.getBoundingRectangle().getWidth() / 2, COLLIDER.BODY.getBoundingRectangle().getHeight() / 2);
         COLLIDER.BODY.setRotation(rot);
@@ -673,19 +796,18 @@ public class EntityFactory {
                         MOVEMENT.moveSpeed = MathUtils.clamp(MOVEMENT.moveSpeed - dt / 4f, 0, 1);
 
                         if (timer <= 0) {
-                            final ImmutableArray<Entity> PLAYERS = engine.getEntitiesFor(Family.all(PlayerComponent.class, TransformComponent.class).get());
-                            final Vector2
-                                    TARGET = new Vector2(),
-                                    CENTER = new Vector2();
-
-                            CENTER.set(TRANSFORM.POSITION).add(TRANSFORM.ORIGIN);
-
-                            if (PLAYERS.size() > 0) {
-                                final TransformComponent PLAYER_TRANS = Mapper.TRANSFORM.get(PLAYERS.first());
-                                TARGET.set(PLAYER_TRANS.POSITION).add(PLAYER_TRANS.ORIGIN);
+                            final TargetingSystem TARGETING = ENGINE.getSystem(TargetingSystem.class);
+                            final float
+                                    CENTER_X = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x,
+                                    CENTER_Y = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y;
+
+                            float targetX = 0, targetY = 0;
+                            if (TARGETING != null && TARGETING.hasPlayer()) {
+                                targetX = TARGETING.getPlayerCenter().x;
+                                targetY = TARGETING.getPlayerCenter().y;
                             }
 
-                            TRANSFORM.rotation = MathUtils.radDeg * MathUtils.atan2(TARGET.y - CENTER.y, TARGET.x - CENTER.x);
+                            TRANSFORM.rotation = MathUtils.radDeg * MathUtils.atan2(targetY - CENTER_Y, targetX - CENTER_X);
 
                             timer = 2;
                             state++;
@@ -699,20 +821,20 @@ public class EntityFactory {
                         float xPlace = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x + 3 * MathUtils.cos(theta * MathUtils.degreesToRadians);
                         float yPlace = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y + 3 * MathUtils.sin(theta * MathUtils.degreesToRadians);
 
-                        final Entity B = EntityFactory.createEnemyBullet(xPlace, yPlace, theta);
+                        final Entity B = createEnemyBullet(xPlace, yPlace, theta);
                         final MovementComponent MOVE = Mapper.MOVEMENT.get(B);
                         final BulletComponent BULLET = Mapper.BULLET.get(B);
 
                         MOVE.moveSpeed = 10;
                         BULLET.damage = 2;
 
-                        engine.addEntity(B);
+                        ENGINE.addEntity(B);
 
                         if (timer <= 0)
                             state++;
                         break;
                     default:
-                        engine.removeEntity(E);
+                        ENGINE.removeEntity(E);
                 }
             }
         };
@@ -731,7 +853,7 @@ public class EntityFactory {
      * @param rot    the rotation of the bullet
      * @return an {@code Entity} with all the necessary components for a bullet
      */
-    public static Entity createHomingEnemyBullet(float x, float y, float rot) {
+    public Entity createHomingEnemyBullet(float x, float y, float rot) {
         final Entity E = createEnemyDamagable(rot);
 
         TransformComponent TRANSFORM = Mapper.TRANSFORM.get(E);
@@ -741,7 +863,7 @@ public class EntityFactory {
         BulletComponent BULLET = Mapper.BULLET.get(E);
 
         // Initialize SpriteComponent
-        Sprite main = goAtlas.createSprite("energy_ball");
+        Sprite main = createSprite("energy_ball");
         main.setColor(122 / 255f, 1, 104 / 255f, 1);
         main.setSize(24, 24);
         main.setOriginCenter();
@@ -749,7 +871,7 @@ public class EntityFactory {
         SPRITE.zIndex = -2;
 
         // Initialize TransformComponent
-        TRANSFORM.SIZE.setSize(main.getWidth(), main.getHeight());
+        TRANSFORM.setSize(main.getWidth(), main.getHeight());
         TRANSFORM.ORIGIN.set(main.getOriginX(), main.getOriginY());
         TRANSFORM.POSITION.set(x - TRANSFORM.ORIGIN.x, y - TRANSFORM.ORIGIN.y);
         TRANSFORM.rotation = rot;
@@ -772,52 +894,10 @@ public class EntityFactory {
 
         /*
         Slows down when bullet's speed is between 0 (exclusive) and 4.
-        Slowly turns towards player when speed is 0.
-        When it faces player, it changes speed to 6, and changes to red.
+        Waits a second once it has stopped, then launches at the player with a speed of 6 and turns red.
+        The HomingSystem does all of this for every homing bullet at once.
          */
-        BULLET.handler = new BulletHandler() {
-            private float timer = 1;
-            private int state;
-
-            @Override
-            public void update(float dt) {
-                switch (state) { // Slow down bullet
-                    case 0:
-                        MOVEMENT.moveSpeed = MathUtils.clamp(MOVEMENT.moveSpeed - dt * 4, 0, MOVEMENT.moveSpeed);
-                        if (MOVEMENT.moveSpeed == 0) {
-                            timer -= dt;
-                            if (timer <= 0)
-                                state++;
-                        }
-                        break;
-                    case 1: // Select target and set speed
-                        final ImmutableArray<Entity> PLAYERS = engine.getEntitiesFor(Family.one(PlayerComponent.class).get());
-                        final Vector2
-                                LOC = new Vector2(TRANSFORM.POSITION.cpy().add(TRANSFORM.ORIGIN)),
-                                TARGET = new Vector2();
-
-                        if (PLAYERS.size() > 0 && Mapper.TRANSFORM.has(PLAYERS.first())) { // If there is a player to target
-                            final TransformComponent PLAYER_TRANS = Mapper.TRANSFORM.get(PLAYERS.first());
-                            TARGET.set(PLAYER_TRANS.POSITION).add(PLAYER_TRANS.ORIGIN);
-                        }
-
-                        float theta = MathUtils.atan2(TARGET.y - LOC.y, TARGET.x - LOC.x);
-
-                        MOVEMENT.moveSpeed = 6;
-                        MOVEMENT.MOVEMENT_NORMAL.setAngleRad(theta);
-                        state++;
-                        break;
-                    case 2: // Fade
-                        SPRITE.SPRITES.get(0).setColor(
-                                MathUtils.clamp(SPRITE.SPRITES.get(0).getColor().r + dt, 0, 1),
-                                MathUtils.clamp(SPRITE.SPRITES.get(0).getColor().g - dt, 0, 1),
-                                MathUtils.clamp(SPRITE.SPRITES.get(0).getColor().b - dt, 0, 1),
-                                MathUtils.clamp(SPRITE.SPRITES.get(0).getColor().a - dt * 0.5f, 0, 1)
-                        );
-                        break;
-                }
-            }
-        };
+        E.add(ENGINE.createComponent(HomingComponent.class));
 
         return E;
     }
@@ -830,7 +910,7 @@ public class EntityFactory {
      * @param dir    the rotation of the bullet
      * @return an {@code Entity} with all the necessary components for a bullet
      */
-    public static Entity createEnemyBall(float x, float y, float dir) {
+    public Entity createEnemyBall(float x, float y, float dir) {
         final Entity E = createEnemyDamagable(dir);
         final TransformComponent TRANSFORM = Mapper.TRANSFORM.get(E);
         final MovementComponent MOVEMENT = Mapper.MOVEMENT.get(E);
@@ -838,8 +918,10 @@ public class EntityFactory {
         final ColliderComponent COLLIDER = Mapper.COLLIDER.get(E);
         final BulletComponent BULLET = Mapper.BULLET.get(E);
 
+        E.flags = KIND_ENEMY_BALL;
+
         // Initialize SpriteComponent
-        Sprite main = goAtlas.createSprite("energy_ball");
+        Sprite main = createSprite("energy_ball");
         main.setColor(191 / 255f, 106 / 255f, 221 / 255f, 1);
         main.setSize(16, 16);
         main.setOriginCenter();
@@ -847,7 +929,7 @@ public class EntityFactory {
         SPRITE.zIndex = -2;
 
         // Initialize TransformComponent
-        TRANSFORM.SIZE.setSize(main.getWidth(), main.getHeight());
+        TRANSFORM.setSize(main.getWidth(), main.getHeight());
         TRANSFORM.ORIGIN.set(main.getOriginX(), main.getOriginY());
         TRANSFORM.POSITION.set(x - TRANSFORM.ORIGIN.x, y - TRANSFORM.ORIGIN.y);
 
@@ -857,9 +939,9 @@ public class EntityFactory {
         // Initialize ColliderComponent
         COLLIDER.BODY.setVertices(new float[]{
                 0, 0,
-                TRANSFORM.SIZE.width / 1.41421356f, 0,
-                TRANSFORM.SIZE.width / 1.41421356f, TRANSFORM.SIZE.height / 1.41421356f,
-                0, TRANSFORM.SIZE.height / 1.41421356f
+                TRANSFORM.width / 1.41421356f, 0,
+                TRANSFORM.width / 1.41421356f, TRANSFORM.height / 1.41421356f,
+                0, TRANSFORM.height / 1.41421356f
         });
         COLLIDER.BODY.setOrigin(COLLIDER.BODY.getBoundingRectangle().getWidth() / 2, COLLIDER.BODY.getBoundingRectangle().getHeight() / 2);
         COLLIDER.BODY.setRotation(dir);
@@ -875,7 +957,7 @@ public class EntityFactory {
      * @param dir    the rotation of the bullet
      * @return an {@code Entity} with all the necessary components for a bullet
      */
-    public static Entity createEnemyBallExploding(float x, float y, float dir) {
+    public Entity createEnemyBallExploding(float x, float y, float dir) {
         final Entity E = createEnemyDamagable(dir);
         final TransformComponent TRANSFORM = Mapper.TRANSFORM.get(E);
         final MovementComponent MOVEMENT = Mapper.MOVEMENT.get(E);
@@ -884,7 +966,7 @@ public class EntityFactory {
         final BulletComponent BULLET = Mapper.BULLET.get(E);
 
         // Initialize SpriteComponent
-        Sprite main = goAtlas.createSprite("energy_ball");
+        Sprite main = createSprite("energy_ball");
         main.setColor(Color.CHARTREUSE);
         main.setSize(32, 32);
         main.setOriginCenter();
@@ -892,7 +974,7 @@ public class EntityFactory {
         SPRITE.zIndex = -2;
 
         // Initialize TransformComponent
-        TRANSFORM.SIZE.setSize(main.getWidth(), main.getHeight());
+        TRANSFORM.setSize(main.getWidth(), main.getHeight());
         TRANSFORM.ORIGIN.set(main.getOriginX(), main.getOriginY());
         TRANSFORM.POSITION.set(x - TRANSFORM.ORIGIN.x, y - TRANSFORM.ORIGIN.y);
 
@@ -902,15 +984,15 @@ public class EntityFactory {
         // Initialize ColliderComponent
         COLLIDER.BODY.setVertices(new float[]{
                 0, 0,
-                TRANSFORM.SIZE.width / 1.41421356f, 0,
-                TRANSFORM.SIZE.width / 1.41421356f, TRANSFORM.SIZE.height / 1.41421356f,
-                0, TRANSFORM.SIZE.height / 1.41421356f
+                TRANSFORM.width / 1.41421356f, 0,
+                TRANSFORM.width / 1.41421356f, TRANSFORM.height / 1.41421356f,
+                0, TRANSFORM.height / 1.41421356f
         });
         COLLIDER.BODY.setOrigin(COLLIDER.BODY.getBoundingRectangle().getWidth() / 2, COLLIDER.BODY.getBoundingRectangle().getHeight() / 2);
         COLLIDER.BODY.setRotation(dir);
 
         BULLET.handler = new BulletHandler() {
-            private float timer = MathUtils.random(1, 2);
+            private float timer = RANDOM.random(1, 2);
 
             @Override
             public void update(float dt) {
@@ -923,7 +1005,7 @@ public class EntityFactory {
                 );
 
                 if (timer <= 0) {
-                    float rand = MathUtils.random(359);
+                    float rand = RANDOM.random(359);
                     for (int i = 0; i < 5; i++) {
                         float theta = i * 72f;
                         Vector2 loc = TRANSFORM.POSITION.cpy().add(TRANSFORM.ORIGIN);
@@ -931,9 +1013,10 @@ public class EntityFactory {
                         Mapper.BULLET.get(BALL).damage = 3;
                         Mapper.SPRITE.get(BALL).SPRITES.get(0).setColor(Color.RED);
                         Mapper.MOVEMENT.get(BALL).moveSpeed = 2;
-                        engine.addEntity(BALL);
+                        SPAWNS.add(BALL);
                     }
-                    engine.removeEntity(E);
+                    SPAWNS.flush(ENGINE);
+                    ENGINE.removeEntity(E);
                 }
             }
         };
@@ -949,7 +1032,7 @@ public class EntityFactory {
      * @param dir    the rotation of the bullet
      * @return an {@code Entity} with all the necessary components for a bullet
      */
-    public static Entity createEmitterBall(float x, float y, float dir) {
+    public Entity createEmitterBall(float x, float y, float dir) {
         final Entity E = createEnemyDamagable(dir);
         final TransformComponent TRANSFORM = Mapper.TRANSFORM.get(E);
         final MovementComponent MOVEMENT = Mapper.MOVEMENT.get(E);
@@ -958,7 +1041,7 @@ public class EntityFactory {
         final BulletComponent BULLET = Mapper.BULLET.get(E);
 
         // Initialize SpriteComponent
-        Sprite main = goAtlas.createSprite("energy_ball");
+        Sprite main = createSprite("energy_ball");
         main.setColor(Color.CHARTREUSE/*191 / 255f, 106 / 255f, 221 / 255f, 1*/);
         main.setSize(64, 64);
         main.setOriginCenter();
@@ -966,7 +1049,7 @@ public class EntityFactory {
         SPRITE.zIndex = -2;
 
         // Initialize TransformComponent
-        TRANSFORM.SIZE.setSize(main.getWidth(), main.getHeight());
+        TRANSFORM.setSize(main.getWidth(), main.getHeight());
         TRANSFORM.ORIGIN.set(main.getOriginX(), main.getOriginY());
         TRANSFORM.POSITION.set(x - TRANSFORM.ORIGIN.x, y - TRANSFORM.ORIGIN.y);
 
@@ -976,9 +1059,9 @@ public class EntityFactory {
         // Initialize ColliderComponent
         COLLIDER.BODY.setVertices(new float[]{
                 0, 0,
-                TRANSFORM.SIZE.width / 1.41421356f, 0,
-                TRANSFORM.SIZE.width / 1.41421356f, TRANSFORM.SIZE.height / 1.41421356f,
-                0, TRANSFORM.SIZE.height / 1.41421356f
+                TRANSFORM.width / 1.41421356f, 0,
+                TRANSFORM.width / 1.41421356f, TRANSFORM.height / 1.41421356f,
+                0, TRANSFORM.height / 1.41421356f
         });
         COLLIDER.BODY.setOrigin(COLLIDER.BODY.getBoundingRectangle().getWidth() / 2, COLLIDER.BODY.getBoundingRectangle().getHeight() / 2);
         COLLIDER.BODY.setRotation(dir);
@@ -991,28 +1074,21 @@ public class EntityFactory {
                 timer += dt;
 
                 if (timer >= 0.02f) {
-                    final Vector2 TRANS_CENTER = new Vector2(TRANSFORM.POSITION).add(TRANSFORM.ORIGIN);
                     final float theta = deg * 15f;
-                    final float xPlace = TRANS_CENTER.x + 16 * MathUtils.cosDeg(theta);
-                    final float yPlace = TRANS_CENTER.y + 16 * MathUtils.sinDeg(theta);
+                    final float xPlace = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x + 16 * MathUtils.cosDeg(theta);
+                    final float yPlace = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y + 16 * MathUtils.sinDeg(theta);
                     final Entity B = createEnemyBullet(xPlace, yPlace, theta);
                     final SpriteComponent B_SPRITE = Mapper.SPRITE.get(B);
                     final MovementComponent B_MOVE = Mapper.MOVEMENT.get(B);
-                    final BulletComponent B_BULLET = Mapper.BULLET.get(B);
 
                     B_SPRITE.zIndex = SPRITE.zIndex - 1;
 
                     B_MOVE.moveSpeed = 0;
+                    B_MOVE.acceleration = 1;
+                    B_MOVE.maxSpeed = 5;
+                    B_MOVE.startParametric();
 
-                    B_BULLET.handler = (float delta) -> {
-                        if (B_MOVE.moveSpeed < 5) {
-                            B_MOVE.moveSpeed += delta;
-                            if (B_MOVE.moveSpeed > 5)
-                                B_MOVE.moveSpeed = 5;
-                        }
-                    };
-
-                    engine.addEntity(B);
+                    ENGINE.addEntity(B);
                     timer = 0;
                     deg++;
                 }
@@ -1021,6 +1097,72 @@ public class EntityFactory {
 
         return E;
     }
+
+    /**
+     * Creates one bullet of a volley of a bullet pattern, with the volley's speed, damage and color.
+     * If the volley has a motion, the bullet moves parametrically and gets a {@link PatternComponent} for the rest of it.
+     *
+     * @param volley the volley the bullet is a part of
+     * @param index  the index of the bullet in the volley
+     * @param x      the x-coordinate of the bullet
+     * @param y      the y-coordinate of the bullet
+     * @param rot    the rotation of the bullet
+     * @return an {@code Entity} with all the necessary components for a bullet
+     */
+    public Entity createPatternBullet(BulletPatterns.Volley volley, int index, float x, float y, float rot) {
+        final Entity E;
+
+        switch (volley.BULLET) {
+            case BULLET:
+                E = createEnemyBullet(x, y, rot);
+                break;
+            case HOMING:
+                E = createHomingEnemyBullet(x, y, rot);
+                break;
+            case LASER_EMITTER:
+                E = createEnemyLaserEmitter(x, y, rot);
+                break;
+            case EXPLODING:
+                E = createEnemyBallExploding(x, y, rot);
+                break;
+            default:
+                E = createEnemyBall(x, y, rot);
+        }
+
+        final BulletComponent BULLET = Mapper.BULLET.get(E);
+
+        if (!Float.isNaN(volley.SPEED))
+            Mapper.MOVEMENT.get(E).moveSpeed = volley.SPEED + index * volley.SPEED_STEP;
+        if (!Float.isNaN(volley.DAMAGE))
+            BULLET.damage = volley.DAMAGE;
+        if (!Float.isNaN(volley.DESPAWN_TIME))
+            BULLET.despawnTime = volley.DESPAWN_TIME;
+        if (volley.COLOR != null)
+            Mapper.SPRITE.get(E).SPRITES.first().setColor(volley.COLOR);
+
+        if (volley.MOTION != null) {
+            final BulletPatterns.Motion MOTION = volley.MOTION;
+            final PatternComponent PATTERN = ENGINE.createComponent(PatternComponent.class);
+
+            if (!MOTION.isStraight()) {
+                final MovementComponent MOVEMENT = Mapper.MOVEMENT.get(E);
+
+                MOVEMENT.angularVelocity = MOTION.TURN;
+                MOVEMENT.acceleration = MOTION.ACCELERATION;
+                MOVEMENT.minSpeed = MOTION.MIN_SPEED;
+                MOVEMENT.maxSpeed = MOTION.MAX_SPEED;
+                MOVEMENT.waveAmplitude = MOTION.WAVE;
+                MOVEMENT.waveFrequency = MOTION.WAVE_RATE;
+                MOVEMENT.startParametric();
+            }
+
+            PATTERN.volley = volley;
+            PATTERN.motion = MOTION;
+            E.add(PATTERN);
+        }
+
+        return E;
+    }
     // endregion
 
     // region Powerups
@@ -1029,41 +1171,37 @@ public class EntityFactory {
      *
      * @param x x location of bottom left corner
      * @param y y location of bottom left corner
-     * @param engine {@link PooledEngine}
      * @return a random power-up spawner
      */
-    public static Entity createRandomPowerUpSpawner(float x, float y, PooledEngine engine) {
-        final PooledEngine ENGINE = engine;
+    public Entity createRandomPowerUpSpawner(float x, float y) {
         final Entity E = new Entity();
         final TransformComponent TRANSFORM = new TransformComponent();
-        final Sprite REF = new Sprite(goAtlas.createSprite("upgrade_base"));
+        final Sprite REF = new Sprite(createSprite("upgrade_base"));
         final SpawnerComponent SPAWNER;
 
+        E.flags = KIND_POWER_UP_SPAWNER;
+
         //Set up Transform Component
         TRANSFORM.POSITION.set(x, y);
 
         //Set up Spawn Component
-        SPAWNER = new SpawnerComponent(() -> {
-            Array<Entity> spawnedEntities = new Array<Entity>(1);
-
+        SPAWNER = new SpawnerComponent((spawns) -> {
             // Spawn at the top of the screen. Make sure that it isn't out of the reach of the player.
-            float spawnX = MathUtils.random(REF.getWidth(), viewport.getWorldWidth() - REF.getWidth() * 2);
+            float spawnX = RANDOM.random(REF.getWidth(), viewport.getWorldWidth() - REF.getWidth() * 2);
             float spawnY = viewport.getWorldHeight() + 32;
 
-            if (MathUtils.randomBoolean(0.5f))
-                spawnedEntities.add(createDamagePowerUp(spawnX, spawnY, ENGINE));
-            else if (MathUtils.randomBoolean(0.5f))
-                spawnedEntities.add(createSpeedPowerUp(spawnX, spawnY, ENGINE));
+            if (RANDOM.randomBoolean(0.5f))
+                spawns.add(createDamagePowerUp(spawnX, spawnY));
+            else if (RANDOM.randomBoolean(0.5f))
+                spawns.add(createSpeedPowerUp(spawnX, spawnY));
             else
-                spawnedEntities.add(createFireRatePowerUp(spawnX, spawnY, ENGINE));
-
-            return spawnedEntities;
+                spawns.add(createFireRatePowerUp(spawnX, spawnY));
         });
 
         SPAWNER.spawnRateMin = 20;
         SPAWNER.spawnRateMax = 40;
 
-        SPAWNER.timer = MathUtils.random(SPAWNER.spawnRateMin, SPAWNER.spawnRateMax);
+        SPAWNER.delay = RANDOM.random(SPAWNER.spawnRateMin, SPAWNER.spawnRateMax);
 
         return E.add(TRANSFORM).add(SPAWNER);
     }
@@ -1076,18 +1214,18 @@ public class EntityFactory {
      * @return an {@code Entity} with the necessary {@code Component}s attached
      *         to make any powerup (sans the {@code ColliderComponent}).
      */
-    public static Entity createBasePowerUp(float x, float y) {
-        final Entity E = engine.createEntity();
-        final TransformComponent TRANSFORM = engine.createComponent(TransformComponent.class);
-        final MovementComponent MOVEMENT = engine.createComponent(MovementComponent.class);
-        final ColliderComponent COLLIDER = engine.createComponent(ColliderComponent.class);
-        final SpriteComponent SPRITE = engine.createComponent(SpriteComponent.class);
-        final LifetimeComponent LIFETIME = engine.createComponent(LifetimeComponent.class);
+    public Entity createBasePowerUp(float x, float y) {
+        final Entity E = ENGINE.createEntity();
+        final TransformComponent TRANSFORM = ENGINE.createComponent(TransformComponent.class);
+        final MovementComponent MOVEMENT = ENGINE.createComponent(MovementComponent.class);
+        final ColliderComponent COLLIDER = ENGINE.createComponent(ColliderComponent.class);
+        final SpriteComponent SPRITE = ENGINE.createComponent(SpriteComponent.class);
+        final LifetimeComponent LIFETIME = ENGINE.createComponent(LifetimeComponent.class);
 
         //Set up Sprite Component
         Sprite
-            base = goAtlas.createSprite("upgrade_base"),
-            up = goAtlas.createSprite("up_arrow");
+            base = createSprite("upgrade_base"),
+            up = createSprite("up_arrow");
 
         base.setOriginCenter();
         up.setOriginCenter();
@@ -1098,16 +1236,16 @@ public class EntityFactory {
         SPRITE.zIndex = -3;
 
         // Set up TransformComponent
-        TRANSFORM.SIZE.setSize(base.getWidth(), base.getHeight());
+        TRANSFORM.setSize(base.getWidth(), base.getHeight());
         TRANSFORM.ORIGIN.set(base.getOriginX(), base.getOriginY());
         TRANSFORM.POSITION.set(x - TRANSFORM.ORIGIN.x, y - TRANSFORM.ORIGIN.y);
 
         // Set up ColliderComponent pt 1
         COLLIDER.BODY.setVertices(new float[] {
                 -5, -5,
-                TRANSFORM.SIZE.width + 5, -5,
-                TRANSFORM.SIZE.width + 5, TRANSFORM.SIZE.height + 5,
-                -5, TRANSFORM.SIZE.height + 5
+                TRANSFORM.width + 5, -5,
+                TRANSFORM.width + 5, TRANSFORM.height + 5,
+                -5, TRANSFORM.height + 5
         });
         COLLIDER.solid = false;
         COLLIDER.BODY.setOrigin(TRANSFORM.ORIGIN.x, TRANSFORM.ORIGIN.y);
@@ -1117,7 +1255,7 @@ public class EntityFactory {
         MOVEMENT.moveSpeed = 4;
 
         // Set up powerup lifetime
-        LIFETIME.timer = 10;
+        LIFETIME.duration = 10;
 
         return E.add(TRANSFORM).add(SPRITE).add(MOVEMENT).add(COLLIDER).add(LIFETIME);
     }
@@ -1125,11 +1263,13 @@ public class EntityFactory {
     /**
      * Creates a power up that upgrades the damage output of the player.
      */
-    public static Entity createDamagePowerUp(float x, float y, Engine engine) {
+    public Entity createDamagePowerUp(float x, float y) {
         final Entity E = createBasePowerUp(x, y);
         final ColliderComponent COLLIDER = Mapper.COLLIDER.get(E);
         final SpriteComponent SPRITE = Mapper.SPRITE.get(E);
 
+        E.flags = KIND_DAMAGE_POWER_UP;
+
         // Set up base sprite
         SPRITE.SPRITES.get(0).setColor(Color.RED);
 
@@ -1139,16 +1279,14 @@ public class EntityFactory {
             public void enterCollision(Entity entity) {
                 if (Mapper.PLAYER.has(entity) && Mapper.HEALTH.get(entity).getHealthPercent() > 0) {
                     PlayerComponent player = Mapper.PLAYER.get(entity);
-                    Sound sound = Assets.MANAGER.get(Assets.Audio.POWERUP_SOUND);
-
-                    sound.play(OptionsManager.sfxVolume);
+                    playPowerUpSound();
                     if (player.upBulletDamage < 4) {
                         player.upBulletDamage++;
                         player.score += 100;
                     } else
                         player.score += 50;
 
-                    engine.removeEntity(E);
+                    ENGINE.removeEntity(E);
                 }
             }
 
@@ -1167,12 +1305,13 @@ public class EntityFactory {
     /**
      * Creates a fire rate power up that increases the player's fire rate. Stacks up to 5 times.
      */
-    public static Entity createFireRatePowerUp(float x, float y, PooledEngine engine) {
-        final PooledEngine ENGINE = engine;
+    public Entity createFireRatePowerUp(float x, float y) {
         final Entity E = createBasePowerUp(x, y);
         final SpriteComponent SPRITE = Mapper.SPRITE.get(E);
         final ColliderComponent COLLIDER = Mapper.COLLIDER.get(E);
 
+        E.flags = KIND_FIRE_RATE_POWER_UP;
+
         // Set up base sprite
         SPRITE.SPRITES.get(0).setColor(Color.YELLOW);
 
@@ -1182,9 +1321,7 @@ public class EntityFactory {
             public void enterCollision(Entity entity) {
                 if (Mapper.PLAYER.has(entity) && Mapper.HEALTH.get(entity).getHealthPercent() > 0) {
                     PlayerComponent player = Mapper.PLAYER.get(entity);
-                    Sound sound = Assets.MANAGER.get(Assets.Audio.POWERUP_SOUND);
-
-                    sound.play(OptionsManager.sfxVolume);
+                    playPowerUpSound();
                     if (player.upFireRate < 4) {
                         player.upFireRate++;
                         player.score += 100;
@@ -1210,12 +1347,13 @@ public class EntityFactory {
     /**
      * Creates a speed power up that increases the player's speed. Stacks up to 5 times.
      */
-    public static Entity createSpeedPowerUp(float x, float y, PooledEngine engine) {
-        final PooledEngine ENGINE = engine;
+    public Entity createSpeedPowerUp(float x, float y) {
         final Entity E = createBasePowerUp(x, y);
         final SpriteComponent SPRITE = Mapper.SPRITE.get(E);
         final ColliderComponent COLLIDER = Mapper.COLLIDER.get(E);
 
+        E.flags = KIND_SPEED_POWER_UP;
+
         // Set up base sprite
         SPRITE.SPRITES.get(0).setColor(Color.CYAN);
 
@@ -1225,9 +1363,7 @@ public class EntityFactory {
             public void enterCollision(Entity entity) {
                 if (Mapper.PLAYER.has(entity) && Mapper.HEALTH.get(entity).getHealthPercent() > 0) {
                     PlayerComponent player = Mapper.PLAYER.get(entity);
-                    Sound sound = Assets.MANAGER.get(Assets.Audio.POWERUP_SOUND);
-
-                    sound.play(OptionsManager.sfxVolume);
+                    playPowerUpSound();
                     if (player.upSpeed < 4) {
                         player.upSpeed++;
                         player.score += 100;
@@ -1251,152 +1387,6 @@ public class EntityFactory {
     }
     // endregion
 
-    // region Particles
-    /**
-     * Creates a star entity.
-     *
-     * @param x the x-coordinate
-     * @param y the y-coordinate
-     * @param z the virtual depth of the star
-     * @return an {@code Entity} made to look like a star with a random burning temperature,
-     *         with its size & speed made proportional to its depth
-     */
-    public static Entity createStar(float x, float y, int z) {
-        final Entity E = engine.createEntity();
-        final TransformComponent TRANSFORM = engine.createComponent(TransformComponent.class);
-        final MovementComponent MOVEMENT = engine.createComponent(MovementComponent.class);
-        final SpriteComponent SPRITE = engine.createComponent(SpriteComponent.class);
-        final LifetimeComponent LIFETIME = engine.createComponent(LifetimeComponent.class);
-
-        // Clamp z between 0 and 100
-        z = MathUtils.clamp(z, 0, 100);
-
-        // Create star sprite
-        Sprite main = new Sprite(goAtlas.createSprite("star1"));
-        float temp = (float)Math.pow(MathUtils.random(), 1);
-        Color tint = CoffeeUtils.HSVtoRGB(MathUtils.lerp(0, 300, temp), MathUtils.lerp(25f, 0, temp), 100);
-        float size = MathUtils.lerp(1, 6, (100 - z) / 100f);
-
-        main.setSize(size, size);
-        main.setOriginCenter();
-        main.setColor(tint);
-
-        SPRITE.SPRITES.add(main);
-        SPRITE.zIndex = -100 - z;
-
-        // Initialize transform
-        TRANSFORM.SIZE.setSize(main.getWidth(), main.getHeight());
-        TRANSFORM.ORIGIN.set(main.getOriginX(), main.getOriginY());
-        TRANSFORM.POSITION.set(x - TRANSFORM.ORIGIN.x, y - TRANSFORM.ORIGIN.y);
-
-        // Initialize movement
-        MOVEMENT.MOVEMENT_NORMAL.set(0, -1);
-        MOVEMENT.moveSpeed = MathUtils.lerp(3, 6, (100 - z) / 100f);
-
-        // Initialize particle lifetime
-        LIFETIME.timer = 5;
-
-        return E.add(TRANSFORM).add(MOVEMENT).add(SPRITE).add(LIFETIME);
-    }
-
-    public static Entity createShootingStar(float x, float y, int z, float angle) {
-        final Entity E = engine.createEntity();
-        final TransformComponent TRANSFORM = engine.createComponent(TransformComponent.class);
-        final MovementComponent MOVEMENT = engine.createComponent(MovementComponent.class);
-        final SpriteComponent SPRITE = engine.createComponent(SpriteComponent.class);
-        final LifetimeComponent LIFETIME = engine.createComponent(LifetimeComponent.class);
-
-        // Clamp z between 0 and 100
-        z = MathUtils.clamp(z, 0, 100);
-
-        // Create star sprite
-        Sprite main = new Sprite(goAtlas.createSprite("shooting_star"));
-        float temp = (float)Math.pow(MathUtils.random(), 1);
-        Color tint = CoffeeUtils.HSVtoRGB(MathUtils.lerp(0, 300, temp), MathUtils.lerp(25f, 0, temp), 100);
-        float size = MathUtils.lerp(1, 10, (100 - z) / 100f);
-
-        main.setSize(size * 3.5f, size);
-        main.setOrigin(main.getWidth(), main.getHeight() / 2);
-        main.setColor(tint);
-
-        SPRITE.SPRITES.add(main);
-        SPRITE.zIndex = -100 - z;
-
-        // Initialize transform
-        TRANSFORM.SIZE.setSize(main.getWidth(), main.getHeight());
-        TRANSFORM.ORIGIN.set(main.getOriginX(), main.getOriginY());
-        TRANSFORM.POSITION.set(x - TRANSFORM.ORIGIN.x, y - TRANSFORM.ORIGIN.y);
-        TRANSFORM.rotation = angle;
-
-        // Initialize movement
-        MOVEMENT.MOVEMENT_NORMAL.set(0, -2);
-        MOVEMENT.MOVEMENT_NORMAL.setAngle(angle);
-        MOVEMENT.moveSpeed = MathUtils.lerp(7, 15, (100 - z) / 100f);
-
-        // Initialize particle lifetime
-        LIFETIME.timer = 5;
-
-        return E.add(TRANSFORM).add(MOVEMENT).add(SPRITE).add(LIFETIME);
-    }
-
-    /**
-     * Creates a particle generator that simulates traveling through space.
-     * This also acts as a background for the game.
-     *
-     * @return an {@link Entity} with a {@link SpawnerComponent} configured to spawn stars, asteroids, etc.
-     */
-    public static Entity createParticleGenerator() {
-        final Entity E = new Entity();
-        final TransformComponent TRANSFORM = new TransformComponent();
-        final SpriteComponent SPRITE = new SpriteComponent();
-        final SpawnerComponent SPAWNER;
-
-        // Initialize SpriteComponent
-        final Pixmap PIX = new Pixmap((int)viewport.getWorldWidth(), (int)viewport.getWorldHeight(), Pixmap.Format.RGBA8888);
-        final Texture TEX;
-        final Sprite SPR;
-
-        PIX.setColor(0, 0, 10 / 255f, 1);
-        PIX.fill();
-        TEX = new Texture(PIX);
-        SPR = new Sprite(TEX);
-
-        SPR.setSize(viewport.getWorldWidth(), viewport.getWorldHeight());
-        SPR.setOriginCenter();
-        SPRITE.SPRITES.add(SPR);
-        SPRITE.zIndex = -999;
-
-        TRANSFORM.SIZE.setSize(SPR.getWidth(), SPR.getHeight());
-        TRANSFORM.POSITION.set(0, 0);
-        TRANSFORM.ORIGIN.set(SPR.getOriginX(), SPR.getOriginY());
-
-        SPAWNER = new SpawnerComponent(() -> {
-            Array<Entity> entities = new Array<>();
-
-            if (MathUtils.randomBoolean(.995f)) { //star
-                float x = MathUtils.random(0, viewport.getWorldWidth());
-                float y = viewport.getWorldHeight();
-                int z = MathUtils.random(0, 100);
-
-                entities.add(createStar(x, y, z));
-            } else { //shooting star
-                float x = (MathUtils.randomBoolean())? -50 : viewport.getWorldWidth() + 50;
-                float y = MathUtils.random(0, viewport.getWorldHeight());
-                int z = MathUtils.random(0, 100);
-                float angle = (x <= -50)? MathUtils.random(-80, 20) : MathUtils.random(170, 260);
-
-                entities.add(createShootingStar(x, y, z, angle));
-            }
-
-            return entities;
-        });
-
-        SPAWNER.spawnRateMin = 0.02f;
-        SPAWNER.spawnRateMax = 0.05f;
-
-        return E.add(TRANSFORM).add(SPAWNER).add(SPRITE);
-    }
-    // endregion
 
     /**
      * Creates a boss entity complete with AI, displayable GUI, and other things.
@@ -1405,7 +1395,7 @@ public class EntityFactory {
      * @param y the y-coordinate to spawn the enemy at
      * @return the boss {@code Entity} with all the necessary components needed to be a boss
      */
-    public static Entity createBossShip(float x, float y) {
+    public Entity createBossShip(float x, float y) {
         final Entity E = new Entity();
         final TransformComponent TRANSFORM = new TransformComponent();
         final MovementComponent MOVEMENT = new MovementComponent();
@@ -1415,13 +1405,15 @@ public class EntityFactory {
         final AIComponent AI = new AIComponent();
         final GUIComponent GUI = new GUIComponent();
 
+        E.flags = KIND_BOSS;
+
         // Initialize MovmementComponent
         MOVEMENT.rotSpeed = 2;
 
         // Initialize SpriteComponent
-        Sprite shell = goAtlas.createSprite("enemy_shell");
+        Sprite shell = createSprite("enemy_shell");
         shell.setOrigin(shell.getWidth() / 2f, shell.getHeight() / 2f);
-        Sprite core = goAtlas.createSprite("energy_ball");
+        Sprite core = createSprite("energy_ball");
         core.setSize(32, 32);
         core.setOrigin(16, 16);
         core.setColor(new Color(.2f, .2f, 1, 1));
@@ -1430,7 +1422,7 @@ public class EntityFactory {
         SPRITE.SPRITES.add(core);
 
         // Initialize TransformComponent
-        TRANSFORM.SIZE.setSize(shell.getWidth(), shell.getHeight());
+        TRANSFORM.setSize(shell.getWidth(), shell.getHeight());
         TRANSFORM.ORIGIN.set(shell.getOriginX(), shell.getOriginY());
         TRANSFORM.POSITION.set(x - TRANSFORM.ORIGIN.x, y - TRANSFORM.ORIGIN.y);
 
@@ -1465,6 +1457,12 @@ public class EntityFactory {
         HEALTH.maxHealth = 10000;
         HEALTH.health = 10000;
 
+        E.add(TRANSFORM).add(MOVEMENT).add(COLLIDER).add(SPRITE).add(HEALTH).add(AI);
+
+        // There's nothing to show a GUI on when running headless
+        if (headless)
+            return E;
+
         //GUI Component
         GUI.canvas = new Stage(viewport, batch);
 
@@ -1496,6 +1494,31 @@ public class EntityFactory {
 
         GUI.canvas.addActor(TABLE);
 
-        return E.add(TRANSFORM).add(MOVEMENT).add(COLLIDER).add(SPRITE).add(HEALTH).add(AI).add(GUI);
+        return E.add(GUI);
+    }
+
+    private static void playPowerUpSound() {
+        // Nothing to play it on when running headless
+        if (headless)
+            return;
+
+        SoundPlayer.POWERUP_SOUND.play();
+    }
+
+    /**
+     * Creates a sprite of the region with the specified name in the game object atlas, or one of the same size
+     * without a texture when running headless.
+     */
+    private static Sprite createSprite(String name) {
+        if (!headless)
+            return goAtlas.createSprite(name);
+
+        final TextureAtlas.TextureAtlasData.Region REGION = regions.get(name);
+        if (REGION == null)
+            return null;
+
+        final Sprite SPRITE = new Sprite();
+        SPRITE.setSize(REGION.originalWidth, REGION.originalHeight);
+        return SPRITE;
     }
-}
\ No newline at end of file
+}
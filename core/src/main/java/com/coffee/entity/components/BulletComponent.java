@@ -4,6 +4,7 @@ import com.badlogic.ashley.core.Component;
 import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.utils.Pool;
 import com.coffee.util.BulletHandler;
+import com.coffee.util.TimerWheel;
 
 /**
  * {@link Component} to keep track of how much damage an {@link Entity}
@@ -13,7 +14,8 @@ import com.coffee.util.BulletHandler;
  */
 public class BulletComponent implements Component, Pool.Poolable {
     public BulletHandler handler;
-    public float timer, despawnTime;
+    public float despawnTime;
+    public int timer = TimerWheel.NONE;
     public double damage = 10;
     public int state = 0;
 
@@ -21,7 +23,7 @@ public class BulletComponent implements Component, Pool.Poolable {
     public void reset() {
         handler = null;
         damage = 10;
-        timer = 0;
+        timer = TimerWheel.NONE;
         despawnTime = 0;
         state = 0;
     }
@@ -2,17 +2,22 @@ package com.coffee.entity.components;
 
 import com.badlogic.ashley.core.Component;
 import com.badlogic.gdx.utils.Pool;
+import com.coffee.util.TimerWheel;
 
 /**
  * {@link com.badlogic.ashley.core.Component Component} representing the health of an entity. Entities like bullets, health power-ups,
  * and shock waves would affect this.
+ * <p>
+ * Invincibility and respawning are started through the {@link com.coffee.entity.systems.HealthSystem HealthSystem},
+ * which keeps the flags up to date as their timers run out.
  *
  * @author Phillip O'Reggio
  */
 public class HealthComponent implements Component, Pool.Poolable {
     public int health, maxHealth;
-    public float invincibilityTimer, invincibilityDuration, respawnTimer, respawnDuration;
-    public boolean invincible;
+    public float invincibilityDuration, respawnDuration;
+    public int invincibilityTimer, respawnTimer;
+    public boolean invincible, recovering, respawning;
 
     /**
      * Creates a {@link HealthComponent} with a set invincibility duration after getting hit, and a maximum health value.
@@ -23,6 +28,9 @@ public class HealthComponent implements Component, Pool.Poolable {
         invincibilityDuration = 1;
         respawnDuration = 1;
         invincible = false;
+
+        invincibilityTimer = TimerWheel.NONE;
+        respawnTimer = TimerWheel.NONE;
     }
 
     /**
@@ -42,7 +50,9 @@ public class HealthComponent implements Component, Pool.Poolable {
         respawnDuration = 1;
         invincible = false;
 
-        invincibilityTimer = 0;
-        respawnTimer = 0;
+        invincibilityTimer = TimerWheel.NONE;
+        respawnTimer = TimerWheel.NONE;
+        recovering = false;
+        respawning = false;
     }
 }
@@ -0,0 +1,25 @@
+package com.coffee.entity.components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * {@link Component} for a bullet {@link Entity} that slows to a stop, waits, then launches itself at the player.
+ */
+public class HomingComponent implements Component, Pool.Poolable {
+    public static final int SLOWING = 0, WAITING = 1, LAUNCHED = 2;
+
+    public int state = SLOWING;
+    public float deceleration = 4, waitTime = 1, launchSpeed = 6;
+    public float timer;
+
+    @Override
+    public void reset() {
+        state = SLOWING;
+        deceleration = 4;
+        waitTime = 1;
+        launchSpeed = 6;
+        timer = 0;
+    }
+}
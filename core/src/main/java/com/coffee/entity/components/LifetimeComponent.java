@@ -3,6 +3,7 @@ package com.coffee.entity.components;
 import com.badlogic.ashley.core.Component;
 import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.utils.Pool;
+import com.coffee.util.TimerWheel;
 
 /**
  * {@link Component} that contains a timer
@@ -11,7 +12,8 @@ import com.badlogic.gdx.utils.Pool;
  * @author Jared Tulayan
  */
 public class LifetimeComponent implements Component, Pool.Poolable {
-    public double timer;
+    public float duration;
+    public int timer = TimerWheel.NONE;
 
     public LifetimeComponent() {
 
@@ -19,6 +21,7 @@ public class LifetimeComponent implements Component, Pool.Poolable {
 
     @Override
     public void reset() {
-
+        duration = 0;
+        timer = TimerWheel.NONE;
     }
 }
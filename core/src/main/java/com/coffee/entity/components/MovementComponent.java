@@ -9,6 +9,14 @@ import com.badlogic.gdx.utils.Pool;
  * {@link Component} which contains all the data
  * for storing an {@link Entity}’s
  * movement vector, movement speed, and rotation speed.
+ * <p>
+ * The movement can also be parametric, where the heading and speed are worked out from the time since
+ * {@link #startParametric()} instead of being changed a bit every frame:
+ * <pre>
+ * angle(t) = baseAngle + angularVelocity * t + waveAmplitude * cos(2 * PI * waveFrequency * t)
+ * speed(t) = baseSpeed + acceleration * t, clamped to [minSpeed, maxSpeed]
+ * </pre>
+ * The {@link com.coffee.entity.systems.MovementSystem MovementSystem} keeps the movement normal and speed up to date.
  *
  * @author Jared Tulayan
  */
@@ -17,6 +25,12 @@ public class MovementComponent implements Component, Pool.Poolable {
 
     public double rotSpeed, moveSpeed;
 
+    // Parametric motion, angles are in degrees and rates are per second
+    public boolean parametric;
+    public float time, baseAngle, baseSpeed;
+    public float angularVelocity, acceleration, minSpeed, maxSpeed = Float.MAX_VALUE;
+    public float waveAmplitude, waveFrequency;
+
     /**
      * Initializes the movement normal.
      */
@@ -24,10 +38,26 @@ public class MovementComponent implements Component, Pool.Poolable {
         MOVEMENT_NORMAL = new Vector2();
     }
 
+    /**
+     * Starts parametric motion from the current heading and speed. Set the rates before calling this.
+     */
+    public void startParametric() {
+        parametric = true;
+        time = 0;
+        baseAngle = MOVEMENT_NORMAL.angle();
+        baseSpeed = (float) moveSpeed;
+    }
+
     @Override
     public void reset() {
         MOVEMENT_NORMAL.setZero();
         moveSpeed = 0;
         rotSpeed = 0;
+
+        parametric = false;
+        time = baseAngle = baseSpeed = 0;
+        angularVelocity = acceleration = minSpeed = 0;
+        maxSpeed = Float.MAX_VALUE;
+        waveAmplitude = waveFrequency = 0;
     }
 }
@@ -0,0 +1,23 @@
+package com.coffee.entity.components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.utils.Pool;
+import com.coffee.util.BulletPatterns;
+
+/**
+ * {@link Component} for a bullet {@link Entity} fired by a bullet pattern, which keeps track of
+ * the parts of its {@link BulletPatterns.Motion} that aren't movement.
+ */
+public class PatternComponent implements Component, Pool.Poolable {
+    public BulletPatterns.Volley volley;
+    public BulletPatterns.Motion motion;
+    public float cycleTimer;
+
+    @Override
+    public void reset() {
+        volley = null;
+        motion = null;
+        cycleTimer = 0;
+    }
+}
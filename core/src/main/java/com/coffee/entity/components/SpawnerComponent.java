@@ -2,6 +2,7 @@ package com.coffee.entity.components;
 
 import com.badlogic.ashley.core.Component;
 import com.coffee.util.SpawnerHandler;
+import com.coffee.util.TimerWheel;
 
 /**
  * {@link Component} that contains data for spawning objects on a timer.
@@ -9,18 +10,20 @@ import com.coffee.util.SpawnerHandler;
  * @author Jared Tulayan
  */
 public class SpawnerComponent implements Component {
-    public float spawnRateMin, spawnRateMax, timer;
+    public float spawnRateMin, spawnRateMax, delay;
+    public int timer;
     public final SpawnerHandler HANDLER;
 
     /**
      * Initializes the {@link SpawnerComponent} with the specified {@link SpawnerHandler}.
-     * This also sets the spawnrate to a default of 10 seconds.
+     * This also sets the spawnrate to a default of 10 seconds, and the first spawn to happen right away.
      *
      * @param handler the {@code SpawnerHandler} that will handle how this {@code Entity} spawns in other objects.
      */
     public SpawnerComponent(SpawnerHandler handler) {
         HANDLER = handler;
-        timer = 0;
+        delay = 0;
+        timer = TimerWheel.NONE;
         spawnRateMin = 10;
         spawnRateMax = 10;
     }
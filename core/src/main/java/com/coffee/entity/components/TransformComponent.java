@@ -5,8 +5,6 @@ import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Pool;
 
-import java.awt.*;
-
 /**
  * {@link Component} which contains all the data
  * for storing an {@link Entity}’s
@@ -19,9 +17,7 @@ public class TransformComponent implements Component, Pool.Poolable {
         POSITION,
         ORIGIN;
 
-    public final Dimension SIZE;
-
-    public float rotation;
+    public float width, height, rotation;
 
     /**
      * Initializes this {@link TransformComponent}
@@ -30,18 +26,23 @@ public class TransformComponent implements Component, Pool.Poolable {
      */
     public TransformComponent() {
         POSITION = new Vector2();
-        SIZE = new Dimension(32, 32);
         ORIGIN = new Vector2(16, 16);
 
+        width = height = 32;
         rotation = 0;
     }
 
+    public void setSize(float width, float height) {
+        this.width = width;
+        this.height = height;
+    }
+
     @Override
     public void reset() {
         POSITION.setZero();
-        SIZE.setSize(32, 32);
         ORIGIN.set(16, 16);
 
+        width = height = 32;
         rotation = 0;
     }
 }
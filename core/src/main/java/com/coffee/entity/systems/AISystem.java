@@ -4,29 +4,39 @@ import com.badlogic.ashley.core.Entity;
 import com.badlogic.ashley.core.Family;
 import com.badlogic.ashley.systems.IteratingSystem;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.viewport.Viewport;
+import com.coffee.entity.EntityFactory;
 import com.coffee.entity.components.AIComponent;
 import com.coffee.entity.components.HealthComponent;
 import com.coffee.entity.components.MovementComponent;
 import com.coffee.entity.components.TransformComponent;
 import com.coffee.util.AIState;
 import com.coffee.util.BossActions;
+import com.coffee.util.GameRandom;
 import com.coffee.util.Mapper;
 
 /**
  * @author Phillip O'Reggio
  */
 public class AISystem extends IteratingSystem {
+    /** Color of the boss core at full health */
+    private static final Color CORE_COLOR = new Color(.2f, .2f, 1, 1);
+
     public final Viewport VIEWPORT;
     public final Vector2 DEF, TEMP;
+    private final Color CORE_TEMP;
+    private final EntityFactory FACTORY;
+    private final GameRandom RANDOM;
 
-    public AISystem(Viewport v) {
+    public AISystem(Viewport v, EntityFactory factory) {
         super(Family.all(AIComponent.class).get());
         VIEWPORT = v;
+        FACTORY = factory;
+        RANDOM = factory.getRandom();
         DEF = new Vector2(-999, -999);
         TEMP = new Vector2();
+        CORE_TEMP = new Color();
     }
 
     public void processEntity(Entity entity, float deltaTime) {
@@ -42,33 +52,33 @@ public class AISystem extends IteratingSystem {
             case SCHEDULING:
                 if (HEALTH.getHealthPercent() >= 0.75) { // 75%+
                     // region 75%+
-                    if (MathUtils.randomBoolean(0.7f)) {
+                    if (RANDOM.randomBoolean(0.7f)) {
                         Vector2 move = new Vector2();
                         generateRandomMoveTarget(TRANSFORM, move);
                         AI.TASKS.add(new BossActions.Move(1f, move));
                     }
 
                     // Create a base for all attacks
-                    if (MathUtils.randomBoolean(.3f)) {
-                        AI.TASKS.add(new BossActions.SimpleSpiralAttack(getEngine()));
-                    } else if (MathUtils.randomBoolean(.3f)) {
-                        AI.TASKS.add(new BossActions.TempestBloom(getEngine()));
-                    } else if (MathUtils.randomBoolean(0.3f)) {
-                        AI.TASKS.add(new BossActions.ShotgunSpray(getEngine()));
-                    } else if (MathUtils.randomBoolean(0.3f)) {
-                        AI.TASKS.add(new BossActions.InvisibleHomingBulletsAttack(getEngine()));
+                    if (RANDOM.randomBoolean(.3f)) {
+                        AI.TASKS.add(new BossActions.SimpleSpiralAttack(FACTORY));
+                    } else if (RANDOM.randomBoolean(.3f)) {
+                        AI.TASKS.add(new BossActions.TempestBloom(FACTORY));
+                    } else if (RANDOM.randomBoolean(0.3f)) {
+                        AI.TASKS.add(new BossActions.ShotgunSpray(FACTORY));
+                    } else if (RANDOM.randomBoolean(0.3f)) {
+                        AI.TASKS.add(new BossActions.InvisibleHomingBulletsAttack(FACTORY));
                     }
 
                     // Add some spices
                     final BossActions.ActionSequence SEQ = new BossActions.ActionSequence(0.3f);
                     int i = 0;
                     while (i < 3) {
-                        if (MathUtils.randomBoolean(0.7f)) { // Have a chance that you don't add anything at all
-                            if (MathUtils.randomBoolean(0.5f)) { // Add some random homing stuff
-                                SEQ.addAction(new BossActions.InvisibleHomingBulletsAttack(getEngine()));
+                        if (RANDOM.randomBoolean(0.7f)) { // Have a chance that you don't add anything at all
+                            if (RANDOM.randomBoolean(0.5f)) { // Add some random homing stuff
+                                SEQ.addAction(new BossActions.InvisibleHomingBulletsAttack(FACTORY));
                                 i++;
                             } else { // Add some random cannon stuff
-                                SEQ.addAction(new BossActions.ShotgunSpray(getEngine()));
+                                SEQ.addAction(new BossActions.ShotgunSpray(FACTORY));
                                 i++;
                             }
                         } else
@@ -78,43 +88,43 @@ public class AISystem extends IteratingSystem {
                     SEQ.parallel = true;
                     AI.TASKS.add(SEQ);
 
-                    if (MathUtils.randomBoolean(0.5f))
-                        AI.TASKS.add(new BossActions.SimpleLaserAttack(getEngine(), VIEWPORT));
+                    if (RANDOM.randomBoolean(0.5f))
+                        AI.TASKS.add(new BossActions.SimpleLaserAttack(FACTORY, VIEWPORT));
 
                     AI.TASKS.add(new BossActions.DoNothing(2));
                     //endregion
                 } else if (HEALTH.getHealthPercent() >= 0.50) {  // 50% - 75
                     // region 50% - 75%
-                    if (MathUtils.randomBoolean(0.8f)) {
+                    if (RANDOM.randomBoolean(0.8f)) {
                         Vector2 move = new Vector2();
                         generateRandomMoveTarget(TRANSFORM, move);
                         AI.TASKS.add(new BossActions.Move(.8f, move));
                     }
 
                     // Create a base for all attacks
-                    if (MathUtils.randomBoolean(0.5f)) {
-                        if (MathUtils.randomBoolean(.7f))
-                            AI.TASKS.add(new BossActions.SimpleConeAttack(getEngine()));
+                    if (RANDOM.randomBoolean(0.5f)) {
+                        if (RANDOM.randomBoolean(.7f))
+                            AI.TASKS.add(new BossActions.SimpleConeAttack(FACTORY));
                         else
-                            AI.TASKS.add(new BossActions.ImperishableNight(getEngine()));
+                            AI.TASKS.add(new BossActions.ImperishableNight(FACTORY));
 
-                        if (MathUtils.randomBoolean(0.7f)) { // Have a chance that you don't add anything at all
+                        if (RANDOM.randomBoolean(0.7f)) { // Have a chance that you don't add anything at all
                             BossActions.ActionSequence seq = new BossActions.ActionSequence();
                             seq.parallel = true;
                             seq.addAction(new BossActions.DoNothing(1));
-                            if (MathUtils.randomBoolean(0.2f)) // Add some random homing stuff
-                                seq.addAction(new BossActions.HomingBulletCircleAttack(getEngine()));
-                            else if (MathUtils.randomBoolean(.3f))
-                                seq.addAction(new BossActions.PlusBeam(getEngine()));
+                            if (RANDOM.randomBoolean(0.2f)) // Add some random homing stuff
+                                seq.addAction(new BossActions.HomingBulletCircleAttack(FACTORY));
+                            else if (RANDOM.randomBoolean(.3f))
+                                seq.addAction(new BossActions.PlusBeam(FACTORY));
                             else // Add some random cannon stuff
-                                AI.TASKS.add(new BossActions.HelixLaserAttack(getEngine(), VIEWPORT));
+                                AI.TASKS.add(new BossActions.HelixLaserAttack(FACTORY, VIEWPORT));
                         }
 
-                        if (MathUtils.randomBoolean(0.5f)) {
-                            AI.TASKS.add(new BossActions.TripleLaserBallAttack(getEngine(), VIEWPORT));
+                        if (RANDOM.randomBoolean(0.5f)) {
+                            AI.TASKS.add(new BossActions.TripleLaserBallAttack(FACTORY, VIEWPORT));
                         }
                     } else {
-                        AI.TASKS.add(new BossActions.SpiralColumnAttack(getEngine()));
+                        AI.TASKS.add(new BossActions.SpiralColumnAttack(FACTORY));
                         AI.TASKS.add(new BossActions.DoNothing(5f));
                     }
 
@@ -123,55 +133,55 @@ public class AISystem extends IteratingSystem {
                 } else if (HEALTH.getHealthPercent() >= 0.25) {  // 25% - 50%
                     // region 25% - 50%
                     // Create a base for all attacks
-                    if (MathUtils.randomBoolean(.5f)) {
+                    if (RANDOM.randomBoolean(.5f)) {
                         // Fake out chance (high in this stage)
-                    } else if (MathUtils.randomBoolean(0.66f)) {
-                        if (MathUtils.randomBoolean(0.33f)) {
-                            AI.TASKS.add(new BossActions.ShiftingSpiralAttack(getEngine()));
-                        } else if (MathUtils.randomBoolean(0.5f)) {
-                            AI.TASKS.add(new BossActions.ReverseShiftingSpiralAttack(getEngine()));
-                        } else if (MathUtils.randomBoolean(0.4f)) {
-                            AI.TASKS.add(new BossActions.ImperishableNight(getEngine()));
+                    } else if (RANDOM.randomBoolean(0.66f)) {
+                        if (RANDOM.randomBoolean(0.33f)) {
+                            AI.TASKS.add(new BossActions.ShiftingSpiralAttack(FACTORY));
+                        } else if (RANDOM.randomBoolean(0.5f)) {
+                            AI.TASKS.add(new BossActions.ReverseShiftingSpiralAttack(FACTORY));
+                        } else if (RANDOM.randomBoolean(0.4f)) {
+                            AI.TASKS.add(new BossActions.ImperishableNight(FACTORY));
                         } else {
-                            AI.TASKS.add(new BossActions.LunaticGun(getEngine()));
+                            AI.TASKS.add(new BossActions.LunaticGun(FACTORY));
                         }
 
                         // Add some spices
-                        if (MathUtils.randomBoolean(0.1f)) { // Add some random homing stuff
-                            final BossActions.Action ACTION = new BossActions.HomingBulletCircleAttack(getEngine());
+                        if (RANDOM.randomBoolean(0.1f)) { // Add some random homing stuff
+                            final BossActions.Action ACTION = new BossActions.HomingBulletCircleAttack(FACTORY);
                             ACTION.parallel = true;
                             AI.TASKS.add(ACTION);
                         }
 
-                        if (MathUtils.randomBoolean(0.2f)) {
-                            AI.TASKS.add(new BossActions.HelixPlusAttack(getEngine(), VIEWPORT));
+                        if (RANDOM.randomBoolean(0.2f)) {
+                            AI.TASKS.add(new BossActions.HelixPlusAttack(FACTORY, VIEWPORT));
                         }
 
-                        if (MathUtils.randomBoolean(0.4f)) {
-                            AI.TASKS.add(new BossActions.XBeam(getEngine()));
+                        if (RANDOM.randomBoolean(0.4f)) {
+                            AI.TASKS.add(new BossActions.XBeam(FACTORY));
                         }
 
-                        if (MathUtils.randomBoolean(0.4f)) {
-                            AI.TASKS.add(new BossActions.PlusBeam(getEngine()));
+                        if (RANDOM.randomBoolean(0.4f)) {
+                            AI.TASKS.add(new BossActions.PlusBeam(FACTORY));
                         }
-                    } else if (MathUtils.randomBoolean(.35f)) {
-                        if (MathUtils.randomBoolean(0.5f))
-                            AI.TASKS.add(new BossActions.ImperishableNight(getEngine()));
-                        else if (MathUtils.randomBoolean(0.4f))
-                            AI.TASKS.add(new BossActions.AsteroidField(getEngine()));
+                    } else if (RANDOM.randomBoolean(.35f)) {
+                        if (RANDOM.randomBoolean(0.5f))
+                            AI.TASKS.add(new BossActions.ImperishableNight(FACTORY));
+                        else if (RANDOM.randomBoolean(0.4f))
+                            AI.TASKS.add(new BossActions.AsteroidField(FACTORY));
                         else {
-                            AI.TASKS.add(new BossActions.XBeam(getEngine()));
+                            AI.TASKS.add(new BossActions.XBeam(FACTORY));
 
                             Vector2 move = new Vector2();
 
                             generateRandomMoveTarget(TRANSFORM, move);
                             AI.TASKS.add(new BossActions.Move(3f, move.cpy()));
-                            AI.TASKS.add(new BossActions.XBeam(getEngine()));
+                            AI.TASKS.add(new BossActions.XBeam(FACTORY));
 
                             generateRandomMoveTarget(TRANSFORM, move);
                             AI.TASKS.add(new BossActions.Move(4f, move.cpy()));
 
-                            AI.TASKS.add(new BossActions.AsteroidField(getEngine()));
+                            AI.TASKS.add(new BossActions.AsteroidField(FACTORY));
 
                             AI.TASKS.add(new BossActions.DoNothing(2f));
                         }
@@ -179,7 +189,7 @@ public class AISystem extends IteratingSystem {
                         AI.TASKS.add(new BossActions.DoNothing(3f));
                     }
 
-                    if (MathUtils.randomBoolean(0.5f)) {
+                    if (RANDOM.randomBoolean(0.5f)) {
                         Vector2 move = new Vector2();
                         generateRandomMoveTarget(TRANSFORM, move);
                         AI.TASKS.add(new BossActions.Move(1.6f, move));
@@ -188,105 +198,105 @@ public class AISystem extends IteratingSystem {
                 } else {  // > 25%
                     //region > 25%
                     // Create a base for all attacks
-                    if (MathUtils.randomBoolean(0.55f)) {
-                        if (MathUtils.randomBoolean(0.4f)) {
-                            AI.TASKS.add(new BossActions.SpringBlossom(getEngine()));
-                        } else if (MathUtils.randomBoolean(0.4f)) {
-                            AI.TASKS.add(new BossActions.LunaticGun(getEngine()));
-                        } else if (MathUtils.randomBoolean(.5f)) {
-                            AI.TASKS.add(new BossActions.SimpleSpiralAttack(getEngine()));
-                            AI.TASKS.add(new BossActions.SpringBlossom(getEngine()));
+                    if (RANDOM.randomBoolean(0.55f)) {
+                        if (RANDOM.randomBoolean(0.4f)) {
+                            AI.TASKS.add(new BossActions.SpringBlossom(FACTORY));
+                        } else if (RANDOM.randomBoolean(0.4f)) {
+                            AI.TASKS.add(new BossActions.LunaticGun(FACTORY));
+                        } else if (RANDOM.randomBoolean(.5f)) {
+                            AI.TASKS.add(new BossActions.SimpleSpiralAttack(FACTORY));
+                            AI.TASKS.add(new BossActions.SpringBlossom(FACTORY));
                             AI.TASKS.get(1).parallel = true;
-                        } else if (MathUtils.randomBoolean(.7f)) {
-                            AI.TASKS.add(new BossActions.TempestBloom(getEngine()));
-                            AI.TASKS.add(new BossActions.SpringBlossom(getEngine()));
+                        } else if (RANDOM.randomBoolean(.7f)) {
+                            AI.TASKS.add(new BossActions.TempestBloom(FACTORY));
+                            AI.TASKS.add(new BossActions.SpringBlossom(FACTORY));
                             AI.TASKS.get(1).parallel = true;
                         }
 
                         // Add some spices
-                        if (MathUtils.randomBoolean(.5f)) { // Add some random homing stuff
-                            if (MathUtils.randomBoolean(0.3f)) {
-                                final BossActions.Action ACTION = new BossActions.HomingBulletCircleAttack(getEngine());
+                        if (RANDOM.randomBoolean(.5f)) { // Add some random homing stuff
+                            if (RANDOM.randomBoolean(0.3f)) {
+                                final BossActions.Action ACTION = new BossActions.HomingBulletCircleAttack(FACTORY);
                                 ACTION.parallel = true;
                                 AI.TASKS.add(ACTION);
                             }
 
-                            if (MathUtils.randomBoolean(0.25f)) {
-                                final BossActions.Action ACTION = new BossActions.QuadLaserBallAttack(getEngine(), 0);
+                            if (RANDOM.randomBoolean(0.25f)) {
+                                final BossActions.Action ACTION = new BossActions.QuadLaserBallAttack(FACTORY, 0);
                                 ACTION.parallel = true;
                                 AI.TASKS.add(ACTION);
                             }
                         }
 
-                        if (MathUtils.randomBoolean(.6f)) {
-                            if (MathUtils.randomBoolean(0.45f)) {
-                                final BossActions.Action ACTION = new BossActions.XBeam(getEngine());
+                        if (RANDOM.randomBoolean(.6f)) {
+                            if (RANDOM.randomBoolean(0.45f)) {
+                                final BossActions.Action ACTION = new BossActions.XBeam(FACTORY);
                                 ACTION.parallel = true;
                                 AI.TASKS.add(ACTION);
                             } else {
-                                final BossActions.Action ACTION = new BossActions.XBeam(getEngine());
+                                final BossActions.Action ACTION = new BossActions.XBeam(FACTORY);
                                 ACTION.parallel = true;
                                 AI.TASKS.add(ACTION);
                             }
                         }
 
-                        if (MathUtils.randomBoolean(0.1f)) {
-                            final BossActions.Action ACTION = new BossActions.StarBeam(getEngine());
+                        if (RANDOM.randomBoolean(0.1f)) {
+                            final BossActions.Action ACTION = new BossActions.StarBeam(FACTORY);
                             ACTION.parallel = true;
                             AI.TASKS.add(ACTION);
                         }
 
-                        if (MathUtils.randomBoolean(0.3f)) {
-                            AI.TASKS.add(new BossActions.HelixPlusAttack(getEngine(), VIEWPORT));
-                        } else if (MathUtils.randomBoolean(0.1f)) {
-                            AI.TASKS.add(new BossActions.XBeam(getEngine()));
-                            AI.TASKS.add(new BossActions.PlusBeam(getEngine()));
-                            AI.TASKS.add(new BossActions.StarBeam(getEngine()));
+                        if (RANDOM.randomBoolean(0.3f)) {
+                            AI.TASKS.add(new BossActions.HelixPlusAttack(FACTORY, VIEWPORT));
+                        } else if (RANDOM.randomBoolean(0.1f)) {
+                            AI.TASKS.add(new BossActions.XBeam(FACTORY));
+                            AI.TASKS.add(new BossActions.PlusBeam(FACTORY));
+                            AI.TASKS.add(new BossActions.StarBeam(FACTORY));
                         }
 
-                    } else if (MathUtils.randomBoolean(.5f)) {
-                        if (MathUtils.randomBoolean(0.4f))
-                            AI.TASKS.add(new BossActions.ImperishableNight(getEngine()));
-                        else if (MathUtils.randomBoolean(.7f)) {
-                            AI.TASKS.add(new BossActions.XBeam(getEngine()));
+                    } else if (RANDOM.randomBoolean(.5f)) {
+                        if (RANDOM.randomBoolean(0.4f))
+                            AI.TASKS.add(new BossActions.ImperishableNight(FACTORY));
+                        else if (RANDOM.randomBoolean(.7f)) {
+                            AI.TASKS.add(new BossActions.XBeam(FACTORY));
 
                             Vector2 move = new Vector2();
 
                             generateRandomMoveTarget(TRANSFORM, move);
                             AI.TASKS.add(new BossActions.Move(2f, move.cpy()));
-                            AI.TASKS.add(new BossActions.PlusBeam(getEngine()));
+                            AI.TASKS.add(new BossActions.PlusBeam(FACTORY));
 
                             generateRandomMoveTarget(TRANSFORM, move);
                             AI.TASKS.add(new BossActions.Move(3f, move.cpy()));
-                            AI.TASKS.add(new BossActions.XBeam(getEngine()));
+                            AI.TASKS.add(new BossActions.XBeam(FACTORY));
 
                             generateRandomMoveTarget(TRANSFORM, move);
                             AI.TASKS.add(new BossActions.Move(5f, move.cpy()));
-                            AI.TASKS.add(new BossActions.StarBeam(getEngine()));
+                            AI.TASKS.add(new BossActions.StarBeam(FACTORY));
 
                             generateRandomMoveTarget(TRANSFORM, move);
                             AI.TASKS.add(new BossActions.Move(6f, move.cpy()));
-                            AI.TASKS.add(new BossActions.StarBeam(getEngine()));
+                            AI.TASKS.add(new BossActions.StarBeam(FACTORY));
 
                             generateRandomMoveTarget(TRANSFORM, move);
                             AI.TASKS.add(new BossActions.Move(7f, move.cpy()));
-                            AI.TASKS.add(new BossActions.StarBeam(getEngine()));
+                            AI.TASKS.add(new BossActions.StarBeam(FACTORY));
 
                             generateRandomMoveTarget(TRANSFORM, move);
                             AI.TASKS.add(new BossActions.Move(8f, move.cpy()));
-                            AI.TASKS.add(new BossActions.HelixLaserAttack(getEngine(), VIEWPORT));
+                            AI.TASKS.add(new BossActions.HelixLaserAttack(FACTORY, VIEWPORT));
                             AI.TASKS.add(new BossActions.DoNothing(3f));
                         } else
-                            AI.TASKS.add(new BossActions.AsteroidField(getEngine()));
+                            AI.TASKS.add(new BossActions.AsteroidField(FACTORY));
                         AI.TASKS.add(new BossActions.DoNothing(3f));
                     }
 
-                    if (MathUtils.randomBoolean(.6f)) {
-                        if (MathUtils.randomBoolean(.2f)) {
+                    if (RANDOM.randomBoolean(.6f)) {
+                        if (RANDOM.randomBoolean(.2f)) {
                             Vector2 move = new Vector2();
                             generateRandomMoveTarget(TRANSFORM, move);
                             AI.TASKS.add(new BossActions.Move(1f, move));
-                            final BossActions.Action ACTION = new BossActions.PlusBeam(getEngine());
+                            final BossActions.Action ACTION = new BossActions.PlusBeam(FACTORY);
                             ACTION.parallel = true;
                             AI.TASKS.add(ACTION);
                         } else {
@@ -322,7 +332,7 @@ public class AISystem extends IteratingSystem {
         // endregion
 
         //color change of core
-        Mapper.SPRITE.get(entity).SPRITES.get(1).setColor(new Color(.2f, .2f, 1, 1).lerp(Color.RED, 1f - HEALTH.getHealthPercent()));
+        Mapper.SPRITE.get(entity).SPRITES.get(1).setColor(CORE_TEMP.set(CORE_COLOR).lerp(Color.RED, 1f - HEALTH.getHealthPercent()));
 
         if (HEALTH.health <= 0)
             getEngine().removeEntity(entity);
@@ -337,8 +347,8 @@ public class AISystem extends IteratingSystem {
     private Vector2 generateRandomMoveTarget(TransformComponent trans, Vector2 returnVec) {
         do {
             returnVec.set(
-                    MathUtils.random(VIEWPORT.getWorldWidth() - trans.SIZE.width),
-                    MathUtils.random(VIEWPORT.getWorldHeight() * 2.0f / 3.0f, VIEWPORT.getWorldHeight() - trans.SIZE.height)
+                    RANDOM.random(VIEWPORT.getWorldWidth() - trans.width),
+                    RANDOM.random(VIEWPORT.getWorldHeight() * 2.0f / 3.0f, VIEWPORT.getWorldHeight() - trans.height)
             );
         } while (returnVec.dst2(trans.POSITION) <= 1000);
 
@@ -1,45 +1,235 @@
 package com.coffee.entity.systems;
 
+import com.badlogic.ashley.core.Engine;
 import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.EntitySystem;
 import com.badlogic.ashley.core.Family;
-import com.badlogic.ashley.systems.IteratingSystem;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.coffee.entity.components.BulletComponent;
+import com.coffee.entity.components.MovementComponent;
 import com.coffee.entity.components.TransformComponent;
 import com.coffee.util.Mapper;
-
-import java.awt.*;
-
+import com.coffee.util.TimerWheel;
 
 /**
+ * Updates bullet handlers and removes bullets once they've been off screen for their despawn time.
+ * <p>
+ * Bullets without a handler, parametric motion or homing move in a straight line, so the time they leave the screen can be worked out
+ * when they're added. Those bullets get a timer on the {@link TimerSystem} for then and aren't looked at again
+ * until it runs out, instead of having their bounds checked every frame. When a bullet's timer runs out it's
+ * checked once more in case something else moved it in the meantime, and it gets rescheduled if it's still
+ * on screen. Everything else is checked every frame, and gets a despawn timer while it's off screen.
+ *
  * @author Jared Tulayan
  */
-public class BulletSystem extends IteratingSystem {
-    private final Dimension MAP_SIZE;
+public class BulletSystem extends EntitySystem implements EntityListener, TimerWheel.Listener {
+    // What a bullet's timer is for
+    private static final int SCHEDULED = 0, OFF_SCREEN = 1;
+
+    private final int MAP_WIDTH, MAP_HEIGHT;
+    private final Family FAMILY;
+
+    // Bullets that are checked every frame
+    private final Array<Entity> TRACKED;
+    private final ObjectIntMap<Entity> TRACKED_INDICES;
+
+    private TimerSystem timers;
+    private int scheduled;
 
     public BulletSystem(Viewport v) {
-        super(Family.one(BulletComponent.class).get());
-        MAP_SIZE = new Dimension((int)v.getWorldWidth(), (int)v.getWorldHeight());
+        MAP_WIDTH = (int) v.getWorldWidth();
+        MAP_HEIGHT = (int) v.getWorldHeight();
+        FAMILY = Family.all(BulletComponent.class).get();
+
+        TRACKED = new Array<>(false, 256, Entity.class);
+        TRACKED_INDICES = new ObjectIntMap<>();
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        timers = TimerSystem.get(engine);
+        engine.addEntityListener(FAMILY, this);
+
+        ImmutableArray<Entity> existing = engine.getEntitiesFor(FAMILY);
+        for (int i = 0; i < existing.size(); i++)
+            entityAdded(existing.get(i));
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        engine.removeEntityListener(this);
+
+        TRACKED.clear();
+        TRACKED_INDICES.clear();
+        timers = null;
+        scheduled = 0;
     }
 
     @Override
-    protected void processEntity(Entity entity, float deltaTime) {
+    public void entityAdded(Entity entity) {
+        if (!schedule(entity))
+            track(entity);
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+        final BulletComponent BULLET = Mapper.BULLET.get(entity);
+        if (BULLET != null && BULLET.timer != TimerWheel.NONE) {
+            if (timers.cancel(BULLET.timer) && !TRACKED_INDICES.containsKey(entity))
+                scheduled--;
+
+            BULLET.timer = TimerWheel.NONE;
+        }
+
+        final int INDEX = TRACKED_INDICES.remove(entity, -1);
+        if (INDEX != -1) {
+            TRACKED.removeIndex(INDEX);
+
+            // removeIndex on an unordered array moves the last entity into the hole
+            if (INDEX < TRACKED.size)
+                TRACKED_INDICES.put(TRACKED.get(INDEX), INDEX);
+        }
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        // Everything the engine hands back while updating gets removed after this system is done, so the array stays intact
+        for (int i = 0; i < TRACKED.size; i++)
+            process(TRACKED.get(i), deltaTime);
+    }
+
+    @Override
+    public void expired(int timer, Entity entity, int tag) {
+        final BulletComponent BULLET = Mapper.BULLET.get(entity);
+        if (BULLET == null || BULLET.timer != timer)
+            return;
+
+        BULLET.timer = TimerWheel.NONE;
+
+        if (tag == OFF_SCREEN) {
+            getEngine().removeEntity(entity);
+            return;
+        }
+
+        scheduled--;
+
+        if (isOutside(Mapper.TRANSFORM.get(entity)))
+            getEngine().removeEntity(entity);
+        else if (!schedule(entity))
+            track(entity);
+    }
+
+    /**
+     * Puts back the timer of a bullet that was just added, the way it was when a
+     * {@link com.coffee.util.WorldSnapshot WorldSnapshot} was taken. Whether the bullet is scheduled or checked
+     * every frame only depends on its components, so it ends up the same way it was then.
+     *
+     * @param ticks the number of {@link TimerWheel} ticks that were left, 0 for none
+     */
+    public void restoreTimer(Entity entity, long ticks) {
+        final BulletComponent BULLET = Mapper.BULLET.get(entity);
+        final boolean TRACKING = TRACKED_INDICES.containsKey(entity);
+
+        timers.cancel(BULLET.timer);
+        BULLET.timer = TimerWheel.NONE;
+
+        if (ticks > 0)
+            BULLET.timer = timers.scheduleTicks(ticks, this, entity, TRACKING ? OFF_SCREEN : SCHEDULED);
+        else if (!TRACKING) {
+            // Scheduled bullets always have a timer, this one is just checked every frame from now on
+            scheduled--;
+            track(entity);
+        }
+    }
+
+    /**
+     * The old per-frame check: updates the handler and keeps a despawn timer running while the bullet is off screen.
+     */
+    private void process(Entity entity, float deltaTime) {
         final TransformComponent TRANSFORM = Mapper.TRANSFORM.get(entity);
         final BulletComponent BULLET = Mapper.BULLET.get(entity);
 
         if (BULLET.handler != null)
             BULLET.handler.update(deltaTime);
 
-        boolean
-            outsideLowerBounds = TRANSFORM.POSITION.x < -TRANSFORM.SIZE.width || TRANSFORM.POSITION.y < -TRANSFORM.SIZE.height,
-            outsideUpperBounds = TRANSFORM.POSITION.x > MAP_SIZE.width || TRANSFORM.POSITION.y > MAP_SIZE.height;
+        if (BULLET.despawnTime != -1.0f && isOutside(TRANSFORM)) {
+            if (BULLET.timer == TimerWheel.NONE)
+                BULLET.timer = timers.schedule(BULLET.despawnTime, this, entity, OFF_SCREEN);
+        } else if (BULLET.timer != TimerWheel.NONE) {
+            timers.cancel(BULLET.timer);
+            BULLET.timer = TimerWheel.NONE;
+        }
+    }
+
+    private boolean isOutside(TransformComponent transform) {
+        return transform.POSITION.x < -transform.width || transform.POSITION.y < -transform.height
+            || transform.POSITION.x > MAP_WIDTH || transform.POSITION.y > MAP_HEIGHT;
+    }
 
-        if (BULLET.despawnTime != -1.0f && (outsideLowerBounds || outsideUpperBounds)) {
-            BULLET.timer -= deltaTime;
-            if (BULLET.timer <= 0)
-                getEngine().removeEntity(entity);
-        } else {
-            BULLET.timer = BULLET.despawnTime;
+    private void track(Entity entity) {
+        TRACKED_INDICES.put(entity, TRACKED.size);
+        TRACKED.add(entity);
+    }
+
+    /**
+     * Works out when a bullet will have been off screen for its despawn time and starts a timer for then.
+     *
+     * @return false if the bullet doesn't move in a straight line at a constant speed, and has to be checked every frame
+     */
+    private boolean schedule(Entity entity) {
+        final BulletComponent BULLET = Mapper.BULLET.get(entity);
+        final TransformComponent TRANSFORM = Mapper.TRANSFORM.get(entity);
+        final MovementComponent MOVEMENT = Mapper.MOVEMENT.get(entity);
+        if (BULLET.handler != null || BULLET.despawnTime == -1.0f || MOVEMENT == null || MOVEMENT.parametric || MOVEMENT.moveSpeed == 0
+            || Mapper.HOMING.has(entity))
+            return false;
+
+        final float
+            NORMAL_X = MOVEMENT.MOVEMENT_NORMAL.x,
+            NORMAL_Y = MOVEMENT.MOVEMENT_NORMAL.y,
+            LENGTH = (float) Math.sqrt(NORMAL_X * NORMAL_X + NORMAL_Y * NORMAL_Y);
+
+        if (LENGTH == 0)
+            return false;
+
+        // MovementSystem moves the bullet by its velocity 60 times a second
+        final float
+            VEL_X = NORMAL_X / LENGTH * (float) MOVEMENT.moveSpeed * 60f,
+            VEL_Y = NORMAL_Y / LENGTH * (float) MOVEMENT.moveSpeed * 60f,
+            X = TRANSFORM.POSITION.x,
+            Y = TRANSFORM.POSITION.y;
+
+        // Bullets that start off screen get their despawn time to come in, like they used to
+        float exit = 0;
+        if (!isOutside(TRANSFORM)) {
+            final float
+                EXIT_X = VEL_X > 0 ? (MAP_WIDTH - X) / VEL_X : VEL_X < 0 ? (-TRANSFORM.width - X) / VEL_X : Float.POSITIVE_INFINITY,
+                EXIT_Y = VEL_Y > 0 ? (MAP_HEIGHT - Y) / VEL_Y : VEL_Y < 0 ? (-TRANSFORM.height - Y) / VEL_Y : Float.POSITIVE_INFINITY;
+
+            exit = Math.min(EXIT_X, EXIT_Y);
         }
+
+        BULLET.timer = timers.schedule(exit + Math.max(BULLET.despawnTime, 0), this, entity, SCHEDULED);
+        scheduled++;
+
+        return true;
+    }
+
+    /**
+     * @return the number of bullets whose bounds are checked every frame
+     */
+    public int getTrackedCount() {
+        return TRACKED.size;
+    }
+
+    /**
+     * @return the number of bullets waiting for their despawn time
+     */
+    public int getScheduledCount() {
+        return scheduled;
     }
 }
@@ -25,8 +25,10 @@ import com.coffee.util.QuadTree;
 public class CollisionSystem extends IteratingSystem {
     private final QuadTree TREE;
     private final Array<Entity> POSSIBLE_COLLISIONS;
+    private final Intersector.MinimumTranslationVector MTV;
     private ShapeRenderer renderer;
     private Camera camera;
+    private int collisions;
     public boolean isDebugging;
 
     public CollisionSystem(ShapeRenderer r, Viewport v, boolean debug) {
@@ -36,6 +38,7 @@ public class CollisionSystem extends IteratingSystem {
         renderer = r;
         camera = v.getCamera();
         POSSIBLE_COLLISIONS = new Array<>();
+        MTV = new Intersector.MinimumTranslationVector();
 
         isDebugging = debug;
     }
@@ -47,6 +50,7 @@ public class CollisionSystem extends IteratingSystem {
     public void update(float deltaTime) {
         // Clear tree
         TREE.clear();
+        collisions = 0;
 
         // Update position of all collision bodies
         // then add them to the tree
@@ -88,14 +92,16 @@ public class CollisionSystem extends IteratingSystem {
         TREE.retrieve(POSSIBLE_COLLISIONS, entity);
         POSSIBLE_COLLISIONS.removeValue(entity, true);
 
-        // Check for collisions
-        for (Entity entity2 : POSSIBLE_COLLISIONS) {
+        // Check for collisions. Indexed loop and a shared MTV so that this doesn't allocate per pair.
+        for (int i = 0; i < POSSIBLE_COLLISIONS.size; i++) {
+            Entity entity2 = POSSIBLE_COLLISIONS.get(i);
             ColliderComponent otherCollider = Mapper.COLLIDER.get(entity2);
-            Intersector.MinimumTranslationVector mtv = new Intersector.MinimumTranslationVector();
+            Intersector.MinimumTranslationVector mtv = MTV;
 
             if (Intersector.overlapConvexPolygons(curCollider.BODY, otherCollider.BODY, mtv)) {
                 // Technically, we have entered collision.
                 curCollider.handler.enterCollision(entity2);
+                collisions++;
 
                 // If both objects are solid, move them out of each other.
                 if (curCollider.solid && otherCollider.solid) {
@@ -112,4 +118,11 @@ public class CollisionSystem extends IteratingSystem {
     public QuadTree getTree() {
         return TREE;
     }
+
+    /**
+     * @return the number of collisions handled in the last update, counting each entity of a pair separately
+     */
+    public int getCollisionCount() {
+        return collisions;
+    }
 }
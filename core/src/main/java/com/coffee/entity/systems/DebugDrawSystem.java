@@ -10,6 +10,7 @@ import com.badlogic.gdx.utils.viewport.Viewport;
 import com.coffee.entity.components.ColliderComponent;
 import com.coffee.entity.components.TransformComponent;
 import com.coffee.util.Mapper;
+import com.coffee.util.SimulationThread;
 
 /**
  * {@link EntitySystem} designed specifically for drawing debug shapes.
@@ -29,6 +30,12 @@ public class DebugDrawSystem extends IteratingSystem {
         RENDERER = renderer;
     }
 
+    @Override
+    public boolean checkProcessing() {
+        // Drawn by the render thread, see SimulationThread
+        return super.checkProcessing() && !SimulationThread.isCurrentThread();
+    }
+
     @Override
     protected void processEntity(Entity entity, float deltaTime) {
         // Transform first
@@ -42,8 +49,8 @@ public class DebugDrawSystem extends IteratingSystem {
                     transform.POSITION.y,
                     transform.ORIGIN.x,
                     transform.ORIGIN.y,
-                    transform.SIZE.width,
-                    transform.SIZE.height,
+                    transform.width,
+                    transform.height,
                     1,
                     1,
                     (float) transform.rotation
@@ -1,78 +1,449 @@
 package com.coffee.entity.systems;
 
-import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
 import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.EntitySystem;
 import com.badlogic.ashley.core.Family;
-import com.badlogic.ashley.systems.SortedIteratingSystem;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.coffee.entity.components.SpriteComponent;
 import com.coffee.entity.components.TransformComponent;
+import com.coffee.util.BulletRenderer;
 import com.coffee.util.Mapper;
-
-import java.util.Comparator;
+import com.coffee.util.RenderSnapshot;
 
 /**
- * Sorts all the entities with sprite components by z-order, then draws all of them.
- * Next, GUI elements are drawn so that they are always on top of sprites.
+ * Draws all the entities with sprite components in order of their z-index.
+ * <p>
+ * Instead of sorting every entity whenever one is added or removed, entities are kept in one
+ * layer per distinct z-index, and the layers are kept in order. Adding an entity appends it to its layer,
+ * and removing one just leaves a hole that gets closed up the next time the layer is drawn, so entities
+ * in the same layer keep the order they were added in. If the z-index of an entity changes after
+ * it was added, it's moved to its new layer after the frame it was noticed in.
+ * <p>
+ * Within a layer, entities are grouped by the texture of their first sprite so that the {@link SpriteBatch}
+ * doesn't have to flush every time the texture switches. Sprites that are completely outside of the camera
+ * (like bullets that are waiting to despawn) are skipped. Set {@link #doStats} to print the number of
+ * draw calls, drawn sprites and culled sprites every second.
+ * <p>
+ * If a {@link BulletRenderer} is given, bullets with a single square sprite that are entirely on screen are
+ * drawn through it instead of the {@code SpriteBatch}.
+ * <p>
+ * When the simulation runs on its own thread, give this system a {@link RenderSnapshot.Buffer} with
+ * {@link #setSnapshots(RenderSnapshot.Buffer)}. Instead of drawing, it then captures the visible sprites into a
+ * {@link RenderSnapshot} for the render thread to draw, without making any GL calls.
  *
  * @author Phillip O'Reggio
  */
-public class DrawSystem extends SortedIteratingSystem {
+public class DrawSystem extends EntitySystem implements EntityListener {
     private final SpriteBatch BATCH;
     private final Viewport VIEWPORT;
+    private final BulletRenderer BULLETS;
+    private final Family FAMILY;
+    public boolean doStats = false;
+
+    // Z-indices of the layers in ascending order, index i belongs to the layer at index i
+    private final IntArray LAYER_Z;
+    private final Array<Layer> LAYERS;
+    private final ObjectMap<Entity, Bucket> MEMBERSHIP;
+    private final ObjectIntMap<Entity> SLOTS;
+    private final Array<Entity> MOVED;
+
+    private RenderSnapshot.Buffer snapshots;
+    private RenderSnapshot capture;
+
+    // Camera bounds of the current frame
+    private float left, right, bottom, top;
+    private float pixelScale, maxBulletSize;
 
-    //this should be in a static mapper class that didn't exist at the time of writing
-    ComponentMapper<SpriteComponent> spriteMapper = Mapper.SPRITE;
+    // Stats of the last frame
+    private int renderCalls, frameRenderCalls, drawn, culled, points;
+    private int lastTotalRenderCalls;
 
+    // Stats accumulated for the once-per-second printout
+    private float statsTimer;
+    private int statsFrames, statsRenderCalls, statsMaxRenderCalls, statsFrameRenderCalls, statsDrawn, statsCulled, statsPoints;
+
+    /**
+     * Calls {@link DrawSystem#DrawSystem(SpriteBatch, Viewport, BulletRenderer)}
+     * with the {@link BulletRenderer} as null, so everything is drawn with the {@link SpriteBatch}.
+     */
     public DrawSystem(SpriteBatch batch, Viewport viewport) {
-        super(Family.one(SpriteComponent.class).get(), new ZComparator());
+        this(batch, viewport, null);
+    }
+
+    /**
+     * @param batch    the {@code SpriteBatch} to draw with
+     * @param viewport the {@code Viewport} whose camera to draw with and cull against
+     * @param bullets  the {@code BulletRenderer} to draw bullets with, or null to draw them with the {@code SpriteBatch}
+     */
+    public DrawSystem(SpriteBatch batch, Viewport viewport, BulletRenderer bullets) {
         BATCH = batch;
         VIEWPORT = viewport;
+        BULLETS = bullets != null && bullets.isSupported() ? bullets : null;
+        FAMILY = Family.all(SpriteComponent.class).get();
+
+        LAYER_Z = new IntArray();
+        LAYERS = new Array<>();
+        MEMBERSHIP = new ObjectMap<>();
+        SLOTS = new ObjectIntMap<>();
+        MOVED = new Array<>();
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        engine.addEntityListener(FAMILY, this);
+
+        ImmutableArray<Entity> existing = engine.getEntitiesFor(FAMILY);
+        for (int i = 0; i < existing.size(); i++)
+            entityAdded(existing.get(i));
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        engine.removeEntityListener(this);
+
+        LAYER_Z.clear();
+        LAYERS.clear();
+        MEMBERSHIP.clear();
+        SLOTS.clear();
+        MOVED.clear();
     }
 
+    @Override
+    public void entityAdded(Entity entity) {
+        final SpriteComponent SPRITE = Mapper.SPRITE.get(entity);
+        insert(entity, layerFor(SPRITE.zIndex).bucketFor(textureOf(SPRITE)));
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+        final Bucket BUCKET = MEMBERSHIP.remove(entity);
+        if (BUCKET == null)
+            return;
+
+        BUCKET.ENTITIES.set(SLOTS.remove(entity, -1), null);
+        BUCKET.holes++;
+    }
+
+    @Override
     public void update(float deltaTime) {
-        VIEWPORT.getCamera().update();
-        BATCH.setProjectionMatrix(VIEWPORT.getCamera().combined);
+        final Camera CAMERA = VIEWPORT.getCamera();
+        final float ZOOM = CAMERA instanceof OrthographicCamera ? ((OrthographicCamera) CAMERA).zoom : 1;
+        final float
+            HALF_WIDTH = CAMERA.viewportWidth * ZOOM / 2f,
+            HALF_HEIGHT = CAMERA.viewportHeight * ZOOM / 2f;
+
+        left = CAMERA.position.x - HALF_WIDTH;
+        right = CAMERA.position.x + HALF_WIDTH;
+        bottom = CAMERA.position.y - HALF_HEIGHT;
+        top = CAMERA.position.y + HALF_HEIGHT;
+        drawn = culled = points = 0;
+
+        if (snapshots != null) {
+            // The camera belongs to the render thread, so only read from it
+            capture = snapshots.back();
+            capture.clear();
+            drawLayers();
+            snapshots.publish();
+            capture = null;
+
+            relocateMoved();
+            return;
+        }
+
+        CAMERA.update();
+        BATCH.setProjectionMatrix(CAMERA.combined);
 
         BATCH.begin();
-        super.update(deltaTime);
+        if (BULLETS != null) {
+            pixelScale = VIEWPORT.getScreenWidth() / (CAMERA.viewportWidth * ZOOM);
+            maxBulletSize = BULLETS.getMaxBulletSize() / pixelScale;
+            BULLETS.begin(BATCH, pixelScale);
+        }
+
+        drawLayers();
+
+        if (BULLETS != null)
+            BULLETS.end();
         BATCH.end();
+
+        // renderCalls only covers this system's begin/end, the total also has everyone else who used the batch since last frame
+        renderCalls = BATCH.renderCalls + (BULLETS != null ? BULLETS.getRenderCalls() : 0);
+        frameRenderCalls = BATCH.totalRenderCalls - lastTotalRenderCalls + (BULLETS != null ? BULLETS.getRenderCalls() : 0);
+        lastTotalRenderCalls = BATCH.totalRenderCalls;
+
+        if (doStats)
+            updateStats(deltaTime);
+
+        relocateMoved();
     }
 
-    @Override
-    public void processEntity(Entity e, float deltaTime) {
-        final SpriteComponent SPRITE = Mapper.SPRITE.get(e);
+    private void drawLayers() {
+        for (int i = 0; i < LAYERS.size; i++) {
+            final Array<Bucket> BUCKETS = LAYERS.get(i).BUCKETS;
+
+            for (int j = 0; j < BUCKETS.size; j++)
+                drawBucket(BUCKETS.get(j));
+        }
+    }
+
+    /**
+     * Moves entities whose z-index or texture changed to their new buckets, now that nothing is being walked over.
+     */
+    private void relocateMoved() {
+        for (int i = 0; i < MOVED.size; i++) {
+            final Entity E = MOVED.get(i);
+            final Bucket OLD = MEMBERSHIP.get(E);
+
+            if (OLD == null)
+                continue;
+
+            final SpriteComponent SPRITE = Mapper.SPRITE.get(E);
+
+            OLD.ENTITIES.set(SLOTS.get(E, -1), null);
+            OLD.holes++;
+            insert(E, layerFor(SPRITE.zIndex).bucketFor(textureOf(SPRITE)));
+        }
+        MOVED.clear();
+    }
+
+    /**
+     * Draws every entity of the bucket, closing up any holes left by removed entities along the way.
+     */
+    private void drawBucket(Bucket bucket) {
+        final Array<Entity> ENTITIES = bucket.ENTITIES;
+        final Entity[] ITEMS = ENTITIES.items;
+        final int SIZE = ENTITIES.size;
+        final boolean COMPACT = bucket.holes > 0;
+        int write = 0;
+
+        for (int read = 0; read < SIZE; read++) {
+            final Entity E = ITEMS[read];
+            if (E == null)
+                continue;
+
+            if (COMPACT && write != read) {
+                ITEMS[write] = E;
+                SLOTS.put(E, write);
+            }
+            write++;
+
+            final SpriteComponent SPRITE = Mapper.SPRITE.get(E);
+            if (SPRITE.zIndex != bucket.Z || textureOf(SPRITE) != bucket.TEXTURE)
+                MOVED.add(E);
+
+            drawEntity(E, SPRITE);
+        }
+
+        if (COMPACT) {
+            ENTITIES.truncate(write);
+            bucket.holes = 0;
+        }
+    }
+
+    private void drawEntity(Entity e, SpriteComponent sprite) {
         final TransformComponent TRANSFORM = Mapper.TRANSFORM.get(e);
 
-        Array<Sprite> sprites = SPRITE.SPRITES;
-        Vector2 pos = TRANSFORM.POSITION.cpy().add(TRANSFORM.ORIGIN);
+        Array<Sprite> sprites = sprite.SPRITES;
+        float
+            x = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x,
+            y = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y;
+        boolean bullet = BULLETS != null && capture == null && sprites.size == 1 && Mapper.BULLET.has(e);
 
         for (int i = 0; i < sprites.size; i++) {
             Sprite s = sprites.get(i);
 
-            s.setPosition(pos.x - s.getOriginX(), pos.y - s.getOriginY());
+            // The origin of the sprite ends up on (x, y), so no corner can be further away than this
+            final float
+                W = s.getWidth(),
+                H = s.getHeight(),
+                OX = s.getOriginX(),
+                OY = s.getOriginY(),
+                SCALE = Math.max(Math.abs(s.getScaleX()), Math.abs(s.getScaleY())),
+                RADIUS = (Math.max(Math.abs(OX), Math.abs(W - OX)) + Math.max(Math.abs(OY), Math.abs(H - OY))) * SCALE;
+
+            if (x + RADIUS < left || x - RADIUS > right || y + RADIUS < bottom || y - RADIUS > top) {
+                culled++;
+                continue;
+            }
+
+            drawn++;
+
+            // Points are clipped by their center, so only bullets that are all the way on screen can be points
+            if (bullet && W == H && OX == W / 2f && OY == H / 2f && s.getScaleX() == s.getScaleY()
+                    && W * SCALE <= maxBulletSize
+                    && x - RADIUS >= left && x + RADIUS <= right && y - RADIUS >= bottom && y + RADIUS <= top) {
+                points++;
+                BULLETS.draw(s.getTexture(), x, y, TRANSFORM.rotation, W * SCALE, s.getColor().toFloatBits(),
+                        s.getU(), s.getV(), s.getU2(), s.getV2());
+                continue;
+            }
+
+            s.setPosition(x - s.getOriginX(), y - s.getOriginY());
             s.setRotation(TRANSFORM.rotation);
+
+            if (capture != null) {
+                capture.add(s);
+                continue;
+            }
+
+            if (BULLETS != null)
+                BULLETS.flush();
+
             s.draw(BATCH);
         }
     }
 
-    public static class ZComparator implements Comparator<Entity> {
-        @Override
-        public int compare(Entity o1, Entity o2) {
-            int z1 = Mapper.SPRITE.get(o1).zIndex,
-            z2 = Mapper.SPRITE.get(o2).zIndex;
+    private void insert(Entity entity, Bucket bucket) {
+        SLOTS.put(entity, bucket.ENTITIES.size);
+        MEMBERSHIP.put(entity, bucket);
+        bucket.ENTITIES.add(entity);
+    }
 
-            if (z1 < z2)
-                return -1;
-            else if (z1 > z2)
-                return 1;
+    private static Texture textureOf(SpriteComponent sprite) {
+        return sprite.SPRITES.size > 0 ? sprite.SPRITES.first().getTexture() : null;
+    }
+
+    private void updateStats(float deltaTime) {
+        statsFrames++;
+        statsRenderCalls += renderCalls;
+        statsMaxRenderCalls = Math.max(statsMaxRenderCalls, renderCalls);
+        statsFrameRenderCalls += frameRenderCalls;
+        statsDrawn += drawn;
+        statsCulled += culled;
+        statsPoints += points;
+
+        statsTimer += deltaTime;
+        if (statsTimer < 1)
+            return;
+
+        System.out.println(String.format("[DrawSystem] draw calls %.1f/frame (max %d), %.1f/frame total, %d drawn (%d as points), %d culled",
+                statsRenderCalls / (float) statsFrames, statsMaxRenderCalls, statsFrameRenderCalls / (float) statsFrames,
+                statsDrawn / statsFrames, statsPoints / statsFrames, statsCulled / statsFrames));
+
+        statsTimer = 0;
+        statsFrames = statsRenderCalls = statsMaxRenderCalls = statsFrameRenderCalls = statsDrawn = statsCulled = statsPoints = 0;
+    }
+
+    /**
+     * Finds the layer with the specified z-index, creating it in its sorted place if there isn't one yet.
+     */
+    private Layer layerFor(int z) {
+        int low = 0, high = LAYER_Z.size - 1;
+
+        while (low <= high) {
+            final int MID = (low + high) >>> 1;
+            final int MID_Z = LAYER_Z.get(MID);
+
+            if (MID_Z < z)
+                low = MID + 1;
+            else if (MID_Z > z)
+                high = MID - 1;
             else
-                return 0;
+                return LAYERS.get(MID);
         }
+
+        final Layer LAYER = new Layer(z);
+        LAYER_Z.insert(low, z);
+        LAYERS.insert(low, LAYER);
+
+        return LAYER;
+    }
+
+    /**
+     * @param snapshots the buffer to capture the sprites into instead of drawing them, or null to go back to drawing
+     */
+    public void setSnapshots(RenderSnapshot.Buffer snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    /**
+     * @return the number of distinct z-indices that have been drawn so far
+     */
+    public int getLayerCount() {
+        return LAYERS.size;
+    }
+
+    /**
+     * @return the number of times the {@link SpriteBatch} was flushed while drawing the entities last frame
+     */
+    public int getRenderCalls() {
+        return renderCalls;
+    }
+
+    /**
+     * @return the number of times the {@link SpriteBatch} was flushed between the last two frames, by anything using it
+     */
+    public int getFrameRenderCalls() {
+        return frameRenderCalls;
+    }
+
+    /**
+     * @return the number of sprites drawn last frame
+     */
+    public int getDrawnCount() {
+        return drawn;
+    }
+
+    /**
+     * @return the number of sprites drawn through the {@link BulletRenderer} last frame
+     */
+    public int getPointCount() {
+        return points;
+    }
+
+    /**
+     * @return the number of sprites skipped last frame for being off screen
+     */
+    public int getCulledCount() {
+        return culled;
     }
-}
 
+    private static class Layer {
+        private final int Z;
+        private final Array<Bucket> BUCKETS;
+
+        private Layer(int z) {
+            Z = z;
+            BUCKETS = new Array<>();
+        }
+
+        /**
+         * Finds the bucket of this layer for the specified texture, creating it if there isn't one yet.
+         */
+        private Bucket bucketFor(Texture texture) {
+            for (int i = 0; i < BUCKETS.size; i++)
+                if (BUCKETS.get(i).TEXTURE == texture)
+                    return BUCKETS.get(i);
+
+            final Bucket BUCKET = new Bucket(Z, texture);
+            BUCKETS.add(BUCKET);
+
+            return BUCKET;
+        }
+    }
+
+    private static class Bucket {
+        private final int Z;
+        private final Texture TEXTURE;
+        private final Array<Entity> ENTITIES;
+        private int holes;
+
+        private Bucket(int z, Texture texture) {
+            Z = z;
+            TEXTURE = texture;
+            ENTITIES = new Array<>(true, 64, Entity.class);
+        }
+    }
+}
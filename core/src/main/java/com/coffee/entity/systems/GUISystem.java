@@ -6,6 +6,7 @@ import com.badlogic.ashley.systems.IteratingSystem;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.coffee.entity.components.GUIComponent;
 import com.coffee.util.Mapper;
+import com.coffee.util.SimulationThread;
 
 /**
  * @author Jared Tulayan
@@ -15,6 +16,12 @@ public class GUISystem extends IteratingSystem {
         super(Family.one(GUIComponent.class).get());
     }
 
+    @Override
+    public boolean checkProcessing() {
+        // Drawn by the render thread, see SimulationThread
+        return super.checkProcessing() && !SimulationThread.isCurrentThread();
+    }
+
     @Override
     protected void processEntity(Entity entity, float deltaTime) {
         Stage canvas = Mapper.GUI.get(entity).canvas;
@@ -1,43 +1,130 @@
 package com.coffee.entity.systems;
 
+import com.badlogic.ashley.core.Engine;
 import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
 import com.badlogic.ashley.core.Family;
 import com.badlogic.ashley.systems.IteratingSystem;
 import com.badlogic.gdx.math.MathUtils;
 import com.coffee.entity.components.HealthComponent;
 import com.coffee.util.Mapper;
+import com.coffee.util.TimerWheel;
 
 /**
- * {@link com.badlogic.ashley.core.EntitySystem EntitySystem} that updates
- * {@link HealthComponent}'s invincibility timer, respawn timer, and clamps the health.
+ * {@link com.badlogic.ashley.core.EntitySystem EntitySystem} that starts
+ * {@link HealthComponent}'s invincibility and respawn timers, and clamps the health.
+ * <p>
+ * The timers run on the {@link TimerSystem}, and the flags in the component are cleared when they run out.
  *
  * @author Phillip O'Reggio
  */
-public class HealthSystem extends IteratingSystem {
+public class HealthSystem extends IteratingSystem implements EntityListener, TimerWheel.Listener {
+    private static final int INVINCIBILITY = 0, RESPAWN = 1;
+
+    private TimerSystem timers;
+
     public HealthSystem() {
         super(Family.one(HealthComponent.class).get());
     }
 
+    @Override
+    public void addedToEngine(Engine engine) {
+        super.addedToEngine(engine);
+
+        timers = TimerSystem.get(engine);
+        engine.addEntityListener(getFamily(), this);
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        super.removedFromEngine(engine);
+
+        engine.removeEntityListener(this);
+        timers = null;
+    }
+
     public void processEntity(Entity entity, float deltaTime) {
         HealthComponent health = Mapper.HEALTH.get(entity);
 
-        // Decrease invincibility timer
-        if (health.invincibilityTimer > 0) {
-            health.invincibilityTimer -= deltaTime;
-            if (health.invincibilityTimer <= 0)
-                health.invincibilityTimer = 0;
-        }
+        // Clamp health
+        health.health = MathUtils.clamp(health.health, 0, health.maxHealth);
+    }
+
+    /**
+     * Makes the entity invincible for the specified number of seconds, replacing any invincibility it already had.
+     */
+    public void startInvincibility(Entity entity, float duration) {
+        final HealthComponent HEALTH = Mapper.HEALTH.get(entity);
+
+        timers.cancel(HEALTH.invincibilityTimer);
+        HEALTH.invincibilityTimer = timers.schedule(duration, this, entity, INVINCIBILITY);
+        HEALTH.recovering = true;
+        HEALTH.invincible = true;
+    }
+
+    /**
+     * Makes the entity wait to respawn for the specified number of seconds, during which it's also invincible.
+     */
+    public void startRespawn(Entity entity, float duration) {
+        final HealthComponent HEALTH = Mapper.HEALTH.get(entity);
 
-        // Decrease respawn timer
-        if (health.respawnTimer > 0) {
-            health.respawnTimer -= deltaTime;
-            if (health.respawnTimer <= 0)
-                health.respawnTimer = 0;
+        timers.cancel(HEALTH.respawnTimer);
+        HEALTH.respawnTimer = timers.schedule(duration, this, entity, RESPAWN);
+        HEALTH.respawning = true;
+        HEALTH.invincible = true;
+    }
+
+    /**
+     * Puts back the invincibility and respawn timers the way they were when a
+     * {@link com.coffee.util.WorldSnapshot WorldSnapshot} was taken. The flags have to be set already.
+     *
+     * @param invincibilityTicks the number of {@link TimerWheel} ticks of invincibility left, 0 for none
+     * @param respawnTicks       the number of {@link TimerWheel} ticks left until respawning, 0 for none
+     */
+    public void restoreTimers(Entity entity, long invincibilityTicks, long respawnTicks) {
+        final HealthComponent HEALTH = Mapper.HEALTH.get(entity);
+
+        timers.cancel(HEALTH.invincibilityTimer);
+        timers.cancel(HEALTH.respawnTimer);
+        HEALTH.invincibilityTimer = invincibilityTicks > 0 ? timers.scheduleTicks(invincibilityTicks, this, entity, INVINCIBILITY) : TimerWheel.NONE;
+        HEALTH.respawnTimer = respawnTicks > 0 ? timers.scheduleTicks(respawnTicks, this, entity, RESPAWN) : TimerWheel.NONE;
+    }
+
+    @Override
+    public void expired(int timer, Entity entity, int tag) {
+        final HealthComponent HEALTH = Mapper.HEALTH.get(entity);
+
+        // The component may have been removed or restarted since
+        if (HEALTH == null)
+            return;
+
+        if (tag == INVINCIBILITY && HEALTH.invincibilityTimer == timer) {
+            HEALTH.invincibilityTimer = TimerWheel.NONE;
+            HEALTH.recovering = false;
+        } else if (tag == RESPAWN && HEALTH.respawnTimer == timer) {
+            HEALTH.respawnTimer = TimerWheel.NONE;
+            HEALTH.respawning = false;
         }
 
-        health.invincible = health.invincibilityTimer > 0 || health.respawnTimer > 0;
+        HEALTH.invincible = HEALTH.recovering || HEALTH.respawning;
+    }
 
-        // Clamp health
-        health.health = MathUtils.clamp(health.health, 0, health.maxHealth);
+    @Override
+    public void entityAdded(Entity entity) {
+
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+        final HealthComponent HEALTH = Mapper.HEALTH.get(entity);
+
+        // Already gone if the component was taken off rather than the entity removed, its timers get ignored then
+        if (HEALTH == null)
+            return;
+
+        timers.cancel(HEALTH.invincibilityTimer);
+        timers.cancel(HEALTH.respawnTimer);
+        HEALTH.invincibilityTimer = TimerWheel.NONE;
+        HEALTH.respawnTimer = TimerWheel.NONE;
     }
 }
@@ -0,0 +1,85 @@
+package com.coffee.entity.systems;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.coffee.entity.components.HomingComponent;
+import com.coffee.entity.components.MovementComponent;
+import com.coffee.entity.components.SpriteComponent;
+import com.coffee.entity.components.TransformComponent;
+import com.coffee.util.Mapper;
+
+/**
+ * Steers every homing bullet in one pass, using the player position from the {@link TargetingSystem}.
+ * <p>
+ * A homing bullet slows down until it stops, waits, then launches itself at where the player is and turns
+ * red while fading away. If there's no player to aim at, it launches towards the bottom left corner like it always has.
+ */
+public class HomingSystem extends IteratingSystem {
+    private TargetingSystem targeting;
+
+    public HomingSystem() {
+        super(Family.all(HomingComponent.class, MovementComponent.class, TransformComponent.class, SpriteComponent.class).get());
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        super.addedToEngine(engine);
+
+        targeting = engine.getSystem(TargetingSystem.class);
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        final HomingComponent HOMING = Mapper.HOMING.get(entity);
+        final MovementComponent MOVEMENT = Mapper.MOVEMENT.get(entity);
+
+        switch (HOMING.state) {
+            case HomingComponent.SLOWING:
+                MOVEMENT.moveSpeed = Math.max(MOVEMENT.moveSpeed - deltaTime * HOMING.deceleration, 0);
+
+                if (MOVEMENT.moveSpeed == 0) {
+                    HOMING.timer = HOMING.waitTime;
+                    HOMING.state = HomingComponent.WAITING;
+                }
+                break;
+            case HomingComponent.WAITING:
+                HOMING.timer -= deltaTime;
+
+                if (HOMING.timer <= 0) {
+                    final TransformComponent TRANSFORM = Mapper.TRANSFORM.get(entity);
+                    final float
+                            X = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x,
+                            Y = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y;
+
+                    float targetX = 0, targetY = 0;
+                    if (targeting != null && targeting.hasPlayer()) {
+                        final Vector2 PLAYER = targeting.getPlayerCenter();
+
+                        targetX = PLAYER.x;
+                        targetY = PLAYER.y;
+                    }
+
+                    MOVEMENT.moveSpeed = HOMING.launchSpeed;
+                    MOVEMENT.MOVEMENT_NORMAL.setAngleRad(MathUtils.atan2(targetY - Y, targetX - X));
+                    HOMING.state = HomingComponent.LAUNCHED;
+                }
+                break;
+            default: // Fade
+                final Sprite SPRITE = Mapper.SPRITE.get(entity).SPRITES.first();
+                final Color COLOR = SPRITE.getColor();
+
+                SPRITE.setColor(
+                        MathUtils.clamp(COLOR.r + deltaTime, 0, 1),
+                        MathUtils.clamp(COLOR.g - deltaTime, 0, 1),
+                        MathUtils.clamp(COLOR.b - deltaTime, 0, 1),
+                        MathUtils.clamp(COLOR.a - deltaTime * 0.5f, 0, 1)
+                );
+        }
+    }
+}
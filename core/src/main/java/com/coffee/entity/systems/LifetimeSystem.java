@@ -1,27 +1,80 @@
 package com.coffee.entity.systems;
 
+import com.badlogic.ashley.core.Engine;
 import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.EntitySystem;
 import com.badlogic.ashley.core.Family;
-import com.badlogic.ashley.systems.IteratingSystem;
+import com.badlogic.ashley.utils.ImmutableArray;
 import com.coffee.entity.components.LifetimeComponent;
 import com.coffee.util.Mapper;
+import com.coffee.util.TimerWheel;
 
 /**
+ * Removes entities once their lifetime is up, using a timer on the {@link TimerSystem} started when they're added.
+ *
  * @author Jared Tulayan
  */
-public class LifetimeSystem extends IteratingSystem {
+public class LifetimeSystem extends EntitySystem implements EntityListener, TimerWheel.Listener {
+    private final Family FAMILY;
+    private TimerSystem timers;
+
     public LifetimeSystem() {
-        super(Family.one(LifetimeComponent.class).get());
+        FAMILY = Family.one(LifetimeComponent.class).get();
     }
 
     @Override
-    protected void processEntity(Entity entity, float deltaTime) {
-        LifetimeComponent particle = Mapper.LIFETIME.get(entity);
+    public void addedToEngine(Engine engine) {
+        timers = TimerSystem.get(engine);
+        engine.addEntityListener(FAMILY, this);
 
-        particle.timer -= deltaTime;
+        ImmutableArray<Entity> existing = engine.getEntitiesFor(FAMILY);
+        for (int i = 0; i < existing.size(); i++)
+            entityAdded(existing.get(i));
+    }
 
-        if (particle.timer <= 0) {
-            getEngine().removeEntity(entity);
+    @Override
+    public void removedFromEngine(Engine engine) {
+        engine.removeEntityListener(this);
+        timers = null;
+    }
+
+    @Override
+    public void entityAdded(Entity entity) {
+        LifetimeComponent lifetime = Mapper.LIFETIME.get(entity);
+
+        timers.cancel(lifetime.timer);
+        lifetime.timer = timers.schedule(lifetime.duration, this, entity, 0);
+    }
+
+    /**
+     * Puts back the timer of an entity that was just added, the way it was when a
+     * {@link com.coffee.util.WorldSnapshot WorldSnapshot} was taken.
+     *
+     * @param ticks the number of {@link TimerWheel} ticks that were left
+     */
+    public void restoreTimer(Entity entity, long ticks) {
+        LifetimeComponent lifetime = Mapper.LIFETIME.get(entity);
+
+        timers.cancel(lifetime.timer);
+        lifetime.timer = timers.scheduleTicks(ticks, this, entity, 0);
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+        LifetimeComponent lifetime = Mapper.LIFETIME.get(entity);
+
+        if (lifetime != null) {
+            timers.cancel(lifetime.timer);
+            lifetime.timer = TimerWheel.NONE;
         }
     }
+
+    @Override
+    public void expired(int timer, Entity entity, int tag) {
+        LifetimeComponent lifetime = Mapper.LIFETIME.get(entity);
+
+        if (lifetime != null && lifetime.timer == timer)
+            getEngine().removeEntity(entity);
+    }
 }
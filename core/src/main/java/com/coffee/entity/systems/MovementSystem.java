@@ -1,27 +1,54 @@
 package com.coffee.entity.systems;
 
+import com.badlogic.ashley.core.Engine;
 import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
 import com.badlogic.ashley.core.EntitySystem;
 import com.badlogic.ashley.core.Family;
-import com.badlogic.ashley.systems.IteratingSystem;
+import com.badlogic.ashley.utils.ImmutableArray;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.ObjectIntMap;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.coffee.entity.components.MovementComponent;
 import com.coffee.entity.components.TransformComponent;
 import com.coffee.util.Mapper;
 
+import java.util.Arrays;
+
 /**
  * This {@link EntitySystem} updates both position and rotation
  * by using velocity values to update transform positions and rotations.
+ * <p>
+ * Moving entities are kept in dense arrays instead of going through the family and the
+ * component mappers every frame. Each frame the positions are copied in from the {@link TransformComponent}s,
+ * integrated in one tight loop, and copied back out, so anything else that moves entities around
+ * still works. The normalized velocity is only recalculated when the movement normal or speed changes.
+ * <p>
+ * Entities with parametric motion (see {@link MovementComponent}) get their heading and speed evaluated
+ * from their age first, in one pass, so turning and accelerating bullets don't need a handler each and
+ * don't drift when the frame time changes.
  *
  * @author Jared Tulayan
  */
-public class MovementSystem extends IteratingSystem {
+public class MovementSystem extends EntitySystem implements EntityListener {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final Family FAMILY;
+    private final ObjectIntMap<Entity> INDICES;
     private final Viewport VIEWPORT;
     private final ShapeRenderer DEBUG;
     public boolean doDebug = false;
 
+    // Dense per-entity data, index i of every array belongs to the same entity
+    private Entity[] entities;
+    private TransformComponent[] transforms;
+    private MovementComponent[] movements;
+    private float[] posX, posY;
+    private float[] velX, velY;
+    private float[] lastNormalX, lastNormalY, lastSpeed;
+    private int size;
+
     /**
      * Calls {@link MovementSystem#MovementSystem(Viewport)}
      * with the {@link Viewport} as null
@@ -38,7 +65,8 @@ public class MovementSystem extends IteratingSystem {
      *                 projection matrix of the {@code ShapeRenderer}
      */
     public MovementSystem(Viewport viewport) {
-        super(Family.all(TransformComponent.class, MovementComponent.class).get());
+        FAMILY = Family.all(TransformComponent.class, MovementComponent.class).get();
+        INDICES = new ObjectIntMap<>(INITIAL_CAPACITY);
         VIEWPORT = viewport;
 
         if (VIEWPORT != null) {
@@ -46,26 +74,214 @@ public class MovementSystem extends IteratingSystem {
             doDebug = true;
         } else
             DEBUG = null;
+
+        allocate(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        engine.addEntityListener(FAMILY, this);
+
+        ImmutableArray<Entity> existing = engine.getEntitiesFor(FAMILY);
+        for (int i = 0; i < existing.size(); i++)
+            entityAdded(existing.get(i));
     }
 
     @Override
-    protected void processEntity(Entity entity, float deltaTime) {
-        // Start by getting the transform and movement components
-        final TransformComponent curTransform = Mapper.TRANSFORM.get(entity);
-        final MovementComponent curMovement = Mapper.MOVEMENT.get(entity);
-
-        // Store the real normal vector in a temporary object.
-        // This vector requires that we normalize the normal vector and scale it to the move speed magnitude.
-        Vector2 move_vec = new Vector2(curMovement.MOVEMENT_NORMAL).nor().scl((float)curMovement.moveSpeed * 60f * deltaTime);
-
-        // Move and rotate the entity
-        curTransform.POSITION.add(move_vec);
-        curTransform.rotation += curMovement.rotSpeed;
-
-        // Limit rotation to [0, 360) for easy printouts.
-        if (curTransform.rotation >= 360)
-            curTransform.rotation -= 360;
-        if (curTransform.rotation < 0)
-            curTransform.rotation += 360;
+    public void removedFromEngine(Engine engine) {
+        engine.removeEntityListener(this);
+
+        Arrays.fill(entities, 0, size, null);
+        Arrays.fill(transforms, 0, size, null);
+        Arrays.fill(movements, 0, size, null);
+        INDICES.clear();
+        size = 0;
+    }
+
+    @Override
+    public void entityAdded(Entity entity) {
+        if (size == entities.length)
+            allocate(size * 2);
+
+        int i = size++;
+        entities[i] = entity;
+        transforms[i] = Mapper.TRANSFORM.get(entity);
+        movements[i] = Mapper.MOVEMENT.get(entity);
+
+        // NaN never equals anything, so the velocity gets calculated on the first update
+        lastNormalX[i] = lastNormalY[i] = lastSpeed[i] = Float.NaN;
+
+        INDICES.put(entity, i);
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+        int i = INDICES.remove(entity, -1);
+        if (i == -1)
+            return;
+
+        // Swap the last entity into the hole so the arrays stay dense
+        int last = --size;
+        if (i != last) {
+            entities[i] = entities[last];
+            transforms[i] = transforms[last];
+            movements[i] = movements[last];
+            velX[i] = velX[last];
+            velY[i] = velY[last];
+            lastNormalX[i] = lastNormalX[last];
+            lastNormalY[i] = lastNormalY[last];
+            lastSpeed[i] = lastSpeed[last];
+
+            INDICES.put(entities[i], i);
+        }
+
+        entities[last] = null;
+        transforms[last] = null;
+        movements[last] = null;
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        final int SIZE = size;
+        final float SCALE = 60f * deltaTime;
+
+        // Evaluate parametric motion, the copy in below picks up the new normal and speed like any other change
+        for (int i = 0; i < SIZE; i++) {
+            final MovementComponent MOVEMENT = movements[i];
+
+            if (MOVEMENT.parametric)
+                evaluate(MOVEMENT, deltaTime);
+        }
+
+        // Copy positions in, and refresh the cached velocity of anything whose movement changed
+        for (int i = 0; i < SIZE; i++) {
+            final TransformComponent TRANSFORM = transforms[i];
+            final MovementComponent MOVEMENT = movements[i];
+            final float
+                NORMAL_X = MOVEMENT.MOVEMENT_NORMAL.x,
+                NORMAL_Y = MOVEMENT.MOVEMENT_NORMAL.y,
+                SPEED = (float) MOVEMENT.moveSpeed;
+
+            posX[i] = TRANSFORM.POSITION.x;
+            posY[i] = TRANSFORM.POSITION.y;
+
+            if (NORMAL_X != lastNormalX[i] || NORMAL_Y != lastNormalY[i] || SPEED != lastSpeed[i]) {
+                final float LENGTH = (float) Math.sqrt(NORMAL_X * NORMAL_X + NORMAL_Y * NORMAL_Y);
+
+                if (LENGTH != 0) {
+                    velX[i] = NORMAL_X / LENGTH * SPEED;
+                    velY[i] = NORMAL_Y / LENGTH * SPEED;
+                } else
+                    velX[i] = velY[i] = 0;
+
+                lastNormalX[i] = NORMAL_X;
+                lastNormalY[i] = NORMAL_Y;
+                lastSpeed[i] = SPEED;
+            }
+        }
+
+        // Integrate
+        for (int i = 0; i < SIZE; i++) {
+            posX[i] += velX[i] * SCALE;
+            posY[i] += velY[i] * SCALE;
+        }
+
+        // Copy positions back out and rotate
+        for (int i = 0; i < SIZE; i++) {
+            final TransformComponent TRANSFORM = transforms[i];
+
+            TRANSFORM.POSITION.set(posX[i], posY[i]);
+            TRANSFORM.rotation += movements[i].rotSpeed;
+
+            // Limit rotation to [0, 360) for easy printouts.
+            if (TRANSFORM.rotation >= 360)
+                TRANSFORM.rotation -= 360;
+            if (TRANSFORM.rotation < 0)
+                TRANSFORM.rotation += 360;
+        }
+    }
+
+    /**
+     * Moves the parametric motion of the specified {@link MovementComponent} ahead by the specified time
+     * and sets its normal and speed to match.
+     */
+    private static void evaluate(MovementComponent movement, float deltaTime) {
+        final float T = movement.time += deltaTime;
+
+        float angle = movement.baseAngle + movement.angularVelocity * T;
+        if (movement.waveAmplitude != 0)
+            angle += movement.waveAmplitude * MathUtils.cos(MathUtils.PI2 * movement.waveFrequency * T);
+
+        // Speeds that start past the limit they're accelerating towards are left alone
+        float speed = movement.baseSpeed;
+        if (movement.acceleration < 0 && speed > movement.minSpeed)
+            speed = Math.max(speed + movement.acceleration * T, movement.minSpeed);
+        else if (movement.acceleration > 0 && speed < movement.maxSpeed)
+            speed = Math.min(speed + movement.acceleration * T, movement.maxSpeed);
+
+        movement.MOVEMENT_NORMAL.set(MathUtils.cosDeg(angle), MathUtils.sinDeg(angle));
+        movement.moveSpeed = speed;
+    }
+
+    /**
+     * Moves an entity that isn't in the system yet ahead by the specified time, in the same steps updates
+     * at 60 frames a second would have taken. Only the position, heading and speed are caught up.
+     * This is for entities that are spawned late, but should look like they were spawned on time.
+     */
+    public static void catchUp(TransformComponent transform, MovementComponent movement, float time) {
+        final float STEP = 1 / 60f;
+
+        for (float left = time; left > 0; left -= STEP) {
+            final float DT = Math.min(STEP, left);
+
+            if (movement.parametric)
+                evaluate(movement, DT);
+
+            final float
+                NORMAL_X = movement.MOVEMENT_NORMAL.x,
+                NORMAL_Y = movement.MOVEMENT_NORMAL.y,
+                LENGTH = (float) Math.sqrt(NORMAL_X * NORMAL_X + NORMAL_Y * NORMAL_Y);
+
+            if (LENGTH != 0) {
+                final float SCALE = (float) movement.moveSpeed * 60f * DT / LENGTH;
+                transform.POSITION.add(NORMAL_X * SCALE, NORMAL_Y * SCALE);
+            }
+        }
+    }
+
+    /**
+     * @return the number of entities being moved by this system
+     */
+    public int getEntityCount() {
+        return size;
+    }
+
+    /**
+     * Grows (or creates) every per-entity array to the specified capacity.
+     */
+    private void allocate(int capacity) {
+        if (entities == null) {
+            entities = new Entity[capacity];
+            transforms = new TransformComponent[capacity];
+            movements = new MovementComponent[capacity];
+            posX = new float[capacity];
+            posY = new float[capacity];
+            velX = new float[capacity];
+            velY = new float[capacity];
+            lastNormalX = new float[capacity];
+            lastNormalY = new float[capacity];
+            lastSpeed = new float[capacity];
+        } else {
+            entities = Arrays.copyOf(entities, capacity);
+            transforms = Arrays.copyOf(transforms, capacity);
+            movements = Arrays.copyOf(movements, capacity);
+            posX = Arrays.copyOf(posX, capacity);
+            posY = Arrays.copyOf(posY, capacity);
+            velX = Arrays.copyOf(velX, capacity);
+            velY = Arrays.copyOf(velY, capacity);
+            lastNormalX = Arrays.copyOf(lastNormalX, capacity);
+            lastNormalY = Arrays.copyOf(lastNormalY, capacity);
+            lastSpeed = Arrays.copyOf(lastSpeed, capacity);
+        }
     }
 }
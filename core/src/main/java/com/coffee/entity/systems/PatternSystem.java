@@ -0,0 +1,58 @@
+package com.coffee.entity.systems;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.math.MathUtils;
+import com.coffee.entity.components.MovementComponent;
+import com.coffee.entity.components.PatternComponent;
+import com.coffee.entity.components.SpriteComponent;
+import com.coffee.util.BulletPatterns;
+import com.coffee.util.Mapper;
+
+/**
+ * Colors the bullets fired by bullet patterns according to their {@link BulletPatterns.Motion}, and removes
+ * them once they've turned far enough. This does what each attack used to do with its own bullet handlers,
+ * without creating a handler per bullet. The movement itself is parametric, so the {@link MovementSystem} does that.
+ */
+public class PatternSystem extends IteratingSystem {
+    private final Color TEMP;
+
+    public PatternSystem() {
+        super(Family.all(PatternComponent.class, MovementComponent.class, SpriteComponent.class).get());
+
+        TEMP = new Color();
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        final PatternComponent PATTERN = Mapper.PATTERN.get(entity);
+        final MovementComponent MOVEMENT = Mapper.MOVEMENT.get(entity);
+        final BulletPatterns.Motion MOTION = PATTERN.motion;
+
+        if (MOTION.TURN_LIMIT > 0 && Math.abs(MOVEMENT.angularVelocity) * MOVEMENT.time >= MOTION.TURN_LIMIT) {
+            getEngine().removeEntity(entity);
+            return;
+        }
+
+        final Sprite SPRITE = Mapper.SPRITE.get(entity).SPRITES.first();
+
+        if (MOTION.FADES) {
+            final Color COLOR = SPRITE.getColor();
+
+            SPRITE.setColor(
+                    MathUtils.clamp(COLOR.r + MOTION.FADE_R * deltaTime, 0, 1),
+                    MathUtils.clamp(COLOR.g + MOTION.FADE_G * deltaTime, 0, 1),
+                    MathUtils.clamp(COLOR.b + MOTION.FADE_B * deltaTime, 0, 1),
+                    MathUtils.clamp(COLOR.a + MOTION.FADE_A * deltaTime, 0, 1)
+            );
+        }
+
+        if (MOTION.CYCLE_FROM != null) {
+            PATTERN.cycleTimer += deltaTime * MOTION.CYCLE_RATE;
+            SPRITE.setColor(TEMP.set(MOTION.CYCLE_FROM).lerp(MOTION.CYCLE_TO, (MathUtils.cos(PATTERN.cycleTimer * MathUtils.PI2) + 1) / 2f));
+        }
+    }
+}
@@ -3,16 +3,12 @@ package com.coffee.entity.systems;
 import com.badlogic.ashley.core.Entity;
 import com.badlogic.ashley.core.Family;
 import com.badlogic.ashley.systems.IteratingSystem;
-import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.coffee.entity.EntityFactory;
 import com.coffee.entity.components.*;
-import com.coffee.util.Assets;
 import com.coffee.util.Mapper;
-import com.coffee.util.OptionsManager;
-
-import java.awt.*;
+import com.coffee.util.SoundPlayer;
 
 /**
  * System that listens for input via fields in the {@link PlayerComponent},
@@ -21,13 +17,17 @@ import java.awt.*;
  * @author Jared Tulayan
  */
 public class PlayerSystem extends IteratingSystem {
-    private final Dimension GAME_SIZE;
+    private final int GAME_WIDTH, GAME_HEIGHT;
+    private final EntityFactory FACTORY;
     private float timer;
 
-    public PlayerSystem(Viewport viewport) {
+    public PlayerSystem(Viewport viewport, EntityFactory factory) {
         super(Family.all(PlayerComponent.class).get());
 
-        GAME_SIZE = new Dimension((int)viewport.getWorldWidth(), (int)viewport.getWorldHeight());
+        FACTORY = factory;
+
+        GAME_WIDTH = (int) viewport.getWorldWidth();
+        GAME_HEIGHT = (int) viewport.getWorldHeight();
         timer = 0;
     }
 
@@ -40,6 +40,17 @@ public class PlayerSystem extends IteratingSystem {
             timer = 0;
     }
 
+    /**
+     * @return the part of a second that's gone by since the players' time alive last went up
+     */
+    public float getSecondTimer() {
+        return timer;
+    }
+
+    public void setSecondTimer(float timer) {
+        this.timer = timer;
+    }
+
     @Override
     protected void processEntity(Entity entity, float deltaTime) {
         PlayerComponent player = Mapper.PLAYER.get(entity);
@@ -59,102 +70,104 @@ public class PlayerSystem extends IteratingSystem {
             player.shootTimer = MathUtils.clamp(player.shootTimer - player.shotsPerSecond * deltaTime, 0, 1);
 
             // Any invalid moves the player tries to take, we should combat ASAP.
-            if (player.up == 1 && transform.POSITION.y + move.moveSpeed * deltaTime > GAME_SIZE.height * 2 / 3)
+            if (player.up == 1 && transform.POSITION.y + move.moveSpeed * deltaTime > GAME_HEIGHT * 2 / 3)
                 player.up = 0;
             if (player.left == 1 && transform.POSITION.x + move.moveSpeed * deltaTime < 0)
                 player.left = 0;
             if (player.down == 1 && transform.POSITION.y - move.moveSpeed * deltaTime < 64)
                 player.down = 0;
-            if (player.right == 1 && transform.POSITION.x + move.moveSpeed * deltaTime > GAME_SIZE.width - transform.SIZE.width)
+            if (player.right == 1 && transform.POSITION.x + move.moveSpeed * deltaTime > GAME_WIDTH - transform.width)
                 player.right = 0;
 
             // Shoot if we can
             if (player.shoot && player.shootTimer == 0) {
-                Sound shoot = Assets.MANAGER.get(Assets.Audio.LASER_SHOOT);
-                shoot.play(OptionsManager.sfxVolume);
+                // Nothing to play it on when running headless
+                if (!EntityFactory.isHeadless()) {
+                    SoundPlayer.LASER_SHOOT.play();
+                }
                 switch (player.upBulletDamage) {
                     case 1:
-                        getEngine().addEntity(EntityFactory.createPlayerBullet(
+                        getEngine().addEntity(FACTORY.createPlayerBullet(
                                 transform.POSITION.x + transform.ORIGIN.x + 8,
-                                transform.POSITION.y + transform.SIZE.height + 10
+                                transform.POSITION.y + transform.height + 10
                         ));
 
-                        getEngine().addEntity(EntityFactory.createPlayerBullet(
+                        getEngine().addEntity(FACTORY.createPlayerBullet(
                                 transform.POSITION.x + transform.ORIGIN.x - 8,
-                                transform.POSITION.y + transform.SIZE.height + 10
+                                transform.POSITION.y + transform.height + 10
                         ));
                         break;
 
                     case 2:
-                        getEngine().addEntity(EntityFactory.createPlayerBullet(
+                        getEngine().addEntity(FACTORY.createPlayerBullet(
                                 transform.POSITION.x + transform.ORIGIN.x,
-                                transform.POSITION.y + transform.SIZE.height + 10
+                                transform.POSITION.y + transform.height + 10
                         ));
 
-                        getEngine().addEntity(EntityFactory.createPlayerBullet(
+                        getEngine().addEntity(FACTORY.createPlayerBullet(
                                 transform.POSITION.x + transform.ORIGIN.x + 16,
-                                transform.POSITION.y + transform.SIZE.height + 10
+                                transform.POSITION.y + transform.height + 10
                         ));
 
-                        getEngine().addEntity(EntityFactory.createPlayerBullet(
+                        getEngine().addEntity(FACTORY.createPlayerBullet(
                                 transform.POSITION.x + transform.ORIGIN.x - 16,
-                                transform.POSITION.y + transform.SIZE.height + 10
+                                transform.POSITION.y + transform.height + 10
                         ));
                         break;
 
                     case 3:
-                        getEngine().addEntity(EntityFactory.createPlayerBullet(
+                        getEngine().addEntity(FACTORY.createPlayerBullet(
                                 transform.POSITION.x + transform.ORIGIN.x + 8,
-                                transform.POSITION.y + transform.SIZE.height + 10
+                                transform.POSITION.y + transform.height + 10
                         ));
 
-                        getEngine().addEntity(EntityFactory.createPlayerBullet(
+                        getEngine().addEntity(FACTORY.createPlayerBullet(
                                 transform.POSITION.x + transform.ORIGIN.x + 24,
-                                transform.POSITION.y + transform.SIZE.height - 10
+                                transform.POSITION.y + transform.height - 10
                         ));
 
-                        getEngine().addEntity(EntityFactory.createPlayerBullet(
+                        getEngine().addEntity(FACTORY.createPlayerBullet(
                                 transform.POSITION.x + transform.ORIGIN.x - 8,
-                                transform.POSITION.y + transform.SIZE.height + 10
+                                transform.POSITION.y + transform.height + 10
                         ));
 
-                        getEngine().addEntity(EntityFactory.createPlayerBullet(
+                        getEngine().addEntity(FACTORY.createPlayerBullet(
                                 transform.POSITION.x + transform.ORIGIN.x - 24,
-                                transform.POSITION.y + transform.SIZE.height - 10
+                                transform.POSITION.y + transform.height - 10
                         ));
                         break;
 
                     case 4:
-                        getEngine().addEntity(EntityFactory.createPlayerBullet(
+                        getEngine().addEntity(FACTORY.createPlayerBullet(
                                 transform.POSITION.x + transform.ORIGIN.x,
-                                transform.POSITION.y + transform.SIZE.height + 10
+                                transform.POSITION.y + transform.height + 10
                         ));
 
-                        getEngine().addEntity(EntityFactory.createPlayerBullet(
+                        getEngine().addEntity(FACTORY.createPlayerBullet(
                                 transform.POSITION.x + transform.ORIGIN.x + 16,
-                                transform.POSITION.y + transform.SIZE.height + 10
+                                transform.POSITION.y + transform.height + 10
                         ));
 
-                        getEngine().addEntity(EntityFactory.createPlayerBullet(
+                        getEngine().addEntity(FACTORY.createPlayerBullet(
                                 transform.POSITION.x + transform.ORIGIN.x + 32,
-                                transform.POSITION.y + transform.SIZE.height - 10
+                                transform.POSITION.y + transform.height - 10
                         ));
 
-                        getEngine().addEntity(EntityFactory.createPlayerBullet(
+                        getEngine().addEntity(FACTORY.createPlayerBullet(
                                 transform.POSITION.x + transform.ORIGIN.x - 16,
-                                transform.POSITION.y + transform.SIZE.height + 10
+                                transform.POSITION.y + transform.height + 10
                         ));
 
-                        getEngine().addEntity(EntityFactory.createPlayerBullet(
+                        getEngine().addEntity(FACTORY.createPlayerBullet(
                                 transform.POSITION.x + transform.ORIGIN.x - 32,
-                                transform.POSITION.y + transform.SIZE.height - 10
+                                transform.POSITION.y + transform.height - 10
                         ));
                         break;
 
                     default:
-                        getEngine().addEntity(EntityFactory.createPlayerBullet(
+                        getEngine().addEntity(FACTORY.createPlayerBullet(
                                 transform.POSITION.x + transform.ORIGIN.x,
-                                transform.POSITION.y + transform.SIZE.height + 10
+                                transform.POSITION.y + transform.height + 10
                         ));
                         break;
                 }
@@ -182,13 +195,13 @@ public class PlayerSystem extends IteratingSystem {
                     player.upSpeed = 0;
                     player.shotsPerSecond = 3;
                     player.shootTimer = player.shotsPerSecond;
-                    transform.POSITION.set(GAME_SIZE.width / 2 - transform.ORIGIN.x, 128 - transform.ORIGIN.y);
+                    transform.POSITION.set(GAME_WIDTH / 2 - transform.ORIGIN.x, 128 - transform.ORIGIN.y);
 
-                    health.respawnTimer = health.respawnDuration;
+                    getEngine().getSystem(HealthSystem.class).startRespawn(entity, health.respawnDuration);
                     player.revive = true;
-                } else if (health.respawnTimer == 0) { // Wait to revive, then respawn.
+                } else if (!health.respawning) { // Wait to revive, then respawn.
                     player.lives--;
-                    health.invincibilityTimer = health.invincibilityDuration;
+                    getEngine().getSystem(HealthSystem.class).startInvincibility(entity, health.invincibilityDuration);
                     health.health = health.maxHealth;
                     sprite.SPRITES.first().setAlpha(1);
                     player.revive = false;
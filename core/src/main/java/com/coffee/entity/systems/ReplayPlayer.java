@@ -0,0 +1,159 @@
+package com.coffee.entity.systems;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.coffee.entity.EntityFactory;
+import com.coffee.entity.components.PlayerComponent;
+import com.coffee.util.Mapper;
+import com.coffee.util.Replay;
+import com.coffee.util.WorldSnapshot;
+
+import java.util.Arrays;
+
+/**
+ * Plays a {@link Replay} back in its engine, by giving the player the recorded inputs every update.
+ * The engine has to be updated with the recorded lengths, which is what {@link #step()} does.
+ * <p>
+ * {@link #seek} puts the world back to the last snapshot before the update to go to, and plays forward from there,
+ * so going anywhere only costs the updates since that snapshot. Whenever playback reaches an update a snapshot was
+ * taken before, a new one can be taken and compared to it, so a replay that doesn't play out the way it was recorded
+ * gets noticed.
+ * <p>
+ * This runs before every other system, the same as the {@link ReplayRecorder}, and the engine should have the same
+ * systems as the one that was recorded. Systems that only draw don't matter.
+ */
+public class ReplayPlayer extends EntitySystem {
+    public static final int PRIORITY = ReplayRecorder.PRIORITY;
+
+    private final Replay REPLAY;
+    private final EntityFactory FACTORY;
+    private ImmutableArray<Entity> players;
+    private int tick, desyncs, firstDesync = -1;
+    private boolean verifying;
+
+    /**
+     * @param replay  the replay to play
+     * @param factory the factory of the engine to play it in
+     */
+    public ReplayPlayer(Replay replay, EntityFactory factory) {
+        super(PRIORITY);
+
+        REPLAY = replay;
+        FACTORY = factory;
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        players = engine.getEntitiesFor(Family.all(PlayerComponent.class).get());
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        players = null;
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        if (isFinished())
+            return;
+
+        // The recorder takes its snapshots after the inputs are in, so they go first here too
+        if (players.size() > 0)
+            REPLAY.getInput(tick, Mapper.PLAYER.get(players.first()));
+
+        if (verifying)
+            verify();
+
+        tick++;
+    }
+
+    /**
+     * Updates the engine by the recorded length of the next update.
+     *
+     * @return false if the replay is over, and nothing was updated
+     */
+    public boolean step() {
+        if (isFinished())
+            return false;
+
+        getEngine().update(REPLAY.getDelta(tick));
+        return true;
+    }
+
+    /**
+     * @return the recorded length of the next update, to update the engine by some other way than {@link #step()}
+     */
+    public float getNextDelta() {
+        return REPLAY.getDelta(tick);
+    }
+
+    /**
+     * Goes to the specified update, from the last snapshot before it. Call this between updates.
+     * Seeking to 0 starts the replay from the beginning.
+     */
+    public void seek(int target) {
+        final int SNAPSHOT = REPLAY.findSnapshot(Math.min(target, REPLAY.getLength()));
+        if (SNAPSHOT == -1)
+            return;
+
+        WorldSnapshot.restore(REPLAY.getSnapshot(SNAPSHOT), FACTORY);
+        tick = REPLAY.getSnapshotTick(SNAPSHOT);
+
+        while (tick < target && step()) {
+            // Play forward
+        }
+    }
+
+    /**
+     * Compares the world to the snapshot taken at this update, if there is one.
+     */
+    private void verify() {
+        final int SNAPSHOT = REPLAY.findSnapshot(tick);
+        if (SNAPSHOT == -1 || REPLAY.getSnapshotTick(SNAPSHOT) != tick)
+            return;
+
+        if (!Arrays.equals(REPLAY.getSnapshot(SNAPSHOT), WorldSnapshot.capture(FACTORY))) {
+            if (desyncs++ == 0)
+                firstDesync = tick;
+        }
+    }
+
+    /**
+     * @param verifying whether or not to compare the world to the recorded snapshots while playing
+     */
+    public void setVerifying(boolean verifying) {
+        this.verifying = verifying;
+    }
+
+    /**
+     * @return the number of snapshots the world didn't match while verifying
+     */
+    public int getDesyncCount() {
+        return desyncs;
+    }
+
+    /**
+     * @return the update of the first snapshot the world didn't match, or -1 if it always did
+     */
+    public int getFirstDesync() {
+        return firstDesync;
+    }
+
+    /**
+     * @return the next update to be played
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    public boolean isFinished() {
+        return tick >= REPLAY.getLength();
+    }
+
+    public Replay getReplay() {
+        return REPLAY;
+    }
+}
@@ -0,0 +1,94 @@
+package com.coffee.entity.systems;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.coffee.entity.EntityFactory;
+import com.coffee.entity.components.PlayerComponent;
+import com.coffee.util.Mapper;
+import com.coffee.util.Replay;
+import com.coffee.util.WorldSnapshot;
+
+/**
+ * Records the fight going on in its engine into a {@link Replay}: the player's inputs and the length of every update,
+ * and a {@link WorldSnapshot} every so often to jump to when it's played back.
+ * <p>
+ * This runs before every other system, so the inputs are recorded before anything acts on them. Nothing is recorded
+ * until the first update a snapshot can be taken, which the replay starts from. After that a snapshot is taken at the
+ * first quiet update once the interval has gone by.
+ */
+public class ReplayRecorder extends EntitySystem {
+    public static final int PRIORITY = TimerSystem.PRIORITY - 10;
+    /** Seconds between snapshots if no other interval is set */
+    public static final float DEFAULT_SNAPSHOT_INTERVAL = 10;
+
+    private final EntityFactory FACTORY;
+    private final Replay REPLAY;
+    private final float INTERVAL;
+    private ImmutableArray<Entity> players;
+    private float sinceSnapshot;
+
+    public ReplayRecorder(EntityFactory factory) {
+        this(factory, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * @param factory  the factory of the engine to record
+     * @param interval the least number of seconds between snapshots
+     */
+    public ReplayRecorder(EntityFactory factory, float interval) {
+        super(PRIORITY);
+
+        FACTORY = factory;
+        REPLAY = new Replay(factory.getRandom().getSeed());
+        INTERVAL = interval;
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        players = engine.getEntitiesFor(Family.all(PlayerComponent.class).get());
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        players = null;
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        if (players.size() == 0)
+            return;
+
+        if (REPLAY.getSnapshotCount() == 0 || sinceSnapshot >= INTERVAL) {
+            final byte[] SNAPSHOT = WorldSnapshot.capture(FACTORY);
+
+            if (SNAPSHOT != null) {
+                REPLAY.addSnapshot(REPLAY.getLength(), SNAPSHOT);
+                sinceSnapshot = 0;
+            }
+        }
+
+        // Wait for somewhere to start from
+        if (REPLAY.getSnapshotCount() == 0)
+            return;
+
+        REPLAY.addUpdate(Mapper.PLAYER.get(players.first()), deltaTime);
+        sinceSnapshot += deltaTime;
+    }
+
+    /**
+     * @return the recording so far, which keeps growing while this is in an engine
+     */
+    public Replay getReplay() {
+        return REPLAY;
+    }
+
+    /**
+     * @return whether or not anything has been recorded yet
+     */
+    public boolean hasStarted() {
+        return REPLAY.getSnapshotCount() > 0;
+    }
+}
@@ -0,0 +1,172 @@
+package com.coffee.entity.systems;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.coffee.entity.EntityFactory;
+import com.coffee.entity.components.MovementComponent;
+import com.coffee.entity.components.PatternComponent;
+import com.coffee.util.BulletPatterns;
+import com.coffee.util.Mapper;
+import com.coffee.util.SpawnBuffer;
+
+import java.util.Arrays;
+
+/**
+ * Spreads big bursts of pattern bullets over a few updates, so a 30-bullet ring doesn't cost one frame all of it.
+ * <p>
+ * Attacks queue the bullets they fire here instead of creating them, and every update only up to
+ * the budget is actually created. A bullet that had to wait is moved ahead by the time it waited
+ * before it's added, so the pattern ends up looking the same as if every bullet was spawned on time.
+ * Nothing waits longer than {@link #MAX_DELAY}, whatever the budget, so a steady stream that's faster
+ * than the budget can't build up forever.
+ * <p>
+ * This should be added right after the {@link AISystem}, so bullets that fit in the budget are spawned
+ * in the same update they were fired in.
+ */
+public class SpawnSystem extends EntitySystem {
+    /** Number of bullets created per update if no other budget is set */
+    public static final int DEFAULT_BUDGET = 12;
+    /** The longest a bullet waits to be spawned, in seconds */
+    public static final float MAX_DELAY = 0.1f;
+
+    private final EntityFactory FACTORY;
+    private final SpawnBuffer SPAWNS;
+    private int budget;
+    private float time;
+
+    // Queued bullets, a ring buffer of parallel arrays
+    private BulletPatterns.Volley[] volleys;
+    private int[] indices;
+    private float[] xs, ys, angles, stamps;
+    private int head, size;
+
+    public SpawnSystem(EntityFactory factory) {
+        this(factory, DEFAULT_BUDGET);
+    }
+
+    /**
+     * @param factory the factory to create the bullets with
+     * @param budget  the number of bullets to create per update
+     */
+    public SpawnSystem(EntityFactory factory, int budget) {
+        FACTORY = factory;
+        SPAWNS = new SpawnBuffer(budget);
+        this.budget = budget;
+
+        volleys = new BulletPatterns.Volley[64];
+        indices = new int[64];
+        xs = new float[64];
+        ys = new float[64];
+        angles = new float[64];
+        stamps = new float[64];
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        clear();
+    }
+
+    /**
+     * Forgets every queued bullet without creating it.
+     */
+    public void clear() {
+        Arrays.fill(volleys, null);
+        head = size = 0;
+    }
+
+    /**
+     * Queues a bullet of a volley to be created, the same as {@link EntityFactory#createPatternBullet} would with these arguments.
+     */
+    public void queue(BulletPatterns.Volley volley, int index, float x, float y, float rot) {
+        if (size == volleys.length)
+            grow();
+
+        final int I = (head + size++) % volleys.length;
+        volleys[I] = volley;
+        indices[I] = index;
+        xs[I] = x;
+        ys[I] = y;
+        angles[I] = rot;
+        stamps[I] = time;
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        int created = 0;
+
+        while (size > 0 && (created < budget || time - stamps[head] >= MAX_DELAY)) {
+            final Entity E = FACTORY.createPatternBullet(volleys[head], indices[head], xs[head], ys[head], angles[head]);
+            final float DELAY = time - stamps[head];
+
+            if (DELAY > 0) {
+                final MovementComponent MOVEMENT = Mapper.MOVEMENT.get(E);
+                final PatternComponent PATTERN = Mapper.PATTERN.get(E);
+
+                if (MOVEMENT != null)
+                    MovementSystem.catchUp(Mapper.TRANSFORM.get(E), MOVEMENT, DELAY);
+                if (PATTERN != null)
+                    PATTERN.cycleTimer += DELAY;
+            }
+
+            SPAWNS.add(E);
+            volleys[head] = null;
+            head = (head + 1) % volleys.length;
+            size--;
+            created++;
+        }
+
+        SPAWNS.flush(getEngine());
+        time += deltaTime;
+    }
+
+    /**
+     * @return the number of bullets waiting to be created
+     */
+    public int getQueuedCount() {
+        return size;
+    }
+
+    /**
+     * @return the time the queued bullets are stamped with, only for putting it back with {@link #setTime}
+     */
+    public float getTime() {
+        return time;
+    }
+
+    public void setTime(float time) {
+        this.time = time;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    /**
+     * @param budget the number of bullets to create per update, at least 1
+     */
+    public void setBudget(int budget) {
+        this.budget = Math.max(budget, 1);
+    }
+
+    private void grow() {
+        final int LENGTH = volleys.length, CAPACITY = LENGTH * 2;
+
+        // Unroll the ring so the queue starts at 0 again
+        volleys = unroll(volleys, new BulletPatterns.Volley[CAPACITY], LENGTH);
+        indices = unroll(indices, new int[CAPACITY], LENGTH);
+        xs = unroll(xs, new float[CAPACITY], LENGTH);
+        ys = unroll(ys, new float[CAPACITY], LENGTH);
+        angles = unroll(angles, new float[CAPACITY], LENGTH);
+        stamps = unroll(stamps, new float[CAPACITY], LENGTH);
+        head = 0;
+    }
+
+    private <T> T unroll(T from, T to, int length) {
+        final int FIRST = length - head;
+
+        System.arraycopy(from, head, to, 0, FIRST);
+        System.arraycopy(from, 0, to, FIRST, head);
+        return to;
+    }
+}
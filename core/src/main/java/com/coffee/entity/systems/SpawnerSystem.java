@@ -1,38 +1,112 @@
 package com.coffee.entity.systems;
 
 import com.badlogic.ashley.core.*;
-import com.badlogic.ashley.systems.IteratingSystem;
-import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.coffee.entity.EntityFactory;
 import com.coffee.entity.components.SpawnerComponent;
+import com.coffee.util.GameRandom;
+import com.coffee.util.SpawnBuffer;
+import com.coffee.util.TimerWheel;
 
 import static com.coffee.util.Mapper.SPAWNER;
 
 /**
- * {@link EntitySystem} that updates the timer of all spawner entities in
- * the {@link Engine} and calls their proper spawning method if the timer is 0.
+ * {@link EntitySystem} that keeps a timer on the {@link TimerSystem} for all spawner entities in
+ * the {@link Engine} and calls their proper spawning method when it runs out.
+ * <p>
+ * The first spawn happens after the spawner's delay, and every one after that
+ * after a random time between its minimum and maximum spawn rate.
  *
  * @author Jared Tulayan
  */
-public class SpawnerSystem extends IteratingSystem {
+public class SpawnerSystem extends EntitySystem implements EntityListener, TimerWheel.Listener {
     private final PooledEngine ENGINE;
+    private final GameRandom RANDOM;
+    private final Family FAMILY;
+    private final SpawnBuffer SPAWNS;
+    private TimerSystem timers;
 
     public SpawnerSystem(PooledEngine engine) {
-        super(Family.all(SpawnerComponent.class).get());
+        this(engine, new GameRandom());
+    }
+
+    /**
+     * Creates a spawner system that picks its spawn times with the random number generator of the specified factory.
+     */
+    public SpawnerSystem(EntityFactory factory) {
+        this(factory.getEngine(), factory.getRandom());
+    }
+
+    private SpawnerSystem(PooledEngine engine, GameRandom random) {
         ENGINE = engine;
+        RANDOM = random;
+        FAMILY = Family.all(SpawnerComponent.class).get();
+        SPAWNS = new SpawnBuffer(4);
     }
 
     @Override
-    protected void processEntity(Entity entity, float deltaTime) {
-        SpawnerComponent spawner = SPAWNER.get(entity);
+    public void addedToEngine(Engine engine) {
+        timers = TimerSystem.get(engine);
+        engine.addEntityListener(FAMILY, this);
+
+        ImmutableArray<Entity> existing = engine.getEntitiesFor(FAMILY);
+        for (int i = 0; i < existing.size(); i++)
+            entityAdded(existing.get(i));
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        engine.removeEntityListener(this);
+        timers = null;
+    }
+
+    @Override
+    public void entityAdded(Entity entity) {
+        final SpawnerComponent SPAWNER_COMPONENT = SPAWNER.get(entity);
+
+        timers.cancel(SPAWNER_COMPONENT.timer);
+        SPAWNER_COMPONENT.timer = timers.schedule(SPAWNER_COMPONENT.delay, this, entity, 0);
+    }
+
+    /**
+     * Puts back the timer of a spawner that was just added, the way it was when a
+     * {@link com.coffee.util.WorldSnapshot WorldSnapshot} was taken.
+     *
+     * @param ticks the number of {@link TimerWheel} ticks that were left
+     */
+    public void restoreTimer(Entity entity, long ticks) {
+        final SpawnerComponent SPAWNER_COMPONENT = SPAWNER.get(entity);
 
-        spawner.timer -= deltaTime;
+        timers.cancel(SPAWNER_COMPONENT.timer);
+        SPAWNER_COMPONENT.timer = timers.scheduleTicks(ticks, this, entity, 0);
+    }
 
-        if (spawner.timer <= 0) {
-            Entity[] spawns = spawner.HANDLER.getSpawnEntity().toArray(Entity.class);
-            for (Entity e : spawns)
-                ENGINE.addEntity(e);
+    @Override
+    public void entityRemoved(Entity entity) {
+        final SpawnerComponent SPAWNER_COMPONENT = SPAWNER.get(entity);
 
-            spawner.timer = MathUtils.random((float) spawner.spawnRateMin, (float) spawner.spawnRateMax);
+        if (SPAWNER_COMPONENT != null) {
+            timers.cancel(SPAWNER_COMPONENT.timer);
+            SPAWNER_COMPONENT.timer = TimerWheel.NONE;
         }
     }
+
+    @Override
+    public void expired(int timer, Entity entity, int tag) {
+        SpawnerComponent spawner = SPAWNER.get(entity);
+
+        if (spawner == null || spawner.timer != timer)
+            return;
+
+        // Spawns while paused wait until the system is turned back on
+        if (!checkProcessing()) {
+            spawner.timer = timers.schedule(0, this, entity, 0);
+            return;
+        }
+
+        spawner.HANDLER.spawn(SPAWNS);
+        SPAWNS.flush(ENGINE);
+
+        spawner.timer = timers.schedule(RANDOM.random(spawner.spawnRateMin, spawner.spawnRateMax), this, entity, 0);
+    }
 }
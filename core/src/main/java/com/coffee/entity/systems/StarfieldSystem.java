@@ -0,0 +1,220 @@
+package com.coffee.entity.systems;
+
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.coffee.util.Assets;
+import com.coffee.util.CoffeeUtils;
+import com.coffee.util.SimulationThread;
+
+/**
+ * {@link EntitySystem} that simulates traveling through space.
+ * This also acts as the background of the game.
+ * <p>
+ * Stars aren't entities. They live in ring buffers of primitives, and since every star lives
+ * for the same amount of time, the oldest star is always at the head of the ring and expiring
+ * them is just moving the head forward. All of them are drawn in one batch.
+ * <p>
+ * This system has a lower priority than the other systems so that the background is
+ * cleared and drawn before anything else.
+ */
+public class StarfieldSystem extends EntitySystem {
+    /** Priority of this system, lower than the default so that the stars are drawn first */
+    public static final int PRIORITY = -10;
+
+    private static final int CAPACITY = 512;
+    private static final int PALETTE_SIZE = 64;
+    private static final float LIFETIME = 5;
+    private static final float SPAWN_RATE_MIN = 0.02f, SPAWN_RATE_MAX = 0.05f;
+    private static final Color BACKGROUND = new Color(0, 0, 10 / 255f, 1);
+
+    private final SpriteBatch BATCH;
+    private final Viewport VIEWPORT;
+    private final TextureRegion STAR, SHOOTING_STAR;
+    private final float[] PALETTE;
+
+    // Ring buffer of stars, index i of every array belongs to the same star
+    private final float[] X, Y, VEL_X, VEL_Y, WIDTH, HEIGHT, ORIGIN_X, ORIGIN_Y, ROTATION, COLOR, BIRTH;
+    private final boolean[] SHOOTING;
+    private int head, count;
+
+    private float time, spawnTimer;
+    private boolean paused;
+
+    public StarfieldSystem(SpriteBatch batch, Viewport viewport) {
+        super(PRIORITY);
+
+        BATCH = batch;
+        VIEWPORT = viewport;
+
+        final TextureAtlas ATLAS = Assets.MANAGER.get(Assets.GameObjects.ATLAS);
+        STAR = ATLAS.findRegion("star1");
+        SHOOTING_STAR = ATLAS.findRegion("shooting_star");
+
+        // Precompute the burning temperature colors so spawning a star doesn't need to convert colors
+        PALETTE = new float[PALETTE_SIZE];
+        for (int i = 0; i < PALETTE_SIZE; i++) {
+            float temp = i / (PALETTE_SIZE - 1f);
+            PALETTE[i] = CoffeeUtils.HSVtoRGB(MathUtils.lerp(0, 300, temp), MathUtils.lerp(25f, 0, temp), 100).toFloatBits();
+        }
+
+        X = new float[CAPACITY];
+        Y = new float[CAPACITY];
+        VEL_X = new float[CAPACITY];
+        VEL_Y = new float[CAPACITY];
+        WIDTH = new float[CAPACITY];
+        HEIGHT = new float[CAPACITY];
+        ORIGIN_X = new float[CAPACITY];
+        ORIGIN_Y = new float[CAPACITY];
+        ROTATION = new float[CAPACITY];
+        COLOR = new float[CAPACITY];
+        BIRTH = new float[CAPACITY];
+        SHOOTING = new boolean[CAPACITY];
+    }
+
+    @Override
+    public boolean checkProcessing() {
+        // Drawn by the render thread, see SimulationThread
+        return super.checkProcessing() && !SimulationThread.isCurrentThread();
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        if (!paused) {
+            time += deltaTime;
+
+            // Spawn
+            spawnTimer -= deltaTime;
+            if (spawnTimer <= 0) {
+                if (MathUtils.randomBoolean(.995f))
+                    spawnStar();
+                else
+                    spawnShootingStar();
+
+                spawnTimer = MathUtils.random(SPAWN_RATE_MIN, SPAWN_RATE_MAX);
+            }
+
+            // Expire
+            while (count > 0 && time - BIRTH[head] >= LIFETIME) {
+                head = (head + 1) % CAPACITY;
+                count--;
+            }
+
+            // Move
+            for (int n = 0, i = head; n < count; n++, i = (i + 1) % CAPACITY) {
+                X[i] += VEL_X[i] * deltaTime;
+                Y[i] += VEL_Y[i] * deltaTime;
+            }
+        }
+
+        // Draw
+        Gdx.gl.glClearColor(BACKGROUND.r, BACKGROUND.g, BACKGROUND.b, BACKGROUND.a);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        VIEWPORT.getCamera().update();
+        BATCH.setProjectionMatrix(VIEWPORT.getCamera().combined);
+        BATCH.begin();
+
+        for (int n = 0, i = head; n < count; n++, i = (i + 1) % CAPACITY) {
+            BATCH.setColor(COLOR[i]);
+            BATCH.draw(SHOOTING[i] ? SHOOTING_STAR : STAR,
+                    X[i] - ORIGIN_X[i], Y[i] - ORIGIN_Y[i],
+                    ORIGIN_X[i], ORIGIN_Y[i],
+                    WIDTH[i], HEIGHT[i],
+                    1, 1,
+                    ROTATION[i]);
+        }
+
+        BATCH.end();
+        BATCH.setColor(Color.WHITE);
+    }
+
+    /**
+     * Spawns a star at the top of the screen.
+     * Its size & speed are proportional to its virtual depth.
+     */
+    private void spawnStar() {
+        final int I = obtain();
+        final float DEPTH = (100 - MathUtils.random(0, 100)) / 100f;
+        final float SIZE = MathUtils.lerp(1, 6, DEPTH);
+
+        X[I] = MathUtils.random(0, VIEWPORT.getWorldWidth());
+        Y[I] = VIEWPORT.getWorldHeight();
+        VEL_X[I] = 0;
+        VEL_Y[I] = -MathUtils.lerp(3, 6, DEPTH) * 60f;
+        WIDTH[I] = HEIGHT[I] = SIZE;
+        ORIGIN_X[I] = ORIGIN_Y[I] = SIZE / 2f;
+        ROTATION[I] = 0;
+        SHOOTING[I] = false;
+    }
+
+    /**
+     * Spawns a shooting star from either side of the screen.
+     * Its size & speed are proportional to its virtual depth.
+     */
+    private void spawnShootingStar() {
+        final int I = obtain();
+        final float DEPTH = (100 - MathUtils.random(0, 100)) / 100f;
+        final float SIZE = MathUtils.lerp(1, 10, DEPTH);
+        final float SPEED = MathUtils.lerp(7, 15, DEPTH) * 60f;
+        final boolean LEFT = MathUtils.randomBoolean();
+        final float ANGLE = LEFT ? MathUtils.random(-80, 20) : MathUtils.random(170, 260);
+
+        X[I] = LEFT ? -50 : VIEWPORT.getWorldWidth() + 50;
+        Y[I] = MathUtils.random(0, VIEWPORT.getWorldHeight());
+        VEL_X[I] = MathUtils.cosDeg(ANGLE) * SPEED;
+        VEL_Y[I] = MathUtils.sinDeg(ANGLE) * SPEED;
+        WIDTH[I] = SIZE * 3.5f;
+        HEIGHT[I] = SIZE;
+        ORIGIN_X[I] = WIDTH[I];
+        ORIGIN_Y[I] = HEIGHT[I] / 2f;
+        ROTATION[I] = ANGLE;
+        SHOOTING[I] = true;
+    }
+
+    /**
+     * Claims the next slot at the tail of the ring, dropping the oldest star if the ring is full,
+     * and gives it a random color.
+     *
+     * @return the index of the new star
+     */
+    private int obtain() {
+        if (count == CAPACITY) {
+            head = (head + 1) % CAPACITY;
+            count--;
+        }
+
+        final int I = (head + count++) % CAPACITY;
+
+        BIRTH[I] = time;
+        COLOR[I] = PALETTE[MathUtils.random(PALETTE_SIZE - 1)];
+
+        return I;
+    }
+
+    /**
+     * Freezes the stars in place while still drawing them.
+     *
+     * @param paused whether or not the stars should stop moving and spawning
+     */
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * @return the number of stars currently alive
+     */
+    public int getStarCount() {
+        return count;
+    }
+}
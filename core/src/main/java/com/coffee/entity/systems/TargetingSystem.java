@@ -0,0 +1,109 @@
+package com.coffee.entity.systems;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.math.Vector2;
+import com.coffee.entity.components.AIComponent;
+import com.coffee.entity.components.PlayerComponent;
+import com.coffee.entity.components.TransformComponent;
+import com.coffee.util.Mapper;
+
+/**
+ * Works out where the player and the boss are once per update, so anything that aims at them
+ * (homing bullets, laser emitters, aimed patterns) can share the result instead of looking them up itself.
+ * <p>
+ * This runs before the other systems, so the positions are the ones from the start of the update.
+ */
+public class TargetingSystem extends EntitySystem {
+    public static final int PRIORITY = -5;
+
+    private final Family PLAYER_FAMILY, BOSS_FAMILY;
+    private final Vector2 PLAYER, BOSS;
+    private ImmutableArray<Entity> players, bosses;
+    private Entity player, boss;
+
+    public TargetingSystem() {
+        super(PRIORITY);
+
+        PLAYER_FAMILY = Family.all(PlayerComponent.class, TransformComponent.class).get();
+        BOSS_FAMILY = Family.all(AIComponent.class, TransformComponent.class).get();
+        PLAYER = new Vector2();
+        BOSS = new Vector2();
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        players = engine.getEntitiesFor(PLAYER_FAMILY);
+        bosses = engine.getEntitiesFor(BOSS_FAMILY);
+        refresh();
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        players = bosses = null;
+        player = boss = null;
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        refresh();
+    }
+
+    /**
+     * Looks up the player and the boss again. Only needed if they might have moved since the last update.
+     */
+    public void refresh() {
+        player = players.size() > 0 ? players.first() : null;
+        boss = bosses.size() > 0 ? bosses.first() : null;
+
+        if (player != null)
+            center(player, PLAYER);
+        if (boss != null)
+            center(boss, BOSS);
+    }
+
+    private static void center(Entity entity, Vector2 out) {
+        final TransformComponent TRANSFORM = Mapper.TRANSFORM.get(entity);
+
+        out.set(TRANSFORM.POSITION).add(TRANSFORM.ORIGIN);
+    }
+
+    public boolean hasPlayer() {
+        return player != null;
+    }
+
+    /**
+     * @return the player, or null if there isn't one
+     */
+    public Entity getPlayer() {
+        return player;
+    }
+
+    /**
+     * @return the center of the player as of the last update. Don't modify it.
+     */
+    public Vector2 getPlayerCenter() {
+        return PLAYER;
+    }
+
+    public boolean hasBoss() {
+        return boss != null;
+    }
+
+    /**
+     * @return the boss, or null if there isn't one
+     */
+    public Entity getBoss() {
+        return boss;
+    }
+
+    /**
+     * @return the center of the boss as of the last update. Don't modify it.
+     */
+    public Vector2 getBossCenter() {
+        return BOSS;
+    }
+}
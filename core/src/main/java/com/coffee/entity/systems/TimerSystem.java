@@ -0,0 +1,112 @@
+package com.coffee.entity.systems;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.coffee.util.TimerWheel;
+
+/**
+ * Runs the {@link TimerWheel} every countdown in the engine is scheduled on, so systems with timers
+ * only hear about an entity when its timer runs out instead of counting it down every frame.
+ * <p>
+ * This runs before the other systems, so timers that run out during an update are handled at the start of it.
+ * Turning it off pauses every timer at once.
+ */
+public class TimerSystem extends EntitySystem {
+    public static final int PRIORITY = -20;
+
+    private final TimerWheel WHEEL;
+
+    public TimerSystem() {
+        super(PRIORITY);
+
+        WHEEL = new TimerWheel();
+    }
+
+    /**
+     * @return the {@code TimerSystem} of the engine, for systems that need one
+     * @throws GdxRuntimeException if the engine doesn't have one yet
+     */
+    public static TimerSystem get(Engine engine) {
+        final TimerSystem TIMERS = engine.getSystem(TimerSystem.class);
+
+        if (TIMERS == null)
+            throw new GdxRuntimeException("A TimerSystem has to be added to the engine before the systems that use it");
+
+        return TIMERS;
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        WHEEL.clear();
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        WHEEL.advance(deltaTime);
+    }
+
+    /**
+     * @see TimerWheel#schedule(float, TimerWheel.Listener, Entity, int)
+     */
+    public int schedule(float delay, TimerWheel.Listener listener, Entity entity, int tag) {
+        return WHEEL.schedule(delay, listener, entity, tag);
+    }
+
+    /**
+     * @see TimerWheel#scheduleTicks(long, TimerWheel.Listener, Entity, int)
+     */
+    public int scheduleTicks(long ticks, TimerWheel.Listener listener, Entity entity, int tag) {
+        return WHEEL.scheduleTicks(ticks, listener, entity, tag);
+    }
+
+    /**
+     * @see TimerWheel#cancel(int)
+     */
+    public boolean cancel(int timer) {
+        return WHEEL.cancel(timer);
+    }
+
+    /**
+     * @see TimerWheel#isScheduled(int)
+     */
+    public boolean isScheduled(int timer) {
+        return WHEEL.isScheduled(timer);
+    }
+
+    /**
+     * @see TimerWheel#getRemaining(int)
+     */
+    public float getRemaining(int timer) {
+        return WHEEL.getRemaining(timer);
+    }
+
+    /**
+     * @see TimerWheel#getRemainingTicks(int)
+     */
+    public long getRemainingTicks(int timer) {
+        return WHEEL.getRemainingTicks(timer);
+    }
+
+    /**
+     * @see TimerWheel#getTime()
+     */
+    public double getTime() {
+        return WHEEL.getTime();
+    }
+
+    /**
+     * @see TimerWheel#reset(double)
+     */
+    public void reset(double time) {
+        WHEEL.reset(time);
+    }
+
+    /**
+     * @return the number of timers that are running
+     */
+    public int getTimerCount() {
+        return WHEEL.size();
+    }
+}
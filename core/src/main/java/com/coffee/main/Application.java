@@ -6,14 +6,18 @@ import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.coffee.entity.EntityFactory;
 import com.coffee.main.screen.*;
 import com.coffee.util.Assets;
+import com.coffee.util.BulletPatterns;
+import com.coffee.util.BulletRenderer;
+import com.coffee.util.FontCache;
 import com.coffee.util.HighScore;
 import com.coffee.util.OptionsManager;
+import com.coffee.util.SoundPlayer;
+import com.coffee.util.StartupTimer;
 
 /**
  * The main application class.
@@ -22,22 +26,42 @@ import com.coffee.util.OptionsManager;
  */
 public class Application extends Game {
 	private SpriteBatch batch;
+	private BulletRenderer bulletRenderer;
 	private ShapeRenderer shapeRenderer;
 	private Viewport viewport;
 	private InputMultiplexer inputMultiplexer;
-	private Array<Screen> testScreens;
+	private Screen loadingScreen;
 	private Music theme;
 	private int curTest = 0;
 
-	private boolean assetsLoaded = false;
+	// Only made once they're switched to
+	private final Screen[] TEST_SCREENS = new Screen[8];
+	// Milliseconds of every frame spent loading assets, so the loading screen keeps drawing
+	private final int LOAD_BUDGET = 12;
+	private final boolean DEBUG;
+	private boolean assetsLoaded = false, started = false;
+
+	public Application() {
+		this(false);
+	}
+
+	/**
+	 * @param debug whether or not debug tools (hotkeys, profiling) should be available
+	 */
+	public Application(boolean debug) {
+		DEBUG = debug;
+	}
 
 	@Override
 	public void create () {
+		StartupTimer.mark("created");
+
 		OptionsManager.init();
 		HighScore.init();
 
 		// Initialize global stuff before all the Screen stuff
 		batch = new SpriteBatch(3000);
+		bulletRenderer = new BulletRenderer(3000);
 		viewport = new FitViewport(600, 800);
 		inputMultiplexer = new InputMultiplexer();
 		shapeRenderer = new ShapeRenderer();
@@ -70,39 +94,22 @@ public class Application extends Game {
 		Gdx.input.setInputProcessor(inputMultiplexer);
 
 		// Screen stuff
-		testScreens = new Array<Screen>();
+		loadingScreen = new LoadingScreen();
+		setScreen(loadingScreen);
 	}
 
 	@Override
 	public void render () {
 		// Asset loading is quite the complicated conundrum dont'cha think?
 		if (!assetsLoaded) {
-			assetsLoaded = Assets.MANAGER.update();
-
-			if (assetsLoaded) {
-				EntityFactory.init();
-
-				theme = Assets.MANAGER.get(Assets.Audio.THEME);
-				theme.setVolume(OptionsManager.musicVolume);
-				theme.setLooping(true);
-				theme.play();
-
-				if (testScreens.size == 0) {
-					testScreens.addAll(
-							new MainMenu(),
-							new AITest(),
-							new CollisionTest(),
-							new DrawSystemTest(),
-							new PlayerTest(),
-							new ViewportTest(),
-							new PowerUpTest(),
-							new StarsTest()
-					);
-
-					// Set the screen beforehand
-					setScreen(testScreens.get(curTest));
-				}
-			}
+			if (StartupTimer.getTime("first frame") == -1)
+				StartupTimer.mark("first frame");
+
+			// Only load for a bit every frame, so the loading screen keeps going
+			assetsLoaded = Assets.MANAGER.update(LOAD_BUDGET);
+
+			if (assetsLoaded)
+				finishLoading();
 		}
 
 		if (getScreen() != null) {
@@ -111,21 +118,97 @@ public class Application extends Game {
 
 			getScreen().render(Math.min(Gdx.graphics.getDeltaTime(), 1 / 60F));
 		}
+
+		// The menu has been drawn once, and takes input from here on
+		if (assetsLoaded && !started) {
+			started = true;
+			StartupTimer.mark("menu interactive");
+			StartupTimer.report();
+		}
+	}
+
+	/**
+	 * Sets up everything that needs the assets, and leaves the loading screen for the first screen.
+	 */
+	private void finishLoading() {
+		StartupTimer.mark("assets loaded");
+
+		EntityFactory.init();
+		BulletPatterns.init();
+
+		theme = Assets.MANAGER.get(Assets.Audio.THEME);
+		theme.setVolume(OptionsManager.musicVolume);
+		theme.setLooping(true);
+		theme.play();
+
+		// Only once the theme has its source, since nothing else can touch the audio after this
+		SoundPlayer.start();
+
+		setScreen(getTestScreen(curTest));
+
+		loadingScreen.dispose();
+		loadingScreen = null;
+	}
+
+	/**
+	 * @return the test screen at the index, made the first time it's needed
+	 */
+	private Screen getTestScreen(int index) {
+		if (TEST_SCREENS[index] != null)
+			return TEST_SCREENS[index];
+
+		final Screen SCREEN;
+		switch (index) {
+			case 0:
+				SCREEN = new MainMenu();
+				break;
+			case 1:
+				SCREEN = new AITest();
+				break;
+			case 2:
+				SCREEN = new CollisionTest();
+				break;
+			case 3:
+				SCREEN = new DrawSystemTest();
+				break;
+			case 4:
+				SCREEN = new PlayerTest();
+				break;
+			case 5:
+				SCREEN = new ViewportTest();
+				break;
+			case 6:
+				SCREEN = new PowerUpTest();
+				break;
+			default:
+				SCREEN = new StarsTest();
+		}
+
+		return TEST_SCREENS[index] = SCREEN;
 	}
 	
 	@Override
 	public void dispose () {
+		SoundPlayer.stop();
+
 		if (assetsLoaded) {
 			batch.dispose();
+			bulletRenderer.dispose();
 			shapeRenderer.dispose();
 			theme.dispose();
 		}
+
+		FontCache.dispose();
 	}
 
 	public SpriteBatch getBatch() {
 		return batch;
 	}
 
+	public BulletRenderer getBulletRenderer() {
+		return bulletRenderer;
+	}
+
 	public ShapeRenderer getShapeRenderer() {
 		return shapeRenderer;
 	}
@@ -142,6 +225,10 @@ public class Application extends Game {
 		return theme;
 	}
 
+	public boolean isDebug() {
+		return DEBUG;
+	}
+
 	@Override
 	public void resize(int width, int height) {
 		super.resize(width, height);
@@ -161,16 +248,16 @@ public class Application extends Game {
 					Gdx.app.exit();
 					break;
 				case Input.Keys.LEFT_BRACKET:
-					if (testScreens != null) {
+					if (assetsLoaded) {
 						curTest--;
 						if (curTest < 0)
-							curTest = testScreens.size - 1;
+							curTest = TEST_SCREENS.length - 1;
 					}
 					break;
 				case Input.Keys.RIGHT_BRACKET:
-					if (testScreens != null) {
+					if (assetsLoaded) {
 						curTest++;
-						if (curTest >= testScreens.size)
+						if (curTest >= TEST_SCREENS.length)
 							curTest = 0;
 					}
 					break;
@@ -178,7 +265,7 @@ public class Application extends Game {
 					return false;
 			}
 				if (s != curTest)
-					setScreen(testScreens.get(curTest));
+					setScreen(getTestScreen(curTest));
 
 				return true;
 		}
@@ -21,6 +21,7 @@ public class AITest extends ScreenAdapter {
     private final Viewport VIEWPORT;
     private final ShapeRenderer SHAPE_RENDERER;
     private final PooledEngine ENGINE;
+    private final EntityFactory FACTORY;
 
     private Entity player;
     private Entity bossShip;
@@ -34,27 +35,33 @@ public class AITest extends ScreenAdapter {
         BATCH = app.getBatch();
         VIEWPORT = app.getViewport();
         ENGINE = new PooledEngine();
+        FACTORY = new EntityFactory(ENGINE);
         SHAPE_RENDERER = app.getShapeRenderer();
 
+        ENGINE.addSystem(new TimerSystem());
         ENGINE.addSystem(new DrawSystem(BATCH, VIEWPORT));
         ENGINE.addSystem(new GUISystem());
         ENGINE.addSystem(new BulletSystem(VIEWPORT));
+        ENGINE.addSystem(new PatternSystem());
+        ENGINE.addSystem(new TargetingSystem());
+        ENGINE.addSystem(new HomingSystem());
         ENGINE.addSystem(new MovementSystem(VIEWPORT));
         ENGINE.addSystem(new CollisionSystem(VIEWPORT));
         // ENGINE.addSystem(new DebugDrawSystem(SHAPE_RENDERER, VIEWPORT));
         ENGINE.addSystem(new LifetimeSystem());
         ENGINE.addSystem(new HealthSystem());
-        ENGINE.addSystem(new SpawnerSystem(ENGINE));
-        ENGINE.addSystem(new PlayerSystem(VIEWPORT));
-        ENGINE.addSystem(new AISystem(VIEWPORT));
+        ENGINE.addSystem(new SpawnerSystem(FACTORY));
+        ENGINE.addSystem(new PlayerSystem(VIEWPORT, FACTORY));
+        ENGINE.addSystem(new AISystem(VIEWPORT, FACTORY));
+        ENGINE.addSystem(new SpawnSystem(FACTORY));
 
-        player = EntityFactory.createPlayer(VIEWPORT.getWorldWidth() / 2f, 128);
-        bossShip = EntityFactory.createBossShip(VIEWPORT.getWorldWidth() / 2, VIEWPORT.getWorldHeight() * 2 / 3 + 64);
+        player = FACTORY.createPlayer(VIEWPORT.getWorldWidth() / 2f, 128);
+        bossShip = FACTORY.createBossShip(VIEWPORT.getWorldWidth() / 2, VIEWPORT.getWorldHeight() * 2 / 3 + 64);
 
         ENGINE.addEntity(player);
         ENGINE.addEntity(bossShip);
 
-        ENGINE.addEntity(EntityFactory.createParticleGenerator());
+        ENGINE.addSystem(new StarfieldSystem(BATCH, VIEWPORT));
 
         ENGINE.getSystem(PlayerSystem.class).setProcessing(false);
         ENGINE.getSystem(AISystem.class).setProcessing(false);
@@ -66,7 +73,7 @@ public class AITest extends ScreenAdapter {
             ENGINE.getSystem(PlayerSystem.class).setProcessing(true);
             ENGINE.getSystem(AISystem.class).setProcessing(true);
 
-            ENGINE.addEntity(EntityFactory.createRandomPowerUpSpawner(200, 200, ENGINE));
+            ENGINE.addEntity(FACTORY.createRandomPowerUpSpawner(200, 200));
             ready = true;
         } else {
             readyTimer -= delta;
@@ -89,7 +96,6 @@ public class AITest extends ScreenAdapter {
     public void show() {
         Application app = (Application) Gdx.app.getApplicationListener();
 
-        EntityFactory.setEngine(ENGINE);
         app.getInputMultiplexer().addProcessor(Mapper.INPUT.get(player).PROCESSOR);
     }
 
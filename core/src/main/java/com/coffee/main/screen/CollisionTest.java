@@ -57,11 +57,11 @@ public class CollisionTest extends ScreenAdapter {
             final ColliderComponent COLLIDER = new ColliderComponent();
             final SpriteComponent SPRITE = new SpriteComponent();
 
-            TRANSFORM.SIZE.setSize(12, 12);
-            TRANSFORM.ORIGIN.set(TRANSFORM.SIZE.width / 2.0f, TRANSFORM.SIZE.height / 2.0f);
+            TRANSFORM.setSize(12, 12);
+            TRANSFORM.ORIGIN.set(TRANSFORM.width / 2.0f, TRANSFORM.height / 2.0f);
             TRANSFORM.POSITION.set(
-                    (float) (Math.random() * VIEWPORT.getWorldWidth() - TRANSFORM.SIZE.width + 1),
-                    (float) (Math.random() * VIEWPORT.getWorldHeight() - TRANSFORM.SIZE.height + 1)
+                    (float) (Math.random() * VIEWPORT.getWorldWidth() - TRANSFORM.width + 1),
+                    (float) (Math.random() * VIEWPORT.getWorldHeight() - TRANSFORM.height + 1)
             );
             MOVEMENT.moveSpeed = 2.5;
             MOVEMENT.MOVEMENT_NORMAL.set(1, 0).setToRandomDirection();
@@ -85,15 +85,15 @@ public class CollisionTest extends ScreenAdapter {
 
             COLLIDER.BODY.setVertices(new float[]{
                     0,0,
-                    TRANSFORM.SIZE.width,0,
-                    TRANSFORM.SIZE.width,TRANSFORM.SIZE.height,
-                    0,TRANSFORM.SIZE.height
+                    TRANSFORM.width,0,
+                    TRANSFORM.width,TRANSFORM.height,
+                    0,TRANSFORM.height
             });
             COLLIDER.BODY.setOrigin(TRANSFORM.ORIGIN.x, TRANSFORM.ORIGIN.y);
             COLLIDER.solid = true;
 
             Sprite main = ATLAS.createSprite("goodlogic");
-            main.setSize(TRANSFORM.SIZE.width, TRANSFORM.SIZE.height);
+            main.setSize(TRANSFORM.width, TRANSFORM.height);
             main.setOriginCenter();
 
             SPRITE.SPRITES.add(main);
@@ -13,13 +13,13 @@ import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.utils.Align;
-import com.coffee.entity.EntityFactory;
 import com.coffee.entity.components.GUIComponent;
 import com.coffee.entity.components.HealthComponent;
 import com.coffee.entity.components.PlayerComponent;
 import com.coffee.entity.systems.*;
 import com.coffee.main.Application;
 import com.coffee.util.Assets;
+import com.coffee.util.FontCache;
 import com.coffee.util.HighScore;
 import com.coffee.util.HighScoreEntry;
 import com.coffee.util.Mapper;
@@ -31,12 +31,24 @@ public class GameOverScreen extends ScreenAdapter {
     private final PooledEngine ENGINE;
     private final Entity GUI_ENTITY, PLAYER_ENTITY;
     private final Application APP;
+    private final GameScreen GAME;
+    private boolean retried;
 
     public GameOverScreen(Entity e) {
+        this(e, null);
+    }
+
+    /**
+     * @param e    the player
+     * @param game the screen the fight was in, to go back to for another try, or null if it can't be tried again
+     */
+    public GameOverScreen(Entity e, GameScreen game) {
         APP = (Application) Gdx.app.getApplicationListener();
+        GAME = game;
 
         ENGINE = new PooledEngine();
 
+        ENGINE.addSystem(new TimerSystem());
         ENGINE.addSystem(new DrawSystem(APP.getBatch(), APP.getViewport()));
         ENGINE.addSystem(new GUISystem());
         ENGINE.addSystem(new MovementSystem());
@@ -48,7 +60,7 @@ public class GameOverScreen extends ScreenAdapter {
         generateUI();
 
         ENGINE.addEntity(GUI_ENTITY);
-        ENGINE.addEntity(EntityFactory.createParticleGenerator());
+        ENGINE.addSystem(new StarfieldSystem(APP.getBatch(), APP.getViewport()));
     }
 
     private void generateUI() {
@@ -57,7 +69,6 @@ public class GameOverScreen extends ScreenAdapter {
         final GUIComponent GUI = new GUIComponent();
         final Table TABLE = new Table();
         final BitmapFont FNT_GAME_OVER, FNT_SCORE;
-        final FreeTypeFontGenerator fontGenerator = new FreeTypeFontGenerator(Gdx.files.internal("ui/fff.ttf"));
         final FreeTypeFontGenerator.FreeTypeFontParameter param = new FreeTypeFontGenerator.FreeTypeFontParameter();
         final PlayerComponent PLAYER = Mapper.PLAYER.get(PLAYER_ENTITY);
         final HealthComponent HEALTH = Mapper.HEALTH.get(PLAYER_ENTITY);
@@ -69,21 +80,23 @@ public class GameOverScreen extends ScreenAdapter {
         param.shadowOffsetY = -4;
         param.shadowColor = Color.GRAY;
 
-        FNT_GAME_OVER = fontGenerator.generateFont(param);
+        FNT_GAME_OVER = FontCache.get("ui/fff.ttf", param);
 
         param.size = 20;
         param.shadowOffsetX = 0;
         param.shadowOffsetY = 0;
         param.color = Color.CYAN;
 
-        FNT_SCORE = fontGenerator.generateFont(param);
+        FNT_SCORE = FontCache.get("ui/fff.ttf", param);
 
         final Label
             TITLE = new Label("GAME OVER", new Label.LabelStyle(FNT_GAME_OVER, Color.WHITE)),
             LBL_SCORE_ID = new Label("SCORE: ", SKIN),
             SCORE = new Label("" + PLAYER.score, SKIN);
 
-        final TextButton CONTINUE = new TextButton("CONTINUE", SKIN);
+        final TextButton
+            CONTINUE = new TextButton("CONTINUE", SKIN),
+            RETRY = new TextButton("RETRY", SKIN);
         final int FINAL_SCORE;
         int score = PLAYER.score;
 
@@ -166,6 +179,7 @@ public class GameOverScreen extends ScreenAdapter {
 
             NAME.setColor(Color.RED);
             CONTINUE.setDisabled(true);
+            RETRY.setDisabled(true);
 
             TABLE.add(LBL_NAME_ID).pad(20, 10, 10, 10).expandX().fillX();
             TABLE.add(NAME).pad(20, 10, 10, 10).expandX().fillX().uniform().row();
@@ -175,18 +189,21 @@ public class GameOverScreen extends ScreenAdapter {
                 if (test.length() == 0) {
                     textField.setColor(Color.RED);
                     CONTINUE.setDisabled(true);
+                    RETRY.setDisabled(true);
                 } else {
                     for (int j = 0; j < HighScore.SIZE; j++) {
                         String name = HighScore.get(j).getName();
                         if (name.equals(test.trim())) {
                             textField.setColor(Color.RED);
                             CONTINUE.setDisabled(true);
+                            RETRY.setDisabled(true);
                             return;
                         }
                     }
 
                     textField.setColor(Color.WHITE);
                     CONTINUE.setDisabled(false);
+                    RETRY.setDisabled(false);
                 }
             });
 
@@ -205,6 +222,19 @@ public class GameOverScreen extends ScreenAdapter {
                     }
                 }
             });
+
+            RETRY.addListener(new ChangeListener() {
+                @Override
+                public void changed(ChangeEvent event, Actor actor) {
+                    if (RETRY.isPressed()) {
+                        // Still keep the score
+                        HighScore.insert(new HighScoreEntry(FINAL_SCORE, NAME.getText().trim()));
+                        HighScore.save();
+
+                        retry();
+                    }
+                }
+            });
         } else {
             CONTINUE.addListener(new ChangeListener() {
                 @Override
@@ -216,16 +246,33 @@ public class GameOverScreen extends ScreenAdapter {
                     }
                 }
             });
+
+            RETRY.addListener(new ChangeListener() {
+                @Override
+                public void changed(ChangeEvent event, Actor actor) {
+                    if (RETRY.isPressed())
+                        retry();
+                }
+            });
         }
 
         TABLE.add(CONTINUE).colspan(2).fillX().pad(20, 10, 10, 10).uniform().row();
+        if (GAME != null)
+            TABLE.add(RETRY).colspan(2).fillX().pad(0, 10, 10, 10).uniform().row();
 
         GUI.canvas.addActor(TABLE);
         GUI_ENTITY.add(GUI);
        // TABLE.setDebug(true);
         // endregion
+    }
 
-        fontGenerator.dispose();
+    /**
+     * Goes back to the fight for another try, without making a new one.
+     */
+    private void retry() {
+        retried = true;
+        GAME.retry();
+        APP.setScreen(GAME);
     }
 
     @Override
@@ -238,7 +285,6 @@ public class GameOverScreen extends ScreenAdapter {
         Application app = (Application) Gdx.app.getApplicationListener();
 
         app.getInputMultiplexer().addProcessor(Mapper.GUI.get(GUI_ENTITY).canvas);
-        EntityFactory.setEngine(ENGINE);
     }
 
     @Override
@@ -250,6 +296,8 @@ public class GameOverScreen extends ScreenAdapter {
 
     @Override
     public void dispose() {
-
+        // The fight isn't needed anymore once this is left for anything but another try
+        if (GAME != null && !retried)
+            GAME.dispose();
     }
 }
@@ -1,8 +1,10 @@
 package com.coffee.main.screen;
 
+import com.badlogic.ashley.core.Component;
 import com.badlogic.ashley.core.Entity;
 import com.badlogic.ashley.core.PooledEngine;
 import com.badlogic.gdx.*;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.scenes.scene2d.Action;
@@ -12,6 +14,7 @@ import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.coffee.entity.EntityFactory;
 import com.coffee.entity.components.GUIComponent;
@@ -21,6 +24,15 @@ import com.coffee.main.Application;
 import com.coffee.util.Assets;
 import com.coffee.util.HighScore;
 import com.coffee.util.Mapper;
+import com.coffee.util.OptionsManager;
+import com.coffee.util.PoolWarmer;
+import com.coffee.util.RenderSnapshot;
+import com.coffee.util.Replay;
+import com.coffee.util.SimulationThread;
+import com.coffee.util.SystemProfiler;
+import com.coffee.util.WorldSnapshot;
+
+import java.util.Arrays;
 
 /**
  * Screen where all the action and game takes place.
@@ -30,41 +42,66 @@ public class GameScreen extends ScreenAdapter {
     private final Viewport VIEWPORT;
     private final ShapeRenderer SHAPE_RENDERER;
     private final PooledEngine ENGINE;
+    private final EntityFactory FACTORY;
     private final Application APP;
 
     private final InputProcessor DEBUG;
+    private final SystemProfiler PROFILER;
+    private PoolWarmer warmer;
+    private ReplayRecorder recorder;
+
+    // Only used when the simulation runs on its own thread, anything touching the engine has to hold the lock
+    private final Object LOCK = new Object();
+    private final RenderSnapshot.Buffer SNAPSHOTS;
+    private final SimulationThread SIMULATION;
 
     private final Entity PLAYER;
+    private final InputProcessor PLAYER_INPUT;
     private final Entity BOSS_SHIP;
     private final Entity PAUSE_UI;
 
+    // The world before the countdown, to go back to when retrying, and the components the player loses when it dies
+    private final byte[] FIGHT_START;
+    private final Array<Component> PLAYER_COMPONENTS;
+
     private final float READY_LENGTH = 3; // decreased from 5 cuz impatient
+    // Pools have to be able to hold everything the warm-up puts in them
+    private final int POOL_SIZE = 4096, WARM_UP_BUDGET = 48;
+    // Where fights are recorded to, and how many recordings are kept
+    private final String REPLAY_DIR = "replays";
+    private final int MAX_REPLAYS = 20;
     private float gameTimer;
     private int lowestHighScore;
-    private boolean ready = false, pause = false, gameOver = false;
+    private boolean ready = false, pause = false, gameOver = false, profiling = false;
 
     public GameScreen() {
         APP = (Application) Gdx.app.getApplicationListener();
 
         BATCH = APP.getBatch();
         VIEWPORT = APP.getViewport();
-        ENGINE = new PooledEngine();
+        ENGINE = new PooledEngine(64, POOL_SIZE, 64, POOL_SIZE);
+        FACTORY = new EntityFactory(ENGINE);
         SHAPE_RENDERER = APP.getShapeRenderer();
 
-        ENGINE.addSystem(new SpawnerSystem(ENGINE));
-        ENGINE.addSystem(new PlayerSystem(VIEWPORT));
-        ENGINE.addSystem(new AISystem(VIEWPORT));
+        ENGINE.addSystem(new TimerSystem());
+        ENGINE.addSystem(new SpawnerSystem(FACTORY));
+        ENGINE.addSystem(new PlayerSystem(VIEWPORT, FACTORY));
+        ENGINE.addSystem(new AISystem(VIEWPORT, FACTORY));
+        ENGINE.addSystem(new SpawnSystem(FACTORY));
         ENGINE.addSystem(new MovementSystem(VIEWPORT));
-        ENGINE.addSystem(new DrawSystem(BATCH, VIEWPORT));
+        ENGINE.addSystem(new DrawSystem(BATCH, VIEWPORT, APP.getBulletRenderer()));
         ENGINE.addSystem(new DebugDrawSystem(SHAPE_RENDERER, VIEWPORT));
         ENGINE.addSystem(new GUISystem());
         ENGINE.addSystem(new HealthSystem());
         ENGINE.addSystem(new LifetimeSystem());
         ENGINE.addSystem(new BulletSystem(VIEWPORT));
+        ENGINE.addSystem(new PatternSystem());
+        ENGINE.addSystem(new TargetingSystem());
+        ENGINE.addSystem(new HomingSystem());
         ENGINE.addSystem(new CollisionSystem(VIEWPORT));
 
-        PLAYER = EntityFactory.createPlayer(VIEWPORT.getWorldWidth() / 2f, 128);
-        BOSS_SHIP = EntityFactory.createBossShip(VIEWPORT.getWorldWidth() / 2, VIEWPORT.getWorldHeight() * 2 / 3 + 64);
+        PLAYER = FACTORY.createPlayer(VIEWPORT.getWorldWidth() / 2f, 128);
+        BOSS_SHIP = FACTORY.createBossShip(VIEWPORT.getWorldWidth() / 2, VIEWPORT.getWorldHeight() * 2 / 3 + 64);
 
         // region Initialize UI
         PAUSE_UI = new Entity();
@@ -126,28 +163,117 @@ public class GameScreen extends ScreenAdapter {
         ENGINE.addEntity(BOSS_SHIP);
         ENGINE.addEntity(PAUSE_UI);
 
-        ENGINE.addEntity(EntityFactory.createParticleGenerator());
+        ENGINE.addSystem(new StarfieldSystem(BATCH, VIEWPORT));
 
         ENGINE.getSystem(PlayerSystem.class).setProcessing(false);
         ENGINE.getSystem(AISystem.class).setProcessing(false);
         ENGINE.getSystem(DebugDrawSystem.class).setProcessing(false);
 
+        FIGHT_START = WorldSnapshot.capture(FACTORY);
+        PLAYER_COMPONENTS = new Array<>();
+        for (Component component : PLAYER.getComponents())
+            PLAYER_COMPONENTS.add(component);
+
         gameTimer = READY_LENGTH;
 
         Gdx.input.setCursorCatched(true);
         DEBUG = new MLGHackerzDebugControlzz();
+        PROFILER = APP.isDebug() ? new SystemProfiler(ENGINE) : null;
+
+        if (OptionsManager.threadedSimulation) {
+            SNAPSHOTS = new RenderSnapshot.Buffer();
+            ENGINE.getSystem(DrawSystem.class).setSnapshots(SNAPSHOTS);
+            SIMULATION = new SimulationThread(ENGINE, LOCK, 1 / 60f);
+        } else {
+            SNAPSHOTS = null;
+            SIMULATION = null;
+        }
+
+        // Keys have to wait for the simulation thread to finish its update, or the recorded inputs could miss them
+        final InputProcessor PLAYER_PROCESSOR = Mapper.INPUT.get(PLAYER).PROCESSOR;
+        PLAYER_INPUT = SIMULATION == null ? PLAYER_PROCESSOR : new InputAdapter() {
+            @Override
+            public boolean keyDown(int keycode) {
+                synchronized (LOCK) {
+                    return PLAYER_PROCESSOR.keyDown(keycode);
+                }
+            }
+
+            @Override
+            public boolean keyUp(int keycode) {
+                synchronized (LOCK) {
+                    return PLAYER_PROCESSOR.keyUp(keycode);
+                }
+            }
+        };
     }
 
     @Override
     public void render(float delta) {
+        if (SIMULATION != null) {
+            renderThreaded(delta);
+            return;
+        }
+
+        updateReady(delta);
+
+        if (profiling)
+            PROFILER.update(delta);
+        else
+            ENGINE.update(delta);
+
+        updateGameOver(delta);
+    }
+
+    /**
+     * Renders while the simulation thread updates the engine. Game logic and the GUI run while holding the lock,
+     * while the background and the latest snapshot of the sprites are drawn alongside the simulation.
+     */
+    private void renderThreaded(float delta) {
+        synchronized (LOCK) {
+            updateReady(delta);
+            updateGameOver(delta);
+        }
+
+        if (APP.getScreen() != this)
+            return;
+
+        final StarfieldSystem STARFIELD = ENGINE.getSystem(StarfieldSystem.class);
+        if (STARFIELD.checkProcessing())
+            STARFIELD.update(delta);
+
+        VIEWPORT.getCamera().update();
+        BATCH.setProjectionMatrix(VIEWPORT.getCamera().combined);
+        BATCH.begin();
+        SNAPSHOTS.latest().draw(BATCH);
+        BATCH.end();
+
+        synchronized (LOCK) {
+            final DebugDrawSystem DEBUG_DRAW = ENGINE.getSystem(DebugDrawSystem.class);
+            if (DEBUG_DRAW.checkProcessing())
+                DEBUG_DRAW.update(delta);
+
+            final GUISystem GUI = ENGINE.getSystem(GUISystem.class);
+            if (GUI.checkProcessing())
+                GUI.update(delta);
+        }
+    }
+
+    /**
+     * Counts down until the game starts, and toggles pause.
+     */
+    private void updateReady(float delta) {
         if (!ready) {
             gameTimer -= delta;
+            warmer.update(delta);
 
             if (gameTimer <= 0) {
+                warmer.finish();
                 ENGINE.getSystem(PlayerSystem.class).setProcessing(true);
                 ENGINE.getSystem(AISystem.class).setProcessing(true);
 
-                ENGINE.addEntity(EntityFactory.createRandomPowerUpSpawner(200, 200, ENGINE));
+                ENGINE.addEntity(FACTORY.createRandomPowerUpSpawner(200, 200));
+                ENGINE.addSystem(recorder = new ReplayRecorder(FACTORY));
 
                 gameTimer = 3;
                 ready = true;
@@ -156,9 +282,12 @@ public class GameScreen extends ScreenAdapter {
 
         if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE) && ready && !gameOver)
             togglePause();
+    }
 
-        ENGINE.update(delta);
-
+    /**
+     * Checks if either the player or the boss died, and goes to the game over screen if one of them did.
+     */
+    private void updateGameOver(float delta) {
         boolean
             playerDead = Mapper.HEALTH.get(PLAYER).getHealthPercent() == 0 && Mapper.PLAYER.get(PLAYER).lives == 0,
             bossDead = !ENGINE.getEntities().contains(BOSS_SHIP, true);
@@ -166,20 +295,71 @@ public class GameScreen extends ScreenAdapter {
         gameOver = playerDead || bossDead;
 
         if (gameOver) {
+            if (recorder != null)
+                saveReplay();
+
             gameTimer -= delta;
             stopPlayer();
             //APP.getInputMultiplexer().removeProcessor(DEBUG);
 
-            if (playerDead)
-                Mapper.HEALTH.get(BOSS_SHIP).invincibilityTimer = 999;
-            else if (bossDead)
-                Mapper.HEALTH.get(PLAYER).invincibilityTimer = 999;
+            final Entity SURVIVOR = playerDead ? BOSS_SHIP : PLAYER;
+            if (!Mapper.HEALTH.get(SURVIVOR).recovering)
+                ENGINE.getSystem(HealthSystem.class).startInvincibility(SURVIVOR, 999);
 
-            if (gameTimer <= 0) {
-                this.dispose();
-                APP.setScreen(new GameOverScreen(PLAYER));
-            }
+            // The game over screen disposes of this, unless it's retried
+            if (gameTimer <= 0)
+                APP.setScreen(new GameOverScreen(PLAYER, this));
+        }
+    }
+
+    /**
+     * Stops recording and saves the recording of the fight, throwing out the oldest ones past the limit.
+     */
+    private void saveReplay() {
+        final Replay REPLAY = recorder.getReplay();
+
+        ENGINE.removeSystem(recorder);
+        recorder = null;
+
+        if (REPLAY.getLength() == 0)
+            return;
+
+        final FileHandle DIR = Gdx.files.local(REPLAY_DIR);
+        REPLAY.write(DIR.child(System.currentTimeMillis() + ".replay"));
+
+        // Named by the time they were made, so they sort oldest first
+        final FileHandle[] REPLAYS = DIR.list(".replay");
+        Arrays.sort(REPLAYS, (a, b) -> a.name().compareTo(b.name()));
+        for (int i = 0; i < REPLAYS.length - MAX_REPLAYS; i++)
+            REPLAYS[i].delete();
+    }
+
+    /**
+     * Puts the fight back the way it was before the countdown, and counts down again. Everything already made
+     * is used again, so this only takes as long as putting the world back. Call this while the screen isn't showing.
+     */
+    public void retry() {
+        if (recorder != null) {
+            ENGINE.removeSystem(recorder);
+            recorder = null;
+        }
+
+        // Running out of lives takes some of these off
+        for (Component component : PLAYER_COMPONENTS) {
+            if (PLAYER.getComponent(component.getClass()) == null)
+                PLAYER.add(component);
         }
+
+        WorldSnapshot.restore(FIGHT_START, FACTORY, PLAYER, BOSS_SHIP);
+
+        ENGINE.getSystem(PlayerSystem.class).setProcessing(false);
+        ENGINE.getSystem(AISystem.class).setProcessing(false);
+
+        gameTimer = READY_LENGTH;
+        ready = false;
+        gameOver = false;
+
+        Gdx.input.setCursorCatched(true);
     }
 
     @Override
@@ -188,8 +368,17 @@ public class GameScreen extends ScreenAdapter {
     }
 
     public void show() {
-        EntityFactory.setEngine(ENGINE);
-        APP.getInputMultiplexer().addProcessor(Mapper.INPUT.get(PLAYER).PROCESSOR);
+        // Warm up during the countdown, but only the first time the screen is shown
+        if (warmer == null)
+            warmer = new PoolWarmer(FACTORY, VIEWPORT, OptionsManager.prewarmBullets, WARM_UP_BUDGET);
+
+        if (SIMULATION != null)
+            SIMULATION.start();
+
+        APP.getInputMultiplexer().addProcessor(PLAYER_INPUT);
+
+        if (APP.isDebug())
+            APP.getInputMultiplexer().addProcessor(DEBUG);
 
         if (pause) {
             float curVol = APP.getTheme().getVolume();
@@ -200,8 +389,12 @@ public class GameScreen extends ScreenAdapter {
 
     @Override
     public void hide() {
+        if (SIMULATION != null)
+            SIMULATION.stop();
+
         Gdx.input.setCursorCatched(false);
-        APP.getInputMultiplexer().removeProcessor(Mapper.INPUT.get(PLAYER).PROCESSOR);
+        APP.getInputMultiplexer().removeProcessor(PLAYER_INPUT);
+        APP.getInputMultiplexer().removeProcessor(DEBUG);
 
         if (pause) {
             float curVol = APP.getTheme().getVolume();
@@ -225,8 +418,16 @@ public class GameScreen extends ScreenAdapter {
         ENGINE.getSystem(HealthSystem.class).setProcessing(!pause);
         ENGINE.getSystem(LifetimeSystem.class).setProcessing(!pause);
         ENGINE.getSystem(MovementSystem.class).setProcessing(!pause);
+        ENGINE.getSystem(PatternSystem.class).setProcessing(!pause);
+        ENGINE.getSystem(HomingSystem.class).setProcessing(!pause);
         ENGINE.getSystem(PlayerSystem.class).setProcessing(!pause);
         ENGINE.getSystem(SpawnerSystem.class).setProcessing(!pause);
+        ENGINE.getSystem(SpawnSystem.class).setProcessing(!pause);
+        ENGINE.getSystem(TimerSystem.class).setProcessing(!pause);
+        ENGINE.getSystem(StarfieldSystem.class).setPaused(pause);
+
+        if (recorder != null)
+            recorder.setProcessing(!pause);
 
         final InputProcessor INPUT = Mapper.GUI.get(PAUSE_UI).canvas;
         final float VOL = APP.getTheme().getVolume();
@@ -247,13 +448,16 @@ public class GameScreen extends ScreenAdapter {
     private void stopPlayer() {
         PlayerComponent player = Mapper.PLAYER.get(PLAYER);
 
-        APP.getInputMultiplexer().removeProcessor(Mapper.INPUT.get(PLAYER).PROCESSOR);
+        APP.getInputMultiplexer().removeProcessor(PLAYER_INPUT);
         player.shoot = false;
         player.up = player.down = player.left = player.right = 0;
     }
 
     @Override
     public void dispose() {
+        if (SIMULATION != null)
+            SIMULATION.stop();
+
         ENGINE.removeAllEntities();
 
         super.dispose();
@@ -265,6 +469,13 @@ public class GameScreen extends ScreenAdapter {
     private class MLGHackerzDebugControlzz extends InputAdapter {
         @Override
         public boolean keyUp(int keycode) {
+            // Input comes in on the render thread, so don't cheat in the middle of a simulation update
+            synchronized (LOCK) {
+                return cheat(keycode);
+            }
+        }
+
+        private boolean cheat(int keycode) {
             PlayerComponent PLAY = Mapper.PLAYER.get(PLAYER);
             switch (keycode) {
                 case Input.Keys.F1:
@@ -311,6 +522,23 @@ public class GameScreen extends ScreenAdapter {
                     Mapper.HEALTH.get(PLAYER).health = 0;
                     System.out.println("Kill Player");
                     break;
+                case Input.Keys.F10: // Per-system allocation profiling
+                    if (SIMULATION != null) {
+                        System.out.println("Profiling isn't available with the simulation thread");
+                        break;
+                    }
+
+                    profiling = !profiling;
+                    if (profiling) {
+                        PROFILER.reset();
+                        System.out.println("Profiling Started");
+                    } else
+                        PROFILER.report();
+                    break;
+                case Input.Keys.F12: // Draw call & culling stats
+                    ENGINE.getSystem(DrawSystem.class).doStats = !ENGINE.getSystem(DrawSystem.class).doStats;
+                    System.out.println("Draw Stats Toggled");
+                    break;
                 case Input.Keys.NUM_1: // (100% - 75%) 80%
                     Mapper.HEALTH.get(BOSS_SHIP).health = (int)(Mapper.HEALTH.get(BOSS_SHIP).maxHealth * 0.8);
                     break;
@@ -330,6 +558,13 @@ public class GameScreen extends ScreenAdapter {
                     return false;
             }
             PLAY.score = 1000000;
+
+            // A fight with cheats in it can't be played back, so stop recording it
+            if (recorder != null) {
+                ENGINE.removeSystem(recorder);
+                recorder = null;
+            }
+
             return true;
         }
     }
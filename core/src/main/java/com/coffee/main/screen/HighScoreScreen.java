@@ -12,11 +12,11 @@ import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.utils.Align;
-import com.coffee.entity.EntityFactory;
 import com.coffee.entity.components.GUIComponent;
 import com.coffee.entity.systems.*;
 import com.coffee.main.Application;
 import com.coffee.util.Assets;
+import com.coffee.util.FontCache;
 import com.coffee.util.HighScore;
 import com.coffee.util.HighScoreEntry;
 import com.coffee.util.Mapper;
@@ -29,12 +29,12 @@ public class HighScoreScreen extends ScreenAdapter {
     private final Entity GUIEntity;
 
     public HighScoreScreen() {
-        final FreeTypeFontGenerator fontGenerator = new FreeTypeFontGenerator(Gdx.files.internal("ui/fff.ttf"));
         final FreeTypeFontGenerator.FreeTypeFontParameter param = new FreeTypeFontGenerator.FreeTypeFontParameter();
         final Application APP = (Application) Gdx.app.getApplicationListener();
 
         ENGINE = new PooledEngine();
 
+        ENGINE.addSystem(new TimerSystem());
         ENGINE.addSystem(new DrawSystem(APP.getBatch(), APP.getViewport()));
         ENGINE.addSystem(new GUISystem());
         ENGINE.addSystem(new MovementSystem());
@@ -56,7 +56,7 @@ public class HighScoreScreen extends ScreenAdapter {
         param.shadowOffsetY = -4;
         param.shadowColor = Color.GRAY;
 
-        final Label TITLE = new Label("HIGH SCORES", new Label.LabelStyle(fontGenerator.generateFont(param), Color.WHITE));
+        final Label TITLE = new Label("HIGH SCORES", new Label.LabelStyle(FontCache.get("ui/fff.ttf", param), Color.WHITE));
         final TextButton BACK = new TextButton("BACK", SKIN);
 
         TABLE.setSkin(SKIN);
@@ -100,9 +100,7 @@ public class HighScoreScreen extends ScreenAdapter {
         // endregion
 
         ENGINE.addEntity(GUIEntity);
-        ENGINE.addEntity(EntityFactory.createParticleGenerator());
-
-        fontGenerator.dispose();
+        ENGINE.addSystem(new StarfieldSystem(APP.getBatch(), APP.getViewport()));
     }
 
     @Override
@@ -115,7 +113,6 @@ public class HighScoreScreen extends ScreenAdapter {
         Application app = (Application) Gdx.app.getApplicationListener();
 
         app.getInputMultiplexer().addProcessor(Mapper.GUI.get(GUIEntity).canvas);
-        EntityFactory.setEngine(ENGINE);
     }
 
     @Override
@@ -0,0 +1,58 @@
+package com.coffee.main.screen;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.ScreenAdapter;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.coffee.main.Application;
+import com.coffee.util.Assets;
+
+/**
+ * Shows how far along the assets are while they load. Nothing it draws needs anything loaded,
+ * and the loading itself is done by the {@link Application}.
+ */
+public class LoadingScreen extends ScreenAdapter {
+    private final ShapeRenderer SHAPE_RENDERER;
+    private final Viewport VIEWPORT;
+
+    private final float BAR_WIDTH = 400, BAR_HEIGHT = 16;
+    // How fast the bar catches up to the actual progress, so it doesn't jump around
+    private final float FILL_SPEED = 8;
+    private float shown;
+
+    public LoadingScreen() {
+        final Application APP = (Application) Gdx.app.getApplicationListener();
+
+        SHAPE_RENDERER = APP.getShapeRenderer();
+        VIEWPORT = APP.getViewport();
+    }
+
+    @Override
+    public void render(float delta) {
+        shown = MathUtils.lerp(shown, Assets.MANAGER.getProgress(), Math.min(1, delta * FILL_SPEED));
+
+        final float
+            X = (VIEWPORT.getWorldWidth() - BAR_WIDTH) / 2,
+            Y = (VIEWPORT.getWorldHeight() - BAR_HEIGHT) / 2;
+
+        VIEWPORT.apply();
+        SHAPE_RENDERER.setProjectionMatrix(VIEWPORT.getCamera().combined);
+
+        SHAPE_RENDERER.begin(ShapeRenderer.ShapeType.Filled);
+        SHAPE_RENDERER.setColor(Color.WHITE);
+        SHAPE_RENDERER.rect(X, Y, BAR_WIDTH * shown, BAR_HEIGHT);
+        SHAPE_RENDERER.end();
+
+        SHAPE_RENDERER.begin(ShapeRenderer.ShapeType.Line);
+        SHAPE_RENDERER.setColor(Color.GRAY);
+        SHAPE_RENDERER.rect(X - 4, Y - 4, BAR_WIDTH + 8, BAR_HEIGHT + 8);
+        SHAPE_RENDERER.end();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        VIEWPORT.update(width, height, true);
+    }
+}
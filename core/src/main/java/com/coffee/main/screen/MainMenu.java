@@ -11,7 +11,6 @@ import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.utils.Scaling;
-import com.coffee.entity.EntityFactory;
 import com.coffee.entity.components.GUIComponent;
 import com.coffee.entity.systems.*;
 import com.coffee.main.Application;
@@ -34,6 +33,7 @@ public class MainMenu extends ScreenAdapter {
         final Skin SKIN = Assets.MANAGER.get(Assets.UI.SKIN);
         final TextureAtlas UI_ATLAS = Assets.MANAGER.get(Assets.UI.ATLAS);
 
+        ENGINE.addSystem(new TimerSystem());
         ENGINE.addSystem(new DrawSystem(APP.getBatch(), APP.getViewport()));
         ENGINE.addSystem(new GUISystem());
         ENGINE.addSystem(new MovementSystem());
@@ -88,7 +88,7 @@ public class MainMenu extends ScreenAdapter {
         // endregion
 
         ENGINE.addEntity(GUIEntity);
-        ENGINE.addEntity(EntityFactory.createParticleGenerator());
+        ENGINE.addSystem(new StarfieldSystem(APP.getBatch(), APP.getViewport()));
     }
 
     @Override
@@ -101,7 +101,6 @@ public class MainMenu extends ScreenAdapter {
         Application app = (Application) Gdx.app.getApplicationListener();
 
         app.getInputMultiplexer().addProcessor(Mapper.GUI.get(GUIEntity).canvas);
-        EntityFactory.setEngine(ENGINE);
     }
 
     @Override
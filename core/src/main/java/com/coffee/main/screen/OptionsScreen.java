@@ -5,20 +5,19 @@ import com.badlogic.ashley.core.PooledEngine;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.ScreenAdapter;
-import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.utils.Align;
-import com.coffee.entity.EntityFactory;
 import com.coffee.entity.components.GUIComponent;
 import com.coffee.entity.systems.*;
 import com.coffee.main.Application;
 import com.coffee.util.Assets;
 import com.coffee.util.Mapper;
 import com.coffee.util.OptionsManager;
+import com.coffee.util.SoundPlayer;
 
 /**
  * {@link Screen} used to change/update options
@@ -46,6 +45,7 @@ public class OptionsScreen extends ScreenAdapter {
         final Skin SKIN = Assets.MANAGER.get(Assets.UI.SKIN);
         final TextureAtlas UI_ATLAS = Assets.MANAGER.get(Assets.UI.ATLAS);
 
+        ENGINE.addSystem(new TimerSystem());
         ENGINE.addSystem(new DrawSystem(APP.getBatch(), APP.getViewport()));
         ENGINE.addSystem(new GUISystem());
         ENGINE.addSystem(new MovementSystem());
@@ -63,7 +63,8 @@ public class OptionsScreen extends ScreenAdapter {
                 TITLE = new Label("OPTIONS", SKIN, "title"),
                 RES_ID = new Label("Resolution", SKIN),
                 MUSIC_VOL_ID = new Label("Music Volume", SKIN),
-                SFX_VOL_ID = new Label("SFX Volume", SKIN);
+                SFX_VOL_ID = new Label("SFX Volume", SKIN),
+                THREADED_ID = new Label("Simulation Thread", SKIN);
         final TextButton
                 CANCEL = new TextButton("CANCEL", SKIN),
                 SAVE = new TextButton("SAVE", SKIN);
@@ -71,6 +72,7 @@ public class OptionsScreen extends ScreenAdapter {
         final Slider
                 MUSIC_VOL = new Slider(0, 1, 0.01f, false, SKIN),
                 SFX_VOL = new Slider(0, 1, 0.01f, false, SKIN);
+        final CheckBox THREADED = new CheckBox("", SKIN);
 
         TABLE.setSkin(SKIN);
         TITLE.setAlignment(Align.center);
@@ -85,6 +87,7 @@ public class OptionsScreen extends ScreenAdapter {
         RES.setSelected(OptionsManager.resolution);
         MUSIC_VOL.setValue(OptionsManager.musicVolume);
         SFX_VOL.setValue(OptionsManager.sfxVolume);
+        THREADED.setChecked(OptionsManager.threadedSimulation);
 
 
         TABLE.center().pad(50).setFillParent(true);
@@ -99,7 +102,9 @@ public class OptionsScreen extends ScreenAdapter {
         OPTIONS.add(MUSIC_VOL_ID).colspan(1).expandX().fill().padBottom(10).align(Align.left);
         OPTIONS.add(MUSIC_VOL).colspan(1).expandX().fill().padBottom(10).align(Align.right).row();
         OPTIONS.add(SFX_VOL_ID).colspan(1).expandX().fill().padBottom(10).align(Align.left);
-        OPTIONS.add(SFX_VOL).colspan(1).expandX().fill().padBottom(10).align(Align.right);
+        OPTIONS.add(SFX_VOL).colspan(1).expandX().fill().padBottom(10).align(Align.right).row();
+        OPTIONS.add(THREADED_ID).colspan(1).expandX().fill().padBottom(10).align(Align.left);
+        OPTIONS.add(THREADED).colspan(1).expandX().padBottom(10).align(Align.right);
 
         CANCEL.addListener(new ChangeListener() {
             @Override
@@ -119,6 +124,7 @@ public class OptionsScreen extends ScreenAdapter {
                     OptionsManager.resolution = RES.getSelected();
                     OptionsManager.musicVolume = MUSIC_VOL.getValue();
                     OptionsManager.sfxVolume = SFX_VOL.getValue();
+                    OptionsManager.threadedSimulation = THREADED.isChecked();
 
                     OptionsManager.update();
 
@@ -139,8 +145,7 @@ public class OptionsScreen extends ScreenAdapter {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 if (!SFX_VOL.isDragging()) {
-                    Sound sound = Assets.MANAGER.get(Assets.Audio.POWERUP_SOUND);
-                    sound.play(SFX_VOL.getValue());
+                    SoundPlayer.POWERUP_SOUND.play(SFX_VOL.getValue());
                 }
             }
         });
@@ -150,7 +155,7 @@ public class OptionsScreen extends ScreenAdapter {
         // endregion
 
         ENGINE.addEntity(GUIEntity);
-        // ENGINE.addEntity(EntityFactory.createParticleGenerator());
+        // ENGINE.addSystem(new StarfieldSystem(APP.getBatch(), APP.getViewport()));
     }
 
     private void changeScreen() {
@@ -169,7 +174,6 @@ public class OptionsScreen extends ScreenAdapter {
     @Override
     public void show() {
         APP.getInputMultiplexer().addProcessor(Mapper.GUI.get(GUIEntity).canvas);
-        EntityFactory.setEngine(ENGINE);
     }
 
     @Override
@@ -22,6 +22,7 @@ public class PlayerTest extends ScreenAdapter {
     private final Viewport VIEWPORT;
     private final ShapeRenderer SHAPE_RENDERER;
     private final PooledEngine ENGINE;
+    private final EntityFactory FACTORY;
     private Entity player;
 
     public PlayerTest() {
@@ -30,16 +31,18 @@ public class PlayerTest extends ScreenAdapter {
         BATCH = app.getBatch();
         VIEWPORT = app.getViewport();
         ENGINE = new PooledEngine();
+        FACTORY = new EntityFactory(ENGINE);
         SHAPE_RENDERER = app.getShapeRenderer();
 
+        ENGINE.addSystem(new TimerSystem());
         ENGINE.addSystem(new DrawSystem(BATCH, VIEWPORT));
         //ENGINE.addSystem(new DebugDrawSystem(SHAPE_RENDERER, VIEWPORT));
         ENGINE.addSystem(new BulletSystem(VIEWPORT));
         ENGINE.addSystem(new MovementSystem(VIEWPORT));
         ENGINE.addSystem(new CollisionSystem(app.getShapeRenderer(), VIEWPORT, true));
-        ENGINE.addSystem(new PlayerSystem(VIEWPORT));
+        ENGINE.addSystem(new PlayerSystem(VIEWPORT, FACTORY));
 
-        player = EntityFactory.createPlayer(0, 0);
+        player = FACTORY.createPlayer(0, 0);
         ENGINE.addEntity(player);
     }
 
@@ -56,7 +59,6 @@ public class PlayerTest extends ScreenAdapter {
     public void show() {
         Application app = (Application) Gdx.app.getApplicationListener();
 
-        EntityFactory.setEngine(ENGINE);
         app.getInputMultiplexer().addProcessor(Mapper.INPUT.get(player).PROCESSOR);
     }
 
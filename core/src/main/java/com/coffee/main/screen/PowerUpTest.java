@@ -20,6 +20,7 @@ public class PowerUpTest extends ScreenAdapter {
     private final Viewport VIEWPORT;
     private final ShapeRenderer SHAPE_RENDERER;
     private final PooledEngine ENGINE;
+    private final EntityFactory FACTORY;
     private Entity player;
 
     public PowerUpTest() {
@@ -28,22 +29,24 @@ public class PowerUpTest extends ScreenAdapter {
         BATCH = app.getBatch();
         VIEWPORT = app.getViewport();
         ENGINE = new PooledEngine();
+        FACTORY = new EntityFactory(ENGINE);
         SHAPE_RENDERER = app.getShapeRenderer();
 
+        ENGINE.addSystem(new TimerSystem());
         ENGINE.addSystem(new DrawSystem(BATCH, VIEWPORT));
         ENGINE.addSystem(new BulletSystem(VIEWPORT));
         ENGINE.addSystem(new MovementSystem(VIEWPORT));
         ENGINE.addSystem(new CollisionSystem(app.getShapeRenderer(), VIEWPORT, true));
         //ENGINE.addSystem(new DebugDrawSystem(SHAPE_RENDERER, VIEWPORT));
         ENGINE.addSystem(new LifetimeSystem());
-        ENGINE.addSystem(new SpawnerSystem(ENGINE));
-        ENGINE.addSystem(new PlayerSystem(VIEWPORT));
+        ENGINE.addSystem(new SpawnerSystem(FACTORY));
+        ENGINE.addSystem(new PlayerSystem(VIEWPORT, FACTORY));
 
-        player = EntityFactory.createPlayer(0, 0);
+        player = FACTORY.createPlayer(0, 0);
 
         ENGINE.addEntity(player);
-        ENGINE.addEntity(EntityFactory.createRandomPowerUpSpawner(200, 200, ENGINE));
-        ENGINE.addEntity(EntityFactory.createParticleGenerator());
+        ENGINE.addEntity(FACTORY.createRandomPowerUpSpawner(200, 200));
+        ENGINE.addSystem(new StarfieldSystem(BATCH, VIEWPORT));
     }
 
     @Override
@@ -59,7 +62,6 @@ public class PowerUpTest extends ScreenAdapter {
     public void show() {
         Application app = (Application) Gdx.app.getApplicationListener();
 
-        EntityFactory.setEngine(ENGINE);
         app.getInputMultiplexer().addProcessor(Mapper.INPUT.get(player).PROCESSOR);
     }
 
@@ -3,15 +3,10 @@ package com.coffee.main.screen;
 import com.badlogic.ashley.core.PooledEngine;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.ScreenAdapter;
-import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.utils.viewport.Viewport;
-import com.coffee.entity.EntityFactory;
-import com.coffee.entity.systems.DrawSystem;
-import com.coffee.entity.systems.LifetimeSystem;
-import com.coffee.entity.systems.MovementSystem;
-import com.coffee.entity.systems.SpawnerSystem;
+import com.coffee.entity.systems.StarfieldSystem;
 import com.coffee.main.Application;
 
 /**
@@ -33,19 +28,11 @@ public class StarsTest extends ScreenAdapter {
         ENGINE = new PooledEngine();
         SHAPE_RENDERER = app.getShapeRenderer();
 
-        ENGINE.addSystem(new SpawnerSystem(ENGINE));
-        ENGINE.addSystem(new DrawSystem(BATCH, VIEWPORT));
-        ENGINE.addSystem(new MovementSystem(VIEWPORT));
-        ENGINE.addSystem(new LifetimeSystem());
-
-        ENGINE.addEntity(EntityFactory.createParticleGenerator());
+        ENGINE.addSystem(new StarfieldSystem(BATCH, VIEWPORT));
     }
 
     @Override
     public void render(float delta) {
-        Gdx.gl.glClearColor(0, 0, 10 / 255f, 1);
-        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
-
         ENGINE.update(delta);
     }
 
@@ -55,7 +42,6 @@ public class StarsTest extends ScreenAdapter {
     }
 
     public void show() {
-        EntityFactory.setEngine(ENGINE);
     }
 
     @Override
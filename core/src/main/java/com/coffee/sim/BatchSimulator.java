@@ -0,0 +1,222 @@
+package com.coffee.sim;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.coffee.entity.EntityFactory;
+import com.coffee.entity.systems.ReplayRecorder;
+import com.coffee.util.BulletPatterns;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs lots of {@link Simulation}s at once across every core, for balancing the boss and finding how bad
+ * the worst fights get. Nothing is drawn and no window is opened.
+ * <p>
+ * Fight {@code i} uses seed {@code seed + i}, so any fight in the report can be run again on its own.
+ * Every worker thread runs one fight at a time on its own engine.
+ * <p>
+ * Options, all optional:
+ * <pre>
+ * --fights n    number of fights to run (100)
+ * --threads n   number of worker threads (one per core)
+ * --seed n      seed of the first fight (1)
+ * --max-ticks n updates before a fight is called a draw (36000, ten minutes)
+ * --assets dir  the assets directory (assets)
+ * --record dir  saves a replay of every fight to the directory, as fight-seed.replay
+ * </pre>
+ */
+public class BatchSimulator {
+    /** The size of the game world, the same as the game's viewport */
+    public static final float WORLD_WIDTH = 600, WORLD_HEIGHT = 800;
+
+    public static void main(String[] args) throws Exception {
+        int fights = 100, threads = Runtime.getRuntime().availableProcessors(), maxTicks = 36000;
+        long seed = 1;
+        String assets = "assets", record = null;
+
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length)
+                throw new GdxRuntimeException("Missing a value for " + args[i]);
+
+            switch (args[i]) {
+                case "--fights":
+                    fights = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[i + 1]);
+                    break;
+                case "--max-ticks":
+                    maxTicks = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--assets":
+                    assets = args[i + 1];
+                    break;
+                case "--record":
+                    record = args[i + 1];
+                    break;
+                default:
+                    throw new GdxRuntimeException("Unknown option " + args[i]);
+            }
+        }
+
+        final Viewport VIEWPORT = init(new File(assets));
+        final Report REPORT = run(VIEWPORT, fights, threads, seed, maxTicks, record != null ? new File(record) : null);
+
+        REPORT.print();
+    }
+
+    /**
+     * Sets up the factory and the bullet patterns for running headless, from files instead of through a backend.
+     *
+     * @param assets the assets directory
+     * @return a viewport with the size of the game world
+     */
+    public static Viewport init(File assets) {
+        final Viewport VIEWPORT = new FitViewport(WORLD_WIDTH, WORLD_HEIGHT);
+
+        EntityFactory.initHeadless(new FileHandle(new File(assets, "gameobjects/gameobjects.pack")), VIEWPORT);
+        BulletPatterns.load(new FileHandle(new File(assets, "patterns/boss.json")));
+
+        return VIEWPORT;
+    }
+
+    /**
+     * Runs the fights and waits for all of them to finish.
+     *
+     * @param record the directory to save a replay of every fight to, or null to not record them
+     */
+    public static Report run(final Viewport viewport, int fights, int threads, long seed, final int maxTicks, final File record) throws Exception {
+        final ExecutorService POOL = Executors.newFixedThreadPool(threads);
+        final List<Future<Simulation>> RESULTS = new ArrayList<>(fights);
+        final Report REPORT = new Report(threads);
+        final long START = System.nanoTime();
+
+        try {
+            for (int i = 0; i < fights; i++) {
+                final long SEED = seed + i;
+
+                RESULTS.add(POOL.submit(() -> {
+                    final Simulation SIM = new Simulation(viewport, SEED);
+
+                    if (record != null)
+                        SIM.record(ReplayRecorder.DEFAULT_SNAPSHOT_INTERVAL);
+
+                    SIM.run(maxTicks);
+
+                    if (record != null)
+                        SIM.getReplay().write(new FileHandle(new File(record, "fight-" + SEED + ".replay")));
+                    return SIM;
+                }));
+            }
+
+            for (Future<Simulation> result : RESULTS)
+                REPORT.add(result.get());
+        } finally {
+            POOL.shutdownNow();
+        }
+
+        REPORT.wallNanos = System.nanoTime() - START;
+        return REPORT;
+    }
+
+    /**
+     * Statistics of a batch of fights put together.
+     */
+    public static class Report {
+        private final int THREADS;
+        private final int[] OUTCOMES, PEAK_BULLETS, REACHED;
+        private final long[] PEAK_BULLET_SEEDS, PEAK_BULLETS_TOTAL, PHASE_TICKS;
+        private int fights, peakCollisions;
+        private long ticks, collisions, simNanos, wallNanos;
+
+        private Report(int threads) {
+            THREADS = threads;
+            OUTCOMES = new int[Simulation.Outcome.values().length];
+            PEAK_BULLETS = new int[Simulation.PHASES];
+            PEAK_BULLET_SEEDS = new long[Simulation.PHASES];
+            PEAK_BULLETS_TOTAL = new long[Simulation.PHASES];
+            PHASE_TICKS = new long[Simulation.PHASES];
+            REACHED = new int[Simulation.PHASES];
+        }
+
+        private void add(Simulation sim) {
+            fights++;
+            OUTCOMES[sim.getOutcome().ordinal()]++;
+            ticks += sim.getTicks();
+            collisions += sim.getCollisions();
+            peakCollisions = Math.max(peakCollisions, sim.getPeakCollisions());
+            simNanos += sim.getNanos();
+
+            for (int phase = 0; phase < Simulation.PHASES; phase++) {
+                if (sim.getPhaseTicks(phase) == 0)
+                    continue;
+
+                final int PEAK = sim.getPeakBullets(phase);
+
+                REACHED[phase]++;
+                PHASE_TICKS[phase] += sim.getPhaseTicks(phase);
+                PEAK_BULLETS_TOTAL[phase] += PEAK;
+                if (PEAK > PEAK_BULLETS[phase]) {
+                    PEAK_BULLETS[phase] = PEAK;
+                    PEAK_BULLET_SEEDS[phase] = sim.getSeed();
+                }
+            }
+        }
+
+        /**
+         * @return the most bullets alive at once in the phase, over every fight
+         */
+        public int getPeakBullets(int phase) {
+            return PEAK_BULLETS[phase];
+        }
+
+        /**
+         * @return the number of updates per second over all the threads together
+         */
+        public double getTicksPerSecond() {
+            return ticks / (wallNanos / 1e9);
+        }
+
+        /**
+         * @return the average number of collisions handled per update
+         */
+        public double getCollisionsPerTick() {
+            return ticks > 0 ? collisions / (double) ticks : 0;
+        }
+
+        public void print() {
+            System.out.printf("%d fights on %d threads in %.1f s%n", fights, THREADS, wallNanos / 1e9);
+            for (Simulation.Outcome outcome : Simulation.Outcome.values())
+                System.out.printf("  %-8s %d%n", outcome.name().toLowerCase(), OUTCOMES[outcome.ordinal()]);
+
+            System.out.printf("%nticks/sec  %.0f total, %.0f per thread%n", getTicksPerSecond(), ticks / (simNanos / 1e9));
+            System.out.printf("collisions/tick  %.2f average, %d peak%n", getCollisionsPerTick(), peakCollisions);
+
+            System.out.printf("%nphase  fights  avg length  peak bullets (avg, max, seed of max)%n");
+            for (int phase = 0; phase < Simulation.PHASES; phase++) {
+                if (REACHED[phase] == 0) {
+                    System.out.printf("%5d  %6d%n", phase + 1, 0);
+                    continue;
+                }
+
+                System.out.printf("%5d  %6d  %9.1fs  %6.0f %6d %6d%n",
+                        phase + 1,
+                        REACHED[phase],
+                        PHASE_TICKS[phase] * Simulation.TICK / REACHED[phase],
+                        PEAK_BULLETS_TOTAL[phase] / (double) REACHED[phase],
+                        PEAK_BULLETS[phase],
+                        PEAK_BULLET_SEEDS[phase]);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.coffee.sim;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.coffee.entity.components.*;
+import com.coffee.util.Mapper;
+
+/**
+ * Scripted stand-in for a player, which holds down shoot and fills in the inputs of the {@link PlayerComponent}
+ * the same way the keyboard would.
+ * <p>
+ * Every bullet close enough that's heading towards the player pushes it away, harder the closer it is.
+ * With nothing close, the player drifts back under the boss so its shots keep hitting. It's not a good player,
+ * but it plays the same way every time, so fights with the same seed turn out the same.
+ */
+public class DodgeBot {
+    /** How close a bullet has to be to be dodged */
+    public static final float DANGER_RADIUS = 96;
+
+    private static final float DEAD_ZONE = 0.15f, HOME_PULL = 1 / 64f, HOME_Y = 128;
+
+    private final Family THREATS;
+    private final Entity PLAYER;
+    private Entity target;
+
+    /**
+     * @param player the player {@code Entity} to steer
+     * @param target the {@code Entity} to stay under and shoot at, usually the boss
+     */
+    public DodgeBot(Entity player, Entity target) {
+        THREATS = Family.all(BulletComponent.class, TransformComponent.class, MovementComponent.class, ColliderComponent.class).get();
+        PLAYER = player;
+        this.target = target;
+    }
+
+    /**
+     * Sets the player's inputs for the next update.
+     */
+    public void update(Engine engine) {
+        final PlayerComponent INPUT = Mapper.PLAYER.get(PLAYER);
+        final TransformComponent TRANSFORM = Mapper.TRANSFORM.get(PLAYER);
+        final float
+                PLAYER_X = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x,
+                PLAYER_Y = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y;
+
+        float pushX = 0, pushY = 0;
+
+        // Get pushed away from everything coming this way
+        final ImmutableArray<Entity> BULLETS = engine.getEntitiesFor(THREATS);
+        for (int i = 0; i < BULLETS.size(); i++) {
+            final Entity BULLET = BULLETS.get(i);
+            final TransformComponent BULLET_TRANSFORM = Mapper.TRANSFORM.get(BULLET);
+            final MovementComponent MOVEMENT = Mapper.MOVEMENT.get(BULLET);
+            final float
+                    DX = BULLET_TRANSFORM.POSITION.x + BULLET_TRANSFORM.ORIGIN.x - PLAYER_X,
+                    DY = BULLET_TRANSFORM.POSITION.y + BULLET_TRANSFORM.ORIGIN.y - PLAYER_Y,
+                    DIST2 = DX * DX + DY * DY;
+
+            if (DIST2 > DANGER_RADIUS * DANGER_RADIUS || DIST2 < 1)
+                continue;
+
+            // Heading away, which includes the player's own shots
+            if (DX * MOVEMENT.MOVEMENT_NORMAL.x + DY * MOVEMENT.MOVEMENT_NORMAL.y > 0)
+                continue;
+
+            final float WEIGHT = DANGER_RADIUS / DIST2;
+            pushX -= DX * WEIGHT;
+            pushY -= DY * WEIGHT;
+        }
+
+        // Drift back under the target
+        if (target != null && Mapper.TRANSFORM.has(target)) {
+            final TransformComponent TARGET = Mapper.TRANSFORM.get(target);
+            pushX += (TARGET.POSITION.x + TARGET.ORIGIN.x - PLAYER_X) * HOME_PULL;
+        }
+        pushY += (HOME_Y - PLAYER_Y) * HOME_PULL;
+
+        INPUT.right = pushX > DEAD_ZONE ? 1 : 0;
+        INPUT.left = pushX < -DEAD_ZONE ? 1 : 0;
+        INPUT.up = pushY > DEAD_ZONE ? 1 : 0;
+        INPUT.down = pushY < -DEAD_ZONE ? 1 : 0;
+        INPUT.shoot = true;
+    }
+
+    /**
+     * @param target the {@code Entity} to stay under and shoot at, or null to just dodge
+     */
+    public void setTarget(Entity target) {
+        this.target = target;
+    }
+}
@@ -0,0 +1,295 @@
+package com.coffee.sim;
+
+import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.coffee.entity.EntityFactory;
+import com.coffee.entity.systems.ReplayPlayer;
+import com.coffee.util.Replay;
+import com.coffee.util.SystemProfiler;
+
+import java.io.File;
+import java.util.Arrays;
+
+/**
+ * Plays every replay in a directory as fast as it can go, measuring how long every system takes and how much it
+ * allocates per update, and compares that to a baseline. Anything that got worse by more than the threshold
+ * is a regression, and the benchmark exits with 1 so a build running it fails.
+ * <p>
+ * Replays play back exactly the way they were recorded, so every run does the same work. Every replay is played
+ * a few times first to let the JIT settle, and the best of the measured runs counts, which is the one least
+ * disturbed by everything else running on the machine. Neither timings nor allocations are the same everywhere,
+ * since how much the JIT manages to optimize away depends on the JVM and on how warmed up it is, so the baseline
+ * should be written on the machine the benchmark is run on, and is only compared to runs with the same warmup.
+ * <p>
+ * Options, all optional:
+ * <pre>
+ * --replays dir     the directory of replays to play (benchmarks/replays)
+ * --baseline file   the baseline to compare to (benchmarks/baseline.json)
+ * --threshold n     how much worse a system can get before it's a regression, 0.25 being 25% (0.25)
+ * --warmup n        unmeasured runs of every replay, which has to match the baseline's (2)
+ * --runs n          measured runs of every replay (3)
+ * --write-baseline  saves the results as the new baseline instead of comparing to it
+ * --assets dir      the assets directory (assets)
+ * </pre>
+ */
+public class ReplayBenchmark {
+    /** Differences smaller than these are noise, however big they are compared to the baseline */
+    public static final double MIN_NANOS = 2000, MIN_BYTES = 16;
+
+    public static void main(String[] args) throws Exception {
+        String replays = "benchmarks/replays", baseline = "benchmarks/baseline.json", assets = "assets";
+        float threshold = 0.25f;
+        int warmup = 2, runs = 3;
+        boolean writeBaseline = false;
+
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--write-baseline")) {
+                writeBaseline = true;
+                continue;
+            }
+
+            if (i + 1 >= args.length)
+                throw new GdxRuntimeException("Missing a value for " + args[i]);
+
+            switch (args[i]) {
+                case "--replays":
+                    replays = args[++i];
+                    break;
+                case "--baseline":
+                    baseline = args[++i];
+                    break;
+                case "--threshold":
+                    threshold = Float.parseFloat(args[++i]);
+                    break;
+                case "--warmup":
+                    warmup = Integer.parseInt(args[++i]);
+                    break;
+                case "--runs":
+                    runs = Integer.parseInt(args[++i]);
+                    break;
+                case "--assets":
+                    assets = args[++i];
+                    break;
+                default:
+                    throw new GdxRuntimeException("Unknown option " + args[i]);
+            }
+        }
+
+        final File[] FILES = new File(replays).listFiles((dir, name) -> name.endsWith(".replay"));
+        if (FILES == null || FILES.length == 0)
+            throw new GdxRuntimeException("No replays in " + replays);
+
+        // Always in the same order, so the JIT sees the same thing every time
+        Arrays.sort(FILES);
+
+        final Viewport VIEWPORT = BatchSimulator.init(new File(assets));
+        final FileHandle BASELINE = new FileHandle(new File(baseline));
+        Baseline base = null;
+
+        if (!writeBaseline) {
+            if (!BASELINE.exists())
+                throw new GdxRuntimeException("No baseline at " + BASELINE.path() + ", make one with --write-baseline");
+
+            // A different warmup gets the JIT to a different place, so the numbers can't be compared
+            base = read(BASELINE);
+            if (base.warmup != warmup)
+                throw new GdxRuntimeException("The baseline was written with --warmup " + base.warmup + ", so the benchmark has to use it too");
+        }
+
+        final Array<Measurement> RESULTS = run(VIEWPORT, FILES, warmup, runs);
+
+        if (writeBaseline) {
+            write(BASELINE, RESULTS, warmup);
+            print(RESULTS, null, threshold);
+            System.out.println("\nBaseline written to " + BASELINE.path());
+            return;
+        }
+
+        if (print(RESULTS, base.getSystems(), threshold) > 0)
+            System.exit(1);
+    }
+
+    /**
+     * Plays every replay, and puts together the time and allocations of every system per update.
+     */
+    public static Array<Measurement> run(Viewport viewport, File[] replays, int warmup, int runs) {
+        final ObjectMap<String, Measurement> RESULTS = new ObjectMap<>();
+        final Array<Measurement> ORDERED = new Array<>();
+        long ticks = 0;
+
+        for (File file : replays) {
+            final Replay REPLAY = Replay.read(new FileHandle(file));
+            final ObjectMap<String, Double> FASTEST = new ObjectMap<>(), LEAST = new ObjectMap<>();
+
+            for (int run = 0; run < warmup + runs; run++) {
+                final SystemProfiler PROFILER = play(viewport, REPLAY);
+
+                if (run < warmup)
+                    continue;
+
+                for (SystemProfiler.Stats stats : PROFILER.getStats()) {
+                    final double
+                        NANOS = stats.getNanosPerFrame() * stats.getFrames(),
+                        BYTES = stats.getBytesPerFrame() * stats.getFrames();
+                    Measurement measurement = RESULTS.get(stats.getName());
+
+                    if (measurement == null) {
+                        measurement = new Measurement(stats.getName());
+                        RESULTS.put(measurement.system, measurement);
+                        ORDERED.add(measurement);
+                    }
+
+                    // Allocations can still drop as the JIT optimizes more, so they're the best run's too
+                    FASTEST.put(stats.getName(), Math.min(FASTEST.get(stats.getName(), Double.MAX_VALUE), NANOS));
+                    LEAST.put(stats.getName(), Math.min(LEAST.get(stats.getName(), Double.MAX_VALUE), BYTES));
+                }
+            }
+
+            for (ObjectMap.Entry<String, Double> entry : FASTEST)
+                RESULTS.get(entry.key).nanosPerTick += entry.value;
+            for (ObjectMap.Entry<String, Double> entry : LEAST)
+                RESULTS.get(entry.key).bytesPerTick += entry.value;
+
+            ticks += REPLAY.getLength();
+            System.out.printf("%s  %d updates%n", file.getName(), REPLAY.getLength());
+        }
+
+        // So far they're totals over every replay
+        for (Measurement measurement : ORDERED) {
+            measurement.nanosPerTick /= ticks;
+            measurement.bytesPerTick /= ticks;
+        }
+
+        return ORDERED;
+    }
+
+    /**
+     * Plays a replay from the start in a new engine, one system at a time through a profiler.
+     */
+    private static SystemProfiler play(Viewport viewport, Replay replay) {
+        final PooledEngine ENGINE = new PooledEngine(64, 4096, 64, 4096);
+        final EntityFactory FACTORY = new EntityFactory(ENGINE);
+        final ReplayPlayer PLAYER = new ReplayPlayer(replay, FACTORY);
+
+        // Ashley makes families with a builder shared by every thread
+        synchronized (Simulation.class) {
+            Simulation.addSystems(FACTORY, viewport);
+            ENGINE.addSystem(PLAYER);
+        }
+
+        PLAYER.setVerifying(true);
+        PLAYER.seek(0);
+
+        // Only the totals are used, so nothing counts as steady-state and the profiler keeps quiet about it
+        final SystemProfiler PROFILER = new SystemProfiler(ENGINE, Integer.MAX_VALUE);
+        while (!PLAYER.isFinished())
+            PROFILER.update(PLAYER.getNextDelta());
+
+        // The replay still gets played, but it isn't the same work as it was when the baseline was made
+        if (PLAYER.getDesyncCount() > 0)
+            System.out.printf("Warning: the replay stopped matching its recording at update %d, it should be recorded again%n", PLAYER.getFirstDesync());
+
+        ENGINE.removeAllEntities();
+        return PROFILER;
+    }
+
+    /**
+     * Prints the results next to the baseline, if there is one.
+     *
+     * @return the number of regressions
+     */
+    public static int print(Array<Measurement> results, ObjectMap<String, Measurement> baseline, float threshold) {
+        int regressions = 0;
+
+        System.out.printf("%n%-24s %12s %12s %12s %12s%n", "System", "us/update", "baseline", "bytes/update", "baseline");
+        for (Measurement result : results) {
+            final Measurement BASE = baseline != null ? baseline.get(result.system) : null;
+            String verdict = "";
+
+            if (BASE != null) {
+                final boolean
+                    SLOWER = isWorse(result.nanosPerTick, BASE.nanosPerTick, threshold, MIN_NANOS),
+                    BIGGER = isWorse(result.bytesPerTick, BASE.bytesPerTick, threshold, MIN_BYTES);
+
+                if (SLOWER || BIGGER) {
+                    regressions++;
+                    verdict = SLOWER && BIGGER ? "  SLOWER, ALLOCATES MORE" : SLOWER ? "  SLOWER" : "  ALLOCATES MORE";
+                }
+            } else if (baseline != null)
+                verdict = "  new";
+
+            System.out.printf("%-24s %12.2f %12s %12.1f %12s%s%n",
+                result.system,
+                result.nanosPerTick / 1000,
+                BASE != null ? String.format("%.2f", BASE.nanosPerTick / 1000) : "-",
+                result.bytesPerTick,
+                BASE != null ? String.format("%.1f", BASE.bytesPerTick) : "-",
+                verdict);
+        }
+
+        if (baseline != null)
+            System.out.printf("%n%d regression%s past %.0f%%%n", regressions, regressions == 1 ? "" : "s", threshold * 100);
+
+        return regressions;
+    }
+
+    private static boolean isWorse(double value, double base, float threshold, double noise) {
+        return value > base * (1 + threshold) && value - base > noise;
+    }
+
+    public static Baseline read(FileHandle file) {
+        return new Json().fromJson(Baseline.class, file);
+    }
+
+    public static void write(FileHandle file, Array<Measurement> results, int warmup) {
+        final Json JSON = new Json(JsonWriter.OutputType.json);
+        final Baseline BASELINE = new Baseline();
+
+        BASELINE.warmup = warmup;
+        BASELINE.systems = results.toArray(Measurement.class);
+
+        file.writeString(JSON.prettyPrint(BASELINE), false);
+    }
+
+    /**
+     * The results the benchmark is compared to, and the warmup they were measured after.
+     */
+    public static class Baseline {
+        public int warmup;
+        public Measurement[] systems;
+
+        public ObjectMap<String, Measurement> getSystems() {
+            final ObjectMap<String, Measurement> SYSTEMS = new ObjectMap<>();
+
+            for (Measurement measurement : systems)
+                SYSTEMS.put(measurement.system, measurement);
+
+            return SYSTEMS;
+        }
+    }
+
+    /**
+     * The cost of one system per update, averaged over every replay.
+     */
+    public static class Measurement {
+        public String system;
+        public double nanosPerTick, bytesPerTick;
+
+        /**
+         * Only for reading from JSON.
+         */
+        public Measurement() {
+
+        }
+
+        public Measurement(String system) {
+            this.system = system;
+        }
+    }
+}
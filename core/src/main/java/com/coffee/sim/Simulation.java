@@ -0,0 +1,210 @@
+package com.coffee.sim;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.coffee.entity.EntityFactory;
+import com.coffee.entity.components.BulletComponent;
+import com.coffee.entity.components.HealthComponent;
+import com.coffee.entity.systems.*;
+import com.coffee.util.Mapper;
+import com.coffee.util.Replay;
+
+/**
+ * One boss fight on its own engine, with the {@link DodgeBot} playing, run as fast as it can go without
+ * drawing anything. {@link EntityFactory#initHeadless} and the bullet patterns have to be loaded first.
+ * <p>
+ * The engine has the same systems as the {@link com.coffee.main.screen.GameScreen GameScreen} minus the ones
+ * that draw, and no power-ups. Everything random comes from the seed, so a fight can be run again.
+ */
+public class Simulation {
+    /** Length of an update in seconds, the game's frame time */
+    public static final float TICK = 1 / 60f;
+    /** Number of boss phases, which change at every quarter of its health */
+    public static final int PHASES = 4;
+
+    public enum Outcome {
+        WIN, LOSS, TIMEOUT
+    }
+
+    private final PooledEngine ENGINE;
+    private final EntityFactory FACTORY;
+    private final CollisionSystem COLLISIONS;
+    private final DodgeBot BOT;
+    private final Entity PLAYER, BOSS;
+    private final ImmutableArray<Entity> BULLETS;
+    private final long SEED;
+
+    // Stats
+    private final int[] PEAK_BULLETS, PHASE_TICKS;
+    private long collisions, nanos;
+    private int ticks, peakCollisions;
+    private Outcome outcome;
+    private ReplayRecorder recorder;
+
+    public Simulation(Viewport viewport, long seed) {
+        // Ashley makes families with a builder shared by every thread, so only one engine can be set up at a time
+        synchronized (Simulation.class) {
+            ENGINE = new PooledEngine(64, 4096, 64, 4096);
+
+            FACTORY = new EntityFactory(ENGINE, seed);
+
+            addSystems(FACTORY, viewport);
+            COLLISIONS = ENGINE.getSystem(CollisionSystem.class);
+
+            PLAYER = FACTORY.createPlayer(viewport.getWorldWidth() / 2f, 128);
+            BOSS = FACTORY.createBossShip(viewport.getWorldWidth() / 2, viewport.getWorldHeight() * 2 / 3 + 64);
+            ENGINE.addEntity(PLAYER);
+            ENGINE.addEntity(BOSS);
+
+            BOT = new DodgeBot(PLAYER, BOSS);
+            BULLETS = ENGINE.getEntitiesFor(Family.all(BulletComponent.class).get());
+        }
+
+        SEED = seed;
+        PEAK_BULLETS = new int[PHASES];
+        PHASE_TICKS = new int[PHASES];
+    }
+
+    /**
+     * Adds every system of the {@link com.coffee.main.screen.GameScreen GameScreen} that isn't for drawing to the
+     * engine of the factory, in the same order. Only one thread can do this at a time, see the constructor.
+     */
+    public static void addSystems(EntityFactory factory, Viewport viewport) {
+        final PooledEngine ENGINE = factory.getEngine();
+
+        ENGINE.addSystem(new TimerSystem());
+        ENGINE.addSystem(new SpawnerSystem(factory));
+        ENGINE.addSystem(new PlayerSystem(viewport, factory));
+        ENGINE.addSystem(new AISystem(viewport, factory));
+        ENGINE.addSystem(new SpawnSystem(factory));
+        ENGINE.addSystem(new MovementSystem());
+        ENGINE.addSystem(new HealthSystem());
+        ENGINE.addSystem(new LifetimeSystem());
+        ENGINE.addSystem(new BulletSystem(viewport));
+        ENGINE.addSystem(new PatternSystem());
+        ENGINE.addSystem(new TargetingSystem());
+        ENGINE.addSystem(new HomingSystem());
+        ENGINE.addSystem(new CollisionSystem(viewport));
+    }
+
+    /**
+     * Records the fight into a {@link Replay} while it runs. Call this before {@link #run}.
+     *
+     * @param snapshotInterval the least number of seconds between snapshots
+     */
+    public void record(float snapshotInterval) {
+        synchronized (Simulation.class) {
+            ENGINE.addSystem(recorder = new ReplayRecorder(FACTORY, snapshotInterval));
+        }
+    }
+
+    /**
+     * @return the recording of the fight, or null if it wasn't recorded
+     */
+    public Replay getReplay() {
+        return recorder != null ? recorder.getReplay() : null;
+    }
+
+    /**
+     * Runs the fight until someone dies or the number of updates runs out.
+     *
+     * @param maxTicks the most updates to run
+     * @return how the fight ended
+     */
+    public Outcome run(int maxTicks) {
+        final long START = System.nanoTime();
+
+        while (outcome == null) {
+            final int PHASE = getPhase(Mapper.HEALTH.get(BOSS));
+
+            BOT.update(ENGINE);
+            ENGINE.update(TICK);
+            ticks++;
+
+            final int COLLISIONS_NOW = COLLISIONS.getCollisionCount();
+            collisions += COLLISIONS_NOW;
+            peakCollisions = Math.max(peakCollisions, COLLISIONS_NOW);
+            PEAK_BULLETS[PHASE] = Math.max(PEAK_BULLETS[PHASE], BULLETS.size());
+            PHASE_TICKS[PHASE]++;
+
+            // The AISystem removes the boss once it's out of health
+            if (Mapper.HEALTH.get(BOSS).health <= 0)
+                outcome = Outcome.WIN;
+            else if (Mapper.HEALTH.get(PLAYER).getHealthPercent() == 0 && Mapper.PLAYER.get(PLAYER).lives == 0)
+                outcome = Outcome.LOSS;
+            else if (ticks >= maxTicks)
+                outcome = Outcome.TIMEOUT;
+        }
+
+        nanos = System.nanoTime() - START;
+        ENGINE.removeAllEntities();
+        return outcome;
+    }
+
+    /**
+     * @return the phase of the boss with the specified health, from 0 at full health to {@code PHASES - 1}
+     */
+    public static int getPhase(HealthComponent health) {
+        final float PERCENT = health.getHealthPercent();
+
+        if (PERCENT >= 0.75f)
+            return 0;
+        else if (PERCENT >= 0.5f)
+            return 1;
+        else if (PERCENT >= 0.25f)
+            return 2;
+        else
+            return 3;
+    }
+
+    public long getSeed() {
+        return SEED;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public int getTicks() {
+        return ticks;
+    }
+
+    /**
+     * @return the time {@link #run} took in nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    public long getCollisions() {
+        return collisions;
+    }
+
+    public int getPeakCollisions() {
+        return peakCollisions;
+    }
+
+    /**
+     * @return the most bullets alive at once during the phase
+     */
+    public int getPeakBullets(int phase) {
+        return PEAK_BULLETS[phase];
+    }
+
+    /**
+     * @return the number of updates spent in the phase
+     */
+    public int getPhaseTicks(int phase) {
+        return PHASE_TICKS[phase];
+    }
+
+    /**
+     * @return the player's score at the end of the fight
+     */
+    public int getScore() {
+        return Mapper.PLAYER.get(PLAYER).score;
+    }
+}
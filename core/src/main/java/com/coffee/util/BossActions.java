@@ -2,16 +2,17 @@ package com.coffee.util;
 
 import com.badlogic.ashley.core.Engine;
 import com.badlogic.ashley.core.Entity;
-import com.badlogic.ashley.core.Family;
-import com.badlogic.ashley.utils.ImmutableArray;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Interpolation;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.coffee.entity.EntityFactory;
 import com.coffee.entity.components.*;
+import com.coffee.entity.systems.SpawnSystem;
+import com.coffee.entity.systems.TargetingSystem;
 
 /**
  * Class of actions that the boss can do.
@@ -78,10 +79,12 @@ public class BossActions {
     public static class ShotgunSpray extends Action {
         private float timer;
         boolean createdBall = false;
+        private final EntityFactory FACTORY;
         private final Engine ENGINE;
 
-        public ShotgunSpray(Engine e) {
-            ENGINE = e;
+        public ShotgunSpray(EntityFactory f) {
+            FACTORY = f;
+            ENGINE = f.getEngine();
         }
 
         public boolean act(Entity boss, float deltaTime) {
@@ -89,7 +92,7 @@ public class BossActions {
             TransformComponent TRANSFORM = Mapper.TRANSFORM.get(boss);
 
             if (!createdBall) {
-                ENGINE.addEntity(EntityFactory.createEnemyShotgunBlast(TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x, TRANSFORM.POSITION.y + 32, 0));
+                ENGINE.addEntity(FACTORY.createEnemyShotgunBlast(TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x, TRANSFORM.POSITION.y + 32, 0));
                 createdBall = true;
                 timer = 2.5f;
             } else
@@ -102,671 +105,117 @@ public class BossActions {
     /**
      * {@link Action Action} that creates a slow-moving spiral of bullets.
      */
-    public static class SimpleSpiralAttack extends Action {
-        private int iterations;
-        private float fireTimer;
-        private final Engine ENGINE;
-
-        public SimpleSpiralAttack(Engine e) {
-            ENGINE = e;
-        }
-
-        public boolean act (Entity boss, float deltaTime) {
-            AIComponent AI = Mapper.AI.get(boss);
-            TransformComponent TRANSFORM = Mapper.TRANSFORM.get(boss);
-
-           fireTimer += deltaTime;
-
-            if (fireTimer >= 0.1f) {
-                for (int i = 0; i < 6; i++) {
-                    float deg = iterations * 7 + i * 60;
-                    float xPlace = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x + 3 * MathUtils.cos(deg * MathUtils.degreesToRadians);
-                    float yPlace = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y + 3 * MathUtils.sin(deg * MathUtils.degreesToRadians);
-
-                    ENGINE.addEntity(EntityFactory.createEnemyBall(xPlace, yPlace, deg));
-                }
-
-                fireTimer = 0;
-                iterations++;
-            }
-
-            return iterations == 75;
+    public static class SimpleSpiralAttack extends PatternAttack {
+        public SimpleSpiralAttack(EntityFactory f) {
+            super(f, "SimpleSpiral");
         }
     }
 
     /**
      * {@link Action Action} that has the boss shoot one laser at the player.
      */
-    public static class SimpleLaserAttack extends Action {
-        private float fireTimer;
-        private int iterations;
-        private final Vector2 TARGET;
-        private final Engine ENGINE;
-        private final Viewport VIEWPORT;
-
-        public SimpleLaserAttack(Engine e, Viewport v) {
-            ENGINE = e;
-            VIEWPORT = v;
-
-            TARGET = new Vector2(VIEWPORT.getWorldWidth() / 2, VIEWPORT.getWorldHeight() / 2);
-        }
-
-        public boolean act(Entity boss, float deltaTime) {
-            AIComponent AI = Mapper.AI.get(boss);
-            TransformComponent TRANSFORM = Mapper.TRANSFORM.get(boss);
-
-            fireTimer += deltaTime;
-
-            if (iterations == 0) { // Assume that if we have not shot a bullet yet, we have not even specified a target
-                final ImmutableArray<Entity> PLAYERS = ENGINE.getEntitiesFor(Family.all(PlayerComponent.class, TransformComponent.class).get());
-                if (PLAYERS.size() != 0) {
-                    TransformComponent PLAYER_TRANS = Mapper.TRANSFORM.get(PLAYERS.first());
-
-                    TARGET.set(PLAYER_TRANS.POSITION).add(PLAYER_TRANS.ORIGIN);
-                }
-            }
-
-            if (fireTimer >= 0.001f) {
-                final Vector2 SELF_LOC = new Vector2(TRANSFORM.POSITION).add(TRANSFORM.ORIGIN);
-
-                float theta = MathUtils.atan2(TARGET.y - SELF_LOC.y, TARGET.x - SELF_LOC.x);
-
-                float xPlace = SELF_LOC.x + 3 * MathUtils.cos(theta);
-                float yPlace = SELF_LOC.y + 3 * MathUtils.sin(theta);
-
-                final Entity E = EntityFactory.createEnemyBullet(xPlace, yPlace, theta * MathUtils.radDeg);
-                final MovementComponent MOVE = Mapper.MOVEMENT.get(E);
-                final BulletComponent BULLET = Mapper.BULLET.get(E);
-
-                MOVE.moveSpeed = 10;
-                BULLET.damage = 2;
-
-                ENGINE.addEntity(E);
-
-                fireTimer = 0;
-                iterations++;
-            }
-
-            return iterations == 250;
+    public static class SimpleLaserAttack extends PatternAttack {
+        public SimpleLaserAttack(EntityFactory f, Viewport v) {
+            super(f, v, "SimpleLaser");
         }
     }
 
     /**
      * {@link Action Action} that has the boss create bullets that launch towards the player and fade away.
      */
-    public static class InvisibleHomingBulletsAttack extends Action {
-        private float fireTimer;
-        private final Engine ENGINE;
-
-        public InvisibleHomingBulletsAttack(Engine e) {
-            ENGINE = e;
-        }
-
-        public boolean act(Entity entity, float deltaTime) {
-            AIComponent AI = Mapper.AI.get(entity);
-            TransformComponent TRANSFORM = Mapper.TRANSFORM.get(entity);
-            HealthComponent HEALTH = Mapper.HEALTH.get(entity);
-
-            fireTimer += deltaTime;
-
-            if (fireTimer >= 0.1f) {
-                for (int i = 0; i < 6; i++) {
-                    float deg = 220 + i * 20;
-                    float xPlace = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x + 3 * MathUtils.cos(deg * MathUtils.degreesToRadians);
-                    float yPlace = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y + 3 * MathUtils.sin(deg * MathUtils.degreesToRadians);
-
-                    ENGINE.addEntity(EntityFactory.createHomingEnemyBullet(xPlace, yPlace, deg));
-                }
-                return true;
-            }
-            return false;
+    public static class InvisibleHomingBulletsAttack extends PatternAttack {
+        public InvisibleHomingBulletsAttack(EntityFactory f) {
+            super(f, "InvisibleHomingBullets");
         }
     }
 
     /**
      * {@link Action Action} that shoots a spiral of fading bullets.
      */
-    public static class TempestBloom extends Action {
-        private float fireTimer;
-        private int iterations;
-        private final Engine ENGINE;
-
-        public TempestBloom(Engine e) {
-            ENGINE = e;
-        }
-
-        public boolean act(Entity entity, float deltaTime) {
-            AIComponent AI = Mapper.AI.get(entity);
-            TransformComponent TRANSFORM = Mapper.TRANSFORM.get(entity);
-            HealthComponent HEALTH = Mapper.HEALTH.get(entity);
-
-            fireTimer += deltaTime;
-
-            if (fireTimer >= 0.1f) {
-                for (int i = 0; i < 6; i++) {
-                    float deg = iterations * 7 + i * 60;
-                    float xPlace = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x + 3 * MathUtils.cos(deg * MathUtils.degreesToRadians);
-                    float yPlace = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y + 3 * MathUtils.sin(deg * MathUtils.degreesToRadians);
-
-                    final Entity E = EntityFactory.createEnemyBullet(xPlace, yPlace, deg);
-                    final BulletComponent BULLET = Mapper.BULLET.get(E);
-                    final SpriteComponent SPRITE = Mapper.SPRITE.get(E);
-                    final MovementComponent MOVE = Mapper.MOVEMENT.get(E);
-
-                    BULLET.handler = (float dt) -> SPRITE.SPRITES.get(0).setColor(
-                        SPRITE.SPRITES.get(0).getColor().r,
-                        MathUtils.clamp(SPRITE.SPRITES.get(0).getColor().g - dt, 0, 1),
-                        MathUtils.clamp(SPRITE.SPRITES.get(0).getColor().b - dt, 0, 1),
-                        MathUtils.clamp(SPRITE.SPRITES.get(0).getColor().a - dt / 20f, 0, 1)
-                    );
-
-                    ENGINE.addEntity(E);
-                }
-
-                fireTimer = 0;
-                iterations++;
-            }
-            return iterations == 75;
+    public static class TempestBloom extends PatternAttack {
+        public TempestBloom(EntityFactory f) {
+            super(f, "TempestBloom");
         }
     }
 
     /**
      * {@link Action Action} that fires a cone of bullets.
      */
-    public static class SimpleConeAttack extends Action {
-        private float fireTimer;
-        private int iterations;
-        private final Engine ENGINE;
-
-        public SimpleConeAttack(Engine e) {
-            ENGINE = e;
-        }
-
-        public boolean act(Entity entity, float deltaTime) {
-            AIComponent AI = Mapper.AI.get(entity);
-            TransformComponent TRANSFORM = Mapper.TRANSFORM.get(entity);
-            HealthComponent HEALTH = Mapper.HEALTH.get(entity);
-
-            fireTimer += deltaTime;
-
-            if (fireTimer >= 0.15) {
-                if (iterations % 2 == 0)
-                    for (int i = 0; i < 17; i++) {
-                        float deg = 190 + i * 10;
-                        float xPlace = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x + 3 * MathUtils.cos(deg * MathUtils.degreesToRadians);
-                        float yPlace = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y + 3 * MathUtils.sin(deg * MathUtils.degreesToRadians);
-
-                        final Entity E = EntityFactory.createEnemyBullet(xPlace, yPlace, deg);
-                        final MovementComponent MOVEMENT = Mapper.MOVEMENT.get(E);
-                        final BulletComponent BULLET = Mapper.BULLET.get(E);
-
-                        MOVEMENT.moveSpeed = 7;
-                        BULLET.handler = (float dt) -> {
-                            if (MOVEMENT.moveSpeed != 2) {
-                                if (MOVEMENT.moveSpeed > 2)
-                                    MOVEMENT.moveSpeed -= dt * 3;
-                                if (MOVEMENT.moveSpeed < 2)
-                                    MOVEMENT.moveSpeed = 2;
-                            }
-                        };
-
-                        ENGINE.addEntity(E);
-                    }
-                else
-                    for (int i = 0; i < 16; i++) {
-                        float deg = 195 + i * 10;
-                        float xPlace = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x + 3 * MathUtils.cos(deg * MathUtils.degreesToRadians);
-                        float yPlace = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y + 3 * MathUtils.sin(deg * MathUtils.degreesToRadians);
-
-                        final Entity E = EntityFactory.createEnemyBullet(xPlace, yPlace, deg);
-                        final MovementComponent MOVEMENT = Mapper.MOVEMENT.get(E);
-                        final BulletComponent BULLET = Mapper.BULLET.get(E);
-
-                        MOVEMENT.moveSpeed = 7;
-                        BULLET.handler = (float dt) -> {
-                            if (MOVEMENT.moveSpeed != 2) {
-                                if (MOVEMENT.moveSpeed > 2)
-                                    MOVEMENT.moveSpeed -= dt * 3;
-                                if (MOVEMENT.moveSpeed < 2)
-                                    MOVEMENT.moveSpeed = 2;
-                            }
-                        };
-
-                        ENGINE.addEntity(E);
-                    }
-
-                fireTimer = 0;
-                iterations++;
-            }
-            return iterations == 20;
+    public static class SimpleConeAttack extends PatternAttack {
+        public SimpleConeAttack(EntityFactory f) {
+            super(f, "SimpleCone");
         }
     }
 
     /**
      * {@link Action Action} that fires a circle of homing bullets.
      */
-    public static class HomingBulletCircleAttack extends Action {
-        private float fireTimer;
-        private int iterations;
-        private final Engine ENGINE;
-
-        public HomingBulletCircleAttack(Engine e) {
-            ENGINE = e;
-        }
-
-        public boolean act(Entity entity, float deltaTime) {
-            AIComponent AI = Mapper.AI.get(entity);
-            TransformComponent TRANSFORM = Mapper.TRANSFORM.get(entity);
-            HealthComponent HEALTH = Mapper.HEALTH.get(entity);
-
-            fireTimer += deltaTime;
-
-            if (fireTimer >= 0.1f) {
-                for (int i = 0; i < 6; i++) {
-                    float deg = iterations * 7 + i * 60;
-                    float xPlace = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x + 3 * MathUtils.cos(deg * MathUtils.degreesToRadians);
-                    float yPlace = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y + 3 * MathUtils.sin(deg * MathUtils.degreesToRadians);
-
-                    ENGINE.addEntity(EntityFactory.createHomingEnemyBullet(xPlace, yPlace, deg));
-                }
-
-                fireTimer = 0;
-                iterations++;
-            }
-            return iterations == 9;
+    public static class HomingBulletCircleAttack extends PatternAttack {
+        public HomingBulletCircleAttack(EntityFactory f) {
+            super(f, "HomingBulletCircle");
         }
     }
 
     /**
      * {@link Action Action} that has the boss creates 3 balls that shoot lasers at the player.
      */
-    public static class TripleLaserBallAttack extends Action {
-        private float fireTimer;
-        private final Engine ENGINE;
-        private final Viewport VIEWPORT;
-
-        public TripleLaserBallAttack(Engine e, Viewport v) {
-            ENGINE = e;
-            VIEWPORT = v;
-        }
-
-        public boolean act(Entity entity, float deltaTime) {
-            AIComponent AI = Mapper.AI.get(entity);
-            TransformComponent TRANSFORM = Mapper.TRANSFORM.get(entity);
-            HealthComponent HEALTH = Mapper.HEALTH.get(entity);
-
-            fireTimer += deltaTime;
-
-            if (fireTimer >= 0.1f) {
-                final Vector2
-                        WORLD_CENTER = new Vector2(VIEWPORT.getWorldWidth() / 2, VIEWPORT.getWorldHeight() / 2),
-                        TRANS_CENTER = new Vector2(TRANSFORM.POSITION).add(TRANSFORM.ORIGIN);
-
-                float theta = MathUtils.radDeg * MathUtils.atan2(WORLD_CENTER.y - TRANS_CENTER.y, WORLD_CENTER.x - TRANS_CENTER.x);
-
-                for (int i = 0; i < 3; i++) {
-                    float deg = theta + i * 30 - 30;
-                    float xPlace = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x + 3 * MathUtils.cos(deg * MathUtils.degreesToRadians);
-                    float yPlace = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y + 3 * MathUtils.sin(deg * MathUtils.degreesToRadians);
-
-                    ENGINE.addEntity(EntityFactory.createEnemyLaserEmitter(xPlace, yPlace, deg));
-                }
-                return true;
-            }
-            return false;
+    public static class TripleLaserBallAttack extends PatternAttack {
+        public TripleLaserBallAttack(EntityFactory f, Viewport v) {
+            super(f, v, "TripleLaserBall");
         }
     }
 
     /**
      * {@link Action Action} that has the boss creates 4 laser-emitting balls in 4 directions.
      */
-    public static class QuadLaserBallAttack extends Action {
-        private final Engine ENGINE;
-        private final float OFFSET;
-        private float timer;
-
-        public QuadLaserBallAttack(Engine e, float offset) {
-            ENGINE = e;
-            OFFSET = offset;
-        }
-
-        @Override
-        public boolean act(Entity boss, float deltaTime) {
-            timer += deltaTime;
-
-            if (timer >= 0.1f) {
-                TransformComponent TRANSFORM = Mapper.TRANSFORM.get(boss);
-
-                for (int i = 0; i < 4; i++) {
-                    float deg = OFFSET + i * 90;
-                    float xPlace = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x + 3 * MathUtils.cos(deg * MathUtils.degreesToRadians);
-                    float yPlace = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y + 3 * MathUtils.sin(deg * MathUtils.degreesToRadians);
-
-                    final Entity B = EntityFactory.createEnemyLaserEmitter(xPlace, yPlace, deg);
-                    final BulletComponent BULLET = Mapper.BULLET.get(B);
-
-                    BULLET.despawnTime = 1f;
-
-                    ENGINE.addEntity(B);
-                }
-                return true;
-            }
-
-            return false;
+    public static class QuadLaserBallAttack extends PatternAttack {
+        public QuadLaserBallAttack(EntityFactory f, float offset) {
+            super(f, null, "QuadLaserBall", offset);
         }
     }
 
     /**
      * {@link Action Action} that has the boss create a wave of shifting spiraling bullets.
      */
-    public static class ShiftingSpiralAttack extends Action {
-        private float fireTimer;
-        private int iterations;
-        private final Engine ENGINE;
-
-        public ShiftingSpiralAttack(Engine e) {
-            ENGINE = e;
-        }
-
-        public boolean act(Entity entity, float deltaTime) {
-            AIComponent AI = Mapper.AI.get(entity);
-            TransformComponent TRANSFORM = Mapper.TRANSFORM.get(entity);
-            HealthComponent HEALTH = Mapper.HEALTH.get(entity);
-
-            fireTimer += deltaTime;
-
-            if (fireTimer >= 0.1) {
-                for (int i = 0; i < 6; i++) {
-                    float deg = iterations * 7 + i * 60;
-                    float xPlace = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x + 3 * MathUtils.cos(deg * MathUtils.degreesToRadians);
-                    float yPlace = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y + 3 * MathUtils.sin(deg * MathUtils.degreesToRadians);
-
-                    final Entity E = EntityFactory.createEnemyBall(xPlace, yPlace, deg);
-                    final MovementComponent MOVE = Mapper.MOVEMENT.get(E);
-                    final SpriteComponent SPRITE = Mapper.SPRITE.get(E);
-                    final BulletComponent BULLET = Mapper.BULLET.get(E);
-
-                    SPRITE.SPRITES.first().setColor(221 / 255f, 66f / 255f, 121f / 255f, 1);
-
-                    BULLET.damage = 6;
-                    BULLET.handler = (float dt) -> {
-                        SPRITE.SPRITES.get(0).setColor(
-                                MathUtils.clamp(SPRITE.SPRITES.get(0).getColor().r - dt / 20f, 0, 1),
-                                MathUtils.clamp(SPRITE.SPRITES.get(0).getColor().g - dt / 15f, 0, 1),
-                                MathUtils.clamp(SPRITE.SPRITES.get(0).getColor().b + dt / 2f, 0, 1),
-                                SPRITE.SPRITES.get(0).getColor().a
-                        );
-                        MOVE.MOVEMENT_NORMAL.rotate(dt * 24);
-                        MOVE.moveSpeed += dt;
-                    };
-
-                    ENGINE.addEntity(E);
-                }
-
-                fireTimer = 0;
-                iterations++;
-            }
-            return iterations == 50;
+    public static class ShiftingSpiralAttack extends PatternAttack {
+        public ShiftingSpiralAttack(EntityFactory f) {
+            super(f, "ShiftingSpiral");
         }
     }
 
     /**
      * {@link Action Action} that is an inverted version of the {@link ShiftingSpiralAttack}.
      */
-    public static class ReverseShiftingSpiralAttack extends Action {
-        private float fireTimer;
-        private int iterations;
-        private final Engine ENGINE;
-
-        public ReverseShiftingSpiralAttack(Engine e) {
-            ENGINE = e;
-        }
-
-        public boolean act(Entity entity, float deltaTime) {
-            AIComponent AI = Mapper.AI.get(entity);
-            TransformComponent TRANSFORM = Mapper.TRANSFORM.get(entity);
-
-            fireTimer += deltaTime;
-
-            if (fireTimer >= 0.1) {
-                for (int i = 0; i < 6; i++) {
-                    float deg = iterations * 7 + i * 60;
-                    float xPlace = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x + 3 * MathUtils.cos(deg * MathUtils.degreesToRadians);
-                    float yPlace = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y + 3 * MathUtils.sin(deg * MathUtils.degreesToRadians);
-
-                    final Entity E = EntityFactory.createEnemyBall(xPlace, yPlace, deg);
-                    final MovementComponent MOVE = Mapper.MOVEMENT.get(E);
-                    final SpriteComponent SPRITE = Mapper.SPRITE.get(E);
-                    final BulletComponent BULLET = Mapper.BULLET.get(E);
-
-                    SPRITE.SPRITES.first().setColor(221 / 255f, 66f / 255f, 121f / 255f, 1);
-
-                    MOVE.moveSpeed = 0;
-
-                    BULLET.damage = 6;
-                    BULLET.handler = (float dt) -> {
-                        SPRITE.SPRITES.get(0).setColor(
-                                MathUtils.clamp(SPRITE.SPRITES.get(0).getColor().r - dt / 20f, 0, 1),
-                                MathUtils.clamp(SPRITE.SPRITES.get(0).getColor().g + dt / 2f, 0, 1),
-                                MathUtils.clamp(SPRITE.SPRITES.get(0).getColor().b - dt / 15f, 0, 1),
-                                SPRITE.SPRITES.get(0).getColor().a
-                        );
-                        MOVE.MOVEMENT_NORMAL.rotate(-dt * 22);
-                        MOVE.moveSpeed += dt * 2;
-                    };
-
-                    ENGINE.addEntity(E);
-                }
-
-                fireTimer = 0;
-                iterations++;
-            }
-            return iterations == 50;
+    public static class ReverseShiftingSpiralAttack extends PatternAttack {
+        public ReverseShiftingSpiralAttack(EntityFactory f) {
+            super(f, "ReverseShiftingSpiral");
         }
     }
 
     /**
      * {@link Action Action} that shoots a wave of fading bullets.
      */
-    public static class ImperishableNight extends Action {
-        private float fireTimer;
-        private int iterations;
-        private final Engine ENGINE;
-
-        public ImperishableNight(Engine e) {
-            ENGINE = e;
-        }
-
-        public boolean act(Entity entity, float deltaTime) {
-            AIComponent AI = Mapper.AI.get(entity);
-            TransformComponent TRANSFORM = Mapper.TRANSFORM.get(entity);
-
-            fireTimer += deltaTime;
-
-            if (fireTimer >= 0.1f) {
-                float xPlace;
-                float yPlace;
-
-                if (iterations % 20 != 0) { // Spiral Attack
-                    for (int i = 0; i < 12; i++) {
-                        float deg = iterations * 7 + i * 30;
-                        xPlace = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x + 3 * MathUtils.cos(deg * MathUtils.degreesToRadians);
-                        yPlace = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y + 3 * MathUtils.sin(deg * MathUtils.degreesToRadians);
-
-                        final Entity B = EntityFactory.createEnemyBall(xPlace, yPlace, deg);
-                        final SpriteComponent SPRITE = Mapper.SPRITE.get(B);
-                        final BulletComponent BULLET = Mapper.BULLET.get(B);
-                        final MovementComponent MOVE = Mapper.MOVEMENT.get(B);
-
-                        MOVE.moveSpeed = 2;
-                        BULLET.handler = new BulletHandler() {
-                            private float timer = 0;
-                            @Override
-                            public void update(float dt) {
-                                timer += dt / 2f;
-                                SPRITE.SPRITES.first().setColor(Color.RED.cpy().lerp(new Color(0, 0, 1f, 0), (MathUtils.cos(timer * MathUtils.PI2) + 1) / 2f));
-                                MOVE.MOVEMENT_NORMAL.rotate(dt * 5);
-                            }
-                        };
-
-                        ENGINE.addEntity(B);
-                    }
-                }
-                fireTimer = 0;
-                iterations++;
-            }
-            return iterations == 70;
+    public static class ImperishableNight extends PatternAttack {
+        public ImperishableNight(EntityFactory f) {
+            super(f, "ImperishableNight");
         }
     }
 
     /**
      * {@link Action Action} that shoots a bullets that loops into a flower shape
      */
-    public static class SpringBlossom extends Action {
-        private float fireTimer;
-        private int iterations;
-        private final Engine ENGINE;
-
-        public SpringBlossom(Engine e) {
-            ENGINE = e;
-        }
-
-        public boolean act(Entity entity, float deltaTime) {
-            AIComponent AI = Mapper.AI.get(entity);
-            TransformComponent TRANSFORM = Mapper.TRANSFORM.get(entity);
-
-            fireTimer += deltaTime;
-
-            if (fireTimer >= 0.10f) {
-                float xPlace;
-                float yPlace;
-
-                for (int i = 0; i < 5; i++) {
-                    float deg = iterations * 7 + i * 72;
-                    xPlace = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x + 3 * MathUtils.cos(deg * MathUtils.degreesToRadians);
-                    yPlace = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y + 3 * MathUtils.sin(deg * MathUtils.degreesToRadians);
-
-                    final Entity B = EntityFactory.createEnemyBall(xPlace, yPlace, deg);
-                    final SpriteComponent SPRITE = Mapper.SPRITE.get(B);
-                    final BulletComponent BULLET = Mapper.BULLET.get(B);
-                    final MovementComponent MOVE = Mapper.MOVEMENT.get(B);
-                    final TransformComponent TRANS = Mapper.TRANSFORM.get(B);
-
-                    BULLET.despawnTime = -1;
-                    BULLET.damage = 3;
-                    MOVE.moveSpeed = 7;
-
-                    BULLET.handler = new BulletHandler() {
-                        private final float TURN_RATE = 90f; // Rate in degrees/sec
-                        private float colorTimer, angleTimer;
-                        private boolean looped;
-                        private float targetX = 0, targetY = 0;
-
-                        @Override
-                        public void update(float dt) {
-                            float angleDelta = dt * TURN_RATE;
-
-                            colorTimer += dt / 2f;
-
-                            if (!looped) {
-                                SPRITE.SPRITES.first().setColor(Color.RED.cpy().lerp(Color.WHITE, (MathUtils.cos(colorTimer * MathUtils.PI2) + 1) / 2f));
-
-                                angleTimer += angleDelta;
-
-                                MOVE.MOVEMENT_NORMAL.rotate(angleDelta);
-                                if (angleTimer >= 359) {
-                                    /*BULLET.despawnTime = 0;
-                                    colorTimer = 0;
-                                    looped = true;*/
-                                    ENGINE.removeEntity(B);
-                                }
-                            } else
-                                SPRITE.SPRITES.first().setColor(Color.WHITE.cpy().lerp(Color.GREEN, colorTimer * 2f));
-
-                        }
-                    };
-
-                    ENGINE.addEntity(B);
-                }
-
-                fireTimer = 0;
-                iterations++;
-            }
-            return iterations == 70;
+    public static class SpringBlossom extends PatternAttack {
+        public SpringBlossom(EntityFactory f) {
+            super(f, "SpringBlossom");
         }
     }
 
     /**
      * {@link Action Action} that shoots helix of lasers.
      */
-    public static class HelixLaserAttack extends Action {
-        private float fireTimer;
-        private float iterations;
-        private final Vector2 TARGET;
-        private final Engine ENGINE;
-
-        public HelixLaserAttack(Engine e, Viewport v) {
-            ENGINE = e;
-            TARGET = new Vector2(v.getWorldWidth() / 2, v.getWorldHeight() / 2);
-        }
-
-        public boolean act(Entity entity, float deltaTime) {
-            AIComponent AI = Mapper.AI.get(entity);
-            TransformComponent TRANSFORM = Mapper.TRANSFORM.get(entity);
-
-            fireTimer += deltaTime;
-
-            if (iterations == 0) {
-                final ImmutableArray<Entity> PLAYERS;
-                PLAYERS = ENGINE.getEntitiesFor(Family.all(PlayerComponent.class, TransformComponent.class).get());
-                if (PLAYERS.size() != 0) {
-                    TransformComponent PLAYER_TRANS = Mapper.TRANSFORM.get(PLAYERS.first());
-
-                    TARGET.set(PLAYER_TRANS.POSITION).add(PLAYER_TRANS.ORIGIN);
-                }
-            }
-
-            if (fireTimer >= 0.001f) {
-                final Vector2 SELF_LOC = new Vector2(TRANSFORM.POSITION).add(TRANSFORM.ORIGIN);
-
-                float theta = MathUtils.atan2(TARGET.y - SELF_LOC.y, TARGET.x - SELF_LOC.x);
-
-                float xPlace = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x + 3 * MathUtils.cos(theta);
-                float yPlace = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y + 3 * MathUtils.sin(theta);
-
-                final Entity B = EntityFactory.createEnemyBullet(xPlace, yPlace, theta * MathUtils.radDeg);
-                final SpriteComponent SPRITE = Mapper.SPRITE.get(B);
-                final BulletComponent BULLET = Mapper.BULLET.get(B);
-                final MovementComponent MOVE = Mapper.MOVEMENT.get(B);
-
-                BULLET.damage = 2;
-                MOVE.moveSpeed = 10;
-
-                if (iterations % 2 == 0)
-                    BULLET.handler = new BulletHandler() {
-                        private float timer = 0;
-                        @Override
-                        public void update(float dt) {
-                            MOVE.MOVEMENT_NORMAL.setAngle((theta * MathUtils.radDeg) + MathUtils.cos(timer * MathUtils.PI2) * 50);
-                            timer += dt * 2;
-                        }
-                    };
-                else
-                    BULLET.handler = new BulletHandler() {
-                        private float timer = 0;
-                        @Override
-                        public void update(float dt) {
-                            MOVE.MOVEMENT_NORMAL.setAngle((theta * MathUtils.radDeg) - MathUtils.cos(timer * MathUtils.PI2) * 50);
-                            timer += dt * 2;
-                        }
-                    };
-
-                ENGINE.addEntity(B);
-
-                fireTimer = 0;
-                iterations++;
-            }
-            return iterations == 250;
+    public static class HelixLaserAttack extends PatternAttack {
+        public HelixLaserAttack(EntityFactory f, Viewport v) {
+            super(f, v, "HelixLaser");
         }
     }
 
@@ -774,91 +223,9 @@ public class BossActions {
      * A stronger version of {@link HelixLaserAttack}
      */
     // TODO this might actually be a combo of helix and regular laser. Will keep for now to keep consistencies.
-    public static class HelixPlusAttack extends Action {
-        private float timer;
-        private int iterations;
-        private final Vector2 TARGET;
-        private final Engine ENGINE;
-
-        public HelixPlusAttack(Engine e, Viewport v) {
-            ENGINE = e;
-            TARGET = new Vector2(v.getWorldWidth() / 2, v.getWorldHeight() / 2);
-        }
-
-        public boolean act(Entity entity, float deltaTime) {
-            AIComponent AI = Mapper.AI.get(entity);
-            TransformComponent TRANSFORM = Mapper.TRANSFORM.get(entity);
-
-            timer += deltaTime;
-
-
-            if (iterations < 250) {
-                if (iterations == 0) {
-                    final ImmutableArray<Entity> PLAYERS = ENGINE.getEntitiesFor(Family.all(PlayerComponent.class, TransformComponent.class).get());
-                    if (PLAYERS.size() != 0) {
-                        TransformComponent PLAYER_TRANS = Mapper.TRANSFORM.get(PLAYERS.first());
-
-                        TARGET.set(PLAYER_TRANS.POSITION).add(PLAYER_TRANS.ORIGIN);
-                    }
-                }
-
-                if (timer >= 0.0001f) {
-                    final Vector2 SELF_LOC = new Vector2(TRANSFORM.POSITION).add(TRANSFORM.ORIGIN);
-                    float xPlace, yPlace;
-
-                    if (iterations % 200 != 0) { // All laser scenarios
-                        float theta = MathUtils.atan2(TARGET.y - SELF_LOC.y, TARGET.x - SELF_LOC.x);
-                        xPlace = SELF_LOC.x + 3 * MathUtils.cos(theta);
-                        yPlace = SELF_LOC.y + 3 * MathUtils.sin(theta);
-
-                        final Entity B = EntityFactory.createEnemyBullet(xPlace, yPlace, theta * MathUtils.radDeg);
-                        final SpriteComponent SPRITE = Mapper.SPRITE.get(B);
-                        final BulletComponent BULLET = Mapper.BULLET.get(B);
-                        final MovementComponent MOVE = Mapper.MOVEMENT.get(B);
-
-                        MOVE.moveSpeed = 10;
-                        BULLET.damage = 2;
-
-                        if (iterations % 3 == 0)
-                            BULLET.handler = new BulletHandler() {
-                                private float timer;
-                                @Override
-                                public void update(float dt) {
-                                    MOVE.MOVEMENT_NORMAL.setAngle((theta * MathUtils.radDeg) + MathUtils.cos(timer * MathUtils.PI2) * 50);
-                                    timer += dt * 2;
-                                }
-                            };
-                        else if (iterations % 3 == 1)
-                            BULLET.handler = new BulletHandler() {
-                                private float timer;
-                                @Override
-                                public void update(float dt) {
-                                    MOVE.MOVEMENT_NORMAL.setAngle((theta * MathUtils.radDeg) - MathUtils.cos(timer * MathUtils.PI2) * 50);
-                                    timer += dt * 2;
-                                }
-                            };
-                        else if (iterations % 3 == 2)
-                            BULLET.handler = null;
-
-                        ENGINE.addEntity(B);
-
-                    } else { // Lasers
-                        for (int i = 0; i < 3; i++) {
-                            float theta = iterations * 7 + i * 120;
-                            xPlace = SELF_LOC.x + 3 * MathUtils.cos(theta * MathUtils.degreesToRadians);
-                            yPlace = SELF_LOC.y + 3 * MathUtils.sin(theta * MathUtils.degreesToRadians);
-
-                            ENGINE.addEntity(EntityFactory.createEnemyLaserEmitter(xPlace, yPlace, theta));
-                        }
-                    }
-
-                    timer = 0;
-                    iterations++;
-                }
-            } else {
-                return timer >= 5f;
-            }
-            return false;
+    public static class HelixPlusAttack extends PatternAttack {
+        public HelixPlusAttack(EntityFactory f, Viewport v) {
+            super(f, v, "HelixPlus");
         }
     }
 
@@ -866,53 +233,9 @@ public class BossActions {
      * {@link Action Action} that has the boss shoot a fast stream of bullets in all directions.
      */
     // TODO improve this
-    public static class LunaticGun extends Action {
-        private float fireTimer;
-        private int iterations;
-        private final Engine ENGINE;
-
-        public LunaticGun (Engine e) {
-            ENGINE = e;
-        }
-
-        public boolean act(Entity entity, float deltaTime) {
-            AIComponent AI = Mapper.AI.get(entity);
-            TransformComponent TRANSFORM = Mapper.TRANSFORM.get(entity);
-
-            fireTimer += deltaTime;
-
-            if (fireTimer >= 0.002f) {
-                for (int i = 0; i < 8; i++) {
-                    float deg = iterations * 35;
-                    float xPlace = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x + 3 * MathUtils.cos(deg * MathUtils.degreesToRadians);
-                    float yPlace = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y + 3 * MathUtils.sin(deg * MathUtils.degreesToRadians);
-
-                    final Entity BALL = EntityFactory.createEnemyBall(xPlace, yPlace, deg);
-                    final SpriteComponent SPRITE = Mapper.SPRITE.get(BALL);
-                    final BulletComponent BULLET = Mapper.BULLET.get(BALL);
-                    final MovementComponent MOVE = Mapper.MOVEMENT.get(BALL);
-
-                    SPRITE.SPRITES.first().setColor(1, 174 / 255f, 117 / 255f, 1);
-
-                    MOVE.moveSpeed = MathUtils.lerp(7, 4, i / 6.0f);
-
-                    BULLET.damage = 3;
-
-                    BULLET.handler = (float dt) -> {
-                        if (MOVE.moveSpeed > 4) {
-                            MOVE.moveSpeed -= dt * 3;
-                            if (MOVE.moveSpeed <= 4)
-                                MOVE.moveSpeed = 4;
-                        }
-                    };
-
-                    ENGINE.addEntity(BALL);
-                }
-
-                fireTimer = 0;
-                iterations++;
-            }
-            return iterations == 500;
+    public static class LunaticGun extends PatternAttack {
+        public LunaticGun(EntityFactory f) {
+            super(f, "LunaticGun");
         }
     }
 
@@ -921,10 +244,12 @@ public class BossActions {
      */
     public static class SpiralColumnAttack extends Action {
         private float fireTimer;
+        private final EntityFactory FACTORY;
         private final Engine ENGINE;
 
-        public SpiralColumnAttack(Engine e) {
-            ENGINE = e;
+        public SpiralColumnAttack(EntityFactory f) {
+            FACTORY = f;
+            ENGINE = f.getEngine();
         }
 
         public boolean act(Entity entity, float deltaTime) {
@@ -936,7 +261,7 @@ public class BossActions {
             if (fireTimer >= 0.02f) {
                 final Vector2 TRANS_LOC = new Vector2(TRANSFORM.POSITION).add(TRANSFORM.ORIGIN);
 
-                ENGINE.addEntity(EntityFactory.createEmitterBall(TRANS_LOC.x, TRANS_LOC.y, 270));
+                ENGINE.addEntity(FACTORY.createEmitterBall(TRANS_LOC.x, TRANS_LOC.y, 270));
                 return true;
             }
             return false;
@@ -946,34 +271,9 @@ public class BossActions {
     /**
      * A {@link SimpleSpiralAttack} but all the bullets explode after a few seconds.
      */
-    public static class AsteroidField extends Action {
-        private float fireTimer;
-        private float iterations;
-        private final Engine ENGINE;
-
-        public AsteroidField(Engine e) {
-            ENGINE = e;
-        }
-
-        public boolean act(Entity entity, float deltaTime) {
-            AIComponent AI = Mapper.AI.get(entity);
-            TransformComponent TRANSFORM = Mapper.TRANSFORM.get(entity);
-
-            fireTimer += deltaTime;
-
-            if (fireTimer >= 0.175f) {
-                for (int i = 0; i < 6; i++) {
-                    float deg = iterations * 7 + i * 60;
-                    float xPlace = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x + 3 * MathUtils.cos(deg * MathUtils.degreesToRadians);
-                    float yPlace = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y + 3 * MathUtils.sin(deg * MathUtils.degreesToRadians);
-
-                    ENGINE.addEntity(EntityFactory.createEnemyBallExploding(xPlace, yPlace, deg));
-                }
-
-                fireTimer = 0;
-                iterations++;
-            }
-            return iterations == 75;
+    public static class AsteroidField extends PatternAttack {
+        public AsteroidField(EntityFactory f) {
+            super(f, "AsteroidField");
         }
     }
 
@@ -982,10 +282,12 @@ public class BossActions {
      */
     public static class PlusBeam extends Action {
         private float fireTimer;
+        private final EntityFactory FACTORY;
         private final Engine ENGINE;
 
-        public PlusBeam(Engine e) {
-            ENGINE = e;
+        public PlusBeam(EntityFactory f) {
+            FACTORY = f;
+            ENGINE = f.getEngine();
         }
 
         public boolean act(Entity entity, float deltaTime) {
@@ -997,7 +299,7 @@ public class BossActions {
 
             if (fireTimer >= 0.02f) {
                 final Vector2 TRANS_LOC = new Vector2(TRANSFORM.POSITION).add(TRANSFORM.ORIGIN);
-                final Entity BALL = EntityFactory.createEmitterBall(TRANS_LOC.x, TRANS_LOC.y, 270);
+                final Entity BALL = FACTORY.createEmitterBall(TRANS_LOC.x, TRANS_LOC.y, 270);
                 SpriteComponent BALL_SPRITE = Mapper.SPRITE.get(BALL);
                 MovementComponent BALL_MOVE = Mapper.MOVEMENT.get(BALL);
                 BALL_SPRITE.SPRITES.first().setColor(Color.WHITE);
@@ -1005,7 +307,7 @@ public class BossActions {
 
                 Mapper.BULLET.get(BALL).handler = new BulletHandler() {
                     private float timer;
-                    private float explodeTime = MathUtils.random(1.25f, 3.75f);
+                    private float explodeTime = FACTORY.getRandom().random(1.25f, 3.75f);
                     private int timesShot;
                     private int deg;
                     @Override
@@ -1030,11 +332,11 @@ public class BossActions {
                         if (timer >= .001f + explodeTime) {
                             Mapper.MOVEMENT.get(BALL).moveSpeed = 0;
 
-                            final Vector2 TRANS_CENTER = new Vector2(Mapper.TRANSFORM.get(BALL).POSITION).add(Mapper.TRANSFORM.get(BALL).ORIGIN);
+                            final TransformComponent BALL_TRANS = Mapper.TRANSFORM.get(BALL);
                             final float theta = deg * 90f;
-                            final float xPlace = TRANS_CENTER.x + 16 * MathUtils.cosDeg(theta);
-                            final float yPlace = TRANS_CENTER.y + 16 * MathUtils.sinDeg(theta);
-                            final Entity B = EntityFactory.createEnemyBall(xPlace, yPlace, theta);
+                            final float xPlace = BALL_TRANS.POSITION.x + BALL_TRANS.ORIGIN.x + 16 * MathUtils.cosDeg(theta);
+                            final float yPlace = BALL_TRANS.POSITION.y + BALL_TRANS.ORIGIN.y + 16 * MathUtils.sinDeg(theta);
+                            final Entity B = FACTORY.createEnemyBall(xPlace, yPlace, theta);
                             final SpriteComponent B_SPRITE = Mapper.SPRITE.get(B);
                             final MovementComponent B_MOVE = Mapper.MOVEMENT.get(B);
                             final BulletComponent B_BULLET = Mapper.BULLET.get(B);
@@ -1066,10 +368,12 @@ public class BossActions {
      */
     public static class XBeam extends Action {
         private float fireTimer;
+        private final EntityFactory FACTORY;
         private final Engine ENGINE;
 
-        public XBeam(Engine e) {
-            ENGINE = e;
+        public XBeam(EntityFactory f) {
+            FACTORY = f;
+            ENGINE = f.getEngine();
         }
 
         public boolean act(Entity entity, float deltaTime) {
@@ -1081,7 +385,7 @@ public class BossActions {
 
             if (fireTimer >= 0.02f) {
                 final Vector2 TRANS_LOC = new Vector2(TRANSFORM.POSITION).add(TRANSFORM.ORIGIN);
-                final Entity BALL = EntityFactory.createEmitterBall(TRANS_LOC.x, TRANS_LOC.y, 270);
+                final Entity BALL = FACTORY.createEmitterBall(TRANS_LOC.x, TRANS_LOC.y, 270);
                 SpriteComponent BALL_SPRITE = Mapper.SPRITE.get(BALL);
                 MovementComponent BALL_MOVE = Mapper.MOVEMENT.get(BALL);
                 BALL_SPRITE.SPRITES.first().setColor(Color.WHITE);
@@ -1089,7 +393,7 @@ public class BossActions {
 
                 Mapper.BULLET.get(BALL).handler = new BulletHandler() {
                     private float timer;
-                    private float explodeTime = MathUtils.random(1.25f, 3.75f);
+                    private float explodeTime = FACTORY.getRandom().random(1.25f, 3.75f);
                     private int timesShot;
                     private int deg;
                     @Override
@@ -1114,11 +418,11 @@ public class BossActions {
                         if (timer >= .001f + explodeTime) {
                             Mapper.MOVEMENT.get(BALL).moveSpeed = 0;
 
-                            final Vector2 TRANS_CENTER = new Vector2(Mapper.TRANSFORM.get(BALL).POSITION).add(Mapper.TRANSFORM.get(BALL).ORIGIN);
+                            final TransformComponent BALL_TRANS = Mapper.TRANSFORM.get(BALL);
                             final float theta = 45 + deg * 90f;
-                            final float xPlace = TRANS_CENTER.x + 16 * MathUtils.cosDeg(theta);
-                            final float yPlace = TRANS_CENTER.y + 16 * MathUtils.sinDeg(theta);
-                            final Entity B = EntityFactory.createEnemyBall(xPlace, yPlace, theta);
+                            final float xPlace = BALL_TRANS.POSITION.x + BALL_TRANS.ORIGIN.x + 16 * MathUtils.cosDeg(theta);
+                            final float yPlace = BALL_TRANS.POSITION.y + BALL_TRANS.ORIGIN.y + 16 * MathUtils.sinDeg(theta);
+                            final Entity B = FACTORY.createEnemyBall(xPlace, yPlace, theta);
                             final SpriteComponent B_SPRITE = Mapper.SPRITE.get(B);
                             final MovementComponent B_MOVE = Mapper.MOVEMENT.get(B);
                             final BulletComponent B_BULLET = Mapper.BULLET.get(B);
@@ -1149,11 +453,16 @@ public class BossActions {
      * {@link Action Action} that has the boss shoot one emitter ball that creates an 6-Star of bullets.
      */
     public static class StarBeam extends Action {
+        /** Color of the bullets shot out of the emitter */
+        private static final Color BEAM_COLOR = new Color(.9f, .3f, .9f, 1);
+
         private float fireTimer;
+        private final EntityFactory FACTORY;
         private final Engine ENGINE;
 
-        public StarBeam(Engine e) {
-            ENGINE = e;
+        public StarBeam(EntityFactory f) {
+            FACTORY = f;
+            ENGINE = f.getEngine();
         }
 
         public boolean act(Entity entity, float deltaTime) {
@@ -1165,7 +474,7 @@ public class BossActions {
 
             if (fireTimer >= 0.02f) {
                 final Vector2 TRANS_LOC = new Vector2(TRANSFORM.POSITION).add(TRANSFORM.ORIGIN);
-                final Entity BALL = EntityFactory.createEmitterBall(TRANS_LOC.x, TRANS_LOC.y, 270);
+                final Entity BALL = FACTORY.createEmitterBall(TRANS_LOC.x, TRANS_LOC.y, 270);
                 SpriteComponent BALL_SPRITE = Mapper.SPRITE.get(BALL);
                 MovementComponent BALL_MOVE = Mapper.MOVEMENT.get(BALL);
                 BALL_SPRITE.SPRITES.first().setColor(Color.WHITE);
@@ -1173,7 +482,7 @@ public class BossActions {
 
                 Mapper.BULLET.get(BALL).handler = new BulletHandler() {
                     private float timer;
-                    private float explodeTime = MathUtils.random(1.25f, 3.75f);
+                    private float explodeTime = FACTORY.getRandom().random(1.25f, 3.75f);
                     private int timesShot;
                     private int deg;
                     @Override
@@ -1198,16 +507,16 @@ public class BossActions {
                         if (timer >= .001f + explodeTime) {
                             Mapper.MOVEMENT.get(BALL).moveSpeed = 0;
 
-                            final Vector2 TRANS_CENTER = new Vector2(Mapper.TRANSFORM.get(BALL).POSITION).add(Mapper.TRANSFORM.get(BALL).ORIGIN);
+                            final TransformComponent BALL_TRANS = Mapper.TRANSFORM.get(BALL);
                             final float theta = 10 + deg * 45f;
-                            final float xPlace = TRANS_CENTER.x + 16 * MathUtils.cosDeg(theta);
-                            final float yPlace = TRANS_CENTER.y + 16 * MathUtils.sinDeg(theta);
-                            final Entity B = EntityFactory.createEnemyBall(xPlace, yPlace, theta);
+                            final float xPlace = BALL_TRANS.POSITION.x + BALL_TRANS.ORIGIN.x + 16 * MathUtils.cosDeg(theta);
+                            final float yPlace = BALL_TRANS.POSITION.y + BALL_TRANS.ORIGIN.y + 16 * MathUtils.sinDeg(theta);
+                            final Entity B = FACTORY.createEnemyBall(xPlace, yPlace, theta);
                             final SpriteComponent B_SPRITE = Mapper.SPRITE.get(B);
                             final MovementComponent B_MOVE = Mapper.MOVEMENT.get(B);
                             final BulletComponent B_BULLET = Mapper.BULLET.get(B);
 
-                            B_SPRITE.SPRITES.first().setColor(new Color(.9f, .3f, .9f, 1));
+                            B_SPRITE.SPRITES.first().setColor(BEAM_COLOR);
                             B_SPRITE.zIndex = BALL_SPRITE.zIndex - 1;
 
                             B_MOVE.moveSpeed = 5;
@@ -1229,6 +538,133 @@ public class BossActions {
         }
     }
 
+    /**
+     * {@link Action Action} that runs a pattern from {@link BulletPatterns}.
+     * <p>
+     * Every frame the fire timer goes up, then instructions run until the pattern has to wait. Like the
+     * hand-written attacks, a wait is over once its time has passed, and the timer starts over from 0 after it,
+     * so a pattern never fires more than once a frame.
+     */
+    public static class PatternAttack extends Action {
+        private final BulletPatterns.Pattern PATTERN;
+        private final EntityFactory FACTORY;
+        private final Engine ENGINE;
+        private final Viewport VIEWPORT;
+        private final float OFFSET;
+        private final Vector2 TARGET;
+        private final SpawnBuffer SPAWNS;
+        private int pc, iterations;
+        private float fireTimer;
+
+        public PatternAttack(EntityFactory f, String pattern) {
+            this(f, null, pattern, 0);
+        }
+
+        public PatternAttack(EntityFactory f, Viewport v, String pattern) {
+            this(f, v, pattern, 0);
+        }
+
+        /**
+         * @param f       the factory of the {@code Engine} to add the bullets to
+         * @param v       the {@code Viewport} whose world to aim at the middle of, only needed by aimed patterns
+         * @param pattern the name of the pattern
+         * @param offset  the angle to turn the whole pattern by, in degrees
+         */
+        public PatternAttack(EntityFactory f, Viewport v, String pattern, float offset) {
+            FACTORY = f;
+            ENGINE = f.getEngine();
+            VIEWPORT = v;
+            PATTERN = BulletPatterns.get(pattern);
+            OFFSET = offset;
+            TARGET = new Vector2();
+            SPAWNS = new SpawnBuffer();
+
+            if (PATTERN.AIMS && VIEWPORT == null)
+                throw new GdxRuntimeException("Bullet pattern " + pattern + " aims at something, so it needs a viewport");
+
+            if (VIEWPORT != null)
+                TARGET.set(VIEWPORT.getWorldWidth() / 2, VIEWPORT.getWorldHeight() / 2);
+        }
+
+        @Override
+        public boolean act(Entity boss, float deltaTime) {
+            final int[] CODE = PATTERN.CODE;
+
+            fireTimer += deltaTime;
+
+            while (true) {
+                switch (CODE[pc]) {
+                    case BulletPatterns.OP_AIM:
+                        aim(CODE[pc + 1]);
+                        pc += 2;
+                        break;
+                    case BulletPatterns.OP_WAIT:
+                        if (fireTimer < PATTERN.CONSTANTS[CODE[pc + 1]])
+                            return false;
+
+                        fireTimer = 0;
+                        pc += 2;
+                        break;
+                    case BulletPatterns.OP_SKIP:
+                        if (iterations % CODE[pc + 1] == CODE[pc + 2] && (CODE[pc + 3] == 0 || iterations % CODE[pc + 3] != 0))
+                            pc += 5;
+                        else
+                            pc = CODE[pc + 4];
+                        break;
+                    case BulletPatterns.OP_EMIT:
+                        emit(boss, PATTERN.VOLLEYS[CODE[pc + 1]]);
+                        pc += 2;
+                        break;
+                    case BulletPatterns.OP_LOOP:
+                        if (++iterations < CODE[pc + 1])
+                            pc = CODE[pc + 2];
+                        else
+                            pc += 3;
+                        break;
+                    default:
+                        return true;
+                }
+            }
+        }
+
+        private void aim(int target) {
+            if (target == BulletPatterns.Target.PLAYER.ordinal()) {
+                final TargetingSystem TARGETING = ENGINE.getSystem(TargetingSystem.class);
+
+                if (TARGETING != null && TARGETING.hasPlayer())
+                    TARGET.set(TARGETING.getPlayerCenter());
+            }
+        }
+
+        private void emit(Entity boss, BulletPatterns.Volley volley) {
+            final TransformComponent TRANSFORM = Mapper.TRANSFORM.get(boss);
+            final float
+                    X = TRANSFORM.POSITION.x + TRANSFORM.ORIGIN.x,
+                    Y = TRANSFORM.POSITION.y + TRANSFORM.ORIGIN.y;
+
+            float angle = OFFSET + volley.ANGLE + iterations * volley.STEP;
+            if (volley.AIMED)
+                angle += MathUtils.radDeg * MathUtils.atan2(TARGET.y - Y, TARGET.x - X);
+
+            // Let the spawn system spread big volleys over a few updates if there is one
+            final SpawnSystem SCHEDULER = ENGINE.getSystem(SpawnSystem.class);
+
+            for (int i = 0; i < volley.COUNT; i++) {
+                final float
+                        DEG = angle + i * volley.SPREAD,
+                        BULLET_X = X + volley.DISTANCE * MathUtils.cosDeg(DEG),
+                        BULLET_Y = Y + volley.DISTANCE * MathUtils.sinDeg(DEG);
+
+                if (SCHEDULER != null)
+                    SCHEDULER.queue(volley, i, BULLET_X, BULLET_Y, DEG);
+                else
+                    SPAWNS.add(FACTORY.createPatternBullet(volley, i, BULLET_X, BULLET_Y, DEG));
+            }
+
+            SPAWNS.flush(ENGINE);
+        }
+    }
+
     /**
      * A sequence of actions that can be run. This runs basically in the same way that
      * the {@link com.coffee.entity.systems.AISystem AISystem} runs the task list.
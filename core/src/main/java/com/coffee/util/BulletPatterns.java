@@ -0,0 +1,288 @@
+package com.coffee.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Loads the bullet patterns the boss fires from JSON and compiles them into small programs
+ * that {@link BossActions.PatternAttack} runs.
+ * <p>
+ * A pattern fires its volleys every {@code interval} seconds, {@code repeat} times. Each volley is a ring
+ * (or arc) of {@code count} bullets {@code spread} degrees apart, turned by {@code step} degrees more every
+ * time the pattern fires, and can be limited to certain iterations with {@code every}, {@code at} and {@code except}.
+ * What a bullet does after it's fired (speeding up, turning, waving, changing color) is described by
+ * its {@code motion}. The movement part of it becomes parametric motion for the
+ * {@link com.coffee.entity.systems.MovementSystem}, and {@link com.coffee.entity.systems.PatternSystem} does the rest.
+ * <p>
+ * Everything is checked and compiled once when the patterns are loaded, so running one doesn't have to
+ * look anything up or allocate anything.
+ */
+public class BulletPatterns {
+    private static final String FILE = "patterns/boss.json";
+
+    // Instructions, followed by their operands
+    static final int
+        OP_END = 0,  // -
+        OP_AIM = 1,  // target
+        OP_WAIT = 2, // constant index of the time to wait
+        OP_SKIP = 3, // every, at, except, index to jump to if the iteration doesn't match
+        OP_EMIT = 4, // volley index
+        OP_LOOP = 5; // repeat count, index to jump back to
+
+    private static final ObjectMap<String, Pattern> PATTERNS = new ObjectMap<>();
+    // Every volley ever compiled, by ID
+    private static final Array<Volley> VOLLEYS = new Array<>();
+    private static boolean initialized = false;
+
+    /**
+     * Loads and compiles the boss patterns only if it has not been done already.
+     */
+    public static void init() {
+        if (!initialized) {
+            load(Gdx.files.internal(FILE));
+            initialized = true;
+        }
+    }
+
+    /**
+     * Compiles every pattern in the specified file, replacing any that were loaded before with the same name.
+     *
+     * @throws GdxRuntimeException if a pattern doesn't make sense
+     */
+    @SuppressWarnings("unchecked")
+    public static void load(FileHandle file) {
+        final ObjectMap<String, PatternDef> DEFS = new Json().fromJson(ObjectMap.class, PatternDef.class, file);
+
+        for (ObjectMap.Entry<String, PatternDef> entry : DEFS)
+            PATTERNS.put(entry.key, compile(entry.key, entry.value));
+    }
+
+    /**
+     * @return the compiled pattern with the specified name
+     * @throws GdxRuntimeException if there is no such pattern
+     */
+    public static Pattern get(String name) {
+        final Pattern PATTERN = PATTERNS.get(name);
+
+        if (PATTERN == null)
+            throw new GdxRuntimeException("No bullet pattern named " + name + " has been loaded");
+
+        return PATTERN;
+    }
+
+    /**
+     * @return the volley with the specified {@link Volley#ID}
+     * @throws GdxRuntimeException if there is no such volley
+     */
+    public static Volley getVolley(int id) {
+        if (id < 0 || id >= VOLLEYS.size)
+            throw new GdxRuntimeException("No volley with the ID " + id + " has been loaded");
+
+        return VOLLEYS.get(id);
+    }
+
+    /**
+     * @return every pattern that has been loaded, for going through all of them
+     */
+    static ObjectMap.Values<Pattern> all() {
+        return PATTERNS.values();
+    }
+
+    private static Pattern compile(String name, PatternDef def) {
+        if (def.volleys == null || def.volleys.size == 0)
+            throw new GdxRuntimeException("Bullet pattern " + name + " has no volleys");
+        if (def.repeat < 1)
+            throw new GdxRuntimeException("Bullet pattern " + name + " has to repeat at least once");
+
+        final IntArray CODE = new IntArray();
+        final FloatArray CONSTANTS = new FloatArray();
+        final Volley[] VOLLEYS = new Volley[def.volleys.size];
+
+        if (def.aim != null)
+            CODE.addAll(OP_AIM, def.aim.ordinal());
+
+        final int LOOP = CODE.size;
+        CODE.addAll(OP_WAIT, CONSTANTS.size);
+        CONSTANTS.add(def.interval);
+
+        for (int i = 0; i < VOLLEYS.length; i++) {
+            final VolleyDef VOLLEY = def.volleys.get(i);
+
+            if (VOLLEY.count < 1)
+                throw new GdxRuntimeException("Volley " + i + " of bullet pattern " + name + " has no bullets");
+            if (VOLLEY.every < 1 || VOLLEY.at < 0 || VOLLEY.at >= VOLLEY.every || VOLLEY.except < 0)
+                throw new GdxRuntimeException("Volley " + i + " of bullet pattern " + name + " never fires");
+            if (VOLLEY.aimed && def.aim == null)
+                throw new GdxRuntimeException("Volley " + i + " of bullet pattern " + name + " is aimed, but the pattern has nothing to aim at");
+
+            // Skip over the emit when the iteration doesn't match
+            if (VOLLEY.every > 1 || VOLLEY.except > 0)
+                CODE.addAll(OP_SKIP, VOLLEY.every, VOLLEY.at, VOLLEY.except, CODE.size + 7);
+
+            CODE.addAll(OP_EMIT, i);
+            VOLLEYS[i] = new Volley(BulletPatterns.VOLLEYS.size, VOLLEY);
+            BulletPatterns.VOLLEYS.add(VOLLEYS[i]);
+        }
+
+        CODE.addAll(OP_LOOP, def.repeat, LOOP);
+
+        if (def.hold > 0) {
+            CODE.addAll(OP_WAIT, CONSTANTS.size);
+            CONSTANTS.add(def.hold);
+        }
+
+        CODE.add(OP_END);
+
+        return new Pattern(name, def.aim != null, CODE.toArray(), CONSTANTS.toArray(), VOLLEYS);
+    }
+
+    /**
+     * A compiled pattern. Patterns don't change once they're compiled, so any number of attacks can share one.
+     */
+    public static final class Pattern {
+        public final String NAME;
+        final boolean AIMS;
+        final int[] CODE;
+        final float[] CONSTANTS;
+        final Volley[] VOLLEYS;
+
+        private Pattern(String name, boolean aims, int[] code, float[] constants, Volley[] volleys) {
+            NAME = name;
+            AIMS = aims;
+            CODE = code;
+            CONSTANTS = constants;
+            VOLLEYS = volleys;
+        }
+    }
+
+    /**
+     * What a pattern aims its aimed volleys at.
+     * The target is picked once when the pattern starts, and the middle of the world is used if there's no player.
+     */
+    public enum Target {
+        PLAYER, CENTER
+    }
+
+    /**
+     * The kinds of bullets a volley can fire, one for each of the enemy bullets in {@link com.coffee.entity.EntityFactory}.
+     */
+    public enum Bullet {
+        BULLET, BALL, HOMING, LASER_EMITTER, EXPLODING
+    }
+
+    /**
+     * One ring of bullets. Anything that is NaN (or null) is left the way the factory made it.
+     */
+    public static final class Volley {
+        /** Tells the volley apart from every other one loaded, in the order they were loaded */
+        public final int ID;
+        public final Bullet BULLET;
+        public final int COUNT;
+        public final float ANGLE, SPREAD, STEP, DISTANCE;
+        public final boolean AIMED;
+        public final float SPEED, SPEED_STEP, DAMAGE, DESPAWN_TIME;
+        public final Color COLOR;
+        public final Motion MOTION;
+
+        private Volley(int id, VolleyDef def) {
+            ID = id;
+            BULLET = def.bullet;
+            COUNT = def.count;
+            ANGLE = def.angle;
+            SPREAD = def.spread;
+            STEP = def.step;
+            DISTANCE = def.distance;
+            AIMED = def.aimed;
+            SPEED = def.speed;
+            SPEED_STEP = def.speedStep;
+            DAMAGE = def.damage;
+            DESPAWN_TIME = def.despawnTime;
+            COLOR = def.color;
+            MOTION = def.motion == null ? null : new Motion(def.motion);
+        }
+    }
+
+    /**
+     * What a bullet does after it has been fired. Rates are per second.
+     */
+    public static final class Motion {
+        public final float ACCELERATION, MIN_SPEED, MAX_SPEED;
+        public final float TURN, TURN_LIMIT;
+        public final float WAVE, WAVE_RATE;
+        public final boolean FADES;
+        public final float FADE_R, FADE_G, FADE_B, FADE_A;
+        public final Color CYCLE_FROM, CYCLE_TO;
+        public final float CYCLE_RATE;
+
+        private Motion(MotionDef def) {
+            if (def.fade != null && def.fade.length != 4)
+                throw new GdxRuntimeException("A bullet fade needs a rate for r, g, b and a");
+            if ((def.cycleFrom == null) != (def.cycleTo == null))
+                throw new GdxRuntimeException("A bullet color cycle needs both a from and a to color");
+
+            ACCELERATION = def.acceleration;
+            MIN_SPEED = def.minSpeed;
+            MAX_SPEED = def.maxSpeed;
+            TURN = def.turn;
+            TURN_LIMIT = def.turnLimit;
+            WAVE = def.wave;
+            WAVE_RATE = def.waveRate;
+
+            FADES = def.fade != null;
+            FADE_R = FADES ? def.fade[0] : 0;
+            FADE_G = FADES ? def.fade[1] : 0;
+            FADE_B = FADES ? def.fade[2] : 0;
+            FADE_A = FADES ? def.fade[3] : 0;
+
+            CYCLE_FROM = def.cycleFrom;
+            CYCLE_TO = def.cycleTo;
+            CYCLE_RATE = def.cycleRate;
+        }
+
+        /**
+         * @return whether or not the bullet keeps going in a straight line at the same speed
+         */
+        public boolean isStraight() {
+            return ACCELERATION == 0 && TURN == 0 && WAVE == 0;
+        }
+    }
+
+    // region JSON definitions
+    static class PatternDef {
+        Target aim;
+        float interval;
+        int repeat = 1;
+        float hold;
+        Array<VolleyDef> volleys;
+    }
+
+    static class VolleyDef {
+        Bullet bullet = Bullet.BALL;
+        int count = 1;
+        float angle, spread, step;
+        float distance = 3;
+        boolean aimed;
+        int every = 1, at, except;
+        float speed = Float.NaN, speedStep;
+        float damage = Float.NaN, despawnTime = Float.NaN;
+        Color color;
+        MotionDef motion;
+    }
+
+    static class MotionDef {
+        float acceleration, minSpeed, maxSpeed = Float.MAX_VALUE;
+        float turn, turnLimit;
+        float wave, waveRate = 1;
+        float[] fade;
+        Color cycleFrom, cycleTo;
+        float cycleRate = 1;
+    }
+    // endregion
+}
@@ -0,0 +1,237 @@
+package com.coffee.util;
+
+import com.badlogic.gdx.Application.ApplicationType;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.nio.FloatBuffer;
+
+/**
+ * Draws square, centered sprites (pretty much every bullet) as single points instead of {@link SpriteBatch} quads.
+ * <p>
+ * Each bullet is one vertex of 9 floats (position, rotation, size, packed color and the UVs of its region)
+ * in a streaming vertex buffer, instead of 4 vertices of 5 floats that the CPU has to rotate and scale.
+ * The vertex shader turns the point into a square big enough for any rotation, and the fragment
+ * shader rotates the texture lookup inside of it.
+ * <p>
+ * Points are clipped by their center, so whoever uses this should only give it bullets that are entirely
+ * on screen, and bullets bigger than {@link #getMaxPointSize()} have to go through the {@code SpriteBatch}.
+ * Draws share the {@code SpriteBatch}'s projection and blending and have to happen between its
+ * {@code begin()} and {@code end()}. Anything the batch has buffered is flushed before the points are drawn so the
+ * draw order stays the same.
+ */
+public class BulletRenderer implements Disposable {
+    private static final int FLOATS_PER_BULLET = 9;
+
+    // The point has to fit the sprite's diagonal so the corners don't get cut off when it's rotated
+    private static final String VERTEX_SHADER =
+            "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" +
+            "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n" +
+            "attribute vec2 a_params;\n" +
+            "attribute vec4 a_region;\n" +
+            "uniform mat4 u_projTrans;\n" +
+            "uniform float u_pixelScale;\n" +
+            "varying vec4 v_color;\n" +
+            "varying vec4 v_region;\n" +
+            "varying vec2 v_rotation;\n" +
+            "void main() {\n" +
+            "    float angle = radians(a_params.x);\n" +
+            "    v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n" +
+            "    v_color.a = v_color.a * (255.0 / 254.0);\n" +
+            "    v_region = a_region;\n" +
+            "    v_rotation = vec2(cos(angle), sin(angle));\n" +
+            "    gl_PointSize = a_params.y * 1.41421356 * u_pixelScale;\n" +
+            "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" +
+            "}\n";
+
+    private static final String FRAGMENT_SHADER =
+            "#ifdef GL_ES\n" +
+            "precision mediump float;\n" +
+            "#endif\n" +
+            "varying vec4 v_color;\n" +
+            "varying vec4 v_region;\n" +
+            "varying vec2 v_rotation;\n" +
+            "uniform sampler2D u_texture;\n" +
+            "void main() {\n" +
+            "    vec2 p = (gl_PointCoord - 0.5) * vec2(1.41421356, -1.41421356);\n" +
+            "    vec2 local = vec2(p.x * v_rotation.x + p.y * v_rotation.y, p.y * v_rotation.x - p.x * v_rotation.y);\n" +
+            "    local = vec2(local.x, -local.y) + 0.5;\n" +
+            "    if (local.x < 0.0 || local.x > 1.0 || local.y < 0.0 || local.y > 1.0)\n" +
+            "        discard;\n" +
+            "    gl_FragColor = v_color * texture2D(u_texture, mix(v_region.xy, v_region.zw, local));\n" +
+            "}\n";
+
+    private final int MAX_BULLETS;
+    private final Mesh MESH;
+    private final ShaderProgram SHADER;
+    private final float[] VERTICES;
+    private final float MAX_POINT_SIZE;
+
+    private SpriteBatch batch;
+    private Texture texture;
+    private float pixelScale;
+    private int count;
+    private int renderCalls;
+
+    /**
+     * @param maxBullets the number of bullets that can be drawn before having to flush
+     */
+    public BulletRenderer(int maxBullets) {
+        MAX_BULLETS = maxBullets;
+        VERTICES = new float[maxBullets * FLOATS_PER_BULLET];
+
+        ShaderProgram shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!shader.isCompiled()) {
+            Gdx.app.error("BulletRenderer", "Couldn't compile the bullet shader, falling back to the SpriteBatch:\n" + shader.getLog());
+            shader.dispose();
+            shader = null;
+        }
+        SHADER = shader;
+
+        if (SHADER != null) {
+            MESH = new Mesh(false, maxBullets, 0,
+                    new VertexAttribute(Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+                    VertexAttribute.ColorPacked(),
+                    new VertexAttribute(Usage.Generic, 2, "a_params"),
+                    new VertexAttribute(Usage.Generic, 4, "a_region"));
+
+            final FloatBuffer RANGE = BufferUtils.newFloatBuffer(16);
+            Gdx.gl.glGetFloatv(GL20.GL_ALIASED_POINT_SIZE_RANGE, RANGE);
+            MAX_POINT_SIZE = RANGE.get(1);
+        } else {
+            MESH = null;
+            MAX_POINT_SIZE = 0;
+        }
+    }
+
+    /**
+     * Starts drawing with the projection and blending of the specified {@link SpriteBatch}.
+     *
+     * @param batch      the {@code SpriteBatch} that is currently drawing
+     * @param pixelScale the number of screen pixels per world unit
+     */
+    public void begin(SpriteBatch batch, float pixelScale) {
+        this.batch = batch;
+        this.pixelScale = pixelScale;
+        renderCalls = 0;
+    }
+
+    /**
+     * Queues a bullet to be drawn, flushing first if the texture changed or there's no more room.
+     *
+     * @param rotation the rotation in degrees, counter-clockwise
+     * @param size     the width (and height) of the bullet in world units
+     * @param color    the packed tint of the bullet
+     */
+    public void draw(Texture texture, float x, float y, float rotation, float size, float color,
+                     float u, float v, float u2, float v2) {
+        if (texture != this.texture || count == MAX_BULLETS) {
+            flush();
+            this.texture = texture;
+        }
+
+        final float[] VERTS = VERTICES;
+        int i = count++ * FLOATS_PER_BULLET;
+
+        VERTS[i++] = x;
+        VERTS[i++] = y;
+        VERTS[i++] = color;
+        VERTS[i++] = rotation;
+        VERTS[i++] = size;
+        VERTS[i++] = u;
+        VERTS[i++] = v;
+        VERTS[i++] = u2;
+        VERTS[i] = v2;
+    }
+
+    /**
+     * Draws everything that was queued, after flushing what the {@link SpriteBatch} has queued.
+     */
+    public void flush() {
+        if (count == 0)
+            return;
+
+        batch.flush();
+
+        // Point sprites have to be switched on by hand on desktop GL, GLES always has them
+        if (Gdx.app.getType() == ApplicationType.Desktop) {
+            Gdx.gl.glEnable(0x8642); // GL_VERTEX_PROGRAM_POINT_SIZE
+            Gdx.gl.glEnable(0x8861); // GL_POINT_SPRITE
+        }
+
+        if (batch.isBlendingEnabled()) {
+            Gdx.gl.glEnable(GL20.GL_BLEND);
+            Gdx.gl.glBlendFunc(batch.getBlendSrcFunc(), batch.getBlendDstFunc());
+        } else
+            Gdx.gl.glDisable(GL20.GL_BLEND);
+
+        texture.bind(0);
+
+        SHADER.begin();
+        SHADER.setUniformMatrix("u_projTrans", batch.getProjectionMatrix());
+        SHADER.setUniformf("u_pixelScale", pixelScale);
+        SHADER.setUniformi("u_texture", 0);
+
+        MESH.setVertices(VERTICES, 0, count * FLOATS_PER_BULLET);
+        MESH.render(SHADER, GL20.GL_POINTS, 0, count);
+
+        // The batch only binds its shader in begin(), so give it back
+        batch.getShader().begin();
+
+        count = 0;
+        renderCalls++;
+    }
+
+    /**
+     * Flushes anything left and stops drawing.
+     */
+    public void end() {
+        flush();
+        batch = null;
+        texture = null;
+    }
+
+    /**
+     * @return whether or not the shader compiled, if it didn't nothing should be drawn with this
+     */
+    public boolean isSupported() {
+        return SHADER != null;
+    }
+
+    /**
+     * @return the biggest point the GPU can draw, in pixels
+     */
+    public float getMaxPointSize() {
+        return MAX_POINT_SIZE;
+    }
+
+    /**
+     * @return the biggest bullet that can be drawn, in pixels
+     */
+    public float getMaxBulletSize() {
+        return MAX_POINT_SIZE / 1.41421356f;
+    }
+
+    /**
+     * @return the number of draw calls since {@link #begin(SpriteBatch, float)}
+     */
+    public int getRenderCalls() {
+        return renderCalls;
+    }
+
+    @Override
+    public void dispose() {
+        if (SHADER != null) {
+            SHADER.dispose();
+            MESH.dispose();
+        }
+    }
+}
@@ -22,13 +22,38 @@ public class CoffeeUtils {
     }
 
     /**
-     * Converts a color in the HSV color space to the RGB color space using {@link java.awt.Color#HSBtoRGB Color.HSBtoRGB}.
+     * Converts a color in the HSV color space to the RGB color space.
      * @param h the hue [0 - 360)
      * @param s the saturation [0 - 100]
      * @param v the value/brightness [0 - 100]
      * @return the HSV color in the RGB color space
      */
     public static Color HSVtoRGB(float h, float s, float v) {
-        return Color.valueOf(Integer.toHexString(java.awt.Color.HSBtoRGB(h, s / 100f, v / 100f)));
+        final float
+            SAT = s / 100f,
+            VAL = v / 100f,
+            HUE = (h % 360 + 360) % 360 / 60f;
+        // Which sixth of the color wheel the hue is in, and how far into it
+        final int SECTOR = (int) HUE;
+        final float
+            F = HUE - SECTOR,
+            P = VAL * (1 - SAT),
+            Q = VAL * (1 - SAT * F),
+            T = VAL * (1 - SAT * (1 - F));
+
+        switch (SECTOR) {
+            case 0:
+                return new Color(VAL, T, P, 1);
+            case 1:
+                return new Color(Q, VAL, P, 1);
+            case 2:
+                return new Color(P, VAL, T, 1);
+            case 3:
+                return new Color(P, Q, VAL, 1);
+            case 4:
+                return new Color(T, P, VAL, 1);
+            default:
+                return new Color(VAL, P, Q, 1);
+        }
     }
 }
@@ -0,0 +1,316 @@
+package com.coffee.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.zip.CRC32;
+
+/**
+ * Makes {@link BitmapFont}s out of TrueType fonts, only rasterizing them with FreeType the first time. After that
+ * the glyphs are saved as a BMFont .fnt file and PNG pages in a local cache directory, and later runs load those
+ * instead. Files are named by the font and size, a checksum of the font file, and a hash of the characters and
+ * everything else in the parameters that changes how the glyphs look, so changing any of it makes a new one.
+ * <p>
+ * Fonts are kept once they're loaded, and shared by everything that asks for the same one, so don't dispose them.
+ */
+public class FontCache {
+    /** Goes up whenever the files are written differently, so the old ones get made again */
+    public static final int VERSION = 2;
+
+    private static final String DIR = "cache/fonts";
+    private static final int PAGE_SIZE = 256;
+    private static final ObjectMap<String, BitmapFont> FONTS = new ObjectMap<>();
+    private static final ObjectMap<String, String> CHECKSUMS = new ObjectMap<>();
+
+    /**
+     * @param font      the internal path of the TrueType font
+     * @param parameter how to rasterize it
+     * @return the font, from memory, the cache directory, or FreeType, whichever has it first
+     */
+    public static BitmapFont get(String font, FreeTypeFontGenerator.FreeTypeFontParameter parameter) {
+        final FileHandle TTF = Gdx.files.internal(font);
+        final String KEY = getKey(TTF, parameter);
+
+        BitmapFont loaded = FONTS.get(KEY);
+        if (loaded != null)
+            return loaded;
+
+        final FileHandle FNT = Gdx.files.local(DIR).child(KEY + ".fnt");
+
+        try {
+            if (!FNT.exists())
+                write(TTF, parameter, FNT);
+
+            loaded = read(FNT, parameter);
+        } catch (GdxRuntimeException e) {
+            // Somewhere that can't be written to, or a broken file, so go without the cache
+            System.out.println("[FontCache] Couldn't use " + FNT.path() + ": " + e.getMessage());
+            delete(FNT);
+
+            final FreeTypeFontGenerator GENERATOR = new FreeTypeFontGenerator(TTF);
+            loaded = GENERATOR.generateFont(parameter);
+            GENERATOR.dispose();
+        }
+
+        FONTS.put(KEY, loaded);
+        return loaded;
+    }
+
+    /**
+     * Disposes every font that's been loaded.
+     */
+    public static void dispose() {
+        for (BitmapFont font : FONTS.values())
+            font.dispose();
+
+        FONTS.clear();
+    }
+
+    private static String getKey(FileHandle ttf, FreeTypeFontGenerator.FreeTypeFontParameter parameter) {
+        int hash = VERSION;
+
+        hash = 31 * hash + parameter.characters.hashCode();
+        hash = 31 * hash + (parameter.mono ? 1 : 0);
+        hash = 31 * hash + parameter.hinting.ordinal();
+        hash = 31 * hash + parameter.color.toIntBits();
+        hash = 31 * hash + Float.floatToIntBits(parameter.gamma);
+        hash = 31 * hash + parameter.renderCount;
+        hash = 31 * hash + Float.floatToIntBits(parameter.borderWidth);
+        hash = 31 * hash + parameter.borderColor.toIntBits();
+        hash = 31 * hash + (parameter.borderStraight ? 1 : 0);
+        hash = 31 * hash + Float.floatToIntBits(parameter.borderGamma);
+        hash = 31 * hash + parameter.shadowOffsetX;
+        hash = 31 * hash + parameter.shadowOffsetY;
+        hash = 31 * hash + parameter.shadowColor.toIntBits();
+        hash = 31 * hash + parameter.spaceX;
+        hash = 31 * hash + parameter.spaceY;
+        hash = 31 * hash + (parameter.kerning ? 1 : 0);
+        hash = 31 * hash + (parameter.flip ? 1 : 0);
+
+        return ttf.nameWithoutExtension() + "-" + parameter.size + "-" + getChecksum(ttf) + "-" + Integer.toHexString(hash);
+    }
+
+    /**
+     * @return a checksum of the whole font file, so a font that's changed at all gets new files, worked out once per font
+     */
+    private static String getChecksum(FileHandle ttf) {
+        String checksum = CHECKSUMS.get(ttf.path());
+
+        if (checksum == null) {
+            final CRC32 CRC = new CRC32();
+            CRC.update(ttf.readBytes());
+
+            checksum = Long.toHexString(CRC.getValue());
+            CHECKSUMS.put(ttf.path(), checksum);
+        }
+
+        return checksum;
+    }
+
+    // region Files
+    /**
+     * Rasterizes the font, and writes its glyphs as a .fnt file with PNG pages next to it.
+     */
+    private static void write(FileHandle ttf, FreeTypeFontGenerator.FreeTypeFontParameter parameter, FileHandle fnt) {
+        final FreeTypeFontGenerator GENERATOR = new FreeTypeFontGenerator(ttf);
+        final PixmapPacker PACKER = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, 1, false);
+        final PixmapPacker OLD_PACKER = parameter.packer;
+        FreeTypeFontGenerator.FreeTypeBitmapFontData data = null;
+        Writer out = null;
+        boolean written = false;
+
+        // The same as FreeType does with its own packer, so the space between glyphs is the right color
+        PACKER.setTransparentColor(parameter.color);
+        PACKER.getTransparentColor().a = 0;
+
+        try {
+            parameter.packer = PACKER;
+            data = GENERATOR.generateData(parameter);
+            parameter.packer = OLD_PACKER;
+
+            final Array<PixmapPacker.Page> PAGES = PACKER.getPages();
+            final String[] FILES = new String[PAGES.size];
+
+            for (int i = 0; i < PAGES.size; i++) {
+                FILES[i] = fnt.nameWithoutExtension() + "_" + i + ".png";
+                PixmapIO.writePNG(fnt.sibling(FILES[i]), PAGES.get(i).getPixmap());
+            }
+
+            out = fnt.writer(false, "UTF-8");
+            writeFnt(out, data, FILES, ttf.nameWithoutExtension(), parameter.size);
+            out.close();
+            written = true;
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't write " + fnt.path(), e);
+        } finally {
+            parameter.packer = OLD_PACKER;
+
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException ignored) {
+                }
+            }
+
+            if (data != null)
+                data.dispose();
+            PACKER.dispose();
+            GENERATOR.dispose();
+
+            // Half a font is no good to the next run either
+            if (!written)
+                delete(fnt);
+        }
+    }
+
+    /**
+     * Deletes a .fnt file and its pages.
+     */
+    private static void delete(FileHandle fnt) {
+        final String PREFIX = fnt.nameWithoutExtension() + "_";
+
+        for (FileHandle page : fnt.parent().list(".png")) {
+            if (page.name().startsWith(PREFIX))
+                page.delete();
+        }
+
+        fnt.delete();
+    }
+
+    /**
+     * Writes the text version of the BMFont format, the way {@link BitmapFont.BitmapFontData} reads it. The metrics
+     * FreeType worked out go on their own line, which BitmapFontData skips, since it works them out differently.
+     */
+    private static void writeFnt(Writer out, BitmapFont.BitmapFontData data, String[] pages, String face, int size) throws IOException {
+        out.write("info face=\"" + face + "\" size=" + size + " bold=0 italic=0 charset=\"\" unicode=1 stretchH=100 smooth=1 aa=1 padding=0,0,0,0 spacing=0,0\n");
+        out.write("common lineHeight=" + (int) data.lineHeight + " base=" + Math.round(data.capHeight + Math.abs(data.ascent))
+            + " scaleW=" + PAGE_SIZE + " scaleH=" + PAGE_SIZE + " pages=" + pages.length + " packed=0\n");
+
+        for (int i = 0; i < pages.length; i++)
+            out.write("page id=" + i + " file=\"" + pages[i] + "\"\n");
+
+        out.write("metrics lineHeight=" + data.lineHeight + " capHeight=" + data.capHeight + " ascent=" + data.ascent
+            + " descent=" + data.descent + " down=" + data.down + " spaceWidth=" + data.spaceWidth + " xHeight=" + data.xHeight + "\n");
+
+        final Array<BitmapFont.Glyph> GLYPHS = new Array<>();
+        if (data.missingGlyph != null)
+            GLYPHS.add(data.missingGlyph);
+        for (BitmapFont.Glyph[] page : data.glyphs) {
+            if (page == null)
+                continue;
+
+            for (BitmapFont.Glyph glyph : page) {
+                if (glyph != null && glyph != data.missingGlyph)
+                    GLYPHS.add(glyph);
+            }
+        }
+
+        out.write("chars count=" + GLYPHS.size + "\n");
+        for (BitmapFont.Glyph glyph : GLYPHS) {
+            out.write("char id=" + (glyph == data.missingGlyph ? 0 : glyph.id)
+                + " x=" + glyph.srcX + " y=" + glyph.srcY + " width=" + glyph.width + " height=" + glyph.height
+                + " xoffset=" + glyph.xoffset + " yoffset=" + (data.flipped ? glyph.yoffset : -(glyph.height + glyph.yoffset))
+                + " xadvance=" + glyph.xadvance + " page=" + glyph.page + " chnl=0\n");
+        }
+
+        // Kerning is kept in pages of 512 characters
+        final StringBuilder KERNINGS = new StringBuilder();
+        int count = 0;
+        for (BitmapFont.Glyph glyph : GLYPHS) {
+            if (glyph.kerning == null)
+                continue;
+
+            for (int page = 0; page < glyph.kerning.length; page++) {
+                if (glyph.kerning[page] == null)
+                    continue;
+
+                for (int i = 0; i < glyph.kerning[page].length; i++) {
+                    if (glyph.kerning[page][i] == 0)
+                        continue;
+
+                    KERNINGS.append("kerning first=").append(glyph.id).append(" second=").append(page * 512 + i)
+                        .append(" amount=").append(glyph.kerning[page][i]).append('\n');
+                    count++;
+                }
+            }
+        }
+
+        out.write("kernings count=" + count + "\n");
+        out.write(KERNINGS.toString());
+    }
+
+    /**
+     * Loads a font written by {@link #write}, with FreeType's metrics put back.
+     */
+    private static BitmapFont read(FileHandle fnt, FreeTypeFontGenerator.FreeTypeFontParameter parameter) {
+        final BitmapFont FONT = new BitmapFont(fnt, parameter.flip);
+        final BitmapFont.BitmapFontData DATA = FONT.getData();
+
+        BufferedReader in = null;
+        try {
+            in = fnt.reader(1024, "UTF-8");
+
+            for (String line = in.readLine(); line != null && !line.startsWith("char "); line = in.readLine()) {
+                if (!line.startsWith("metrics "))
+                    continue;
+
+                for (String field : line.substring(8).split(" ")) {
+                    final int EQUALS = field.indexOf('=');
+                    final float VALUE = Float.parseFloat(field.substring(EQUALS + 1));
+
+                    switch (field.substring(0, EQUALS)) {
+                        case "lineHeight":
+                            DATA.lineHeight = VALUE;
+                            break;
+                        case "capHeight":
+                            DATA.capHeight = VALUE;
+                            break;
+                        case "ascent":
+                            DATA.ascent = VALUE;
+                            break;
+                        case "descent":
+                            DATA.descent = VALUE;
+                            break;
+                        case "down":
+                            DATA.down = VALUE;
+                            break;
+                        case "spaceWidth":
+                            DATA.spaceWidth = VALUE;
+                            break;
+                        case "xHeight":
+                            DATA.xHeight = VALUE;
+                            break;
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            FONT.dispose();
+            throw new GdxRuntimeException("Couldn't read " + fnt.path(), e);
+        } finally {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+
+        for (TextureRegion region : FONT.getRegions())
+            region.getTexture().setFilter(parameter.minFilter, parameter.magFilter);
+
+        return FONT;
+    }
+    // endregion
+}
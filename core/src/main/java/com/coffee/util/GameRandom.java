@@ -0,0 +1,85 @@
+package com.coffee.util;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+
+/**
+ * Random number generator with the same helpers as {@link MathUtils}, for everything random that changes how a fight goes.
+ * <p>
+ * {@code MathUtils.random} is shared by the whole program, so two engines using it at once would pull numbers
+ * out from under each other, and nothing could be repeated. Every {@link com.coffee.entity.EntityFactory EntityFactory}
+ * has one of these instead, so a fight started with the same seed plays out the same way.
+ * Things that are only for show, like the stars, can keep using {@code MathUtils}.
+ */
+public class GameRandom extends RandomXS128 {
+    private static final long serialVersionUID = 1L;
+
+    private long seed;
+
+    /**
+     * Creates a generator with a random seed.
+     */
+    public GameRandom() {
+        this(MathUtils.random.nextLong());
+    }
+
+    public GameRandom(long seed) {
+        super(seed);
+        this.seed = seed;
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        super.setSeed(seed);
+        this.seed = seed;
+    }
+
+    /**
+     * @return the seed the generator was last started with
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return a random number between 0 (inclusive) and the specified value (inclusive)
+     */
+    public int random(int range) {
+        return nextInt(range + 1);
+    }
+
+    /**
+     * @return a random number between start (inclusive) and end (inclusive)
+     */
+    public int random(int start, int end) {
+        return start + nextInt(end - start + 1);
+    }
+
+    /**
+     * @return a random number between 0 (inclusive) and 1 (exclusive)
+     */
+    public float random() {
+        return nextFloat();
+    }
+
+    /**
+     * @return a random number between 0 (inclusive) and the specified value (exclusive)
+     */
+    public float random(float range) {
+        return nextFloat() * range;
+    }
+
+    /**
+     * @return a random number between start (inclusive) and end (exclusive)
+     */
+    public float random(float start, float end) {
+        return start + nextFloat() * (end - start);
+    }
+
+    /**
+     * @return true with the specified chance, between 0 and 1
+     */
+    public boolean randomBoolean(float chance) {
+        return nextFloat() < chance;
+    }
+}
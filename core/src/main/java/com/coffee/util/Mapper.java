@@ -23,6 +23,8 @@ public class Mapper {
     public static final ComponentMapper<LifetimeComponent> LIFETIME = ComponentMapper.getFor(LifetimeComponent.class);
     public static final ComponentMapper<AIComponent> AI = ComponentMapper.getFor(AIComponent.class);
     public static final ComponentMapper<BulletComponent> BULLET = ComponentMapper.getFor(BulletComponent.class);
+    public static final ComponentMapper<PatternComponent> PATTERN = ComponentMapper.getFor(PatternComponent.class);
+    public static final ComponentMapper<HomingComponent> HOMING = ComponentMapper.getFor(HomingComponent.class);
 
 
 }
@@ -13,6 +13,8 @@ public class OptionsManager {
     public static String resolution = "450x800";
     public static float musicVolume = 0.05f;
     public static float sfxVolume = 0.05f;
+    public static boolean threadedSimulation = false;
+    public static int prewarmBullets = 512;
 
     /**
      * Initializes the options by getting the prefs file and
@@ -26,6 +28,8 @@ public class OptionsManager {
             resolution = opts.getString("resolution", "450x800");
             musicVolume = opts.getFloat("musicVolume", 0.05f);
             sfxVolume = opts.getFloat("sfxVolume", 0.05f);
+            threadedSimulation = opts.getBoolean("threadedSimulation", false);
+            prewarmBullets = opts.getInteger("prewarmBullets", 512);
 
             update();
         }
@@ -36,6 +40,8 @@ public class OptionsManager {
         opts.putString("resolution", resolution);
         opts.putFloat("musicVolume", musicVolume);
         opts.putFloat("sfxVolume", sfxVolume);
+        opts.putBoolean("threadedSimulation", threadedSimulation);
+        opts.putInteger("prewarmBullets", prewarmBullets);
 
         if (fullscreen) {
             Graphics.DisplayMode mode = Gdx.graphics.getDisplayMode();
@@ -0,0 +1,126 @@
+package com.coffee.util;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.coffee.entity.EntityFactory;
+import com.coffee.entity.components.MovementComponent;
+import com.coffee.entity.components.PatternComponent;
+import com.coffee.entity.components.SpriteComponent;
+
+/**
+ * Fills the pools of a {@link PooledEngine} with bullets before the game needs them, and gets the code that
+ * spawns, moves, collides and draws bullets run (and compiled) a few hundred times while nobody is looking.
+ * <p>
+ * A pool only grows to the number of entities that were alive at once, so the warm-up bullets are all kept
+ * alive together, a batch more every update, then removed at once, which puts them all in the pools. They're
+ * made from the volleys of every loaded bullet pattern that fires plain bullets or balls, so the pattern
+ * components are pooled too. They're invisible, do no damage and sit still above the player.
+ */
+public class PoolWarmer {
+    /** How long the warm-up bullets are kept around once they've all been spawned, in seconds */
+    private static final float HOLD = 0.25f;
+
+    private final EntityFactory FACTORY;
+    private final PooledEngine ENGINE;
+    private final Viewport VIEWPORT;
+    private final SpawnBuffer SPAWNS;
+    private final Array<Entity> LIVE;
+    private final Array<BulletPatterns.Volley> VOLLEYS;
+    private final int TOTAL, BUDGET;
+    private float timer;
+    private boolean done;
+
+    /**
+     * @param factory  the factory of the engine whose pools to fill
+     * @param viewport the viewport whose world to spawn the bullets in
+     * @param total    the number of bullets to warm up with, 0 to not warm up at all
+     * @param budget   the number of bullets to spawn per update
+     */
+    public PoolWarmer(EntityFactory factory, Viewport viewport, int total, int budget) {
+        FACTORY = factory;
+        ENGINE = factory.getEngine();
+        VIEWPORT = viewport;
+        TOTAL = total;
+        BUDGET = Math.max(budget, 1);
+        SPAWNS = new SpawnBuffer(BUDGET);
+        LIVE = new Array<>(false, Math.max(total, 1), Entity.class);
+        VOLLEYS = new Array<>();
+
+        for (BulletPatterns.Pattern pattern : BulletPatterns.all()) {
+            for (BulletPatterns.Volley volley : pattern.VOLLEYS) {
+                if (volley.BULLET == BulletPatterns.Bullet.BULLET || volley.BULLET == BulletPatterns.Bullet.BALL)
+                    VOLLEYS.add(volley);
+            }
+        }
+
+        done = TOTAL <= 0 || VOLLEYS.size == 0;
+    }
+
+    /**
+     * Spawns the next batch of warm-up bullets, or removes all of them once they've been around long enough.
+     * Call this once per update, before the engine updates, until it's done.
+     */
+    public void update(float delta) {
+        if (done)
+            return;
+
+        if (LIVE.size < TOTAL) {
+            final int COUNT = Math.min(BUDGET, TOTAL - LIVE.size);
+            final float
+                WIDTH = VIEWPORT.getWorldWidth(),
+                HEIGHT = VIEWPORT.getWorldHeight();
+
+            for (int i = 0; i < COUNT; i++) {
+                final int INDEX = LIVE.size;
+                final BulletPatterns.Volley VOLLEY = VOLLEYS.get(INDEX % VOLLEYS.size);
+                final Entity E = FACTORY.createPatternBullet(VOLLEY, INDEX % VOLLEY.COUNT,
+                        MathUtils.random(WIDTH * 0.1f, WIDTH * 0.9f),
+                        MathUtils.random(HEIGHT * 0.6f, HEIGHT * 0.9f),
+                        MathUtils.random(360f));
+                final SpriteComponent SPRITE = Mapper.SPRITE.get(E);
+                final MovementComponent MOVEMENT = Mapper.MOVEMENT.get(E);
+
+                // Keep it where it is, so nothing else removes it before it's put back in the pools
+                MOVEMENT.parametric = false;
+                MOVEMENT.moveSpeed = 0;
+                E.remove(PatternComponent.class);
+
+                Mapper.BULLET.get(E).damage = 0;
+                for (int s = 0; s < SPRITE.SPRITES.size; s++)
+                    SPRITE.SPRITES.get(s).setAlpha(0);
+
+                LIVE.add(E);
+                SPAWNS.add(E);
+            }
+
+            SPAWNS.flush(ENGINE);
+            return;
+        }
+
+        timer += delta;
+        if (timer >= HOLD)
+            finish();
+    }
+
+    /**
+     * Removes every warm-up bullet that's still around, putting them in the pools, and stops warming up.
+     * Called by itself once warming up is done, but should also be called if the game has to start early.
+     */
+    public void finish() {
+        for (int i = 0; i < LIVE.size; i++)
+            ENGINE.removeEntity(LIVE.get(i));
+
+        LIVE.clear();
+        done = true;
+    }
+
+    /**
+     * @return whether or not warming up is over
+     */
+    public boolean isDone() {
+        return done;
+    }
+}
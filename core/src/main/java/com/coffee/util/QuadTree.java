@@ -24,6 +24,8 @@ public class QuadTree {
     private Rectangle bounds;
     /** Index of each zone follow coordinate grid conventions */
     private QuadTree[] nodes;
+    /** Whether the subnodes are in use. They're kept around after a clear so that rebuilding doesn't allocate. */
+    private boolean divided;
 
     /**
      * Constructor that sets the level of node as well as the boundary.
@@ -43,18 +45,24 @@ public class QuadTree {
     public void clear() {
         objects.clear();
 
-        for (int i = 0; i < nodes.length; i++) {
-            if (nodes[i] != null) {
+        if (divided) {
+            for (int i = 0; i < nodes.length; i++)
                 nodes[i].clear();
-                nodes[i] = null;
-            }
+
+            divided = false;
         }
     }
 
     /**
      * Splits the {@link QuadTree} into four quadrants/nodes.
+     * The nodes are only created the first time, and reused after that.
      */
     private void split() {
+        divided = true;
+
+        if (nodes[0] != null)
+            return;
+
         float subWidth = bounds.getWidth() / 2f;
         float subHeight = bounds.getHeight() / 2f;
         float x = bounds.getX();
@@ -113,7 +121,7 @@ public class QuadTree {
     public void insert(Entity entity) {
         // If this node has subnodes,
         // try to see if it can fit into any of them.
-        if (nodes[0] != null) {
+        if (divided) {
             int index = getIndex(entity);
             if (index != -1) {
                 nodes[index].insert(entity);
@@ -127,7 +135,7 @@ public class QuadTree {
         // Check if the max capacity has been reached
         // and if we can still split down a level.
         if (objects.size > MAX_OBJECTS && level < MAX_LEVELS) {
-            if (nodes[0] == null)
+            if (!divided)
                 split();
 
             // Iterate through all the objects in this node
@@ -154,7 +162,7 @@ public class QuadTree {
         int index = getIndex(entity);
 
         // Get to the bottom-most node of the tree
-        if (index != -1 && nodes[0] != null)
+        if (index != -1 && divided)
             nodes[index].retrieve(possibleCollisions, entity);
 
         possibleCollisions.addAll(objects);
@@ -170,7 +178,7 @@ public class QuadTree {
         DEBUG.setColor(Color.PINK);
         DEBUG.rect(bounds.getX(), bounds.getY(), bounds.getWidth(), bounds.getHeight());
 
-        if (nodes[0] != null) {
+        if (divided) {
             for(QuadTree node : nodes)
                 node.draw(DEBUG);
         }
@@ -0,0 +1,115 @@
+package com.coffee.util;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Everything the render thread needs to draw one frame of sprites, captured on the simulation thread.
+ * <p>
+ * Sprites are stored as the finished vertices that {@link Sprite#getVertices()} calculates (position,
+ * rotation, scale, color and region all baked in), so the render thread only has to copy them into the
+ * {@link SpriteBatch} and never touches an entity or a {@code Sprite}.
+ */
+public class RenderSnapshot {
+    private static final int SPRITE_SIZE = 20;
+
+    private Texture[] textures;
+    private float[] vertices;
+    private int count;
+
+    public RenderSnapshot() {
+        textures = new Texture[256];
+        vertices = new float[256 * SPRITE_SIZE];
+    }
+
+    /**
+     * Throws away the sprites of the last frame.
+     */
+    public void clear() {
+        // Drop texture references so a disposed screen's textures don't stick around
+        Arrays.fill(textures, 0, count, null);
+        count = 0;
+    }
+
+    /**
+     * Copies the current vertices of the sprite into this snapshot.
+     */
+    public void add(Sprite sprite) {
+        if (count == textures.length) {
+            textures = Arrays.copyOf(textures, count * 2);
+            vertices = Arrays.copyOf(vertices, count * 2 * SPRITE_SIZE);
+        }
+
+        textures[count] = sprite.getTexture();
+        System.arraycopy(sprite.getVertices(), 0, vertices, count * SPRITE_SIZE, SPRITE_SIZE);
+        count++;
+    }
+
+    /**
+     * Draws every sprite of this snapshot in the order they were added.
+     * The {@link SpriteBatch} must already be drawing.
+     */
+    public void draw(SpriteBatch batch) {
+        for (int i = 0; i < count; i++)
+            batch.draw(textures[i], vertices, i * SPRITE_SIZE, SPRITE_SIZE);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Hands snapshots from the simulation thread to the render thread without locking.
+     * <p>
+     * It's double buffering with a spare: the simulation thread always writes into its own back snapshot, and
+     * publishing swaps it with the spare. The render thread swaps its front snapshot with the spare only if a
+     * newer one was published, so neither thread ever waits on the other, and the front snapshot stays valid
+     * for as long as the render thread is drawing it.
+     */
+    public static class Buffer {
+        private static final int FRESH = 4, INDEX = 3;
+
+        private final RenderSnapshot[] SNAPSHOTS;
+        private final AtomicInteger SPARE;
+        private int back, front;
+
+        public Buffer() {
+            SNAPSHOTS = new RenderSnapshot[] {new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot()};
+            SPARE = new AtomicInteger(2);
+            back = 0;
+            front = 1;
+        }
+
+        /**
+         * Only call this on the simulation thread.
+         *
+         * @return the snapshot to capture the next frame into
+         */
+        public RenderSnapshot back() {
+            return SNAPSHOTS[back];
+        }
+
+        /**
+         * Makes the back snapshot available to the render thread. Only call this on the simulation thread.
+         */
+        public void publish() {
+            back = SPARE.getAndSet(back | FRESH) & INDEX;
+        }
+
+        /**
+         * Only call this on the render thread.
+         *
+         * @return the newest published snapshot, or the same one as last time if nothing new was published
+         */
+        public RenderSnapshot latest() {
+            if ((SPARE.get() & FRESH) != 0)
+                front = SPARE.getAndSet(front) & INDEX;
+
+            return SNAPSHOTS[front];
+        }
+    }
+}
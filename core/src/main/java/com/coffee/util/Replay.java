@@ -0,0 +1,313 @@
+package com.coffee.util;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.coffee.entity.components.PlayerComponent;
+
+import java.io.*;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A recording of a fight: the seed it started with, the player's inputs and the time step of every update,
+ * and {@link WorldSnapshot}s every so often, which is everything needed to play it again exactly the same way.
+ * Playing from the start needs nothing but the inputs, the snapshots are there to jump into the middle.
+ * <p>
+ * The file is small. Inputs hardly change from one update to the next, so they're stored as runs of the same
+ * input. Time steps are stored as the difference from the one before, which is 0 when the frame rate is steady.
+ * Numbers are written as varints, and everything past the header is deflated:
+ * <pre>
+ * "HMCR" version
+ * seed, number of updates
+ * number of input runs, then (length, input) for each
+ * the time step of every update, as the difference of its float bits from the one before
+ * number of snapshots, then (updates since the one before, size, bytes) for each
+ * </pre>
+ */
+public class Replay {
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'H', 'M', 'C', 'R'};
+    private static final int UP = 1, DOWN = 1 << 1, LEFT = 1 << 2, RIGHT = 1 << 3, SHOOT = 1 << 4;
+
+    private final long SEED;
+    private final ByteArray INPUTS;
+    private final FloatArray DELTAS;
+    private final IntArray SNAPSHOT_TICKS;
+    private final Array<byte[]> SNAPSHOTS;
+
+    /**
+     * Starts an empty recording of a fight started with the specified seed.
+     */
+    public Replay(long seed) {
+        SEED = seed;
+        INPUTS = new ByteArray(4096);
+        DELTAS = new FloatArray(4096);
+        SNAPSHOT_TICKS = new IntArray();
+        SNAPSHOTS = new Array<>();
+    }
+
+    /**
+     * Records the inputs the player had in an update, and how long the update was.
+     */
+    public void addUpdate(PlayerComponent player, float delta) {
+        INPUTS.add(encode(player));
+        DELTAS.add(delta);
+    }
+
+    /**
+     * Records a snapshot of the world taken before the specified update. Snapshots have to be added in order.
+     */
+    public void addSnapshot(int tick, byte[] snapshot) {
+        if (SNAPSHOT_TICKS.size > 0 && tick <= SNAPSHOT_TICKS.peek())
+            throw new GdxRuntimeException("Snapshots have to be added in order");
+
+        SNAPSHOT_TICKS.add(tick);
+        SNAPSHOTS.add(snapshot);
+    }
+
+    public long getSeed() {
+        return SEED;
+    }
+
+    /**
+     * @return the number of updates recorded
+     */
+    public int getLength() {
+        return DELTAS.size;
+    }
+
+    /**
+     * Sets the inputs of the player to the ones it had in the specified update.
+     */
+    public void getInput(int tick, PlayerComponent player) {
+        decode(INPUTS.get(tick), player);
+    }
+
+    /**
+     * @return the length of the specified update in seconds
+     */
+    public float getDelta(int tick) {
+        return DELTAS.get(tick);
+    }
+
+    /**
+     * @return the number of snapshots
+     */
+    public int getSnapshotCount() {
+        return SNAPSHOTS.size;
+    }
+
+    /**
+     * @return the update the snapshot at the index was taken before
+     */
+    public int getSnapshotTick(int index) {
+        return SNAPSHOT_TICKS.get(index);
+    }
+
+    public byte[] getSnapshot(int index) {
+        return SNAPSHOTS.get(index);
+    }
+
+    /**
+     * @return the index of the last snapshot taken at or before the specified update, or -1 if there isn't one
+     */
+    public int findSnapshot(int tick) {
+        int low = 0, high = SNAPSHOT_TICKS.size - 1, found = -1;
+
+        while (low <= high) {
+            final int MID = (low + high) >>> 1;
+
+            if (SNAPSHOT_TICKS.get(MID) <= tick) {
+                found = MID;
+                low = MID + 1;
+            } else
+                high = MID - 1;
+        }
+
+        return found;
+    }
+
+    // region Files
+    public void write(FileHandle file) {
+        DataOutputStream out = null;
+
+        try {
+            final OutputStream RAW = file.write(false);
+            RAW.write(MAGIC);
+            RAW.write(VERSION);
+
+            out = new DataOutputStream(new DeflaterOutputStream(new BufferedOutputStream(RAW)));
+
+            writeVarLong(out, SEED << 1 ^ SEED >> 63);
+            writeVarInt(out, DELTAS.size);
+
+            // Runs of the same input
+            int runs = 0;
+            for (int i = 0; i < INPUTS.size; i++) {
+                if (i == 0 || INPUTS.get(i) != INPUTS.get(i - 1))
+                    runs++;
+            }
+            writeVarInt(out, runs);
+            for (int i = 0, start = 0; i < INPUTS.size; i++) {
+                if (i + 1 == INPUTS.size || INPUTS.get(i + 1) != INPUTS.get(i)) {
+                    writeVarInt(out, i + 1 - start);
+                    out.writeByte(INPUTS.get(i));
+                    start = i + 1;
+                }
+            }
+
+            // Time steps, zigzagged so small changes either way stay small
+            int last = 0;
+            for (int i = 0; i < DELTAS.size; i++) {
+                final int BITS = Float.floatToRawIntBits(DELTAS.get(i)), DIFF = BITS - last;
+
+                writeVarInt(out, DIFF << 1 ^ DIFF >> 31);
+                last = BITS;
+            }
+
+            writeVarInt(out, SNAPSHOTS.size);
+            for (int i = 0; i < SNAPSHOTS.size; i++) {
+                final byte[] SNAPSHOT = SNAPSHOTS.get(i);
+
+                writeVarInt(out, SNAPSHOT_TICKS.get(i) - (i > 0 ? SNAPSHOT_TICKS.get(i - 1) : 0));
+                writeVarInt(out, SNAPSHOT.length);
+                out.write(SNAPSHOT);
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't write replay to " + file, e);
+        } finally {
+            StreamUtils.closeQuietly(out);
+        }
+    }
+
+    public static Replay read(FileHandle file) {
+        DataInputStream in = null;
+
+        try {
+            final InputStream RAW = file.read();
+            final byte[] HEADER = new byte[MAGIC.length + 1];
+
+            if (RAW.read(HEADER) != HEADER.length || HEADER[0] != MAGIC[0] || HEADER[1] != MAGIC[1] || HEADER[2] != MAGIC[2] || HEADER[3] != MAGIC[3]) {
+                RAW.close();
+                throw new GdxRuntimeException(file + " isn't a replay");
+            }
+            if (HEADER[4] != VERSION) {
+                RAW.close();
+                throw new GdxRuntimeException(file + " is a version " + HEADER[4] + " replay, only version " + VERSION + " can be played");
+            }
+
+            in = new DataInputStream(new InflaterInputStream(new BufferedInputStream(RAW)));
+
+            final long ZIGZAG = readVarLong(in);
+            final Replay REPLAY = new Replay(ZIGZAG >>> 1 ^ -(ZIGZAG & 1));
+            final int LENGTH = readVarInt(in);
+
+            REPLAY.INPUTS.ensureCapacity(LENGTH);
+            REPLAY.DELTAS.ensureCapacity(LENGTH);
+
+            for (int runs = readVarInt(in); runs > 0; runs--) {
+                final int RUN = readVarInt(in);
+                final byte INPUT = in.readByte();
+
+                for (int i = 0; i < RUN; i++)
+                    REPLAY.INPUTS.add(INPUT);
+            }
+
+            int last = 0;
+            for (int i = 0; i < LENGTH; i++) {
+                final int DIFF = readVarInt(in);
+
+                last += DIFF >>> 1 ^ -(DIFF & 1);
+                REPLAY.DELTAS.add(Float.intBitsToFloat(last));
+            }
+
+            if (REPLAY.INPUTS.size != LENGTH)
+                throw new GdxRuntimeException(file + " has " + REPLAY.INPUTS.size + " inputs for " + LENGTH + " updates");
+
+            int tick = 0;
+            for (int count = readVarInt(in); count > 0; count--) {
+                tick += readVarInt(in);
+
+                final byte[] SNAPSHOT = new byte[readVarInt(in)];
+                in.readFully(SNAPSHOT);
+                REPLAY.addSnapshot(tick, SNAPSHOT);
+            }
+
+            return REPLAY;
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't read replay from " + file, e);
+        } finally {
+            StreamUtils.closeQuietly(in);
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int B = in.readUnsignedByte();
+
+            value |= (long) (B & 0x7F) << shift;
+            if ((B & 0x80) == 0)
+                return value;
+        }
+
+        throw new GdxRuntimeException("Varint is too long");
+    }
+    // endregion
+
+    // region Inputs
+    /**
+     * @return the inputs of the player packed into a byte
+     */
+    public static byte encode(PlayerComponent player) {
+        int input = 0;
+
+        if (player.up != 0)
+            input |= UP;
+        if (player.down != 0)
+            input |= DOWN;
+        if (player.left != 0)
+            input |= LEFT;
+        if (player.right != 0)
+            input |= RIGHT;
+        if (player.shoot)
+            input |= SHOOT;
+
+        return (byte) input;
+    }
+
+    /**
+     * Sets the inputs of the player to the ones packed into the byte by {@link #encode}.
+     */
+    public static void decode(byte input, PlayerComponent player) {
+        player.up = (input & UP) != 0 ? 1 : 0;
+        player.down = (input & DOWN) != 0 ? 1 : 0;
+        player.left = (input & LEFT) != 0 ? 1 : 0;
+        player.right = (input & RIGHT) != 0 ? 1 : 0;
+        player.shoot = (input & SHOOT) != 0;
+    }
+    // endregion
+}
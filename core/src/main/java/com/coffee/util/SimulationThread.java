@@ -0,0 +1,130 @@
+package com.coffee.util;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Updates an {@link Engine} at a fixed rate on its own thread.
+ * <p>
+ * Every update happens while holding the lock, so the render thread can safely touch the engine
+ * (game logic, GUI, debug drawing) by synchronizing on the same lock. Whatever the render thread
+ * does outside of the lock, like drawing a {@link RenderSnapshot}, overlaps with the simulation.
+ * <p>
+ * Systems that make GL calls belong to the render thread. They should check {@link #isCurrentThread()} in
+ * {@code checkProcessing}, so the engine skips them when this thread updates it, and the render thread should
+ * update them itself (while holding the lock). Switching them off for every update instead would mean writing to
+ * them from this thread while the render thread reads them.
+ * <p>
+ * If an update throws, the exception is rethrown on the render thread so the game crashes like it
+ * normally would instead of silently freezing.
+ */
+public class SimulationThread implements Runnable {
+    private static final int MAX_STEPS_PER_FRAME = 5;
+    private static final ThreadLocal<Boolean> SIMULATING = ThreadLocal.withInitial(() -> false);
+
+    private final Engine ENGINE;
+    private final Object LOCK;
+    private final float STEP;
+    private final long STEP_NANOS;
+
+    private volatile Thread thread;
+
+    /**
+     * @param engine the {@code Engine} to update
+     * @param lock   the object to synchronize on while updating
+     * @param step   the time between updates, in seconds
+     */
+    public SimulationThread(Engine engine, Object lock, float step) {
+        ENGINE = engine;
+        LOCK = lock;
+        STEP = step;
+        STEP_NANOS = (long) (step * 1e9);
+    }
+
+    public void start() {
+        if (thread != null)
+            return;
+
+        thread = new Thread(this, "Simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops updating and waits for the update in progress to finish.
+     * If the calling thread holds the lock there can't be an update in progress, and the thread
+     * will stop as soon as it gets the lock, so it isn't waited for.
+     */
+    public void stop() {
+        final Thread THREAD = thread;
+        if (THREAD == null)
+            return;
+
+        thread = null;
+        THREAD.interrupt();
+
+        if (Thread.holdsLock(LOCK))
+            return;
+
+        try {
+            THREAD.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isRunning() {
+        return thread != null;
+    }
+
+    /**
+     * @return whether or not the calling thread is a simulation thread, which systems that draw shouldn't run on
+     */
+    public static boolean isCurrentThread() {
+        return SIMULATING.get();
+    }
+
+    @Override
+    public void run() {
+        // A stopped thread might still be waiting for the lock after a new one was started, so check which one is current
+        final Thread ME = Thread.currentThread();
+        long next = System.nanoTime();
+
+        SIMULATING.set(true);
+
+        try {
+            while (thread == ME) {
+                // Catch up if we fell behind, but give up on the time we can't make up instead of spiraling
+                int steps = 0;
+                while (System.nanoTime() >= next && steps < MAX_STEPS_PER_FRAME) {
+                    synchronized (LOCK) {
+                        if (thread != ME)
+                            return;
+
+                        ENGINE.update(STEP);
+                    }
+
+                    next += STEP_NANOS;
+                    steps++;
+                }
+
+                if (steps == MAX_STEPS_PER_FRAME)
+                    next = System.nanoTime() + STEP_NANOS;
+
+                final long SLEEP = next - System.nanoTime();
+                if (SLEEP > 0)
+                    Thread.sleep(SLEEP / 1000000, (int) (SLEEP % 1000000));
+            }
+        } catch (InterruptedException e) {
+            // Stopped
+        } catch (final Throwable t) {
+            if (thread == ME)
+                thread = null;
+
+            Gdx.app.postRunnable(() -> {
+                throw new GdxRuntimeException("Simulation thread crashed", t);
+            });
+        }
+    }
+}
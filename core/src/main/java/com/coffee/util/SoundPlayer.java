@@ -0,0 +1,150 @@
+package com.coffee.util;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.audio.Sound;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Plays sound effects on its own thread, so whatever wants one played (usually the simulation) only has to ask.
+ * <p>
+ * Every sound has a {@link Channel}, which keeps its {@link Sound} so it's only looked up once, and only lets it play
+ * so many times at once, cutting off the oldest one to start a new one. Asking for a sound again shortly after it
+ * started doesn't play it again, so a lot of requests at once (a few updates of catching up, or picking up a few
+ * power-ups together) sound like one instead of stacking up into a blast.
+ * <p>
+ * The audio backend isn't thread safe: playing, stopping or making a {@link Sound} or
+ * {@link com.badlogic.gdx.audio.Music Music} takes a source out of a pool nothing synchronizes, and the render thread
+ * keeps updating the music. So while this is running, nothing else may play, stop or make a sound or music on any
+ * other thread, and every sound effect has to be played through a channel here. Music that has to play the whole
+ * time should be started before this is (the theme is), after which only changing its volume is safe.
+ */
+public class SoundPlayer implements Runnable {
+    public static final Channel
+        LASER_SHOOT = new Channel(Assets.Audio.LASER_SHOOT, 4, 0.03f),
+        POWERUP_SOUND = new Channel(Assets.Audio.POWERUP_SOUND, 2, 0.05f);
+
+    private static final Channel[] CHANNELS = {LASER_SHOOT, POWERUP_SOUND};
+
+    private static volatile Thread thread;
+
+    /**
+     * Starts playing sounds. The sounds should be loaded by now.
+     */
+    public static void start() {
+        if (thread != null)
+            return;
+
+        // Anything asked for before now is too late to play
+        for (Channel channel : CHANNELS)
+            channel.PENDING.set(false);
+
+        thread = new Thread(new SoundPlayer(), "Sound");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops playing sounds, and waits for the thread to finish, so the sounds can be disposed.
+     */
+    public static void stop() {
+        final Thread THREAD = thread;
+        if (THREAD == null)
+            return;
+
+        thread = null;
+        LockSupport.unpark(THREAD);
+
+        try {
+            THREAD.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        final Thread ME = Thread.currentThread();
+
+        while (thread == ME) {
+            // Woken up by a channel being played, or by stopping
+            LockSupport.park(this);
+
+            final long NOW = System.nanoTime();
+            for (Channel channel : CHANNELS) {
+                if (channel.PENDING.getAndSet(false))
+                    channel.update(NOW);
+            }
+        }
+    }
+
+    /**
+     * One sound, and the voices it's playing on.
+     */
+    public static class Channel {
+        private final AssetDescriptor<Sound> DESCRIPTOR;
+        private final long[] VOICES;
+        private final long WINDOW;
+        private final AtomicBoolean PENDING = new AtomicBoolean();
+
+        private volatile float volume;
+
+        // Only touched by the sound thread
+        private Sound sound;
+        private int nextVoice;
+        private long lastPlayed;
+
+        /**
+         * @param descriptor the sound
+         * @param maxVoices  how many times it can play at once
+         * @param window     how long after it starts playing asking for it again doesn't do anything, in seconds
+         */
+        public Channel(AssetDescriptor<Sound> descriptor, int maxVoices, float window) {
+            DESCRIPTOR = descriptor;
+            VOICES = new long[maxVoices];
+            WINDOW = (long) (window * 1e9);
+
+            Arrays.fill(VOICES, -1);
+            lastPlayed = System.nanoTime() - WINDOW;
+        }
+
+        /**
+         * Plays the sound at the volume in the options.
+         */
+        public void play() {
+            play(OptionsManager.sfxVolume);
+        }
+
+        /**
+         * Plays the sound soon, on the sound thread.
+         *
+         * @param volume the volume, from 0 to 1
+         */
+        public void play(float volume) {
+            this.volume = volume;
+            PENDING.set(true);
+
+            final Thread THREAD = thread;
+            if (THREAD != null)
+                LockSupport.unpark(THREAD);
+        }
+
+        private void update(long now) {
+            if (now - lastPlayed < WINDOW)
+                return;
+
+            if (sound == null)
+                sound = Assets.MANAGER.get(DESCRIPTOR);
+
+            // Take the oldest voice if they're all taken, which does nothing if it's already done playing
+            if (VOICES[nextVoice] != -1)
+                sound.stop(VOICES[nextVoice]);
+
+            VOICES[nextVoice] = sound.play(volume);
+            nextVoice = (nextVoice + 1) % VOICES.length;
+            lastPlayed = now;
+        }
+    }
+}
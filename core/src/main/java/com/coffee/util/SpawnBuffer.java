@@ -0,0 +1,72 @@
+package com.coffee.util;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Reusable list of entities that are added to an {@link Engine} together.
+ * <p>
+ * Anything that spawns more than one entity at a time (spawners, radial attacks, bullets that burst) fills one of these
+ * and flushes it once it's done, instead of allocating an {@code Array} per spawn or adding entities one at a time
+ * in the middle of setting up the rest. While the engine is updating, everything flushed lands in its pending
+ * additions together and is sorted into families in one pass after the current system.
+ */
+public class SpawnBuffer {
+    private final Array<Entity> ENTITIES;
+
+    public SpawnBuffer() {
+        this(32);
+    }
+
+    public SpawnBuffer(int capacity) {
+        ENTITIES = new Array<>(false, capacity, Entity.class);
+    }
+
+    /**
+     * Queues an entity to be added on the next flush.
+     *
+     * @return this buffer, for chaining
+     */
+    public SpawnBuffer add(Entity entity) {
+        ENTITIES.add(entity);
+        return this;
+    }
+
+    /**
+     * @return the entity at the specified index, in the order they were added
+     */
+    public Entity get(int index) {
+        return ENTITIES.get(index);
+    }
+
+    /**
+     * @return the number of entities waiting to be added
+     */
+    public int size() {
+        return ENTITIES.size;
+    }
+
+    /**
+     * Forgets every entity waiting to be added without adding them.
+     */
+    public void clear() {
+        ENTITIES.clear();
+    }
+
+    /**
+     * Adds every entity in the buffer to the engine, then empties it.
+     *
+     * @return the number of entities that were added
+     */
+    public int flush(Engine engine) {
+        final int SIZE = ENTITIES.size;
+        final Entity[] ITEMS = ENTITIES.items;
+
+        for (int i = 0; i < SIZE; i++)
+            engine.addEntity(ITEMS[i]);
+
+        ENTITIES.clear();
+        return SIZE;
+    }
+}
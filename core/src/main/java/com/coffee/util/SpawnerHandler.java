@@ -1,12 +1,15 @@
 package com.coffee.util;
 
-import com.badlogic.ashley.core.Entity;
-import com.badlogic.gdx.utils.Array;
-
 /**
+ * Decides what a spawner spawns whenever its timer runs out.
+ *
  * @author Jared Tulayan
  */
 @FunctionalInterface
 public interface SpawnerHandler {
-    public Array<Entity> getSpawnEntity();
+    /**
+     * Creates whatever should be spawned and puts it in the buffer. The buffer is reused between spawns
+     * and flushed by the caller, so nothing has to be allocated to hand the entities back.
+     */
+    public void spawn(SpawnBuffer buffer);
 }
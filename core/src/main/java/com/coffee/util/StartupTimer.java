@@ -0,0 +1,50 @@
+package com.coffee.util;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongArray;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Keeps track of how long it takes the game to start, from when the JVM started to every phase of starting up,
+ * and prints it all once it's up, so cold starts can be compared from one build to the next.
+ */
+public class StartupTimer {
+    private static final long JVM_START = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private static final Array<String> PHASES = new Array<>();
+    private static final LongArray TIMES = new LongArray();
+
+    /**
+     * Marks the end of a phase of starting up.
+     *
+     * @param phase what just finished
+     */
+    public static void mark(String phase) {
+        PHASES.add(phase);
+        TIMES.add(System.currentTimeMillis());
+    }
+
+    /**
+     * @return milliseconds from the JVM starting to the phase, or -1 if it hasn't been marked
+     */
+    public static long getTime(String phase) {
+        final int INDEX = PHASES.indexOf(phase, false);
+
+        return INDEX == -1 ? -1 : TIMES.get(INDEX) - JVM_START;
+    }
+
+    /**
+     * Prints how long every phase took, and how long after the JVM started it ended.
+     */
+    public static void report() {
+        System.out.println("[Startup] Phase                   ms   total ms");
+
+        long last = JVM_START;
+        for (int i = 0; i < PHASES.size; i++) {
+            final long TIME = TIMES.get(i);
+
+            System.out.println(String.format("[Startup] %-20s %7d %10d", PHASES.get(i), TIME - last, TIME - JVM_START));
+            last = TIME;
+        }
+    }
+}
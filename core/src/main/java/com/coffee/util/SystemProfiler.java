@@ -0,0 +1,215 @@
+package com.coffee.util;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Debug tool that measures how many bytes each {@link EntitySystem} of an {@link Engine} allocates per frame,
+ * and how long it takes.
+ * <p>
+ * Ashley doesn't give us a hook around each system, so the profiler updates the engine once per system
+ * with every other system switched off. Entity operations still get flushed after each system like they
+ * normally would, so the game runs the same while being profiled, just a bit slower.
+ * <p>
+ * After a warm-up period, any system that allocates during a frame is flagged once on the console,
+ * since everything that runs every frame should be allocation-free once the game has settled.
+ */
+public class SystemProfiler {
+    private final Engine ENGINE;
+    private final com.sun.management.ThreadMXBean THREADS;
+    private final ObjectMap<EntitySystem, Stats> STATS;
+    private final int WARMUP_FRAMES;
+    private final long OVERHEAD;
+    private boolean[] processing;
+    private int frame;
+
+    /**
+     * Creates a profiler that ignores the first 120 frames.
+     *
+     * @param engine the {@code Engine} whose systems to measure
+     */
+    public SystemProfiler(Engine engine) {
+        this(engine, 120);
+    }
+
+    /**
+     * @param engine       the {@code Engine} whose systems to measure
+     * @param warmupFrames the number of frames to wait before allocations count as steady-state allocations
+     */
+    public SystemProfiler(Engine engine, int warmupFrames) {
+        ENGINE = engine;
+        WARMUP_FRAMES = warmupFrames;
+        STATS = new ObjectMap<>();
+        processing = new boolean[16];
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+            THREADS = (com.sun.management.ThreadMXBean) threads;
+            THREADS.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            THREADS = null;
+            System.out.println("[SystemProfiler] Allocation tracking is not supported by this JVM");
+        }
+
+        // Reading the counter can allocate by itself, so figure out how much and take it off every measurement.
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 16; i++) {
+            long before = allocatedBytes();
+            overhead = Math.min(overhead, allocatedBytes() - before);
+        }
+        OVERHEAD = overhead;
+    }
+
+    /**
+     * Updates the {@link Engine} one system at a time, measuring each of them.
+     * Use this in place of {@link Engine#update(float)}.
+     *
+     * @param deltaTime the time passed since the last frame
+     */
+    public void update(float deltaTime) {
+        final ImmutableArray<EntitySystem> SYSTEMS = ENGINE.getSystems();
+        final int COUNT = SYSTEMS.size();
+
+        if (processing.length < COUNT)
+            processing = new boolean[COUNT];
+
+        for (int i = 0; i < COUNT; i++) {
+            EntitySystem system = SYSTEMS.get(i);
+            processing[i] = system.checkProcessing();
+            system.setProcessing(false);
+        }
+
+        frame++;
+
+        for (int i = 0; i < COUNT; i++) {
+            if (!processing[i])
+                continue;
+
+            EntitySystem system = SYSTEMS.get(i);
+            system.setProcessing(true);
+
+            long before = allocatedBytes(), start = System.nanoTime();
+            ENGINE.update(deltaTime);
+            long nanos = System.nanoTime() - start;
+            long bytes = Math.max(0, allocatedBytes() - before - OVERHEAD);
+
+            system.setProcessing(false);
+            record(system, bytes, nanos);
+        }
+
+        for (int i = 0; i < COUNT; i++)
+            SYSTEMS.get(i).setProcessing(processing[i]);
+    }
+
+    private void record(EntitySystem system, long bytes, long nanos) {
+        Stats stats = STATS.get(system);
+        if (stats == null) {
+            String name = system.getClass().getSimpleName();
+            stats = new Stats(name.isEmpty() ? system.getClass().getName() : name);
+            STATS.put(system, stats);
+        }
+
+        stats.totalBytes += bytes;
+        stats.totalNanos += nanos;
+        stats.frames++;
+
+        if (frame <= WARMUP_FRAMES)
+            return;
+
+        stats.measuredFrames++;
+        if (bytes > 0) {
+            stats.steadyBytes += bytes;
+            stats.allocatingFrames++;
+
+            if (!stats.flagged) {
+                stats.flagged = true;
+                System.out.println("[SystemProfiler] " + stats.NAME + " allocated " + bytes + " bytes in a steady-state frame");
+            }
+        }
+    }
+
+    /**
+     * Prints the allocation totals of every system measured so far.
+     */
+    public void report() {
+        System.out.println("[SystemProfiler] " + frame + " frames, " + WARMUP_FRAMES + " warm-up");
+        System.out.println(String.format("%-24s %14s %14s %12s %10s", "System", "Total bytes", "Steady bytes", "Alloc frames", "us/frame"));
+
+        for (Stats stats : STATS.values()) {
+            System.out.println(String.format("%-24s %14d %14d %6d/%-6d %9.1f%s",
+                    stats.NAME, stats.totalBytes, stats.steadyBytes, stats.allocatingFrames, stats.measuredFrames,
+                    stats.getNanosPerFrame() / 1000, stats.flagged ? " !" : ""));
+        }
+    }
+
+    /**
+     * @return what's been measured so far for every system
+     */
+    public ObjectMap.Values<Stats> getStats() {
+        return STATS.values();
+    }
+
+    /**
+     * Throws away everything measured so far and starts the warm-up over.
+     */
+    public void reset() {
+        STATS.clear();
+        frame = 0;
+    }
+
+    public boolean isSupported() {
+        return THREADS != null;
+    }
+
+    private long allocatedBytes() {
+        return THREADS != null ? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+
+    /**
+     * What's been measured for one system.
+     */
+    public static class Stats {
+        private final String NAME;
+        private long totalBytes, steadyBytes, totalNanos;
+        private int allocatingFrames, measuredFrames, frames;
+        private boolean flagged;
+
+        private Stats(String name) {
+            NAME = name;
+        }
+
+        /**
+         * @return the simple name of the system's class
+         */
+        public String getName() {
+            return NAME;
+        }
+
+        /**
+         * @return the bytes allocated per frame, warm-up included
+         */
+        public double getBytesPerFrame() {
+            return frames > 0 ? totalBytes / (double) frames : 0;
+        }
+
+        /**
+         * @return the nanoseconds taken per frame, warm-up included
+         */
+        public double getNanosPerFrame() {
+            return frames > 0 ? totalNanos / (double) frames : 0;
+        }
+
+        /**
+         * @return the number of frames the system was updated in
+         */
+        public int getFrames() {
+            return frames;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.coffee.util;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical timer wheel, for lots of countdowns that each only need looking at once they're done.
+ * <p>
+ * Time is split into ticks of {@link #TICK} seconds. The first level has a slot for each of the next 64 ticks,
+ * the next level a slot for each of the next 64 blocks of 64 ticks, and so on for 4 levels (about 38 hours).
+ * A timer sits in the slot of the level that fits how far away it is. Every tick only the slot for that tick is
+ * looked at, and every 64 ticks the next slot of the level above is spread out over the level below. Scheduling,
+ * cancelling and expiring are all constant time no matter how many timers there are.
+ * <p>
+ * Timers are kept in parallel arrays and linked into their slots by index, so nothing is allocated after the
+ * arrays have grown big enough. A timer is referred to by a handle that includes a generation, so a handle
+ * to a timer that already expired or was cancelled doesn't affect whichever timer reuses its spot.
+ */
+public class TimerWheel {
+    /** A handle that never refers to a timer */
+    public static final int NONE = -1;
+    /** The length of a tick in seconds, delays are rounded up to a whole number of ticks */
+    public static final float TICK = 1 / 120f;
+
+    private static final int SLOT_BITS = 6, SLOTS = 1 << SLOT_BITS, SLOT_MASK = SLOTS - 1, LEVELS = 4;
+    private static final long MAX_TICKS = (1L << (SLOT_BITS * LEVELS)) - 1;
+    private static final int INDEX_BITS = 20, INDEX_MASK = (1 << INDEX_BITS) - 1, GENERATION_MASK = (1 << 11) - 1;
+    private static final int FREE = -1;
+
+    /**
+     * Gets told when a timer runs out.
+     */
+    public interface Listener {
+        /**
+         * @param timer  the handle of the timer, which doesn't refer to anything anymore
+         * @param entity the {@code Entity} the timer was scheduled for, if any
+         * @param tag    the tag the timer was scheduled with, to tell apart different timers of the same listener
+         */
+        void expired(int timer, Entity entity, int tag);
+    }
+
+    // Head of the list of each slot, level by level
+    private final int[] HEADS;
+
+    // Per-timer data, index i of every array belongs to the same timer
+    private long[] expires;
+    private int[] next, prev, slots, tags, generations;
+    private Listener[] listeners;
+    private Entity[] entities;
+    private int capacity, used, freeList, count;
+
+    private long now;
+    private double elapsed;
+
+    public TimerWheel() {
+        HEADS = new int[SLOTS * LEVELS];
+        Arrays.fill(HEADS, FREE);
+
+        freeList = FREE;
+        allocate(256);
+    }
+
+    /**
+     * Starts a timer.
+     *
+     * @param delay    the number of seconds until the timer runs out, at least one tick
+     * @param listener what to tell when the timer runs out
+     * @param entity   the {@code Entity} to hand to the listener, can be null
+     * @param tag      anything the listener wants to know about the timer
+     * @return the handle of the timer
+     */
+    public int schedule(float delay, Listener listener, Entity entity, int tag) {
+        return scheduleTicks((long) Math.ceil(delay / TICK), listener, entity, tag);
+    }
+
+    /**
+     * Starts a timer that runs out after a whole number of ticks, for putting back a timer exactly the way it was.
+     *
+     * @see #schedule(float, Listener, Entity, int)
+     * @see #getRemainingTicks(int)
+     */
+    public int scheduleTicks(long ticks, Listener listener, Entity entity, int tag) {
+        if (ticks < 1)
+            ticks = 1;
+        if (ticks > MAX_TICKS)
+            ticks = MAX_TICKS;
+
+        final int I = obtain();
+        expires[I] = now + ticks;
+        listeners[I] = listener;
+        entities[I] = entity;
+        tags[I] = tag;
+        link(I);
+        count++;
+
+        return generations[I] << INDEX_BITS | I;
+    }
+
+    /**
+     * Stops a timer before it runs out. Does nothing if the handle doesn't refer to a running timer.
+     *
+     * @return whether or not a timer was stopped
+     */
+    public boolean cancel(int timer) {
+        final int I = indexOf(timer);
+        if (I == FREE)
+            return false;
+
+        unlink(I);
+        release(I);
+        return true;
+    }
+
+    /**
+     * @return whether or not the handle refers to a timer that hasn't run out yet
+     */
+    public boolean isScheduled(int timer) {
+        return indexOf(timer) != FREE;
+    }
+
+    /**
+     * @return the number of seconds until the timer runs out, or 0 if it isn't running
+     */
+    public float getRemaining(int timer) {
+        final int I = indexOf(timer);
+        if (I == FREE)
+            return 0;
+
+        return (float) Math.max(expires[I] * (double) TICK - elapsed, 0);
+    }
+
+    /**
+     * @return the number of ticks until the timer runs out, or 0 if it isn't running
+     */
+    public long getRemainingTicks(int timer) {
+        final int I = indexOf(timer);
+        if (I == FREE)
+            return 0;
+
+        return expires[I] - now;
+    }
+
+    /**
+     * @return the number of seconds the wheel has moved forward since it was made or last reset
+     */
+    public double getTime() {
+        return elapsed;
+    }
+
+    /**
+     * Moves time forward, running out every timer that's due on the way in the order they're due.
+     * Timers started by a listener during this run out on a later tick at the earliest.
+     */
+    public void advance(float delta) {
+        elapsed += delta;
+
+        final long TARGET = (long) (elapsed / TICK);
+        while (now < TARGET) {
+            now++;
+            tick();
+        }
+    }
+
+    /**
+     * Stops every timer without telling anyone.
+     */
+    public void clear() {
+        Arrays.fill(HEADS, FREE);
+        for (int i = 0; i < used; i++) {
+            if (slots[i] != FREE)
+                release(i);
+        }
+    }
+
+    /**
+     * Stops every timer without telling anyone, and sets the time to the specified point.
+     * Together with {@link #scheduleTicks} this puts a wheel back the way it was at that point, down to the tick.
+     */
+    public void reset(double time) {
+        clear();
+        elapsed = time;
+        now = (long) (time / TICK);
+    }
+
+    /**
+     * @return the number of timers that are running
+     */
+    public int size() {
+        return count;
+    }
+
+    private void tick() {
+        // Spread out the levels above from the top down, so timers can trickle down more than one level at once
+        for (int level = LEVELS - 1; level > 0; level--) {
+            final int SHIFT = SLOT_BITS * level;
+
+            if ((now & ((1L << SHIFT) - 1)) == 0)
+                cascade(level * SLOTS + (int) ((now >>> SHIFT) & SLOT_MASK));
+        }
+
+        // Everything in this slot is due now. Listeners can't add to it, since new timers are at least a tick away
+        final int SLOT = (int) (now & SLOT_MASK);
+        while (HEADS[SLOT] != FREE) {
+            final int I = HEADS[SLOT];
+            final int HANDLE = generations[I] << INDEX_BITS | I;
+            final Listener LISTENER = listeners[I];
+            final Entity ENTITY = entities[I];
+            final int TAG = tags[I];
+
+            unlink(I);
+            release(I);
+            LISTENER.expired(HANDLE, ENTITY, TAG);
+        }
+    }
+
+    private void cascade(int slot) {
+        int i = HEADS[slot];
+        HEADS[slot] = FREE;
+
+        while (i != FREE) {
+            final int NEXT = next[i];
+            link(i);
+            i = NEXT;
+        }
+    }
+
+    private void link(int i) {
+        final long EXPIRES = expires[i], DELTA = EXPIRES - now;
+
+        int level = 0;
+        while (level < LEVELS - 1 && DELTA >= 1L << (SLOT_BITS * (level + 1)))
+            level++;
+
+        final int SLOT = level * SLOTS + (int) ((EXPIRES >>> (SLOT_BITS * level)) & SLOT_MASK);
+        final int HEAD = HEADS[SLOT];
+
+        slots[i] = SLOT;
+        prev[i] = FREE;
+        next[i] = HEAD;
+        if (HEAD != FREE)
+            prev[HEAD] = i;
+        HEADS[SLOT] = i;
+    }
+
+    private void unlink(int i) {
+        final int PREV = prev[i], NEXT = next[i];
+
+        if (PREV != FREE)
+            next[PREV] = NEXT;
+        else
+            HEADS[slots[i]] = NEXT;
+
+        if (NEXT != FREE)
+            prev[NEXT] = PREV;
+    }
+
+    private int indexOf(int timer) {
+        if (timer < 0)
+            return FREE;
+
+        final int I = timer & INDEX_MASK;
+        if (I >= used || slots[I] == FREE || generations[I] != timer >>> INDEX_BITS)
+            return FREE;
+
+        return I;
+    }
+
+    private int obtain() {
+        if (freeList != FREE) {
+            final int I = freeList;
+            freeList = next[I];
+            return I;
+        }
+
+        if (used == capacity) {
+            if (capacity > INDEX_MASK)
+                throw new GdxRuntimeException("Too many timers");
+
+            allocate(Math.min(capacity * 2, INDEX_MASK + 1));
+        }
+
+        return used++;
+    }
+
+    private void release(int i) {
+        slots[i] = FREE;
+        listeners[i] = null;
+        entities[i] = null;
+        generations[i] = (generations[i] + 1) & GENERATION_MASK;
+        next[i] = freeList;
+        freeList = i;
+        count--;
+    }
+
+    private void allocate(int capacity) {
+        if (expires == null) {
+            expires = new long[capacity];
+            next = new int[capacity];
+            prev = new int[capacity];
+            slots = new int[capacity];
+            tags = new int[capacity];
+            generations = new int[capacity];
+            listeners = new Listener[capacity];
+            entities = new Entity[capacity];
+        } else {
+            expires = Arrays.copyOf(expires, capacity);
+            next = Arrays.copyOf(next, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+            slots = Arrays.copyOf(slots, capacity);
+            tags = Arrays.copyOf(tags, capacity);
+            generations = Arrays.copyOf(generations, capacity);
+            listeners = Arrays.copyOf(listeners, capacity);
+            entities = Arrays.copyOf(entities, capacity);
+        }
+
+        this.capacity = capacity;
+    }
+}
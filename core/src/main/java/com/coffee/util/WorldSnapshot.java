@@ -0,0 +1,459 @@
+package com.coffee.util;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.coffee.entity.EntityFactory;
+import com.coffee.entity.components.*;
+import com.coffee.entity.systems.*;
+
+import java.io.*;
+
+/**
+ * Saves everything about a fight that changes how it plays out to bytes, and puts it back later, so a fight
+ * can be picked up from that point and go exactly the same way.
+ * <p>
+ * Entities are saved by the kind the {@link EntityFactory} keeps in their flags, along with the fields that change
+ * once they're made. Putting them back makes them again with the factory and writes those fields over the top,
+ * so closures like collision handlers don't have to be saved. The timers, the random number generator and the
+ * few systems that keep time are saved too.
+ * <p>
+ * Not everything can be made again that way: attacks in progress, bullets with handlers and homing bullets only
+ * live in the closures that made them. So a snapshot can only be taken while the world is quiet, between
+ * attacks, which happens every few seconds during a fight.
+ */
+public class WorldSnapshot {
+    /**
+     * Saves the world of the engine the factory makes entities for.
+     *
+     * @return the snapshot, or null if there's something in the world that couldn't be made again right now
+     */
+    public static byte[] capture(EntityFactory factory) {
+        final PooledEngine ENGINE = factory.getEngine();
+        final ImmutableArray<Entity> ENTITIES = ENGINE.getEntities();
+
+        if (!isQuiet(ENGINE))
+            return null;
+
+        final ByteArrayOutputStream BYTES = new ByteArrayOutputStream(4096);
+        final DataOutputStream OUT = new DataOutputStream(BYTES);
+
+        try {
+            final TimerSystem TIMERS = TimerSystem.get(ENGINE);
+            final SpawnSystem SPAWN = ENGINE.getSystem(SpawnSystem.class);
+            final PlayerSystem PLAYERS = ENGINE.getSystem(PlayerSystem.class);
+
+            OUT.writeDouble(TIMERS.getTime());
+            OUT.writeFloat(SPAWN != null ? SPAWN.getTime() : 0);
+            OUT.writeFloat(PLAYERS != null ? PLAYERS.getSecondTimer() : 0);
+            OUT.writeLong(factory.getRandom().getState(0));
+            OUT.writeLong(factory.getRandom().getState(1));
+
+            int count = 0;
+            for (int i = 0; i < ENTITIES.size(); i++) {
+                if (ENTITIES.get(i).flags != 0)
+                    count++;
+            }
+            OUT.writeInt(count);
+
+            for (int i = 0; i < ENTITIES.size(); i++) {
+                final Entity E = ENTITIES.get(i);
+
+                if (E.flags != 0)
+                    write(OUT, E, TIMERS);
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException(e);
+        }
+
+        return BYTES.toByteArray();
+    }
+
+    /**
+     * Puts the world of the engine the factory makes entities for back the way it was when the snapshot was taken.
+     * Every entity the factory made is removed first. The player and the boss are kept and written over, so anything
+     * holding on to them still works, everything else is made again. The engine can't be updating.
+     *
+     * @throws GdxRuntimeException if the snapshot doesn't fit the factory
+     */
+    public static void restore(byte[] snapshot, EntityFactory factory) {
+        restore(snapshot, factory, null, null);
+    }
+
+    /**
+     * Puts the world back the way it was when the snapshot was taken, writing over the specified player and boss
+     * even if they aren't in the engine anymore, like a boss that's been beaten.
+     *
+     * @param player the player to write over, or null to use the one in the engine
+     * @param boss   the boss to write over, or null to use the one in the engine
+     * @throws GdxRuntimeException if the snapshot doesn't fit the factory
+     */
+    public static void restore(byte[] snapshot, EntityFactory factory, Entity player, Entity boss) {
+        final PooledEngine ENGINE = factory.getEngine();
+        final ImmutableArray<Entity> ENTITIES = ENGINE.getEntities();
+        final DataInputStream IN = new DataInputStream(new ByteArrayInputStream(snapshot));
+
+        // Take out everything the factory made, keeping the player and boss to be put back
+        for (int i = ENTITIES.size() - 1; i >= 0; i--) {
+            final Entity E = ENTITIES.get(i);
+
+            if (E.flags == EntityFactory.KIND_PLAYER && player == null)
+                player = E;
+            else if (E.flags == EntityFactory.KIND_BOSS && boss == null)
+                boss = E;
+            else if (E.flags == 0 && !Mapper.TRANSFORM.has(E))
+                continue;
+
+            ENGINE.removeEntity(E);
+        }
+
+        try {
+            final TimerSystem TIMERS = TimerSystem.get(ENGINE);
+            final SpawnSystem SPAWN = ENGINE.getSystem(SpawnSystem.class);
+            final PlayerSystem PLAYERS = ENGINE.getSystem(PlayerSystem.class);
+
+            TIMERS.reset(IN.readDouble());
+
+            final float SPAWN_TIME = IN.readFloat(), SECOND_TIMER = IN.readFloat();
+            if (SPAWN != null) {
+                SPAWN.clear();
+                SPAWN.setTime(SPAWN_TIME);
+            }
+            if (PLAYERS != null)
+                PLAYERS.setSecondTimer(SECOND_TIMER);
+
+            final long SEED_0 = IN.readLong(), SEED_1 = IN.readLong();
+
+            final int COUNT = IN.readInt();
+            for (int i = 0; i < COUNT; i++) {
+                final int KIND = IN.readByte(), VOLLEY = IN.readShort();
+                final Entity E;
+
+                if (KIND == EntityFactory.KIND_PLAYER && player != null)
+                    E = player;
+                else if (KIND == EntityFactory.KIND_BOSS && boss != null)
+                    E = boss;
+                else if (VOLLEY >= 0)
+                    E = factory.createPatternBullet(BulletPatterns.getVolley(VOLLEY), 0, 0, 0, 0);
+                else
+                    E = create(factory, KIND);
+
+                read(IN, E, ENGINE);
+            }
+
+            // The factory uses up random numbers making things, so this goes last
+            factory.getRandom().setState(SEED_0, SEED_1);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Broken world snapshot", e);
+        }
+    }
+
+    /**
+     * @return whether or not everything in the world can be made again from a snapshot right now
+     */
+    public static boolean isQuiet(PooledEngine engine) {
+        final SpawnSystem SPAWN = engine.getSystem(SpawnSystem.class);
+        if (SPAWN != null && SPAWN.getQueuedCount() > 0)
+            return false;
+
+        final ImmutableArray<Entity> ENTITIES = engine.getEntities();
+        for (int i = 0; i < ENTITIES.size(); i++) {
+            final Entity E = ENTITIES.get(i);
+
+            // Lasers, explosions and the like don't have a kind
+            if (E.flags == 0) {
+                if (Mapper.TRANSFORM.has(E))
+                    return false;
+                continue;
+            }
+
+            final BulletComponent BULLET = Mapper.BULLET.get(E);
+            final AIComponent AI = Mapper.AI.get(E);
+
+            if (BULLET != null && BULLET.handler != null || Mapper.HOMING.has(E) || AI != null && AI.TASKS.size > 0)
+                return false;
+        }
+
+        return true;
+    }
+
+    // region Entities
+    private static Entity create(EntityFactory factory, int kind) {
+        switch (kind) {
+            case EntityFactory.KIND_PLAYER:
+                return factory.createPlayer(0, 0);
+            case EntityFactory.KIND_BOSS:
+                return factory.createBossShip(0, 0);
+            case EntityFactory.KIND_PLAYER_BULLET:
+                return factory.createPlayerBullet(0, 0);
+            case EntityFactory.KIND_ENEMY_BULLET:
+                return factory.createEnemyBullet(0, 0, 0);
+            case EntityFactory.KIND_ENEMY_BALL:
+                return factory.createEnemyBall(0, 0, 0);
+            case EntityFactory.KIND_POWER_UP_SPAWNER:
+                return factory.createRandomPowerUpSpawner(0, 0);
+            case EntityFactory.KIND_DAMAGE_POWER_UP:
+                return factory.createDamagePowerUp(0, 0);
+            case EntityFactory.KIND_FIRE_RATE_POWER_UP:
+                return factory.createFireRatePowerUp(0, 0);
+            case EntityFactory.KIND_SPEED_POWER_UP:
+                return factory.createSpeedPowerUp(0, 0);
+            default:
+                throw new GdxRuntimeException("Unknown entity kind " + kind);
+        }
+    }
+
+    private static void write(DataOutputStream out, Entity e, TimerSystem timers) throws IOException {
+        final PatternComponent PATTERN = Mapper.PATTERN.get(e);
+
+        out.writeByte(e.flags);
+        out.writeShort(PATTERN != null && PATTERN.volley != null ? PATTERN.volley.ID : -1);
+
+        final TransformComponent TRANSFORM = Mapper.TRANSFORM.get(e);
+        out.writeBoolean(TRANSFORM != null);
+        if (TRANSFORM != null) {
+            out.writeFloat(TRANSFORM.POSITION.x);
+            out.writeFloat(TRANSFORM.POSITION.y);
+            out.writeFloat(TRANSFORM.rotation);
+        }
+
+        final MovementComponent MOVEMENT = Mapper.MOVEMENT.get(e);
+        out.writeBoolean(MOVEMENT != null);
+        if (MOVEMENT != null) {
+            out.writeFloat(MOVEMENT.MOVEMENT_NORMAL.x);
+            out.writeFloat(MOVEMENT.MOVEMENT_NORMAL.y);
+            out.writeDouble(MOVEMENT.rotSpeed);
+            out.writeDouble(MOVEMENT.moveSpeed);
+            out.writeBoolean(MOVEMENT.parametric);
+            out.writeFloat(MOVEMENT.time);
+            out.writeFloat(MOVEMENT.baseAngle);
+            out.writeFloat(MOVEMENT.baseSpeed);
+            out.writeFloat(MOVEMENT.angularVelocity);
+            out.writeFloat(MOVEMENT.acceleration);
+            out.writeFloat(MOVEMENT.minSpeed);
+            out.writeFloat(MOVEMENT.maxSpeed);
+            out.writeFloat(MOVEMENT.waveAmplitude);
+            out.writeFloat(MOVEMENT.waveFrequency);
+        }
+
+        out.writeBoolean(PATTERN != null);
+        if (PATTERN != null)
+            out.writeFloat(PATTERN.cycleTimer);
+
+        final ColliderComponent COLLIDER = Mapper.COLLIDER.get(e);
+        out.writeBoolean(COLLIDER != null);
+        if (COLLIDER != null) {
+            out.writeFloat(COLLIDER.BODY.getX());
+            out.writeFloat(COLLIDER.BODY.getY());
+            out.writeFloat(COLLIDER.BODY.getRotation());
+        }
+
+        final SpriteComponent SPRITE = Mapper.SPRITE.get(e);
+        out.writeBoolean(SPRITE != null);
+        if (SPRITE != null) {
+            out.writeInt(SPRITE.zIndex);
+            out.writeByte(SPRITE.SPRITES.size);
+            for (Sprite sprite : SPRITE.SPRITES)
+                out.writeInt(Float.floatToRawIntBits(sprite.getColor().toFloatBits()));
+        }
+
+        final BulletComponent BULLET = Mapper.BULLET.get(e);
+        out.writeBoolean(BULLET != null);
+        if (BULLET != null) {
+            out.writeDouble(BULLET.damage);
+            out.writeFloat(BULLET.despawnTime);
+            out.writeInt(BULLET.state);
+            out.writeLong(timers.getRemainingTicks(BULLET.timer));
+        }
+
+        final LifetimeComponent LIFETIME = Mapper.LIFETIME.get(e);
+        out.writeBoolean(LIFETIME != null);
+        if (LIFETIME != null) {
+            out.writeFloat(LIFETIME.duration);
+            out.writeLong(timers.getRemainingTicks(LIFETIME.timer));
+        }
+
+        final SpawnerComponent SPAWNER = Mapper.SPAWNER.get(e);
+        out.writeBoolean(SPAWNER != null);
+        if (SPAWNER != null) {
+            out.writeFloat(SPAWNER.spawnRateMin);
+            out.writeFloat(SPAWNER.spawnRateMax);
+            out.writeFloat(SPAWNER.delay);
+            out.writeLong(timers.getRemainingTicks(SPAWNER.timer));
+        }
+
+        final HealthComponent HEALTH = Mapper.HEALTH.get(e);
+        out.writeBoolean(HEALTH != null);
+        if (HEALTH != null) {
+            out.writeInt(HEALTH.health);
+            out.writeInt(HEALTH.maxHealth);
+            out.writeFloat(HEALTH.invincibilityDuration);
+            out.writeFloat(HEALTH.respawnDuration);
+            out.writeBoolean(HEALTH.invincible);
+            out.writeBoolean(HEALTH.recovering);
+            out.writeBoolean(HEALTH.respawning);
+            out.writeLong(timers.getRemainingTicks(HEALTH.invincibilityTimer));
+            out.writeLong(timers.getRemainingTicks(HEALTH.respawnTimer));
+        }
+
+        final PlayerComponent PLAYER = Mapper.PLAYER.get(e);
+        out.writeBoolean(PLAYER != null);
+        if (PLAYER != null) {
+            out.writeByte(Replay.encode(PLAYER));
+            out.writeDouble(PLAYER.shootTimer);
+            out.writeDouble(PLAYER.shotsPerSecond);
+            out.writeInt(PLAYER.upFireRate);
+            out.writeInt(PLAYER.upBulletDamage);
+            out.writeInt(PLAYER.upSpeed);
+            out.writeInt(PLAYER.lives);
+            out.writeInt(PLAYER.timeAlive);
+            out.writeBoolean(PLAYER.revive);
+            out.writeInt(PLAYER.shotsFired);
+            out.writeInt(PLAYER.shotsHit);
+            out.writeInt(PLAYER.score);
+        }
+
+        final AIComponent AI = Mapper.AI.get(e);
+        out.writeBoolean(AI != null);
+        if (AI != null)
+            out.writeByte(AI.curState.ordinal());
+    }
+
+    private static void read(DataInputStream in, Entity e, PooledEngine engine) throws IOException {
+        if (in.readBoolean()) {
+            final TransformComponent TRANSFORM = get(e, Mapper.TRANSFORM.get(e));
+            TRANSFORM.POSITION.set(in.readFloat(), in.readFloat());
+            TRANSFORM.rotation = in.readFloat();
+        }
+
+        if (in.readBoolean()) {
+            final MovementComponent MOVEMENT = get(e, Mapper.MOVEMENT.get(e));
+            MOVEMENT.MOVEMENT_NORMAL.set(in.readFloat(), in.readFloat());
+            MOVEMENT.rotSpeed = in.readDouble();
+            MOVEMENT.moveSpeed = in.readDouble();
+            MOVEMENT.parametric = in.readBoolean();
+            MOVEMENT.time = in.readFloat();
+            MOVEMENT.baseAngle = in.readFloat();
+            MOVEMENT.baseSpeed = in.readFloat();
+            MOVEMENT.angularVelocity = in.readFloat();
+            MOVEMENT.acceleration = in.readFloat();
+            MOVEMENT.minSpeed = in.readFloat();
+            MOVEMENT.maxSpeed = in.readFloat();
+            MOVEMENT.waveAmplitude = in.readFloat();
+            MOVEMENT.waveFrequency = in.readFloat();
+        }
+
+        if (in.readBoolean())
+            get(e, Mapper.PATTERN.get(e)).cycleTimer = in.readFloat();
+
+        if (in.readBoolean()) {
+            final ColliderComponent COLLIDER = get(e, Mapper.COLLIDER.get(e));
+            COLLIDER.BODY.setPosition(in.readFloat(), in.readFloat());
+            COLLIDER.BODY.setRotation(in.readFloat());
+        }
+
+        if (in.readBoolean()) {
+            final SpriteComponent SPRITE = get(e, Mapper.SPRITE.get(e));
+            final Array<Sprite> SPRITES = SPRITE.SPRITES;
+
+            SPRITE.zIndex = in.readInt();
+            final int SIZE = in.readByte();
+            for (int i = 0; i < SIZE; i++) {
+                final float COLOR = Float.intBitsToFloat(in.readInt());
+
+                if (i < SPRITES.size)
+                    SPRITES.get(i).setColor(COLOR);
+            }
+        }
+
+        // Timers are put back once the entity is in the engine and its systems have started their own
+        long bulletTicks = -1, lifetimeTicks = -1, spawnerTicks = -1, invincibilityTicks = -1, respawnTicks = -1;
+
+        if (in.readBoolean()) {
+            final BulletComponent BULLET = get(e, Mapper.BULLET.get(e));
+            BULLET.damage = in.readDouble();
+            BULLET.despawnTime = in.readFloat();
+            BULLET.state = in.readInt();
+            bulletTicks = in.readLong();
+        }
+
+        if (in.readBoolean()) {
+            get(e, Mapper.LIFETIME.get(e)).duration = in.readFloat();
+            lifetimeTicks = in.readLong();
+        }
+
+        if (in.readBoolean()) {
+            final SpawnerComponent SPAWNER = get(e, Mapper.SPAWNER.get(e));
+            SPAWNER.spawnRateMin = in.readFloat();
+            SPAWNER.spawnRateMax = in.readFloat();
+            SPAWNER.delay = in.readFloat();
+            spawnerTicks = in.readLong();
+        }
+
+        if (in.readBoolean()) {
+            final HealthComponent HEALTH = get(e, Mapper.HEALTH.get(e));
+            HEALTH.health = in.readInt();
+            HEALTH.maxHealth = in.readInt();
+            HEALTH.invincibilityDuration = in.readFloat();
+            HEALTH.respawnDuration = in.readFloat();
+            HEALTH.invincible = in.readBoolean();
+            HEALTH.recovering = in.readBoolean();
+            HEALTH.respawning = in.readBoolean();
+            invincibilityTicks = in.readLong();
+            respawnTicks = in.readLong();
+        }
+
+        if (in.readBoolean()) {
+            final PlayerComponent PLAYER = get(e, Mapper.PLAYER.get(e));
+            Replay.decode(in.readByte(), PLAYER);
+            PLAYER.shootTimer = in.readDouble();
+            PLAYER.shotsPerSecond = in.readDouble();
+            PLAYER.upFireRate = in.readInt();
+            PLAYER.upBulletDamage = in.readInt();
+            PLAYER.upSpeed = in.readInt();
+            PLAYER.lives = in.readInt();
+            PLAYER.timeAlive = in.readInt();
+            PLAYER.revive = in.readBoolean();
+            PLAYER.shotsFired = in.readInt();
+            PLAYER.shotsHit = in.readInt();
+            PLAYER.score = in.readInt();
+        }
+
+        if (in.readBoolean()) {
+            final AIComponent AI = get(e, Mapper.AI.get(e));
+            AI.TASKS.clear();
+            AI.curState = AIState.values()[in.readByte()];
+        }
+
+        engine.addEntity(e);
+
+        final BulletSystem BULLETS = engine.getSystem(BulletSystem.class);
+        final LifetimeSystem LIFETIMES = engine.getSystem(LifetimeSystem.class);
+        final SpawnerSystem SPAWNERS = engine.getSystem(SpawnerSystem.class);
+        final HealthSystem HEALTHS = engine.getSystem(HealthSystem.class);
+
+        if (bulletTicks != -1 && BULLETS != null)
+            BULLETS.restoreTimer(e, bulletTicks);
+        if (lifetimeTicks != -1 && LIFETIMES != null)
+            LIFETIMES.restoreTimer(e, lifetimeTicks);
+        if (spawnerTicks != -1 && SPAWNERS != null)
+            SPAWNERS.restoreTimer(e, spawnerTicks);
+        if (invincibilityTicks != -1 && HEALTHS != null)
+            HEALTHS.restoreTimers(e, invincibilityTicks, respawnTicks);
+    }
+
+    /**
+     * @return the component, if the entity that was made again has it
+     * @throws GdxRuntimeException if it doesn't
+     */
+    private static <T> T get(Entity e, T component) {
+        if (component == null)
+            throw new GdxRuntimeException("World snapshot doesn't fit entity of kind " + e.flags);
+
+        return component;
+    }
+    // endregion
+}
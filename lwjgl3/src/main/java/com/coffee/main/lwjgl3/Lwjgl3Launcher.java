@@ -7,11 +7,17 @@ import com.coffee.main.Application;
 /** Launches the desktop (LWJGL3) application. */
 public class Lwjgl3Launcher {
     public static void main(String[] args) {
-        createApplication();
+        boolean debug = false;
+
+        for (String arg : args)
+            if (arg.equals("--debug"))
+                debug = true;
+
+        createApplication(debug);
     }
 
-    private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new Application(), getDefaultConfiguration());
+    private static Lwjgl3Application createApplication(boolean debug) {
+        return new Lwjgl3Application(new Application(debug), getDefaultConfiguration());
     }
 
     private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {